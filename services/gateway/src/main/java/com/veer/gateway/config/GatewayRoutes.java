@@ -6,6 +6,8 @@ import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.StringUtils;
 
 @Configuration
 public class GatewayRoutes {
@@ -13,19 +15,22 @@ public class GatewayRoutes {
     private final AddUserDetailsHeaderGatewayFilterFactory addUserDetailsHeaderFilter;
     private final String userServiceUri;
     private final String routeServiceUri;
+    private final String reactiveRouteServiceUri;
 
     public GatewayRoutes(
             AddUserDetailsHeaderGatewayFilterFactory addUserDetailsHeaderFilter,
             @Value("${services.user.uri}") String userServiceUri,
-            @Value("${services.route.uri}") String routeServiceUri) {
+            @Value("${services.route.uri}") String routeServiceUri,
+            @Value("${services.route.reactive-uri:}") String reactiveRouteServiceUri) {
         this.addUserDetailsHeaderFilter = addUserDetailsHeaderFilter;
         this.userServiceUri = userServiceUri;
         this.routeServiceUri = routeServiceUri;
+        this.reactiveRouteServiceUri = reactiveRouteServiceUri;
     }
 
     @Bean
     public RouteLocator routeLocator(RouteLocatorBuilder builder) {
-        return builder.routes()
+        RouteLocatorBuilder.Builder routes = builder.routes()
 
                 .route("user-service", r -> r.path("/api/user/**")
                         .filters(f -> f.filter(addUserDetailsHeaderFilter
@@ -33,14 +38,39 @@ public class GatewayRoutes {
                         .uri(userServiceUri))
 
                 .route("route-service", r -> r.path(
-                                "/api/route",        
-                                "/api/route/",       
-                                "/api/route/**"      
+                                "/api/route",
+                                "/api/route/",
+                                "/api/route/**"
                         )
                         .filters(f -> f.filter(addUserDetailsHeaderFilter
                                 .apply(new AddUserDetailsHeaderGatewayFilterFactory.Config())))
-                        .uri(routeServiceUri))
+                        .uri(routeServiceUri));
 
-                .build();
+        if (StringUtils.hasText(reactiveRouteServiceUri)) {
+            // The reactive runtime serves only these endpoints: route CRUD and
+            // point edits. Everything else under /api/route stays on route-service.
+            routes
+                    .route("route-service-reactive-create", r -> r.order(-1)
+                            .method(HttpMethod.POST).and().path("/api/route", "/api/route/")
+                            .filters(f -> f.filter(addUserDetailsHeaderFilter
+                                    .apply(new AddUserDetailsHeaderGatewayFilterFactory.Config())))
+                            .uri(reactiveRouteServiceUri))
+
+                    .route("route-service-reactive", r -> r.order(-1)
+                            .method(HttpMethod.GET, HttpMethod.PUT, HttpMethod.DELETE)
+                            .and().path("/api/route/{routeId}", "/api/route/user/{userId}")
+                            .and().not(p -> p.path("/api/route/isochrones"))
+                            .filters(f -> f.filter(addUserDetailsHeaderFilter
+                                    .apply(new AddUserDetailsHeaderGatewayFilterFactory.Config())))
+                            .uri(reactiveRouteServiceUri))
+
+                    .route("route-service-reactive-points", r -> r.order(-1)
+                            .method(HttpMethod.PATCH).and().path("/api/route/{routeId}/points")
+                            .filters(f -> f.filter(addUserDetailsHeaderFilter
+                                    .apply(new AddUserDetailsHeaderGatewayFilterFactory.Config())))
+                            .uri(reactiveRouteServiceUri));
+        }
+
+        return routes.build();
     }
-}
\ No newline at end of file
+}
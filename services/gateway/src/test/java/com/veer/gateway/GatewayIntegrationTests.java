@@ -71,7 +71,7 @@ class GatewayIntegrationTests {
                 } else if (path.equals("/api/auth/health")) {
                     lastProxiedRequest = request;
                     return new MockResponse().setResponseCode(200).setBody("OK");
-                } else if (path.startsWith("/api/user/")) {
+                } else if (path.startsWith("/api/user/") || path.startsWith("/api/route")) {
                     lastProxiedRequest = request;
                     return new MockResponse().setResponseCode(200).setBody("User Data");
                 }
@@ -94,6 +94,9 @@ class GatewayIntegrationTests {
         registry.add("spring.security.oauth2.resourceserver.jwt.jwk-set-uri", () -> jwkSetUri);
         registry.add("services.auth.uri", () -> "http://localhost:" + mockAuthServer.getPort());
         registry.add("services.user.uri", () -> "http://localhost:" + mockAuthServer.getPort());
+        // both runtimes are the mock server, told apart by the Host header
+        registry.add("services.route.uri", () -> "http://localhost:" + mockAuthServer.getPort());
+        registry.add("services.route.reactive-uri", () -> "http://127.0.0.1:" + mockAuthServer.getPort());
     }
 
     @Test
@@ -122,6 +125,41 @@ class GatewayIntegrationTests {
         assertThat(lastProxiedRequest.getHeader("X-User-Country")).isEqualTo("Poland");
     }
 
+    @Test
+    void routeEndpointsServedReactively_shouldBeProxiedToReactiveRuntime() {
+        String token = JwtTestUtils.createToken(mockAuthServer.url("/realms/veer").toString());
+
+        webTestClient.get().uri("/api/route/route-123")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(lastProxiedRequest.getHeader(HttpHeaders.HOST)).startsWith("127.0.0.1:");
+
+        webTestClient.patch().uri("/api/route/route-123/points")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(lastProxiedRequest.getHeader(HttpHeaders.HOST)).startsWith("127.0.0.1:");
+        assertThat(lastProxiedRequest.getHeader("X-User-Id")).isNotNull();
+    }
+
+    @Test
+    void otherRouteEndpoints_shouldBeProxiedToRouteService() {
+        String token = JwtTestUtils.createToken(mockAuthServer.url("/realms/veer").toString());
+
+        webTestClient.get().uri("/api/route/isochrones")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(lastProxiedRequest.getHeader(HttpHeaders.HOST)).startsWith("localhost:");
+
+        webTestClient.get().uri("/api/route/route-123/directions")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .exchange()
+                .expectStatus().isOk();
+        assertThat(lastProxiedRequest.getHeader(HttpHeaders.HOST)).startsWith("localhost:");
+    }
+
     private static String readResource(String path) {
         try {
             var resource = new ClassPathResource(path);
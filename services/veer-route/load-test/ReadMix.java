@@ -0,0 +1,108 @@
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The read mix of read-mix.js for machines without k6: each virtual user
+// sends the same three requests at once and waits for all of them. Only
+// the steady part after the ramp is measured:
+//
+//   java load-test/ReadMix.java http://localhost:3003 <vus> <ramp seconds> <hold seconds> [user id]
+public class ReadMix {
+
+    private static final String[] QUERIES = {"forest loop", "river", "mountain trail", "city park", "lake"};
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: ReadMix <base url> <vus> <ramp seconds> <hold seconds> [user id]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        int vus = Integer.parseInt(args[1]);
+        int rampSeconds = Integer.parseInt(args[2]);
+        int holdSeconds = Integer.parseInt(args[3]);
+        String userId = args.length > 4 ? args[4] : "load-test-user";
+
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicLong failed = new AtomicLong();
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        List<Thread> users = new ArrayList<>();
+        for (int vu = 0; vu < vus; vu++) {
+            long delayMillis = rampSeconds * 1000L * vu / vus;
+            Thread user = new Thread(() -> {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                Random random = new Random();
+                int iteration = 0;
+                while (!stopped.get()) {
+                    String[] urls = {
+                        baseUrl + "/api/route/public/nearby?lat=" + (52.0 + random.nextDouble())
+                            + "&lng=" + (21.0 + random.nextDouble()) + "&radius=10000&limit=50",
+                        baseUrl + "/api/route/public/search?q="
+                            + URLEncoder.encode(QUERIES[iteration++ % QUERIES.length], StandardCharsets.UTF_8),
+                        baseUrl + "/api/route/user/" + userId + "?limit=20"
+                    };
+                    List<CompletableFuture<Void>> responses = new ArrayList<>();
+                    for (String url : urls) {
+                        long started = System.nanoTime();
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(60)).build();
+                        responses.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                            .handle((response, error) -> {
+                                if (measuring.get()) {
+                                    latencies.add(System.nanoTime() - started);
+                                    if (error != null || response.statusCode() != 200)
+                                        failed.incrementAndGet();
+                                }
+                                return null;
+                            }));
+                    }
+                    CompletableFuture.allOf(responses.toArray(new CompletableFuture[0])).join();
+                }
+            });
+            user.start();
+            users.add(user);
+        }
+
+        Thread.sleep(rampSeconds * 1000L);
+        measuring.set(true);
+        long started = System.nanoTime();
+        Thread.sleep(holdSeconds * 1000L);
+        measuring.set(false);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        stopped.set(true);
+        for (Thread user : users)
+            user.join();
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        if (sorted.length == 0) {
+            System.out.println("No request completed while measuring");
+            System.exit(1);
+        }
+        System.out.printf("requests %d, failed %d, %.1f req/s, p50 %.1f ms, p90 %.1f ms, p99 %.1f ms, max %.1f ms%n",
+            sorted.length, failed.get(), sorted.length / seconds,
+            sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.90)] / 1e6,
+            sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6);
+        System.exit(0);
+    }
+
+}
@@ -0,0 +1,42 @@
+// Read-heavy load on veer-route, used to compare platform and virtual
+// request threads (VIRTUAL_THREADS=false / true) at the same pool size:
+//
+//   k6 run -e BASE_URL=http://localhost:3003 -e USER_ID=<user with routes> load-test/read-mix.js
+//
+// Keep DB_POOL_SIZE the same for both runs; with virtual threads it is the
+// only limit on concurrent queries.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:3003';
+const USER_ID = __ENV.USER_ID || 'load-test-user';
+const VUS = Number(__ENV.VUS || 400);
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'ramping-vus',
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: '2m', target: VUS },
+        { duration: '15s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+};
+
+const QUERIES = ['forest loop', 'river', 'mountain trail', 'city park', 'lake'];
+
+export default function () {
+  const lat = 52.0 + Math.random();
+  const lng = 21.0 + Math.random();
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/route/public/nearby?lat=${lat}&lng=${lng}&radius=10000&limit=50`],
+    ['GET', `${BASE_URL}/api/route/public/search?q=${encodeURIComponent(QUERIES[__ITER % QUERIES.length])}`],
+    ['GET', `${BASE_URL}/api/route/user/${USER_ID}?limit=20`],
+  ]);
+  responses.forEach((response) => check(response, { 'status is 200': (r) => r.status === 200 }));
+}
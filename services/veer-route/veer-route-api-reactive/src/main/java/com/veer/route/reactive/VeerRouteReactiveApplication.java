@@ -0,0 +1,13 @@
+package com.veer.route.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class VeerRouteReactiveApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(VeerRouteReactiveApplication.class, args);
+    }
+
+}
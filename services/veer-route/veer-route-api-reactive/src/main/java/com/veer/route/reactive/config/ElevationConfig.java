@@ -0,0 +1,24 @@
+package com.veer.route.reactive.config;
+
+import com.veer.route.service.elevation.ElevationModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The terrain model of the MVC runtime, so that points without a recorded
+ * altitude climb the same on both runtimes. Only the service packages
+ * this runtime needs are used, so it is declared here instead of scanned.
+ */
+@Configuration
+public class ElevationConfig {
+
+    @Bean
+    public ElevationModel elevationModel(
+        @Value("${veer.route.elevation.directory:}") String directory,
+        @Value("${veer.route.elevation.max-mapped-bytes:2147483648}") long maxMappedBytes
+    ) {
+        return new ElevationModel(directory, maxMappedBytes);
+    }
+
+}
@@ -0,0 +1,322 @@
+package com.veer.route.reactive.controller;
+
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
+import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.reactive.service.ReactiveRouteService;
+import com.veer.route.service.simplify.DetailLevel;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Route CRUD and point edits of the MVC RouteController, with the same
+ * paths, headers, status codes and bodies, served without blocking a thread
+ * per request. This runtime is a sidecar: the gateway routes only these
+ * endpoints here, and the ones backed by in-memory indexes or the road graph
+ * (map searches, tiles, directions, isochrones, attractions, ratings, bulk
+ * import and export) are served by the MVC runtime alone.
+ */
+@RestController
+@RequestMapping("/api/route")
+@Validated
+@Tag(
+    name = "Route",
+    description =
+    "API for managing routes, including creation, retrieval, update, and deletion." +
+    " All requests are expected to already be authenticated by the gateway," +
+    " which passes the user in the request headers."
+)
+public class RouteController {
+
+    private final ReactiveRouteService routeService;
+
+    public RouteController(ReactiveRouteService routeService) {
+        this.routeService = routeService;
+    }
+
+    @Operation(
+        summary = "Create a new route",
+        description =
+        "Creates a new route in the database with the provided" +
+        " information from request body. The user ID is expected to be passed" +
+        " in the request header by the gateway after user's authentication."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "201",
+            description = "Route created successfully",
+            content = @Content(schema = @Schema(implementation = ResponseRouteDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        )
+    })
+    @PostMapping
+    public Mono<ResponseEntity<ResponseRouteDto>> createRoute(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route data to create", required = true)
+        @Valid @RequestBody CreateRouteDto createRouteDto
+    ) {
+        createRouteDto.setCreatedBy(userId);
+        return routeService.createRoute(createRouteDto)
+            .map(createdRoute -> ResponseEntity.status(HttpStatus.CREATED).body(createdRoute));
+    }
+
+    @Operation(
+        summary = "Get route by ID",
+        description =
+        "Retrieves route data by route ID. For map previews, pass zoom (the" +
+        " map zoom level) or tolerance (meters) to get simplified points that" +
+        " look the same at that zoom. The response carries the route version" +
+        " as a strong ETag; send it back in If-None-Match to get 304 instead" +
+        " of the route when it has not changed."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Route retrieved successfully",
+            content = @Content(schema = @Schema(implementation = ResponseRouteDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Route not modified since the given ETag"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @GetMapping("/{routeId}")
+    public Mono<ResponseEntity<ResponseRouteDto>> getRoute(
+        @Parameter(description = "Route ID to retrieve", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "Map zoom level the points are displayed at")
+        @RequestParam(required = false) @Min(0) @Max(22) Integer zoom,
+        @Parameter(description = "Maximum deviation of the simplified points, in meters")
+        @RequestParam(required = false) @DecimalMin("0") Double tolerance,
+        @Parameter(description = "ETag of the cached copy")
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        DetailLevel level = DetailLevel.of(zoom, tolerance);
+        Mono<ResponseEntity<ResponseRouteDto>> route = Mono.defer(() -> routeService.getRouteById(routeId, level))
+            .map(dto -> ResponseEntity.ok().eTag(RouteETag.of(dto.getVersion())).body(dto));
+        if (ifNoneMatch == null)
+            return route;
+        // only the version column is read, not the points
+        return routeService.getRouteVersion(routeId)
+            .flatMap(version -> RouteETag.matchesAny(ifNoneMatch, version)
+                ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(RouteETag.of(version)).<ResponseRouteDto>build())
+                : route);
+    }
+
+    @Operation(
+        summary = "Get routes by user ID",
+        description =
+        "Retrieves routes created by a specific user, newest first, without" +
+        " their points. Results are paginated: pass the returned nextCursor" +
+        " as the cursor parameter to get the next page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Routes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RouteSummaryPageDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters or cursor"
+        )
+    })
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<RouteSummaryPageDto>> getRoutesByUserId(
+        @Parameter(description = "User ID to retrieve routes for", required = true)
+        @PathVariable @NotBlank String userId,
+        @Parameter(description = "Cursor returned with the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of routes per page")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        return routeService.getRoutesByUserId(userId, cursor, limit).map(ResponseEntity::ok);
+    }
+
+    @Operation(
+        summary = "Update route",
+        description =
+        "Updates the given fields of a route owned by the user. Send the" +
+        " ETag of the route in If-Match to update it only if it has not" +
+        " changed since."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Route updated successfully",
+            content = @Content(schema = @Schema(implementation = ResponseRouteDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Route belongs to another user"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Route changed since the ETag given in If-Match"
+        )
+    })
+    @PutMapping("/{routeId}")
+    public Mono<ResponseEntity<ResponseRouteDto>> updateRoute(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route ID to update", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "ETag the update is based on")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Parameter(description = "Route data to update", required = true)
+        @Valid @RequestBody UpdateRouteDto updateRouteDto
+    ) {
+        updateRouteDto.setId(routeId);
+        return withExpectedVersion(routeId, ifMatch,
+                expectedVersion -> routeService.updateRoute(updateRouteDto, userId, expectedVersion))
+            .map(updatedRoute -> ResponseEntity.ok().eTag(RouteETag.of(updatedRoute.getVersion())).body(updatedRoute));
+    }
+
+    @Operation(
+        summary = "Edit route points",
+        description =
+        "Applies point-level operations (INSERT, MOVE, DELETE, REORDER) to the" +
+        " stored points, in order and all or nothing, so an edit does not" +
+        " have to send the whole point list. Returns the route summary with" +
+        " the updated statistics."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Route points updated successfully",
+            content = @Content(schema = @Schema(implementation = RouteSummaryDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid operation or index out of range"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Route belongs to another user"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Route changed since the ETag given in If-Match"
+        )
+    })
+    @PatchMapping("/{routeId}/points")
+    public Mono<ResponseEntity<RouteSummaryDto>> patchRoutePoints(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route ID to edit", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "ETag the edit is based on")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Parameter(description = "Operations to apply", required = true)
+        @Valid @RequestBody PatchRoutePointsDto patchRoutePointsDto
+    ) {
+        return withExpectedVersion(routeId, ifMatch,
+                expectedVersion -> routeService.patchRoutePoints(routeId, userId, patchRoutePointsDto, expectedVersion))
+            .map(route -> ResponseEntity.ok().eTag(RouteETag.of(route.getVersion())).body(route));
+    }
+
+    @Operation(
+        summary = "Delete route",
+        description =
+        "Deletes a route owned by the user. Send the ETag of the route in" +
+        " If-Match to delete it only if it has not changed since."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "204",
+            description = "Route deleted successfully"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Route belongs to another user"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Route changed since the ETag given in If-Match"
+        )
+    })
+    @DeleteMapping("/{routeId}")
+    public Mono<ResponseEntity<Void>> deleteRoute(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route ID to delete", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "ETag the deletion is based on")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        return withExpectedVersion(routeId, ifMatch,
+                expectedVersion -> routeService.deleteRouteById(routeId, userId, expectedVersion))
+            .then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    /**
+     * Runs the write with the version it must find, or null when If-Match
+     * allows any. The service re-checks it atomically on the version column.
+     */
+    private <T> Mono<T> withExpectedVersion(String routeId, String ifMatch, Function<Long, Mono<T>> write) {
+        List<Long> versions = RouteETag.ifMatchVersions(ifMatch);
+        if (versions == null)
+            return write.apply(null);
+        if (versions.size() == 1)
+            return write.apply(versions.get(0));
+        return routeService.getRouteVersion(routeId)
+            .flatMap(current -> versions.contains(current)
+                ? write.apply(current)
+                : Mono.error(RouteETag.mismatch(routeId, ifMatch)));
+    }
+
+}
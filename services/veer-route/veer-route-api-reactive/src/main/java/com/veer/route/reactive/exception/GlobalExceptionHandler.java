@@ -0,0 +1,105 @@
+package com.veer.route.reactive.exception;
+
+import com.veer.route.model.exception.RouteAccessDeniedException;
+import com.veer.route.model.exception.RouteAlreadyExistsException;
+import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.MissingRequestValueException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The error responses of the MVC runtime's GlobalExceptionHandler, mapped
+ * from the exceptions WebFlux raises for the same mistakes.
+ */
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    @ExceptionHandler(RouteAlreadyExistsException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteAlreadyExistsException(RouteAlreadyExistsException ex) {
+        return error(HttpStatus.CONFLICT, "Conflict", ex.getMessage());
+    }
+
+    @ExceptionHandler(RouteNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteNotFoundException(RouteNotFoundException ex) {
+        return error(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage());
+    }
+
+    @ExceptionHandler(RouteAccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteAccessDeniedException(RouteAccessDeniedException ex) {
+        return error(HttpStatus.FORBIDDEN, "Forbidden", ex.getMessage());
+    }
+
+    @ExceptionHandler(RouteVersionMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteVersionMismatchException(RouteVersionMismatchException ex) {
+        return error(HttpStatus.PRECONDITION_FAILED, "Precondition Failed", ex.getMessage());
+    }
+
+    @ExceptionHandler(MissingRequestValueException.class)
+    public ResponseEntity<Map<String, Object>> handleMissingRequestValueException(MissingRequestValueException ex) {
+        String what = "header".equals(ex.getLabel()) ? "header" : "parameter";
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", "Required " + what + " '" + ex.getName() + "' is missing");
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<Map<String, Object>> handleConstraintViolationException(ConstraintViolationException ex) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<Map<String, Object>> handleWebExchangeBindException(WebExchangeBindException ex) {
+        String errors = ex.getFieldErrors()
+            .stream()
+            .map(error -> error.getField() + ": " + error.getDefaultMessage())
+            .collect(Collectors.joining(", "));
+
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", "Validation failed: " + errors);
+    }
+
+    /**
+     * Unconvertible parameters and unreadable bodies, which Spring MVC
+     * reports with separate exceptions.
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<Map<String, Object>> handleServerWebInputException(ServerWebInputException ex) {
+        MethodParameter parameter = ex.getMethodParameter();
+        if (ex.getCause() instanceof TypeMismatchException mismatch && parameter != null) {
+            return error(HttpStatus.BAD_REQUEST, "Bad Request",
+                "Parameter '" + parameter.getParameterName() + "' has invalid value. Expected type: " +
+                (mismatch.getRequiredType() != null ? mismatch.getRequiredType().getSimpleName() : "unknown"));
+        }
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", "Request body is missing or malformed.");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleIllegalArgumentException(IllegalArgumentException ex) {
+        return error(HttpStatus.BAD_REQUEST, "Bad Request", ex.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error", "An unexpected error occurred: " + ex.getMessage());
+    }
+
+    private static ResponseEntity<Map<String, Object>> error(HttpStatus status, String error, String message) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", Instant.now());
+        errorResponse.put("status", status.value());
+        errorResponse.put("error", error);
+        errorResponse.put("message", message);
+        return ResponseEntity.status(status).body(errorResponse);
+    }
+
+}
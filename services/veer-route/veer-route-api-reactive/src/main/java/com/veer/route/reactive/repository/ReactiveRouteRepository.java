@@ -0,0 +1,282 @@
+package com.veer.route.reactive.repository;
+
+import com.veer.route.model.RouteDetailLevels;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.model.geometry.RouteGeometryJson;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.RouteCursor;
+import com.veer.route.service.simplify.DetailLevel;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * The statements of the JPA RouteRepository the route endpoints need,
+ * run against the same {@code routes} table with R2DBC. Native statements
+ * are shared with RouteRepository; its JPQL ones are written out in SQL. The schema is
+ * owned by the MVC runtime (Hibernate ddl-auto), which must have started
+ * against the database at least once.
+ *
+ * jsonb columns travel as raw bytes and are parsed straight into
+ * {@link RouteGeometry} with the streaming codec, never through a tree.
+ */
+@Repository
+public class ReactiveRouteRepository {
+
+    private static final String ROW = RouteRepository.ROW_COLUMNS;
+
+    private static final String STATISTICS = "length_m = :lengthMeters, ascent_m = :ascentMeters, "
+        + "descent_m = :descentMeters, duration_walk_s = :walkDurationSeconds, "
+        + "duration_bike_s = :bikeDurationSeconds, duration_car_s = :carDurationSeconds, "
+        + "bbox_min_lat = :minLatitude, bbox_min_lng = :minLongitude, "
+        + "bbox_max_lat = :maxLatitude, bbox_max_lng = :maxLongitude";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveRouteRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Route columns, with {@code points} only where a statement reads them.
+     */
+    public record RouteRow(
+        String id,
+        String createdBy,
+        RouteGeometry points,
+        String name,
+        String description,
+        Boolean isPublic,
+        Double rating,
+        Integer ratingCount,
+        Double ratingScore,
+        RouteStatistics statistics,
+        Instant createdAt,
+        Instant lastUpdated,
+        Long version
+    ) {
+
+        public RouteRow withPoints(RouteGeometry points) {
+            return new RouteRow(id, createdBy, points, name, description, isPublic, rating, ratingCount,
+                ratingScore, statistics, createdAt, lastUpdated, version);
+        }
+
+    }
+
+    public record RouteOwnership(String createdBy, Long version) {
+    }
+
+    public Mono<RouteRow> insert(RouteRow route, RouteDetailLevels detailLevels) {
+        GenericExecuteSpec spec = databaseClient.sql("insert into routes (id, created_by, points, name, description, "
+                + "is_public, rating_count, rating_sum, length_m, ascent_m, descent_m, duration_walk_s, "
+                + "duration_bike_s, duration_car_s, bbox_min_lat, bbox_min_lng, bbox_max_lat, bbox_max_lng, "
+                + "points_low, points_medium, points_high, created_at, last_updated, version) "
+                + "values (:id, :createdBy, cast(:points as jsonb), :name, :description, :isPublic, 0, 0, "
+                + ":lengthMeters, :ascentMeters, :descentMeters, :walkDurationSeconds, :bikeDurationSeconds, "
+                + ":carDurationSeconds, :minLatitude, :minLongitude, :maxLatitude, :maxLongitude, "
+                + "cast(:low as jsonb), cast(:medium as jsonb), cast(:high as jsonb), :now, :now, 0) "
+                + "returning " + ROW)
+            .bind("id", route.id())
+            .bind("createdBy", route.createdBy())
+            .bind("name", route.name());
+        spec = bind(spec, "description", route.description(), String.class);
+        spec = bind(spec, "isPublic", Boolean.TRUE.equals(route.isPublic()), Boolean.class);
+        spec = bind(spec, "now", route.lastUpdated(), Instant.class);
+        spec = bindPoints(spec, route.points(), detailLevels);
+        return bindStatistics(spec, route.statistics())
+            .map((row, metadata) -> toRouteRow(row, null))
+            .one();
+    }
+
+    /**
+     * The route with the stored points of {@code level}, which are null on
+     * rows written before levels of detail existed.
+     */
+    public Mono<RouteRow> findById(String id, DetailLevel level) {
+        return databaseClient.sql("select " + ROW + ", " + pointsColumn(level) + " as points from routes where id = :id")
+            .bind("id", id)
+            .map((row, metadata) -> toRouteRow(row, readGeometry(row.get("points", Json.class))))
+            .one();
+    }
+
+    public Mono<Long> findVersionById(String id) {
+        return databaseClient.sql("select version from routes where id = :id")
+            .bind("id", id)
+            .map((row, metadata) -> row.get("version", Long.class))
+            .one();
+    }
+
+    public Mono<RouteOwnership> findOwnershipById(String id) {
+        return databaseClient.sql("select created_by as \"createdBy\", version from routes where id = :id")
+            .bind("id", id)
+            .map((row, metadata) -> new RouteOwnership(row.get("createdBy", String.class), row.get("version", Long.class)))
+            .one();
+    }
+
+    /**
+     * Routes of a user, newest first, from just after {@code after} or from
+     * the start when it is null, in the order of the JPA
+     * findSummariesByCreatedBy and over the same index.
+     */
+    public Flux<RouteRow> findByCreatedBy(String userId, RouteCursor after, int limit) {
+        if (after == null) {
+            return databaseClient.sql("select " + ROW + " from routes where created_by = :userId "
+                    + "order by created_at desc, id desc limit :limit")
+                .bind("userId", userId)
+                .bind("limit", limit)
+                .map((row, metadata) -> toRouteRow(row, null))
+                .all();
+        }
+        return databaseClient.sql("select " + ROW + " from routes where created_by = :userId "
+                + "and (created_at, id) < (:createdAt, :afterId) order by created_at desc, id desc limit :limit")
+            .bind("userId", userId)
+            .bind("createdAt", after.getCreatedAt())
+            .bind("afterId", after.getId())
+            .bind("limit", limit)
+            .map((row, metadata) -> toRouteRow(row, null))
+            .all();
+    }
+
+    /**
+     * Deletes the route if the user owns it and, when given, it is at the
+     * expected version; empty when no row matched.
+     */
+    public Mono<RouteRow> deleteOwned(String id, String userId, Long expectedVersion) {
+        GenericExecuteSpec spec = databaseClient.sql(RouteRepository.DELETE_OWNED)
+            .bind("id", id)
+            .bind("userId", userId);
+        return bind(spec, "expectedVersion", expectedVersion, Long.class)
+            .map((row, metadata) -> toRouteRow(row, null))
+            .one();
+    }
+
+    /**
+     * Sets the non-null fields on the same conditions as
+     * {@link #deleteOwned}; the route with its points, or empty when no
+     * row matched.
+     */
+    public Mono<RouteRow> updateOwnedDetails(
+        String id, String userId, Long expectedVersion,
+        String name, String description, Boolean isPublic, Instant lastUpdated
+    ) {
+        GenericExecuteSpec spec = databaseClient.sql(RouteRepository.UPDATE_OWNED_DETAILS)
+            .bind("id", id)
+            .bind("userId", userId)
+            .bind("lastUpdated", lastUpdated);
+        spec = bind(spec, "expectedVersion", expectedVersion, Long.class);
+        spec = bind(spec, "name", name, String.class);
+        spec = bind(spec, "description", description, String.class);
+        return bind(spec, "isPublic", isPublic, Boolean.class)
+            .map((row, metadata) -> toRouteRow(row, readGeometry(row.get("pointsJson", String.class))))
+            .one();
+    }
+
+    /**
+     * Writes the points and every field derived from them, provided the
+     * route is still at {@code version}; empty when it is not.
+     */
+    public Mono<RouteRow> updatePoints(RouteRow route, RouteDetailLevels detailLevels, long version) {
+        GenericExecuteSpec spec = databaseClient.sql("update routes set points = cast(:points as jsonb), "
+                + "points_low = cast(:low as jsonb), points_medium = cast(:medium as jsonb), "
+                + "points_high = cast(:high as jsonb), " + STATISTICS + ", name = :name, "
+                + "description = :description, is_public = :isPublic, last_updated = :now, "
+                + "version = version + 1 where id = :id and version = :version returning " + ROW)
+            .bind("id", route.id())
+            .bind("version", version)
+            .bind("name", route.name());
+        spec = bind(spec, "description", route.description(), String.class);
+        spec = bind(spec, "isPublic", Boolean.TRUE.equals(route.isPublic()), Boolean.class);
+        spec = bind(spec, "now", route.lastUpdated(), Instant.class);
+        spec = bindPoints(spec, route.points(), detailLevels);
+        return bindStatistics(spec, route.statistics())
+            .map((row, metadata) -> toRouteRow(row, null))
+            .one();
+    }
+
+    private static String pointsColumn(DetailLevel level) {
+        return switch (level) {
+            case LOW -> "points_low";
+            case MEDIUM -> "points_medium";
+            case HIGH -> "points_high";
+            case FULL -> "points";
+        };
+    }
+
+    private static GenericExecuteSpec bindPoints(GenericExecuteSpec spec, RouteGeometry points, RouteDetailLevels levels) {
+        spec = bind(spec, "points", toJson(points), Json.class);
+        spec = bind(spec, "low", levels != null ? toJson(levels.getLow()) : null, Json.class);
+        spec = bind(spec, "medium", levels != null ? toJson(levels.getMedium()) : null, Json.class);
+        return bind(spec, "high", levels != null ? toJson(levels.getHigh()) : null, Json.class);
+    }
+
+    private static GenericExecuteSpec bindStatistics(GenericExecuteSpec spec, RouteStatistics statistics) {
+        RouteStatistics s = statistics != null ? statistics : new RouteStatistics();
+        spec = bind(spec, "lengthMeters", s.getLengthMeters(), Double.class);
+        spec = bind(spec, "ascentMeters", s.getAscentMeters(), Double.class);
+        spec = bind(spec, "descentMeters", s.getDescentMeters(), Double.class);
+        spec = bind(spec, "walkDurationSeconds", s.getWalkDurationSeconds(), Long.class);
+        spec = bind(spec, "bikeDurationSeconds", s.getBikeDurationSeconds(), Long.class);
+        spec = bind(spec, "carDurationSeconds", s.getCarDurationSeconds(), Long.class);
+        spec = bind(spec, "minLatitude", s.getMinLatitude(), Double.class);
+        spec = bind(spec, "minLongitude", s.getMinLongitude(), Double.class);
+        spec = bind(spec, "maxLatitude", s.getMaxLatitude(), Double.class);
+        return bind(spec, "maxLongitude", s.getMaxLongitude(), Double.class);
+    }
+
+    private static GenericExecuteSpec bind(GenericExecuteSpec spec, String name, Object value, Class<?> type) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, type);
+    }
+
+    private static Json toJson(RouteGeometry geometry) {
+        return geometry != null ? Json.of(RouteGeometryJson.toJson(geometry)) : null;
+    }
+
+    private static RouteGeometry readGeometry(Json json) {
+        if (json == null)
+            return null;
+        return RouteGeometryJson.fromJson(json.asArray());
+    }
+
+    private static RouteGeometry readGeometry(String json) {
+        if (json == null)
+            return null;
+        return RouteGeometryJson.fromJson(json);
+    }
+
+    private static RouteRow toRouteRow(Row row, RouteGeometry points) {
+        return new RouteRow(
+            row.get("id", String.class),
+            row.get("createdBy", String.class),
+            points,
+            row.get("name", String.class),
+            row.get("description", String.class),
+            row.get("isPublic", Boolean.class),
+            row.get("rating", Double.class),
+            row.get("ratingCount", Integer.class),
+            row.get("ratingScore", Double.class),
+            RouteStatistics.builder()
+                .lengthMeters(row.get("lengthMeters", Double.class))
+                .ascentMeters(row.get("ascentMeters", Double.class))
+                .descentMeters(row.get("descentMeters", Double.class))
+                .walkDurationSeconds(row.get("walkDurationSeconds", Long.class))
+                .bikeDurationSeconds(row.get("bikeDurationSeconds", Long.class))
+                .carDurationSeconds(row.get("carDurationSeconds", Long.class))
+                .minLatitude(row.get("minLatitude", Double.class))
+                .minLongitude(row.get("minLongitude", Double.class))
+                .maxLatitude(row.get("maxLatitude", Double.class))
+                .maxLongitude(row.get("maxLongitude", Double.class))
+                .build(),
+            row.get("createdAt", Instant.class),
+            row.get("lastUpdated", Instant.class),
+            row.get("version", Long.class)
+        );
+    }
+
+}
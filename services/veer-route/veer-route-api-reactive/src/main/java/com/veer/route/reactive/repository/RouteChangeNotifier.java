@@ -0,0 +1,69 @@
+package com.veer.route.reactive.repository;
+
+import com.veer.route.model.RouteStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Announces route changes on the channel the MVC runtime's
+ * RouteCacheNotifier listens to, so that instances of it running against
+ * the same database evict their cached routes and tiles. This runtime has
+ * no such caches and does not listen itself.
+ */
+@Component
+public class RouteChangeNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteChangeNotifier.class);
+
+    static final String CHANNEL = "veer_route_changed";
+
+    private final DatabaseClient databaseClient;
+
+    private final boolean enabled;
+
+    public RouteChangeNotifier(
+        DatabaseClient databaseClient,
+        @Value("${veer.route.cache.notify.enabled:false}") boolean enabled
+    ) {
+        this.databaseClient = databaseClient;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Completes even when the notification fails: the change is already
+     * committed, so the failure is only logged.
+     */
+    public Mono<Void> routeChanged(String routeId, RouteStatistics statistics, RouteStatistics previousStatistics) {
+        if (!enabled)
+            return Mono.empty();
+        String payload = payload(routeId, statistics, previousStatistics);
+        return databaseClient.sql("select pg_notify(:channel, :payload)")
+            .bind("channel", CHANNEL)
+            .bind("payload", payload)
+            .then()
+            .onErrorResume(e -> {
+                log.warn("Could not announce route change {}", payload, e);
+                return Mono.empty();
+            });
+    }
+
+    // "<id>[ <minLat> <minLng> <maxLat> <maxLng>]...", as RouteCacheNotifier reads it
+    static String payload(String routeId, RouteStatistics statistics, RouteStatistics previousStatistics) {
+        StringBuilder payload = new StringBuilder(routeId);
+        for (RouteStatistics box : new RouteStatistics[] {statistics, previousStatistics}) {
+            if (box == null || box.getMinLatitude() == null || box.getMinLongitude() == null
+                || box.getMaxLatitude() == null || box.getMaxLongitude() == null)
+                continue;
+            payload.append(' ').append(box.getMinLatitude())
+                .append(' ').append(box.getMinLongitude())
+                .append(' ').append(box.getMaxLatitude())
+                .append(' ').append(box.getMaxLongitude());
+        }
+        return payload.toString();
+    }
+
+}
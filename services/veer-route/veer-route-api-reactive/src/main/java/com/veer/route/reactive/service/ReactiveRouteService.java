@@ -0,0 +1,277 @@
+package com.veer.route.reactive.service;
+
+import com.veer.route.model.RouteDetailLevels;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
+import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.model.exception.RouteAccessDeniedException;
+import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.reactive.repository.ReactiveRouteRepository;
+import com.veer.route.reactive.repository.ReactiveRouteRepository.RouteRow;
+import com.veer.route.reactive.repository.RouteChangeNotifier;
+import com.veer.route.service.RouteCursor;
+import com.veer.route.service.RoutePointEditor;
+import com.veer.route.service.RouteStatisticsCalculator;
+import com.veer.route.service.elevation.ElevationModel;
+import com.veer.route.service.simplify.DetailLevel;
+import com.veer.route.service.simplify.RouteSimplifier;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * The route operations of RouteServiceImpl that the reactive runtime
+ * serves, with the same rules: writes are scoped to the owner and the
+ * expected version, and a write that matches no row is classified
+ * afterwards as 404, 403 or 412.
+ *
+ * Statistics and levels of detail are computed on the bounded elastic
+ * scheduler, as terrain heights may page memory-mapped tiles in from disk
+ * and long routes take a while; everything else runs on the event loop.
+ */
+@Service
+public class ReactiveRouteService {
+
+    private final ReactiveRouteRepository repository;
+
+    private final RouteChangeNotifier notifier;
+
+    private final ElevationModel elevationModel;
+
+    public ReactiveRouteService(ReactiveRouteRepository repository, RouteChangeNotifier notifier, ElevationModel elevationModel) {
+        this.repository = repository;
+        this.notifier = notifier;
+        this.elevationModel = elevationModel;
+    }
+
+    public Mono<ResponseRouteDto> createRoute(CreateRouteDto createRouteDto) {
+        RouteGeometry points = createRouteDto.getPoints();
+        return Mono.fromCallable(() -> new Derived(
+                // points without altitude climb as the terrain does
+                RouteStatisticsCalculator.compute(elevationModel.withElevations(points)),
+                RouteSimplifier.detailLevels(points)
+            ))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(derived -> {
+                Instant now = Instant.now();
+                RouteRow route = new RouteRow(UUID.randomUUID().toString(), createRouteDto.getCreatedBy(), points,
+                    createRouteDto.getName(), createRouteDto.getDescription(), createRouteDto.getIsPublic(),
+                    null, 0, null, derived.statistics(), now, now, null);
+                return repository.insert(route, derived.detailLevels());
+            })
+            .flatMap(saved -> notifier.routeChanged(saved.id(), saved.statistics(), null)
+                .thenReturn(toResponseRouteDto(saved.withPoints(points))));
+    }
+
+    /**
+     * The route with points simplified for {@code level}, read from the
+     * stored level of detail when the row has one.
+     */
+    public Mono<ResponseRouteDto> getRouteById(String routeId, DetailLevel level) {
+        Mono<RouteRow> route = repository.findById(routeId, level);
+        if (level != DetailLevel.FULL) {
+            route = route.flatMap(detail -> detail.points() != null
+                ? Mono.just(detail)
+                // written before levels of detail were stored
+                : repository.findById(routeId, DetailLevel.FULL).map(full -> full.points() == null
+                    ? full
+                    : full.withPoints(RouteSimplifier.simplify(full.points(), level.toleranceMeters()))));
+        }
+        return route
+            .switchIfEmpty(Mono.error(() -> notFound(routeId)))
+            .map(ReactiveRouteService::toResponseRouteDto);
+    }
+
+    public Mono<Long> getRouteVersion(String routeId) {
+        return repository.findVersionById(routeId)
+            .switchIfEmpty(Mono.error(() -> notFound(routeId)));
+    }
+
+    public Mono<RouteSummaryPageDto> getRoutesByUserId(String userId, String cursor, int limit) {
+        RouteCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : RouteCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            return Mono.error(e);
+        }
+        // one extra row tells whether there is a next page
+        return repository.findByCreatedBy(userId, after, limit + 1)
+            .map(ReactiveRouteService::toRouteSummaryDto)
+            .collectList()
+            .map(rows -> {
+                if (rows.size() <= limit)
+                    return RouteSummaryPageDto.builder().items(rows).build();
+
+                List<RouteSummaryDto> items = rows.subList(0, limit);
+                RouteSummaryDto last = items.get(limit - 1);
+                return RouteSummaryPageDto.builder()
+                    .items(items)
+                    .nextCursor(RouteCursor.encode(last.getCreatedAt(), last.getId()))
+                    .build();
+            });
+    }
+
+    public Mono<Void> deleteRouteById(String routeId, String userId, Long expectedVersion) {
+        return repository.deleteOwned(routeId, userId, expectedVersion)
+            .switchIfEmpty(Mono.defer(() -> rejected(routeId, userId, expectedVersion)))
+            .flatMap(deleted -> notifier.routeChanged(routeId, null, deleted.statistics()));
+    }
+
+    /**
+     * Without new points, one owner-scoped statement sets the other fields
+     * and returns the route with its points; new points are written
+     * together with the statistics derived from the stored ones.
+     */
+    public Mono<ResponseRouteDto> updateRoute(UpdateRouteDto updateRouteDto, String userId, Long expectedVersion) {
+        String routeId = updateRouteDto.getId();
+        if (updateRouteDto.getPoints() == null) {
+            return repository.updateOwnedDetails(routeId, userId, expectedVersion,
+                    updateRouteDto.getName(), updateRouteDto.getDescription(), updateRouteDto.getIsPublic(), Instant.now())
+                .switchIfEmpty(Mono.defer(() -> rejected(routeId, userId, expectedVersion)))
+                .flatMap(updated -> notifier.routeChanged(routeId, updated.statistics(), updated.statistics())
+                    .thenReturn(toResponseRouteDto(updated)));
+        }
+
+        return writePoints(routeId, userId, expectedVersion, before -> updateRouteDto.getPoints(), route -> new RouteRow(
+                route.id(), route.createdBy(), route.points(),
+                updateRouteDto.getName() != null ? updateRouteDto.getName() : route.name(),
+                updateRouteDto.getDescription() != null ? updateRouteDto.getDescription() : route.description(),
+                updateRouteDto.getIsPublic() != null ? updateRouteDto.getIsPublic() : route.isPublic(),
+                route.rating(), route.ratingCount(), route.ratingScore(), route.statistics(),
+                route.createdAt(), route.lastUpdated(), route.version()))
+            .map(ReactiveRouteService::toResponseRouteDto);
+    }
+
+    /**
+     * Statistics are updated from the old and new geometry, and the
+     * response carries no points, as in RouteServiceImpl.
+     */
+    public Mono<RouteSummaryDto> patchRoutePoints(
+        String routeId, String userId, PatchRoutePointsDto patchRoutePointsDto, Long expectedVersion
+    ) {
+        return writePoints(routeId, userId, expectedVersion,
+                before -> RoutePointEditor.apply(before, patchRoutePointsDto.getOperations()), UnaryOperator.identity())
+            .map(ReactiveRouteService::toRouteSummaryDto);
+    }
+
+    /**
+     * Loads the route, checks it, replaces its points with {@code edit} of
+     * the stored ones and the other fields with {@code fields}, and writes
+     * it back on condition that its version has not moved in between.
+     */
+    private Mono<RouteRow> writePoints(
+        String routeId, String userId, Long expectedVersion,
+        UnaryOperator<RouteGeometry> edit, UnaryOperator<RouteRow> fields
+    ) {
+        return repository.findById(routeId, DetailLevel.FULL)
+            .switchIfEmpty(Mono.error(() -> notFound(routeId)))
+            .flatMap(route -> {
+                if (!route.createdBy().equals(userId))
+                    return Mono.error(notOwner(routeId));
+                if (expectedVersion != null && !expectedVersion.equals(route.version()))
+                    return Mono.error(new RouteVersionMismatchException(
+                        "Route " + routeId + " is at version " + route.version() + ", not " + expectedVersion
+                    ));
+
+                RouteGeometry before = route.points() != null ? route.points() : RouteGeometry.empty();
+                return Mono.fromCallable(() -> {
+                        RouteGeometry after = edit.apply(before);
+                        RouteStatistics statistics = RouteStatisticsCalculator.update(
+                            route.statistics(), before, after, elevationModel
+                        );
+                        RouteRow changed = fields.apply(route);
+                        return new Edited(new RouteRow(changed.id(), changed.createdBy(), after, changed.name(),
+                            changed.description(), changed.isPublic(), changed.rating(), changed.ratingCount(),
+                            changed.ratingScore(), statistics, changed.createdAt(), Instant.now(), changed.version()),
+                            RouteSimplifier.detailLevels(after));
+                    })
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .flatMap(edited -> repository.updatePoints(edited.route(), edited.detailLevels(), route.version())
+                        .switchIfEmpty(Mono.error(() -> concurrentlyModified(routeId)))
+                        .flatMap(saved -> notifier.routeChanged(routeId, saved.statistics(), route.statistics())
+                            .thenReturn(saved.withPoints(edited.route().points()))));
+            });
+    }
+
+    /**
+     * Why an owner-scoped statement changed no row: the route is gone,
+     * someone else's, at another version, or was changed in between.
+     */
+    private <T> Mono<T> rejected(String routeId, String userId, Long expectedVersion) {
+        return repository.findOwnershipById(routeId)
+            .switchIfEmpty(Mono.error(() -> notFound(routeId)))
+            .flatMap(current -> {
+                if (!current.createdBy().equals(userId))
+                    return Mono.error(notOwner(routeId));
+                if (expectedVersion != null && !expectedVersion.equals(current.version()))
+                    return Mono.error(new RouteVersionMismatchException(
+                        "Route " + routeId + " is at version " + current.version() + ", not " + expectedVersion
+                    ));
+                return Mono.error(concurrentlyModified(routeId));
+            });
+    }
+
+    private static RouteNotFoundException notFound(String routeId) {
+        return new RouteNotFoundException("Route " + routeId + " not found");
+    }
+
+    private static RouteAccessDeniedException notOwner(String routeId) {
+        return new RouteAccessDeniedException("Route " + routeId + " belongs to another user");
+    }
+
+    private static RouteVersionMismatchException concurrentlyModified(String routeId) {
+        return new RouteVersionMismatchException("Route " + routeId + " was modified concurrently");
+    }
+
+    static ResponseRouteDto toResponseRouteDto(RouteRow route) {
+        return ResponseRouteDto.builder()
+            .id(route.id())
+            .createdBy(route.createdBy())
+            .points(route.points())
+            .name(route.name())
+            .description(route.description())
+            .isPublic(route.isPublic())
+            .rating(route.rating())
+            .ratingCount(route.ratingCount())
+            .ratingScore(route.ratingScore())
+            .statistics(route.statistics())
+            .createdAt(route.createdAt())
+            .lastUpdated(route.lastUpdated())
+            .version(route.version())
+            .build();
+    }
+
+    static RouteSummaryDto toRouteSummaryDto(RouteRow route) {
+        return RouteSummaryDto.builder()
+            .id(route.id())
+            .createdBy(route.createdBy())
+            .name(route.name())
+            .isPublic(route.isPublic())
+            .rating(route.rating())
+            .ratingCount(route.ratingCount())
+            .ratingScore(route.ratingScore())
+            .statistics(route.statistics())
+            .createdAt(route.createdAt())
+            .lastUpdated(route.lastUpdated())
+            .version(route.version())
+            .build();
+    }
+
+    private record Derived(RouteStatistics statistics, RouteDetailLevels detailLevels) {
+    }
+
+    private record Edited(RouteRow route, RouteDetailLevels detailLevels) {
+    }
+
+}
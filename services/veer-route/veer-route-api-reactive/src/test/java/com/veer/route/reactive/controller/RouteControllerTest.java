@@ -0,0 +1,250 @@
+package com.veer.route.reactive.controller;
+
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
+import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.model.exception.RouteAccessDeniedException;
+import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.reactive.exception.GlobalExceptionHandler;
+import com.veer.route.reactive.service.ReactiveRouteService;
+import com.veer.route.service.simplify.DetailLevel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(RouteController.class)
+@Import(GlobalExceptionHandler.class)
+@DisplayName("Reactive RouteController Tests")
+class RouteControllerTest {
+
+    private static final String ROUTE_ID = "route-123";
+
+    private static final String USER_ID = "user-123";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private ReactiveRouteService routeService;
+
+    private static ResponseRouteDto route(long version) {
+        return ResponseRouteDto.builder()
+            .id(ROUTE_ID)
+            .createdBy(USER_ID)
+            .points(RouteGeometry.builder().add(52.0, 21.0).add(52.1, 21.1).build())
+            .name("Test Route")
+            .isPublic(true)
+            .version(version)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Create Route Tests")
+    class CreateRouteTests {
+
+        @Test
+        @DisplayName("Should create a route for the user in the header")
+        void shouldCreateRoute() {
+            // Given
+            when(routeService.createRoute(any(CreateRouteDto.class))).thenReturn(Mono.just(route(0)));
+
+            // When & Then
+            webTestClient.post().uri("/api/route")
+                .header("X-User-Id", USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Test Route\",\"points\":[{\"latitude\":52.0,\"longitude\":21.0}]}")
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(ROUTE_ID)
+                .jsonPath("$.points[1].latitude").isEqualTo(52.1);
+
+            ArgumentCaptor<CreateRouteDto> created = ArgumentCaptor.forClass(CreateRouteDto.class);
+            verify(routeService).createRoute(created.capture());
+            assertThat(created.getValue().getCreatedBy()).isEqualTo(USER_ID);
+            assertThat(created.getValue().getPoints().size()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should reject a route without a user or without points")
+        void shouldRejectInvalidRoute() {
+            // When & Then
+            webTestClient.post().uri("/api/route")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Test Route\",\"points\":[]}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Required header 'X-User-Id' is missing");
+
+            webTestClient.post().uri("/api/route")
+                .header("X-User-Id", USER_ID)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\":\"Test Route\"}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").value(message -> assertThat((String) message).contains("points"));
+
+            verifyNoInteractions(routeService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Route Tests")
+    class GetRouteTests {
+
+        @Test
+        @DisplayName("Should return the route at the level of its zoom with its ETag")
+        void shouldReturnRoute() {
+            // Given
+            when(routeService.getRouteById(ROUTE_ID, DetailLevel.forZoom(10))).thenReturn(Mono.just(route(3)));
+
+            // When & Then
+            webTestClient.get().uri("/api/route/{routeId}?zoom=10", ROUTE_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Test Route");
+        }
+
+        @Test
+        @DisplayName("Should answer 304 without reading the points when the ETag matches")
+        void shouldReturnNotModified() {
+            // Given
+            when(routeService.getRouteVersion(ROUTE_ID)).thenReturn(Mono.just(3L));
+
+            // When & Then
+            webTestClient.get().uri("/api/route/{routeId}", ROUTE_ID)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"");
+
+            verify(routeService, never()).getRouteById(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should answer 404 for an unknown route")
+        void shouldReturnNotFound() {
+            // Given
+            when(routeService.getRouteById("non-existent-route", DetailLevel.FULL))
+                .thenReturn(Mono.error(new RouteNotFoundException("Route non-existent-route not found")));
+
+            // When & Then
+            webTestClient.get().uri("/api/route/non-existent-route")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Not Found");
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Routes By User Tests")
+    class GetRoutesByUserTests {
+
+        @Test
+        @DisplayName("Should return a page of the user's routes")
+        void shouldReturnPage() {
+            // Given
+            when(routeService.getRoutesByUserId(USER_ID, "abc", 10))
+                .thenReturn(Mono.just(RouteSummaryPageDto.builder().items(List.of()).nextCursor("def").build()));
+
+            // When & Then
+            webTestClient.get().uri("/api/route/user/{userId}?cursor=abc&limit=10", USER_ID)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.nextCursor").isEqualTo("def");
+        }
+
+        @Test
+        @DisplayName("Should reject a limit out of range")
+        void shouldRejectLimit() {
+            // When & Then
+            webTestClient.get().uri("/api/route/user/{userId}?limit=0", USER_ID)
+                .exchange()
+                .expectStatus().isBadRequest();
+
+            verifyNoInteractions(routeService);
+        }
+    }
+
+    @Nested
+    @DisplayName("Update And Delete Route Tests")
+    class UpdateAndDeleteRouteTests {
+
+        @Test
+        @DisplayName("Should update the route at the version given in If-Match")
+        void shouldUpdateRoute() {
+            // Given
+            when(routeService.updateRoute(any(UpdateRouteDto.class), eq(USER_ID), eq(3L))).thenReturn(Mono.just(route(4)));
+
+            // When & Then
+            webTestClient.put().uri("/api/route/{routeId}", ROUTE_ID)
+                .header("X-User-Id", USER_ID)
+                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":\"" + ROUTE_ID + "\",\"name\":\"Renamed\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"4\"");
+
+            ArgumentCaptor<UpdateRouteDto> updated = ArgumentCaptor.forClass(UpdateRouteDto.class);
+            verify(routeService).updateRoute(updated.capture(), eq(USER_ID), eq(3L));
+            assertThat(updated.getValue().getId()).isEqualTo(ROUTE_ID);
+        }
+
+        @Test
+        @DisplayName("Should delete the route and answer 204")
+        void shouldDeleteRoute() {
+            // Given
+            when(routeService.deleteRouteById(ROUTE_ID, USER_ID, null)).thenReturn(Mono.empty());
+
+            // When & Then
+            webTestClient.delete().uri("/api/route/{routeId}", ROUTE_ID)
+                .header("X-User-Id", USER_ID)
+                .exchange()
+                .expectStatus().isNoContent();
+
+            verify(routeService).deleteRouteById(ROUTE_ID, USER_ID, null);
+        }
+
+        @Test
+        @DisplayName("Should answer 403 when the route belongs to another user")
+        void shouldRejectOtherUsersRoute() {
+            // Given
+            when(routeService.deleteRouteById(ROUTE_ID, "other-user", null))
+                .thenReturn(Mono.error(new RouteAccessDeniedException("Route " + ROUTE_ID + " belongs to another user")));
+
+            // When & Then
+            webTestClient.delete().uri("/api/route/{routeId}", ROUTE_ID)
+                .header("X-User-Id", "other-user")
+                .exchange()
+                .expectStatus().isForbidden()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Forbidden");
+        }
+    }
+}
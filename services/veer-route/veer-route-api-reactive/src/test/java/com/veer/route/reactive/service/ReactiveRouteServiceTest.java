@@ -0,0 +1,227 @@
+package com.veer.route.reactive.service;
+
+import com.veer.route.model.RouteDetailLevels;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.RoutePointOperationDto;
+import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.model.exception.RouteAccessDeniedException;
+import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.reactive.repository.ReactiveRouteRepository;
+import com.veer.route.reactive.repository.ReactiveRouteRepository.RouteOwnership;
+import com.veer.route.reactive.repository.ReactiveRouteRepository.RouteRow;
+import com.veer.route.reactive.repository.RouteChangeNotifier;
+import com.veer.route.service.elevation.ElevationModel;
+import com.veer.route.service.simplify.DetailLevel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ReactiveRouteService Unit Tests")
+class ReactiveRouteServiceTest {
+
+    private static final String ROUTE_ID = "route-123";
+
+    private static final String USER_ID = "user-123";
+
+    private static final RouteGeometry POINTS = RouteGeometry.builder()
+        .add(52.0, 21.0)
+        .add(52.01, 21.01)
+        .add(52.02, 21.0)
+        .build();
+
+    private final ReactiveRouteRepository repository = mock(ReactiveRouteRepository.class);
+
+    private final RouteChangeNotifier notifier = mock(RouteChangeNotifier.class);
+
+    private final ReactiveRouteService service = new ReactiveRouteService(repository, notifier, new ElevationModel("", 0));
+
+    private static RouteRow row(RouteGeometry points, long version) {
+        return new RouteRow(ROUTE_ID, USER_ID, points, "Test Route", "Description", true, null, 0, null,
+            RouteStatistics.builder().lengthMeters(2500.0).minLatitude(52.0).build(),
+            Instant.parse("2024-01-01T00:00:00Z"), Instant.parse("2024-01-01T00:00:00Z"), version);
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(notifier.routeChanged(any(), any(), any())).thenReturn(Mono.empty());
+    }
+
+    @Nested
+    @DisplayName("Create Route Tests")
+    class CreateRouteTests {
+
+        @Test
+        @DisplayName("Should store the statistics and levels of detail of the points")
+        void shouldCreateRoute() {
+            // Given
+            when(repository.insert(any(RouteRow.class), any(RouteDetailLevels.class)))
+                .thenAnswer(invocation -> Mono.just(((RouteRow) invocation.getArgument(0)).withPoints(null)));
+
+            // When & Then
+            StepVerifier.create(service.createRoute(CreateRouteDto.builder()
+                    .createdBy(USER_ID).name("Test Route").points(POINTS).build()))
+                .assertNext(route -> {
+                    assertThat(route.getPoints()).isEqualTo(POINTS);
+                    assertThat(route.getStatistics().getLengthMeters()).isGreaterThan(2000.0);
+                    assertThat(route.getIsPublic()).isFalse();
+                })
+                .verifyComplete();
+
+            ArgumentCaptor<RouteDetailLevels> levels = ArgumentCaptor.forClass(RouteDetailLevels.class);
+            verify(repository).insert(any(RouteRow.class), levels.capture());
+            assertThat(levels.getValue().getLow()).isNotNull();
+            verify(notifier).routeChanged(any(), any(), isNull());
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Route Tests")
+    class GetRouteTests {
+
+        @Test
+        @DisplayName("Should simplify the full points of rows without levels of detail")
+        void shouldFallBackToFullPoints() {
+            // Given
+            when(repository.findById(ROUTE_ID, DetailLevel.LOW)).thenReturn(Mono.just(row(null, 2)));
+            when(repository.findById(ROUTE_ID, DetailLevel.FULL)).thenReturn(Mono.just(row(POINTS, 2)));
+
+            // When & Then
+            StepVerifier.create(service.getRouteById(ROUTE_ID, DetailLevel.LOW))
+                .assertNext(route -> {
+                    assertThat(route.getPoints().size()).isBetween(2, 3);
+                    assertThat(route.getVersion()).isEqualTo(2L);
+                })
+                .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should fail with not found for an unknown route")
+        void shouldFailForUnknownRoute() {
+            // Given
+            when(repository.findById("non-existent-route", DetailLevel.FULL)).thenReturn(Mono.empty());
+
+            // When & Then
+            StepVerifier.create(service.getRouteById("non-existent-route", DetailLevel.FULL))
+                .expectError(RouteNotFoundException.class)
+                .verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("Get Routes By User Tests")
+    class GetRoutesByUserTests {
+
+        @Test
+        @DisplayName("Should return a cursor when there is a next page")
+        void shouldReturnNextCursor() {
+            // Given
+            when(repository.findByCreatedBy(USER_ID, null, 2)).thenReturn(Flux.just(row(null, 0), row(null, 0)));
+
+            // When & Then
+            StepVerifier.create(service.getRoutesByUserId(USER_ID, null, 1))
+                .assertNext(page -> {
+                    assertThat(page.getItems()).hasSize(1);
+                    assertThat(page.getNextCursor()).isNotNull();
+                })
+                .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject an invalid cursor")
+        void shouldRejectInvalidCursor() {
+            // When & Then
+            StepVerifier.create(service.getRoutesByUserId(USER_ID, "not-a-cursor", 20))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        }
+    }
+
+    @Nested
+    @DisplayName("Update And Delete Route Tests")
+    class UpdateAndDeleteRouteTests {
+
+        @Test
+        @DisplayName("Should update details in one statement that returns the points")
+        void shouldUpdateDetails() {
+            // Given
+            when(repository.updateOwnedDetails(eq(ROUTE_ID), eq(USER_ID), eq(2L), eq("Renamed"), isNull(), isNull(), any()))
+                .thenReturn(Mono.just(row(POINTS, 3)));
+
+            // When & Then
+            StepVerifier.create(service.updateRoute(UpdateRouteDto.builder().id(ROUTE_ID).name("Renamed").build(), USER_ID, 2L))
+                .assertNext(route -> {
+                    assertThat(route.getVersion()).isEqualTo(3L);
+                    assertThat(route.getPoints()).isEqualTo(POINTS);
+                })
+                .verifyComplete();
+
+            verify(repository, never()).findById(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should tell why a delete matched no row")
+        void shouldClassifyRejectedDelete() {
+            // Given
+            when(repository.deleteOwned(eq(ROUTE_ID), any(), any())).thenReturn(Mono.empty());
+            when(repository.findOwnershipById(ROUTE_ID)).thenReturn(Mono.just(new RouteOwnership(USER_ID, 5L)));
+            when(repository.deleteOwned(eq("non-existent-route"), any(), any())).thenReturn(Mono.empty());
+            when(repository.findOwnershipById("non-existent-route")).thenReturn(Mono.empty());
+
+            // When & Then
+            StepVerifier.create(service.deleteRouteById(ROUTE_ID, "other-user", null))
+                .expectError(RouteAccessDeniedException.class)
+                .verify();
+            StepVerifier.create(service.deleteRouteById(ROUTE_ID, USER_ID, 4L))
+                .expectError(RouteVersionMismatchException.class)
+                .verify();
+            StepVerifier.create(service.deleteRouteById("non-existent-route", USER_ID, null))
+                .expectError(RouteNotFoundException.class)
+                .verify();
+            verifyNoInteractions(notifier);
+        }
+
+        @Test
+        @DisplayName("Should fail when the route changes while its points are edited")
+        void shouldRejectConcurrentPointEdit() {
+            // Given
+            when(repository.findById(ROUTE_ID, DetailLevel.FULL)).thenReturn(Mono.just(row(POINTS, 2)));
+            when(repository.updatePoints(any(RouteRow.class), any(RouteDetailLevels.class), anyLong())).thenReturn(Mono.empty());
+            PatchRoutePointsDto patch = PatchRoutePointsDto.builder()
+                .operations(List.of(RoutePointOperationDto.builder()
+                    .op(RoutePointOperationDto.Op.DELETE)
+                    .index(1)
+                    .build()))
+                .build();
+
+            // When & Then
+            StepVerifier.create(service.patchRoutePoints(ROUTE_ID, USER_ID, patch, null))
+                .expectErrorSatisfies(error -> assertThat(error)
+                    .isInstanceOf(RouteVersionMismatchException.class)
+                    .hasMessageContaining("modified concurrently"))
+                .verify();
+
+            ArgumentCaptor<RouteRow> written = ArgumentCaptor.forClass(RouteRow.class);
+            verify(repository).updatePoints(written.capture(), any(RouteDetailLevels.class), eq(2L));
+            assertThat(written.getValue().points().size()).isEqualTo(2);
+        }
+    }
+}
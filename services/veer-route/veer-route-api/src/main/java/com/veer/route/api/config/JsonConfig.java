@@ -0,0 +1,28 @@
+package com.veer.route.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.geometry.RouteGeometryFormatMapper;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Route points are read and written by the same streaming codec on both
+ * sides: from the jsonb columns by Hibernate and in request and response
+ * bodies by the MVC ObjectMapper, through the serializer and deserializer
+ * RouteGeometry is annotated with.
+ */
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Other JSON columns, if any, are mapped with the application's
+     * ObjectMapper instead of one Hibernate configures on its own.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routeGeometryFormatMapper(ObjectMapper objectMapper) {
+        return properties -> properties.put(AvailableSettings.JSON_FORMAT_MAPPER, new RouteGeometryFormatMapper(objectMapper));
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.veer.route.api.config;
+
+import com.veer.route.service.poi.PoiIndex;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The {@code pois} management endpoint: status tells which points of
+ * interest dataset is in use, reload reads the file again and swaps the new
+ * dataset in while requests go on being served from the old one. Exposed
+ * over JMX only, since the HTTP API performs no authorization.
+ */
+@Component
+@Endpoint(id = "pois")
+public class PoiIndexEndpoint {
+
+    private final PoiIndex poiIndex;
+
+    public PoiIndexEndpoint(PoiIndex poiIndex) {
+        this.poiIndex = poiIndex;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("file", poiIndex.getFile());
+        status.put("size", poiIndex.size());
+        status.put("loadedAt", poiIndex.getLoadedAt());
+        return status;
+    }
+
+    @WriteOperation
+    public Map<String, Object> reload() throws IOException {
+        poiIndex.reload();
+        return status();
+    }
+
+}
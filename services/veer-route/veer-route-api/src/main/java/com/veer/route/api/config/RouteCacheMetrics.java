@@ -0,0 +1,106 @@
+package com.veer.route.api.config;
+
+import com.veer.route.service.cache.RouteCache;
+import com.veer.route.service.routing.ReachCache;
+import com.veer.route.service.tiles.RouteTileCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the route cache statistics under the usual Micrometer cache
+ * meter names, tagged {@code cache=routes}, e.g. /actuator/metrics/cache.gets,
+ * those of the vector tile cache tagged {@code cache=tiles} and those of
+ * the isochrone search cache tagged {@code cache=isochrones}.
+ */
+@Component
+public class RouteCacheMetrics implements MeterBinder {
+
+    private static final Tags TAGS = Tags.of("cache", "routes");
+
+    private static final Tags TILE_TAGS = Tags.of("cache", "tiles");
+
+    private static final Tags REACH_TAGS = Tags.of("cache", "isochrones");
+
+    private final RouteCache cache;
+
+    private final RouteTileCache tileCache;
+
+    private final ReachCache reachCache;
+
+    public RouteCacheMetrics(RouteCache cache, RouteTileCache tileCache, ReachCache reachCache) {
+        this.cache = cache;
+        this.tileCache = tileCache;
+        this.reachCache = reachCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, RouteCache::hitCount)
+            .tags(TAGS).tag("result", "hit")
+            .description("Route reads answered from the cache")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", cache, RouteCache::missCount)
+            .tags(TAGS).tag("result", "miss")
+            .description("Route reads that went to the database")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, RouteCache::evictionCount)
+            .tags(TAGS)
+            .description("Routes evicted to stay within the size and point limits")
+            .register(registry);
+        Gauge.builder("cache.size", cache, RouteCache::size)
+            .tags(TAGS)
+            .description("Routes currently cached")
+            .register(registry);
+        Gauge.builder("cache.points", cache, RouteCache::weight)
+            .tags(TAGS)
+            .description("Points of all cached routes, the weight the cache is bounded by")
+            .register(registry);
+
+        FunctionCounter.builder("cache.gets", tileCache, RouteTileCache::hitCount)
+            .tags(TILE_TAGS).tag("result", "hit")
+            .description("Route tiles served from the cache")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", tileCache, RouteTileCache::missCount)
+            .tags(TILE_TAGS).tag("result", "miss")
+            .description("Route tiles rendered")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", tileCache, RouteTileCache::evictionCount)
+            .tags(TILE_TAGS)
+            .description("Route tiles evicted to stay within the size and byte limits")
+            .register(registry);
+        Gauge.builder("cache.size", tileCache, RouteTileCache::size)
+            .tags(TILE_TAGS)
+            .description("Route tiles currently cached")
+            .register(registry);
+        Gauge.builder("cache.bytes", tileCache, RouteTileCache::weight)
+            .tags(TILE_TAGS)
+            .description("Bytes of all cached route tiles, the weight the cache is bounded by")
+            .register(registry);
+
+        FunctionCounter.builder("cache.gets", reachCache, ReachCache::hitCount)
+            .tags(REACH_TAGS).tag("result", "hit")
+            .description("Isochrones traced from a cached search")
+            .register(registry);
+        FunctionCounter.builder("cache.gets", reachCache, ReachCache::missCount)
+            .tags(REACH_TAGS).tag("result", "miss")
+            .description("Isochrones that needed a search of the road graph")
+            .register(registry);
+        FunctionCounter.builder("cache.evictions", reachCache, ReachCache::evictionCount)
+            .tags(REACH_TAGS)
+            .description("Search grids evicted to stay within the size and byte limits")
+            .register(registry);
+        Gauge.builder("cache.size", reachCache, ReachCache::size)
+            .tags(REACH_TAGS)
+            .description("Search grids currently cached")
+            .register(registry);
+        Gauge.builder("cache.bytes", reachCache, ReachCache::weight)
+            .tags(REACH_TAGS)
+            .description("Bytes of all cached search grids, the weight the cache is bounded by")
+            .register(registry);
+    }
+
+}
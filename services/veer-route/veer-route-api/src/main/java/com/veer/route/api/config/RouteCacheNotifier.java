@@ -0,0 +1,184 @@
+package com.veer.route.api.config;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.service.RouteChangedEvent;
+import com.veer.route.service.cache.RouteCache;
+import com.veer.route.service.spatial.RouteSpatialIndex;
+import com.veer.route.service.tiles.RouteTileCache;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Keeps the {@link RouteCache}s, {@link RouteTileCache}s and
+ * {@link RouteSpatialIndex}es of several instances consistent through
+ * Postgres LISTEN/NOTIFY: every local route change is announced on a
+ * channel, and changes announced by other instances are evicted from the
+ * caches and re-read into the index here. The payload is the route id
+ * followed by its bounding boxes before and after the change, which locate
+ * its tiles.
+ *
+ * The listener holds a connection of its own for as long as the
+ * application runs, opened outside the pool so that the pool size stays
+ * the number of requests querying at once. Notifications sent while it is
+ * not listening are lost, so the whole cache is dropped whenever it
+ * (re)connects, and the index is reloaded when it reconnects. A
+ * notification that cannot be applied is logged and skipped.
+ */
+@Component
+@ConditionalOnProperty(prefix = "veer.route.cache.notify", name = "enabled", havingValue = "true")
+public class RouteCacheNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteCacheNotifier.class);
+
+    static final String CHANNEL = "veer_route_changed";
+
+    private static final int POLL_MILLIS = 5_000;
+
+    private static final long RETRY_MILLIS = 5_000;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RouteCache cache;
+
+    private final RouteTileCache tileCache;
+
+    private final RouteSpatialIndex spatialIndex;
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public RouteCacheNotifier(
+        DataSource dataSource, DataSourceProperties dataSourceProperties,
+        RouteCache cache, RouteTileCache tileCache, RouteSpatialIndex spatialIndex
+    ) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.cache = cache;
+        this.tileCache = tileCache;
+        this.spatialIndex = spatialIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        running = true;
+        listener = new Thread(this::listen, "route-cache-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null)
+            listener.interrupt();
+    }
+
+    /**
+     * Runs after the change is committed, so a failure is only logged: the
+     * request succeeded, and other instances serve the route from their
+     * caches until it is evicted or their listener reconnects.
+     */
+    @EventListener
+    public void onRouteChanged(RouteChangedEvent event) {
+        String payload = payload(event);
+        try {
+            // our own notification comes back too, evicting twice is harmless
+            jdbcTemplate.queryForList("select pg_notify(?, ?)", CHANNEL, payload);
+        } catch (DataAccessException e) {
+            log.warn("Could not announce route change {}", payload, e);
+        }
+    }
+
+    // "<id>[ <minLat> <minLng> <maxLat> <maxLng>]..."
+    private static String payload(RouteChangedEvent event) {
+        StringBuilder payload = new StringBuilder(event.getRouteId());
+        for (RouteStatistics box : new RouteStatistics[] {event.getStatistics(), event.getPreviousStatistics()}) {
+            if (box == null || box.getMinLatitude() == null || box.getMinLongitude() == null
+                || box.getMaxLatitude() == null || box.getMaxLongitude() == null)
+                continue;
+            payload.append(' ').append(box.getMinLatitude())
+                .append(' ').append(box.getMinLongitude())
+                .append(' ').append(box.getMaxLatitude())
+                .append(' ').append(box.getMaxLongitude());
+        }
+        return payload.toString();
+    }
+
+    /**
+     * Evicts and re-indexes the route announced, logging instead of
+     * throwing so that one bad notification does not stop the listener.
+     */
+    void onNotification(String payload) {
+        try {
+            apply(payload);
+        } catch (RuntimeException e) {
+            log.warn("Could not apply route change {}", payload, e);
+        }
+    }
+
+    private void apply(String payload) {
+        String[] parts = payload.split(" ");
+        cache.invalidate(parts[0]);
+        // our own changes are already indexed, re-reading them is harmless
+        spatialIndex.refresh(parts[0]);
+        for (int i = 1; i + 3 < parts.length; i += 4) {
+            tileCache.invalidate(Double.parseDouble(parts[i]), Double.parseDouble(parts[i + 1]),
+                Double.parseDouble(parts[i + 2]), Double.parseDouble(parts[i + 3]));
+        }
+    }
+
+    private void listen() {
+        // the index loads itself at startup
+        boolean reconnect = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                cache.invalidateAll();
+                tileCache.invalidateAll();
+                if (reconnect)
+                    spatialIndex.load();
+                reconnect = true;
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_MILLIS);
+                    if (notifications == null)
+                        continue;
+                    for (PGNotification notification : notifications)
+                        onNotification(notification.getParameter());
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running)
+                    return;
+                log.warn("Route cache listener lost its connection, retrying in {} ms", RETRY_MILLIS, e);
+                try {
+                    Thread.sleep(RETRY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+}
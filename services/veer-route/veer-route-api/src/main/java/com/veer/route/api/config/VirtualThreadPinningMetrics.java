@@ -0,0 +1,90 @@
+package com.veer.route.api.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publishes how long virtual threads blocked while pinned to their carrier
+ * thread, e.g. waiting inside a {@code synchronized} block, as the
+ * /actuator/metrics/jvm.threads.virtual.pinned timer. A pinned thread keeps
+ * its carrier from running other requests, so a growing count points at
+ * code to move off {@code synchronized}; pins longer than the threshold
+ * come from the JDK's {@code jdk.VirtualThreadPinned} flight recorder
+ * event and are logged at debug level with the frame they happened in.
+ *
+ * Only active with {@code spring.threads.virtual.enabled}, and idle on
+ * Java older than 21, where requests keep running on platform threads.
+ */
+@Component
+@ConditionalOnProperty(prefix = "spring.threads.virtual", name = "enabled", havingValue = "true")
+public class VirtualThreadPinningMetrics implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMetrics.class);
+
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+
+    private volatile Timer pinned;
+
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMetrics(@Value("${veer.route.threads.pinned-threshold:20ms}") Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Virtual threads that blocked while pinned to their carrier thread")
+            .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled is set, but Java {} has no virtual threads; "
+                + "requests run on platform threads", Runtime.version().feature());
+            return;
+        }
+        stream = new RecordingStream();
+        stream.enable(EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+        log.info("Recording virtual thread pins longer than {}", threshold);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (stream != null)
+            stream.close();
+    }
+
+    private void record(RecordedEvent event) {
+        Timer timer = pinned;
+        if (timer != null)
+            timer.record(event.getDuration());
+        if (log.isDebugEnabled() && event.getStackTrace() != null) {
+            List<RecordedFrame> frames = event.getStackTrace().getFrames();
+            log.debug("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(),
+                frames.isEmpty() ? "an unknown frame" : frames.get(0).getMethod().getType().getName()
+                    + "." + frames.get(0).getMethod().getName() + ":" + frames.get(0).getLineNumber());
+        }
+    }
+
+}
@@ -1,26 +1,58 @@
 package com.veer.route.api.controller;
 
+import com.veer.route.model.PoiCategory;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.dto.BulkImportResultDto;
 import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.DirectionsDto;
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.dto.IsochronesDto;
+import com.veer.route.model.dto.MatrixRequestDto;
+import com.veer.route.model.dto.OptimizedRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.PoiDto;
+import com.veer.route.model.dto.RateRouteDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteRatingDto;
+import com.veer.route.model.dto.RouteSearchFilterDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
 import com.veer.route.model.dto.UpdateRouteDto;
 import com.veer.route.service.RouteService;
+import com.veer.route.service.cache.RouteJson;
+import com.veer.route.service.export.RouteExportFormat;
+import com.veer.route.service.routing.TravelMatrix;
+import com.veer.route.service.simplify.DetailLevel;
+import com.veer.route.service.tiles.RouteTileGenerator;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -78,9 +110,49 @@ public class RouteController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdRoute);
     }
 
+    @Operation(
+        summary = "Create routes in bulk",
+        description =
+        "Creates every route of a JSON array of route objects (same fields as" +
+        " for a single route). The array is read as a stream and routes are" +
+        " inserted in batches; each element gets its own result. Invalid" +
+        " elements do not stop the import."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Import processed, see per-route results",
+            content = @Content(schema = @Schema(implementation = BulkImportResultDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Request body is not a JSON array"
+        )
+    })
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<BulkImportResultDto> importRoutes(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            description = "Routes to create",
+            required = true,
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = CreateRouteDto.class)))
+        )
+        InputStream body
+    ) throws IOException {
+        BulkImportResultDto result = routeService.importRoutes(userId, body);
+        return ResponseEntity.ok(result);
+    }
+
     @Operation(
         summary = "Get route by ID",
-        description = "Retrieves route data by route ID"
+        description =
+        "Retrieves route data by route ID, served from a cache of serialized" +
+        " routes when possible. For map previews, pass zoom (the map zoom" +
+        " level) or tolerance (meters) to get simplified points that look" +
+        " the same at that zoom. The response carries the route" +
+        " version as a strong ETag; send it back in If-None-Match to get" +
+        " 304 instead of the route when it has not changed."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -88,6 +160,10 @@ public class RouteController {
             description = "Route retrieved successfully",
             content = @Content(schema = @Schema(implementation = ResponseRouteDto.class))
         ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "Route not modified since the given ETag"
+        ),
         @ApiResponse(
             responseCode = "400",
             description = "Invalid input parameters"
@@ -98,41 +174,251 @@ public class RouteController {
         )
     })
     @GetMapping("/{routeId}")
-    public ResponseEntity<ResponseRouteDto> getRoute(
+    public ResponseEntity<byte[]> getRoute(
         @Parameter(description = "Route ID to retrieve", required = true)
-        @PathVariable @NotBlank String routeId
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "Map zoom level the points are displayed at")
+        @RequestParam(required = false) @Min(0) @Max(22) Integer zoom,
+        @Parameter(description = "Maximum deviation of the simplified points, in meters")
+        @RequestParam(required = false) @DecimalMin("0") Double tolerance,
+        @Parameter(description = "ETag of the cached copy")
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
     ) {
-        ResponseRouteDto route = routeService.getRouteById(routeId);
-        return ResponseEntity.ok(route);
+        DetailLevel level = DetailLevel.of(zoom, tolerance);
+        if (ifNoneMatch != null) {
+            // only the version column is read, not the points
+            long version = routeService.getRouteVersion(routeId);
+            if (RouteETag.matchesAny(ifNoneMatch, version))
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(RouteETag.of(version)).build();
+        }
+        RouteJson route = routeService.getRouteJsonById(routeId, level);
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(RouteETag.of(route.version()))
+            .body(route.json());
     }
 
     @Operation(
-        summary = "Get all routes by user ID",
-        description = "Retrieves all routes created by a specific user"
+        summary = "Get routes by user ID",
+        description =
+        "Retrieves routes created by a specific user, newest first, without" +
+        " their points. Results are paginated: pass the returned nextCursor" +
+        " as the cursor parameter to get the next page."
     )
     @ApiResponses(value = {
         @ApiResponse(
             responseCode = "200",
             description = "Routes retrieved successfully",
-            content = @Content(schema = @Schema(implementation = ResponseRouteDto.class))
+            content = @Content(schema = @Schema(implementation = RouteSummaryPageDto.class))
         ),
         @ApiResponse(
             responseCode = "400",
-            description = "Invalid input parameters"
+            description = "Invalid input parameters or cursor"
         )
     })
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<ResponseRouteDto>> getRoutesByUserId(
+    public ResponseEntity<RouteSummaryPageDto> getRoutesByUserId(
         @Parameter(description = "User ID to retrieve routes for", required = true)
-        @PathVariable @NotBlank String userId
+        @PathVariable @NotBlank String userId,
+        @Parameter(description = "Cursor returned with the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of routes per page")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        RouteSummaryPageDto routes = routeService.getRoutesByUserId(userId, cursor, limit);
+        return ResponseEntity.ok(routes);
+    }
+
+    @Operation(
+        summary = "Export all routes of a user",
+        description =
+        "Streams every route of the user, oldest first, as NDJSON (one full" +
+        " route per line, lossless) or as a GeoJSON FeatureCollection. The" +
+        " response is written while routes are read, so its size is not limited."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Export started"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters or format"
+        )
+    })
+    @GetMapping("/user/{userId}/export")
+    public ResponseEntity<StreamingResponseBody> exportRoutesByUserId(
+        @Parameter(description = "User ID to export routes for", required = true)
+        @PathVariable @NotBlank String userId,
+        @Parameter(description = "Export format: ndjson or geojson")
+        @RequestParam(defaultValue = "ndjson") String format
+    ) {
+        RouteExportFormat exportFormat = RouteExportFormat.fromName(format);
+        StreamingResponseBody body = output -> routeService.exportRoutesByUserId(userId, exportFormat, output);
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(exportFormat.getMediaType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("routes-" + userId + "." + exportFormat.getFileExtension())
+                .build()
+                .toString())
+            .body(body);
+    }
+
+    @Operation(
+        summary = "Find public routes in a bounding box",
+        description =
+        "Returns public routes whose bounding box intersects the given one." +
+        " A box with minLng greater than maxLng crosses the antimeridian."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Routes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RouteSummaryDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        )
+    })
+    @GetMapping("/public/bbox")
+    public ResponseEntity<List<RouteSummaryDto>> getPublicRoutesInBox(
+        @Parameter(description = "Southern edge latitude", required = true)
+        @RequestParam @DecimalMin("-90") @DecimalMax("90") double minLat,
+        @Parameter(description = "Western edge longitude", required = true)
+        @RequestParam @DecimalMin("-180") @DecimalMax("180") double minLng,
+        @Parameter(description = "Northern edge latitude", required = true)
+        @RequestParam @DecimalMin("-90") @DecimalMax("90") double maxLat,
+        @Parameter(description = "Eastern edge longitude", required = true)
+        @RequestParam @DecimalMin("-180") @DecimalMax("180") double maxLng,
+        @Parameter(description = "Maximum number of routes to return")
+        @RequestParam(defaultValue = "100") @Min(1) @Max(500) int limit
+    ) {
+        List<RouteSummaryDto> routes = routeService.findPublicRoutesInBox(minLat, minLng, maxLat, maxLng, limit);
+        return ResponseEntity.ok(routes);
+    }
+
+    @Operation(
+        summary = "Find public routes near a point",
+        description = "Returns public routes within the given radius of a point, nearest first"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Routes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RouteSummaryDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        )
+    })
+    @GetMapping("/public/nearby")
+    public ResponseEntity<List<RouteSummaryDto>> getPublicRoutesNearby(
+        @Parameter(description = "Latitude of the point", required = true)
+        @RequestParam @DecimalMin("-90") @DecimalMax("90") double lat,
+        @Parameter(description = "Longitude of the point", required = true)
+        @RequestParam @DecimalMin("-180") @DecimalMax("180") double lng,
+        @Parameter(description = "Search radius in meters")
+        @RequestParam(defaultValue = "5000") @DecimalMin("1") @DecimalMax("100000") double radius,
+        @Parameter(description = "Maximum number of routes to return")
+        @RequestParam(defaultValue = "100") @Min(1) @Max(500) int limit
     ) {
-        List<ResponseRouteDto> routes = routeService.getRoutesByUserId(userId);
+        List<RouteSummaryDto> routes = routeService.findPublicRoutesNear(lat, lng, radius, limit);
         return ResponseEntity.ok(routes);
     }
 
+    @Operation(
+        summary = "Search public routes by text",
+        description =
+        "Returns public routes whose name or description contain the words" +
+        " of the query, English words in any form, with \"quoted phrases\"," +
+        " OR between alternatives and -excluded words as in web search" +
+        " engines. Best matches come first, name matches above description" +
+        " matches. Names only resembling the query, e.g. with a typo, follow" +
+        " every word match. Optionally bounded by length, ascent and rating;" +
+        " pass nextCursor from the response to get the next page."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Routes retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RouteSummaryPageDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters or cursor"
+        )
+    })
+    @GetMapping("/public/search")
+    public ResponseEntity<RouteSummaryPageDto> searchPublicRoutes(
+        @Parameter(description = "Words to search for", required = true)
+        @RequestParam @NotBlank @Size(max = 200) String q,
+        @Parameter(description = "Shortest route length in meters")
+        @RequestParam(required = false) @DecimalMin("0") Double minLength,
+        @Parameter(description = "Longest route length in meters")
+        @RequestParam(required = false) @DecimalMin("0") Double maxLength,
+        @Parameter(description = "Most total ascent in meters")
+        @RequestParam(required = false) @DecimalMin("0") Double maxAscent,
+        @Parameter(description = "Lowest mean rating")
+        @RequestParam(required = false) @DecimalMin("0") @DecimalMax("5") Double minRating,
+        @Parameter(description = "Cursor returned with the previous page")
+        @RequestParam(required = false) String cursor,
+        @Parameter(description = "Maximum number of routes per page")
+        @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit
+    ) {
+        RouteSearchFilterDto filter = RouteSearchFilterDto.builder()
+            .minLengthMeters(minLength)
+            .maxLengthMeters(maxLength)
+            .maxAscentMeters(maxAscent)
+            .minRating(minRating)
+            .build();
+        RouteSummaryPageDto routes = routeService.searchPublicRoutes(q, filter, cursor, limit);
+        return ResponseEntity.ok(routes);
+    }
+
+    @Operation(
+        summary = "Get a vector tile of public routes",
+        description =
+        "Returns the public routes crossing Web Mercator tile z/x/y as a" +
+        " Mapbox Vector Tile with a single 'routes' layer of LineStrings" +
+        " (properties: id, name, length_m, rating), clipped to the tile and" +
+        " simplified for its zoom. A tile without routes has an empty body."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Tile rendered successfully",
+            content = @Content(mediaType = RouteTileGenerator.MEDIA_TYPE)
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid tile coordinates"
+        )
+    })
+    @GetMapping("/tiles/{z}/{x}/{y}.mvt")
+    public ResponseEntity<byte[]> getRouteTile(
+        @Parameter(description = "Zoom level", required = true)
+        @PathVariable @Min(0) @Max(22) int z,
+        @Parameter(description = "Tile column, 0 to 2^z - 1", required = true)
+        @PathVariable @Min(0) int x,
+        @Parameter(description = "Tile row, 0 to 2^z - 1", required = true)
+        @PathVariable @Min(0) int y
+    ) {
+        byte[] tile = routeService.getPublicRouteTile(z, x, y);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(RouteTileGenerator.MEDIA_TYPE))
+            .body(tile);
+    }
+
     @Operation(
         summary = "Update route",
-        description = "Updates an existing route's information"
+        description =
+        "Updates an existing route of the user's. With If-Match set to the" +
+        " ETag of a previous read, the update is refused with 412 if the" +
+        " route has changed since. The response is the whole updated route," +
+        " points included."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -144,9 +430,17 @@ public class RouteController {
             responseCode = "400",
             description = "Invalid input data"
         ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Route belongs to another user"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Route changed since the ETag given in If-Match"
         )
     })
     @PutMapping("/{routeId}")
@@ -155,17 +449,405 @@ public class RouteController {
         @RequestHeader("X-User-Id") @NotBlank String userId,
         @Parameter(description = "Route ID to update", required = true)
         @PathVariable @NotBlank String routeId,
+        @Parameter(description = "ETag the update is based on")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
         @Parameter(description = "Route data to update", required = true)
         @Valid @RequestBody UpdateRouteDto updateRouteDto
     ) {
         updateRouteDto.setId(routeId);
-        ResponseRouteDto updatedRoute = routeService.updateRoute(updateRouteDto);
-        return ResponseEntity.ok(updatedRoute);
+        Long expectedVersion = expectedVersion(routeId, ifMatch);
+        ResponseRouteDto updatedRoute = routeService.updateRoute(updateRouteDto, userId, expectedVersion);
+        return ResponseEntity.ok().eTag(RouteETag.of(updatedRoute.getVersion())).body(updatedRoute);
+    }
+
+    @Operation(
+        summary = "Edit route points",
+        description =
+        "Applies point-level operations (INSERT, MOVE, DELETE, REORDER) to the" +
+        " stored points, in order and all or nothing, so an edit does not" +
+        " have to send the whole point list. Returns the route summary with" +
+        " the updated statistics."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Route points updated successfully",
+            content = @Content(schema = @Schema(implementation = RouteSummaryDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid operation or index out of range"
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Route belongs to another user"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Route changed since the ETag given in If-Match"
+        )
+    })
+    @PatchMapping("/{routeId}/points")
+    public ResponseEntity<RouteSummaryDto> patchRoutePoints(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route ID to edit", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "ETag the edit is based on")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+        @Parameter(description = "Operations to apply", required = true)
+        @Valid @RequestBody PatchRoutePointsDto patchRoutePointsDto
+    ) {
+        Long expectedVersion = expectedVersion(routeId, ifMatch);
+        RouteSummaryDto route = routeService.patchRoutePoints(routeId, userId, patchRoutePointsDto, expectedVersion);
+        return ResponseEntity.ok().eTag(RouteETag.of(route.getVersion())).body(route);
+    }
+
+    @Operation(
+        summary = "Optimize route point order",
+        description =
+        "Reorders the route points to minimize the total length, keeping" +
+        " the START point (or the first point when none is marked) first." +
+        " Returns the proposed order with its statistics; the stored route" +
+        " is not modified."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Route optimized successfully",
+            content = @Content(schema = @Schema(implementation = OptimizedRouteDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters or too many points"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @PostMapping("/{routeId}/optimize")
+    public ResponseEntity<OptimizedRouteDto> optimizeRoute(
+        @Parameter(description = "Route ID to optimize", required = true)
+        @PathVariable @NotBlank String routeId
+    ) {
+        OptimizedRouteDto optimizedRoute = routeService.optimizeRoute(routeId);
+        return ResponseEntity.ok(optimizedRoute);
+    }
+
+    @Operation(
+        summary = "Rate a route",
+        description =
+        "Gives the route 1 to 5 stars on behalf of the user, replacing their" +
+        " earlier rating of it. Returns the updated totals: the mean stars" +
+        " and a Bayesian average for ranking, which counts a few extra" +
+        " ratings of average stars so that routes with few ratings do not" +
+        " jump to the top."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Route rated successfully",
+            content = @Content(schema = @Schema(implementation = RouteRatingDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @PutMapping("/{routeId}/rating")
+    public ResponseEntity<RouteRatingDto> rateRoute(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route ID to rate", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Valid @RequestBody RateRouteDto rateRouteDto
+    ) {
+        return ResponseEntity.ok(routeService.rateRoute(routeId, userId, rateRouteDto));
+    }
+
+    @Operation(
+        summary = "Get the rating of a route",
+        description = "Returns the rating totals of the route and, with X-User-Id, the stars that user gave it"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rating retrieved successfully",
+            content = @Content(schema = @Schema(implementation = RouteRatingDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @GetMapping("/{routeId}/rating")
+    public ResponseEntity<RouteRatingDto> getRouteRating(
+        @Parameter(description = "User ID whose stars to include")
+        @RequestHeader(value = "X-User-Id", required = false) String userId,
+        @Parameter(description = "Route ID", required = true)
+        @PathVariable @NotBlank String routeId
+    ) {
+        return ResponseEntity.ok(routeService.getRouteRating(routeId, userId));
+    }
+
+    @Operation(
+        summary = "Withdraw a rating",
+        description = "Removes the user's rating of the route, if any, and returns the updated totals"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Rating removed successfully",
+            content = @Content(schema = @Schema(implementation = RouteRatingDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @DeleteMapping("/{routeId}/rating")
+    public ResponseEntity<RouteRatingDto> deleteRouteRating(
+        @Parameter(description = "User ID", required = true)
+        @RequestHeader("X-User-Id") @NotBlank String userId,
+        @Parameter(description = "Route ID", required = true)
+        @PathVariable @NotBlank String routeId
+    ) {
+        return ResponseEntity.ok(routeService.deleteRouteRating(routeId, userId));
+    }
+
+    @Operation(
+        summary = "Get directions along roads",
+        description =
+        "Joins the route points by the fastest path over the local road" +
+        " network for the travel mode instead of straight lines. Points are" +
+        " snapped to the nearest usable road; legs without a road between" +
+        " their ends stay straight and are counted in unroutedLegs. The" +
+        " stored route is not modified."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Directions computed successfully",
+            content = @Content(schema = @Schema(implementation = DirectionsDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid travel mode"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "No road network is configured"
+        )
+    })
+    @GetMapping("/{routeId}/directions")
+    public ResponseEntity<DirectionsDto> getDirections(
+        @Parameter(description = "Route ID to route along roads", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "Travel mode: WALK, BIKE or CAR")
+        @RequestParam(defaultValue = "WALK") TravelProfile profile
+    ) {
+        return ResponseEntity.ok(routeService.getDirections(routeId, profile));
+    }
+
+    @Operation(
+        summary = "Compute a travel time and distance matrix",
+        description =
+        "Returns the travel times and distances from every source to every" +
+        " destination over the local road network for the travel mode, as two" +
+        " flat row-major arrays with one row per source. Cells without a road" +
+        " between their points are null. Without a road network, distances" +
+        " are great-circle and roads is false. With Accept:" +
+        " application/octet-stream the arrays are sent as little-endian" +
+        " binary: int32 source and destination counts, then float32 durations" +
+        " and float32 distances, NaN for no road."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Matrix computed successfully"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid points or travel mode"
+        )
+    })
+    @PostMapping(
+        value = "/matrix",
+        consumes = MediaType.APPLICATION_JSON_VALUE,
+        produces = {MediaType.APPLICATION_JSON_VALUE, TravelMatrix.BINARY_MEDIA_TYPE}
+    )
+    public ResponseEntity<StreamingResponseBody> computeMatrix(
+        @Valid @RequestBody MatrixRequestDto matrixRequestDto,
+        @Parameter(description = "application/json (default) or application/octet-stream")
+        @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_JSON_VALUE) String accept
+    ) {
+        TravelMatrix matrix = routeService.computeMatrix(matrixRequestDto);
+        boolean binary = MediaType.parseMediaTypes(accept).stream()
+            .anyMatch(MediaType.APPLICATION_OCTET_STREAM::equalsTypeAndSubtype);
+
+        if (binary) {
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(matrix::writeBinary);
+        }
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .body(matrix::writeJson);
+    }
+
+    @Operation(
+        summary = "Compute isochrones around a point",
+        description =
+        "Returns the areas reached from a point over the local road network" +
+        " for the travel mode within each of the given numbers of minutes, as" +
+        " GeoJSON MultiPolygon coordinates traced from a grid of cells. All" +
+        " limits come from one search, cached per travel mode and per origin" +
+        " rounded to a thousandth of a degree."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Isochrones computed successfully",
+            content = @Content(schema = @Schema(implementation = IsochronesDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid point, travel mode or time limits"
+        ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "No road network is configured"
+        )
+    })
+    @GetMapping("/isochrones")
+    public ResponseEntity<IsochronesDto> getIsochrones(
+        @Parameter(description = "Latitude of the origin", required = true)
+        @RequestParam @DecimalMin("-90") @DecimalMax("90") double lat,
+        @Parameter(description = "Longitude of the origin", required = true)
+        @RequestParam @DecimalMin("-180") @DecimalMax("180") double lng,
+        @Parameter(description = "Travel mode: WALK, BIKE or CAR")
+        @RequestParam(defaultValue = "WALK") TravelProfile profile,
+        @Parameter(description = "Time limits in minutes, comma separated")
+        @RequestParam(defaultValue = "5,10,15") List<Integer> minutes
+    ) {
+        return ResponseEntity.ok(routeService.computeIsochrones(lat, lng, profile, minutes));
+    }
+
+    @Operation(
+        summary = "Get the elevation profile of a route",
+        description =
+        "Returns the height of every point and its distance along the route," +
+        " with total ascent and descent. Recorded altitudes are used where" +
+        " present, terrain heights from the local elevation tiles elsewhere."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Profile computed successfully",
+            content = @Content(schema = @Schema(implementation = ElevationProfileDto.class))
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @GetMapping("/{routeId}/elevation")
+    public ResponseEntity<ElevationProfileDto> getElevationProfile(
+        @Parameter(description = "Route ID to profile", required = true)
+        @PathVariable @NotBlank String routeId
+    ) {
+        return ResponseEntity.ok(routeService.getElevationProfile(routeId));
+    }
+
+    @Operation(
+        summary = "Find attractions near a point",
+        description =
+        "Returns points of interest of the local dataset within the given" +
+        " radius of a point, nearest first, optionally only of the given" +
+        " categories."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Attractions retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PoiDto.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        )
+    })
+    @GetMapping("/pois/nearby")
+    public ResponseEntity<List<PoiDto>> getPoisNearby(
+        @Parameter(description = "Latitude of the point", required = true)
+        @RequestParam @DecimalMin("-90") @DecimalMax("90") double lat,
+        @Parameter(description = "Longitude of the point", required = true)
+        @RequestParam @DecimalMin("-180") @DecimalMax("180") double lng,
+        @Parameter(description = "Search radius in meters")
+        @RequestParam(defaultValue = "5000") @DecimalMin("1") @DecimalMax("100000") double radius,
+        @Parameter(description = "Maximum number of attractions to return")
+        @RequestParam(defaultValue = "10") @Min(1) @Max(500) int limit,
+        @Parameter(description = "Categories to include, comma separated; all when omitted")
+        @RequestParam(required = false) List<PoiCategory> categories
+    ) {
+        return ResponseEntity.ok(routeService.findPoisNear(lat, lng, limit, radius, categories));
+    }
+
+    @Operation(
+        summary = "Find attractions along a route",
+        description =
+        "Returns points of interest of the local dataset within the given" +
+        " buffer of the route line, in the order the route passes them, each" +
+        " with its distance from the route and along it. Of more than the" +
+        " limit, those nearest the route are returned."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Attractions retrieved successfully",
+            content = @Content(array = @ArraySchema(schema = @Schema(implementation = PoiDto.class)))
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Invalid input parameters"
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "Route not found"
+        )
+    })
+    @GetMapping("/{routeId}/pois")
+    public ResponseEntity<List<PoiDto>> getPoisAlongRoute(
+        @Parameter(description = "Route ID to search along", required = true)
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "Greatest distance from the route in meters")
+        @RequestParam(defaultValue = "500") @DecimalMin("1") @DecimalMax("10000") double buffer,
+        @Parameter(description = "Maximum number of attractions to return")
+        @RequestParam(defaultValue = "100") @Min(1) @Max(500) int limit,
+        @Parameter(description = "Categories to include, comma separated; all when omitted")
+        @RequestParam(required = false) List<PoiCategory> categories
+    ) {
+        return ResponseEntity.ok(routeService.findPoisAlongRoute(routeId, buffer, limit, categories));
     }
 
     @Operation(
         summary = "Delete route",
-        description = "Permanently deletes a route"
+        description =
+        "Permanently deletes a route of the user's. With If-Match, only if" +
+        " the route has not changed since that ETag."
     )
     @ApiResponses(value = {
         @ApiResponse(
@@ -176,9 +858,17 @@ public class RouteController {
             responseCode = "400",
             description = "Invalid input parameters"
         ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Route belongs to another user"
+        ),
         @ApiResponse(
             responseCode = "404",
             description = "Route not found"
+        ),
+        @ApiResponse(
+            responseCode = "412",
+            description = "Route changed since the ETag given in If-Match"
         )
     })
     @DeleteMapping("/{routeId}")
@@ -186,11 +876,29 @@ public class RouteController {
         @Parameter(description = "User ID", required = true)
         @RequestHeader("X-User-Id") @NotBlank String userId,
         @Parameter(description = "Route ID to delete", required = true)
-        @PathVariable @NotBlank String routeId
+        @PathVariable @NotBlank String routeId,
+        @Parameter(description = "ETag the deletion is based on")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     ) {
-        routeService.deleteRouteById(routeId);
+        routeService.deleteRouteById(routeId, userId, expectedVersion(routeId, ifMatch));
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * The version the write must find, or null when If-Match allows any.
+     * The service re-checks it atomically on the version column.
+     */
+    private Long expectedVersion(String routeId, String ifMatch) {
+        List<Long> versions = RouteETag.ifMatchVersions(ifMatch);
+        if (versions == null)
+            return null;
+        if (versions.size() == 1)
+            return versions.get(0);
+        long current = routeService.getRouteVersion(routeId);
+        if (versions.contains(current))
+            return current;
+        throw RouteETag.mismatch(routeId, ifMatch);
+    }
+
 }
 
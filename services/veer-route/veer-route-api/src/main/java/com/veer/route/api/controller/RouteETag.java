@@ -0,0 +1,62 @@
+package com.veer.route.api.controller;
+
+import com.veer.route.model.exception.RouteVersionMismatchException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Strong entity tags of routes: the route version in quotes, e.g. {@code "3"}.
+ */
+final class RouteETag {
+
+    private RouteETag() {
+    }
+
+    static String of(Long version) {
+        return version == null ? null : "\"" + version + "\"";
+    }
+
+    /**
+     * Weak comparison, as used for If-None-Match.
+     */
+    static boolean matchesAny(String ifNoneMatch, long version) {
+        if (ifNoneMatch.trim().equals("*"))
+            return true;
+        for (String tag : ifNoneMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith("W/"))
+                tag = tag.substring(2);
+            if (tag.equals(of(version)))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Versions named by an If-Match header, or null when any version is
+     * acceptable (no header or {@code *}). Weak and foreign tags never match
+     * strongly and are left out, so the result may be empty.
+     */
+    static List<Long> ifMatchVersions(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+            return null;
+        List<Long> versions = new ArrayList<>();
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(tag.substring(1, tag.length() - 1)));
+                } catch (NumberFormatException ignored) {
+                    // not one of ours
+                }
+            }
+        }
+        return versions;
+    }
+
+    static RouteVersionMismatchException mismatch(String routeId, String ifMatch) {
+        return new RouteVersionMismatchException("Route " + routeId + " does not match If-Match " + ifMatch);
+    }
+
+}
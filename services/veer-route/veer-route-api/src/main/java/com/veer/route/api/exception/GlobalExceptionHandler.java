@@ -1,7 +1,10 @@
 package com.veer.route.api.exception;
 
+import com.veer.route.model.exception.RouteAccessDeniedException;
 import com.veer.route.model.exception.RouteAlreadyExistsException;
 import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import com.veer.route.model.exception.RoutingUnavailableException;
 import jakarta.validation.ConstraintViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,6 +46,39 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(errorResponse);
     }
 
+    @ExceptionHandler(RouteAccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteAccessDeniedException(RouteAccessDeniedException ex) {
+        Map<String, Object> errorResponse = buildErrorResponse(
+            HttpStatus.FORBIDDEN,
+            "Forbidden",
+            ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(errorResponse);
+    }
+
+    @ExceptionHandler(RouteVersionMismatchException.class)
+    public ResponseEntity<Map<String, Object>> handleRouteVersionMismatchException(RouteVersionMismatchException ex) {
+        Map<String, Object> errorResponse = buildErrorResponse(
+            HttpStatus.PRECONDITION_FAILED,
+            "Precondition Failed",
+            ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(errorResponse);
+    }
+
+    @ExceptionHandler(RoutingUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleRoutingUnavailableException(RoutingUnavailableException ex) {
+        Map<String, Object> errorResponse = buildErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Service Unavailable",
+            ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(errorResponse);
+    }
+
     @ExceptionHandler(MissingRequestHeaderException.class)
     public ResponseEntity<Map<String, Object>> handleMissingRequestHeaderException(MissingRequestHeaderException ex) {
         Map<String, Object> errorResponse = buildErrorResponse(
@@ -0,0 +1,59 @@
+package com.veer.route.api.config;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.service.RouteChangedEvent;
+import com.veer.route.service.cache.RouteCache;
+import com.veer.route.service.spatial.RouteSpatialIndex;
+import com.veer.route.service.tiles.RouteTileCache;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RouteCacheNotifier Unit Tests")
+class RouteCacheNotifierTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+
+    private final RouteCache cache = mock(RouteCache.class);
+
+    private final RouteSpatialIndex spatialIndex = mock(RouteSpatialIndex.class);
+
+    private final RouteCacheNotifier notifier = new RouteCacheNotifier(
+        dataSource, new DataSourceProperties(), cache, mock(RouteTileCache.class), spatialIndex
+    );
+
+    @Test
+    @DisplayName("Should not fail a committed change when it cannot be announced")
+    void shouldLogFailedNotification() throws SQLException {
+        // Given
+        when(dataSource.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        // When & Then
+        assertThatCode(() -> notifier.onRouteChanged(
+            RouteChangedEvent.updated("route-1", true, RouteStatistics.builder().build())
+        )).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Should keep listening after a notification it cannot apply")
+    void shouldSkipBadNotification() {
+        // Given
+        doThrow(new IllegalStateException("index closed")).when(spatialIndex).refresh("route-2");
+
+        // When & Then
+        assertThatCode(() -> notifier.onNotification("route-1 52.0 21.0 x 21.1")).doesNotThrowAnyException();
+        assertThatCode(() -> notifier.onNotification("route-2")).doesNotThrowAnyException();
+        verify(cache).invalidate("route-1");
+        verify(cache).invalidate("route-2");
+    }
+
+}
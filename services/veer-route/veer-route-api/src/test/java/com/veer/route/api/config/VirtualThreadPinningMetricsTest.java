@@ -0,0 +1,87 @@
+package com.veer.route.api.config;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The module compiles for Java 17, so virtual threads are started through
+ * reflection; the tests that need them only run on a Java 21 build (see the
+ * CI matrix).
+ */
+@DisplayName("VirtualThreadPinningMetrics Unit Tests")
+class VirtualThreadPinningMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private VirtualThreadPinningMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new VirtualThreadPinningMetrics(Duration.ofMillis(10));
+        metrics.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        metrics.stop();
+    }
+
+    private Timer pinned() {
+        return registry.get("jvm.threads.virtual.pinned").timer();
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    @DisplayName("Should stay idle without virtual threads")
+    void shouldStayIdleBeforeJava21() {
+        // When
+        metrics.start();
+
+        // Then
+        assertThat(pinned().count()).isZero();
+    }
+
+    // from Java 24 a virtual thread no longer pins while blocked in synchronized
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21, max = JRE.JAVA_22)
+    @DisplayName("Should time a virtual thread blocked inside synchronized")
+    void shouldTimePinnedVirtualThread() throws Exception {
+        // Given
+        metrics.start();
+        Object lock = new Object();
+        Runnable sleepHoldingLock = () -> {
+            synchronized (lock) {
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+
+        // When
+        Thread thread = (Thread) Thread.class.getMethod("startVirtualThread", Runnable.class)
+            .invoke(null, sleepHoldingLock);
+        thread.join();
+
+        // Then - recording streams deliver events about once a second
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (pinned().count() == 0 && System.nanoTime() < deadline)
+            Thread.sleep(100);
+        assertThat(pinned().count()).isEqualTo(1);
+        assertThat(pinned().totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(50);
+    }
+
+}
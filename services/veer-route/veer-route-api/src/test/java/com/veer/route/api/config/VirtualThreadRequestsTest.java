@@ -0,0 +1,63 @@
+package com.veer.route.api.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.embedded.EmbeddedWebServerFactoryCustomizerAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.DispatcherServletAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.ServletWebServerFactoryAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The VIRTUAL_THREADS switch on an embedded Tomcat, without the database
+ * the application needs. Only runs on a Java 21 build.
+ */
+@SpringBootTest(
+    classes = VirtualThreadRequestsTest.WebConfig.class,
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "spring.threads.virtual.enabled=true"
+)
+@EnabledForJreRange(min = JRE.JAVA_21)
+@DisplayName("Virtual Thread Requests Tests")
+class VirtualThreadRequestsTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    @DisplayName("Should serve requests on virtual threads when enabled")
+    void shouldServeRequestsOnVirtualThreads() {
+        assertThat(restTemplate.getForObject("/thread", String.class)).isEqualTo("virtual");
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration({
+        ServletWebServerFactoryAutoConfiguration.class,
+        EmbeddedWebServerFactoryCustomizerAutoConfiguration.class,
+        DispatcherServletAutoConfiguration.class,
+        WebMvcAutoConfiguration.class,
+        HttpMessageConvertersAutoConfiguration.class
+    })
+    @RestController
+    static class WebConfig {
+
+        // Thread.isVirtual is Java 21 API
+        @GetMapping("/thread")
+        String thread() throws ReflectiveOperationException {
+            boolean virtual = (boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread());
+            return virtual ? "virtual" : "platform";
+        }
+    }
+
+}
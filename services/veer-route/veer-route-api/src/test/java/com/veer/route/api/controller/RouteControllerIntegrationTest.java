@@ -2,11 +2,37 @@ package com.veer.route.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.veer.route.api.exception.GlobalExceptionHandler;
+import com.veer.route.model.PoiCategory;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.dto.BulkImportItemDto;
+import com.veer.route.model.dto.BulkImportResultDto;
 import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.DirectionsDto;
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.dto.GeoPoint;
+import com.veer.route.model.dto.IsochroneDto;
+import com.veer.route.model.dto.IsochronesDto;
+import com.veer.route.model.dto.MatrixRequestDto;
+import com.veer.route.model.dto.OptimizedRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.PoiDto;
+import com.veer.route.model.dto.RateRouteDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteRatingDto;
+import com.veer.route.model.dto.RouteSearchFilterDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
 import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.model.exception.RouteAccessDeniedException;
 import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import com.veer.route.model.exception.RoutingUnavailableException;
 import com.veer.route.service.RouteService;
+import com.veer.route.service.cache.RouteJson;
+import com.veer.route.service.export.RouteExportFormat;
+import com.veer.route.service.routing.TravelMatrix;
+import com.veer.route.service.simplify.DetailLevel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -18,16 +44,24 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -52,17 +86,15 @@ class RouteControllerIntegrationTest {
         reset(routeService);
     }
 
-    private List<Map<String, Object>> createSamplePoints() {
-        List<Map<String, Object>> points = new ArrayList<>();
-        Map<String, Object> point1 = new HashMap<>();
-        point1.put("latitude", 52.2297);
-        point1.put("longitude", 21.0122);
-        points.add(point1);
-        Map<String, Object> point2 = new HashMap<>();
-        point2.put("latitude", 52.4064);
-        point2.put("longitude", 16.9252);
-        points.add(point2);
-        return points;
+    private RouteJson routeJson(ResponseRouteDto route) throws Exception {
+        return new RouteJson(route.getId(), route.getVersion(), objectMapper.writeValueAsBytes(route));
+    }
+
+    private RouteGeometry createSamplePoints() {
+        return RouteGeometry.builder()
+            .add(52.2297, 21.0122)
+            .add(52.4064, 16.9252)
+            .build();
     }
 
     @Nested
@@ -75,7 +107,7 @@ class RouteControllerIntegrationTest {
             String userId = "test-user-123";
             String routeName = "Test Route";
             String routeDescription = "A test route description";
-            List<Map<String, Object>> points = createSamplePoints();
+            RouteGeometry points = createSamplePoints();
 
             CreateRouteDto createRouteDto = CreateRouteDto.builder()
                 .name(routeName)
@@ -127,7 +159,7 @@ class RouteControllerIntegrationTest {
         void shouldCreatePublicRouteSuccessfully() throws Exception {
             String userId = "test-user-456";
             String routeName = "Public Route";
-            List<Map<String, Object>> points = createSamplePoints();
+            RouteGeometry points = createSamplePoints();
 
             CreateRouteDto createRouteDto = CreateRouteDto.builder()
                 .name(routeName)
@@ -296,6 +328,67 @@ class RouteControllerIntegrationTest {
         }
     }
 
+    @Nested
+    @DisplayName("POST /api/route/bulk - Bulk Import Tests")
+    class BulkImportTests {
+
+        @Test
+        @DisplayName("Should pass request body stream and return per-route results")
+        void shouldImportRoutes() throws Exception {
+            String userId = "user-123";
+            String body = "[{\"name\":\"Route 1\",\"points\":[]}]";
+            BulkImportResultDto result = BulkImportResultDto.builder()
+                .created(1)
+                .failed(0)
+                .results(List.of(BulkImportItemDto.builder()
+                    .index(0)
+                    .id("route-1")
+                    .status(BulkImportItemDto.Status.CREATED)
+                    .build()))
+                .build();
+
+            when(routeService.importRoutes(eq(userId), any(InputStream.class))).thenAnswer(invocation -> {
+                InputStream input = invocation.getArgument(1);
+                assertThat(new String(input.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+                return result;
+            });
+
+            mockMvc.perform(post("/api/route/bulk")
+                    .header("X-User-Id", userId)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created", is(1)))
+                .andExpect(jsonPath("$.results[0].id", is("route-1")))
+                .andExpect(jsonPath("$.results[0].status", is("CREATED")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when user ID header missing")
+        void shouldReturnBadRequestWhenUserIdHeaderMissing() throws Exception {
+            mockMvc.perform(post("/api/route/bulk")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("[]"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).importRoutes(anyString(), any(InputStream.class));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when body is not an array")
+        void shouldReturnBadRequestWhenBodyIsNotArray() throws Exception {
+            when(routeService.importRoutes(eq("user-123"), any(InputStream.class)))
+                .thenThrow(new IllegalArgumentException("Request body must be a JSON array of routes"));
+
+            mockMvc.perform(post("/api/route/bulk")
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("JSON array")));
+        }
+    }
+
     @Nested
     @DisplayName("GET /api/route/{routeId} - Get Route Tests")
     class GetRouteTests {
@@ -304,7 +397,7 @@ class RouteControllerIntegrationTest {
         @DisplayName("Should get route successfully")
         void shouldGetRouteSuccessfully() throws Exception {
             String routeId = "route-123";
-            List<Map<String, Object>> points = createSamplePoints();
+            RouteGeometry points = createSamplePoints();
 
             ResponseRouteDto responseRouteDto = ResponseRouteDto.builder()
                 .id(routeId)
@@ -318,7 +411,7 @@ class RouteControllerIntegrationTest {
                 .lastUpdated(Instant.now())
                 .build();
 
-            when(routeService.getRouteById(routeId)).thenReturn(responseRouteDto);
+            when(routeService.getRouteJsonById(routeId, DetailLevel.FULL)).thenReturn(routeJson(responseRouteDto));
 
             mockMvc.perform(get("/api/route/{routeId}", routeId)
                     .contentType(MediaType.APPLICATION_JSON))
@@ -333,7 +426,7 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.createdAt", notNullValue()))
                 .andExpect(jsonPath("$.lastUpdated", notNullValue()));
 
-            verify(routeService, times(1)).getRouteById(routeId);
+            verify(routeService, times(1)).getRouteJsonById(routeId, DetailLevel.FULL);
         }
 
         @Test
@@ -341,7 +434,7 @@ class RouteControllerIntegrationTest {
         void shouldReturnNotFoundWhenRouteNotExists() throws Exception {
             String routeId = "non-existent-route";
 
-            when(routeService.getRouteById(routeId))
+            when(routeService.getRouteJsonById(routeId, DetailLevel.FULL))
                 .thenThrow(new RouteNotFoundException("Route " + routeId + " not found"));
 
             mockMvc.perform(get("/api/route/{routeId}", routeId)
@@ -351,7 +444,7 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", containsString("not found")));
 
-            verify(routeService, times(1)).getRouteById(routeId);
+            verify(routeService, times(1)).getRouteJsonById(routeId, DetailLevel.FULL);
         }
 
         @Test
@@ -376,8 +469,8 @@ class RouteControllerIntegrationTest {
                 .lastUpdated(Instant.now())
                 .build();
 
-            when(routeService.getRouteById(routeId1)).thenReturn(route1);
-            when(routeService.getRouteById(routeId2)).thenReturn(route2);
+            when(routeService.getRouteJsonById(routeId1, DetailLevel.FULL)).thenReturn(routeJson(route1));
+            when(routeService.getRouteJsonById(routeId2, DetailLevel.FULL)).thenReturn(routeJson(route2));
 
             mockMvc.perform(get("/api/route/{routeId}", routeId1))
                 .andExpect(status().isOk())
@@ -389,8 +482,137 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.id", is(routeId2)))
                 .andExpect(jsonPath("$.name", is("Route 2")));
 
-            verify(routeService, times(1)).getRouteById(routeId1);
-            verify(routeService, times(1)).getRouteById(routeId2);
+            verify(routeService, times(1)).getRouteJsonById(routeId1, DetailLevel.FULL);
+            verify(routeService, times(1)).getRouteJsonById(routeId2, DetailLevel.FULL);
+        }
+    }
+
+    @Nested
+    @DisplayName("Conditional Request Tests")
+    class ConditionalRequestTests {
+
+        private ResponseRouteDto route(long version) {
+            return ResponseRouteDto.builder()
+                .id("route-123")
+                .createdBy("user-123")
+                .name("Test Route")
+                .points(createSamplePoints())
+                .version(version)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should return the version as a strong ETag")
+        void shouldReturnETag() throws Exception {
+            when(routeService.getRouteJsonById("route-123", DetailLevel.FULL)).thenReturn(routeJson(route(3)));
+
+            mockMvc.perform(get("/api/route/{routeId}", "route-123"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.version", is(3)));
+
+            verify(routeService, never()).getRouteVersion(anyString());
+        }
+
+        @Test
+        @DisplayName("Should pass the level of detail for zoom and tolerance")
+        void shouldPassDetailLevel() throws Exception {
+            when(routeService.getRouteJsonById("route-123", DetailLevel.MEDIUM)).thenReturn(routeJson(route(3)));
+            when(routeService.getRouteJsonById("route-123", DetailLevel.LOW)).thenReturn(routeJson(route(3)));
+
+            mockMvc.perform(get("/api/route/{routeId}", "route-123").param("zoom", "10"))
+                .andExpect(status().isOk());
+            mockMvc.perform(get("/api/route/{routeId}", "route-123").param("tolerance", "500"))
+                .andExpect(status().isOk());
+
+            verify(routeService).getRouteJsonById("route-123", DetailLevel.MEDIUM);
+            verify(routeService).getRouteJsonById("route-123", DetailLevel.LOW);
+        }
+
+        @Test
+        @DisplayName("Should return 400 for both zoom and tolerance or a zoom out of range")
+        void shouldRejectInvalidDetailParameters() throws Exception {
+            mockMvc.perform(get("/api/route/{routeId}", "route-123")
+                    .param("zoom", "10")
+                    .param("tolerance", "50"))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/route/{routeId}", "route-123").param("zoom", "30"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).getRouteJsonById(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 304 without loading the route when the ETag matches")
+        void shouldReturnNotModifiedWhenETagMatches() throws Exception {
+            when(routeService.getRouteVersion("route-123")).thenReturn(3L);
+
+            mockMvc.perform(get("/api/route/{routeId}", "route-123")
+                    .header("If-None-Match", "\"2\", W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(content().string(""));
+
+            verify(routeService, never()).getRouteJsonById(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should return the route when the ETag is stale")
+        void shouldReturnRouteWhenETagIsStale() throws Exception {
+            when(routeService.getRouteVersion("route-123")).thenReturn(4L);
+            when(routeService.getRouteJsonById("route-123", DetailLevel.FULL)).thenReturn(routeJson(route(4)));
+
+            mockMvc.perform(get("/api/route/{routeId}", "route-123")
+                    .header("If-None-Match", "\"3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""))
+                .andExpect(jsonPath("$.id", is("route-123")));
+        }
+
+        @Test
+        @DisplayName("Should pass the If-Match version on to the update")
+        void shouldPassIfMatchVersionToUpdate() throws Exception {
+            UpdateRouteDto updateRouteDto = UpdateRouteDto.builder()
+                .id("route-123")
+                .name("Renamed")
+                .build();
+            when(routeService.updateRoute(any(UpdateRouteDto.class), eq("user-123"), eq(3L))).thenReturn(route(4));
+
+            mockMvc.perform(put("/api/route/{routeId}", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .header("If-Match", "\"3\"")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(updateRouteDto)))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"4\""));
+
+            verify(routeService).updateRoute(any(UpdateRouteDto.class), eq("user-123"), eq(3L));
+        }
+
+        @Test
+        @DisplayName("Should return 412 when the route has changed since the If-Match ETag")
+        void shouldReturnPreconditionFailedOnVersionMismatch() throws Exception {
+            doThrow(new RouteVersionMismatchException("Route route-123 is at version 4, not 3"))
+                .when(routeService).deleteRouteById("route-123", "user-123", 3L);
+
+            mockMvc.perform(delete("/api/route/{routeId}", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .header("If-Match", "\"3\""))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.message", containsString("version 4")));
+        }
+
+        @Test
+        @DisplayName("Should return 412 for a weak If-Match ETag without writing")
+        void shouldReturnPreconditionFailedForWeakETag() throws Exception {
+            when(routeService.getRouteVersion("route-123")).thenReturn(3L);
+
+            mockMvc.perform(delete("/api/route/{routeId}", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .header("If-Match", "W/\"3\""))
+                .andExpect(status().isPreconditionFailed());
+
+            verify(routeService, never()).deleteRouteById(anyString(), anyString(), any());
         }
     }
 
@@ -399,148 +621,160 @@ class RouteControllerIntegrationTest {
     class GetRoutesByUserIdTests {
 
         @Test
-        @DisplayName("Should get routes by user ID successfully")
+        @DisplayName("Should get route summaries by user ID successfully")
         void shouldGetRoutesByUserIdSuccessfully() throws Exception {
             String userId = "user-123";
-            List<Map<String, Object>> points1 = createSamplePoints();
-            List<Map<String, Object>> points2 = createSamplePoints();
 
-            ResponseRouteDto route1 = ResponseRouteDto.builder()
+            RouteSummaryDto route1 = RouteSummaryDto.builder()
                 .id("route-1")
                 .createdBy(userId)
                 .name("Route 1")
-                .description("First route")
-                .points(points1)
                 .isPublic(true)
                 .rating(4.5)
                 .createdAt(Instant.now())
                 .lastUpdated(Instant.now())
                 .build();
 
-            ResponseRouteDto route2 = ResponseRouteDto.builder()
+            RouteSummaryDto route2 = RouteSummaryDto.builder()
                 .id("route-2")
                 .createdBy(userId)
                 .name("Route 2")
-                .description("Second route")
-                .points(points2)
                 .isPublic(false)
                 .rating(3.0)
                 .createdAt(Instant.now())
                 .lastUpdated(Instant.now())
                 .build();
 
-            List<ResponseRouteDto> routes = List.of(route1, route2);
+            RouteSummaryPageDto page = RouteSummaryPageDto.builder()
+                .items(List.of(route1, route2))
+                .nextCursor("next-page")
+                .build();
 
-            when(routeService.getRoutesByUserId(userId)).thenReturn(routes);
+            when(routeService.getRoutesByUserId(userId, null, 20)).thenReturn(page);
 
             mockMvc.perform(get("/api/route/user/{userId}", userId)
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(2)))
-                .andExpect(jsonPath("$[0].id", is("route-1")))
-                .andExpect(jsonPath("$[0].createdBy", is(userId)))
-                .andExpect(jsonPath("$[0].name", is("Route 1")))
-                .andExpect(jsonPath("$[0].description", is("First route")))
-                .andExpect(jsonPath("$[0].isPublic", is(true)))
-                .andExpect(jsonPath("$[0].rating", is(4.5)))
-                .andExpect(jsonPath("$[1].id", is("route-2")))
-                .andExpect(jsonPath("$[1].createdBy", is(userId)))
-                .andExpect(jsonPath("$[1].name", is("Route 2")))
-                .andExpect(jsonPath("$[1].description", is("Second route")))
-                .andExpect(jsonPath("$[1].isPublic", is(false)))
-                .andExpect(jsonPath("$[1].rating", is(3.0)));
-
-            verify(routeService, times(1)).getRoutesByUserId(userId);
+                .andExpect(jsonPath("$.items", hasSize(2)))
+                .andExpect(jsonPath("$.items[0].id", is("route-1")))
+                .andExpect(jsonPath("$.items[0].createdBy", is(userId)))
+                .andExpect(jsonPath("$.items[0].name", is("Route 1")))
+                .andExpect(jsonPath("$.items[0].isPublic", is(true)))
+                .andExpect(jsonPath("$.items[0].rating", is(4.5)))
+                .andExpect(jsonPath("$.items[0].points").doesNotExist())
+                .andExpect(jsonPath("$.items[1].id", is("route-2")))
+                .andExpect(jsonPath("$.items[1].isPublic", is(false)))
+                .andExpect(jsonPath("$.items[1].rating", is(3.0)))
+                .andExpect(jsonPath("$.nextCursor", is("next-page")));
+
+            verify(routeService, times(1)).getRoutesByUserId(userId, null, 20);
         }
 
         @Test
-        @DisplayName("Should return empty list when user has no routes")
+        @DisplayName("Should return empty page when user has no routes")
         void shouldReturnEmptyListWhenUserHasNoRoutes() throws Exception {
             String userId = "user-with-no-routes";
 
-            when(routeService.getRoutesByUserId(userId)).thenReturn(List.of());
+            when(routeService.getRoutesByUserId(userId, null, 20))
+                .thenReturn(RouteSummaryPageDto.builder().items(List.of()).build());
 
             mockMvc.perform(get("/api/route/user/{userId}", userId)
                     .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$", hasSize(0)));
-
-            verify(routeService, times(1)).getRoutesByUserId(userId);
+                .andExpect(jsonPath("$.items", hasSize(0)))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
         }
 
         @Test
-        @DisplayName("Should return routes for different users independently")
-        void shouldReturnRoutesForDifferentUsers() throws Exception {
-            String userId1 = "user-1";
-            String userId2 = "user-2";
-
-            ResponseRouteDto route1 = ResponseRouteDto.builder()
-                .id("route-1")
-                .createdBy(userId1)
-                .name("User 1 Route")
-                .points(createSamplePoints())
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
-                .build();
-
-            ResponseRouteDto route2 = ResponseRouteDto.builder()
-                .id("route-2")
-                .createdBy(userId2)
-                .name("User 2 Route")
-                .points(createSamplePoints())
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
+        @DisplayName("Should pass cursor and limit to the service")
+        void shouldPassCursorAndLimit() throws Exception {
+            String userId = "user-with-many-routes";
+            RouteSummaryPageDto page = RouteSummaryPageDto.builder()
+                .items(List.of(RouteSummaryDto.builder().id("route-6").createdBy(userId).build()))
                 .build();
 
-            when(routeService.getRoutesByUserId(userId1)).thenReturn(List.of(route1));
-            when(routeService.getRoutesByUserId(userId2)).thenReturn(List.of(route2));
+            when(routeService.getRoutesByUserId(userId, "abc", 5)).thenReturn(page);
 
-            mockMvc.perform(get("/api/route/user/{userId}", userId1))
+            mockMvc.perform(get("/api/route/user/{userId}", userId)
+                    .param("cursor", "abc")
+                    .param("limit", "5"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is("route-1")))
-                .andExpect(jsonPath("$[0].createdBy", is(userId1)));
+                .andExpect(jsonPath("$.items[0].id", is("route-6")));
 
-            mockMvc.perform(get("/api/route/user/{userId}", userId2))
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(1)))
-                .andExpect(jsonPath("$[0].id", is("route-2")))
-                .andExpect(jsonPath("$[0].createdBy", is(userId2)));
+            verify(routeService, times(1)).getRoutesByUserId(userId, "abc", 5);
+        }
+
+        @Test
+        @DisplayName("Should return 400 when limit too large")
+        void shouldReturnBadRequestWhenLimitTooLarge() throws Exception {
+            mockMvc.perform(get("/api/route/user/{userId}", "user-123")
+                    .param("limit", "1000"))
+                .andExpect(status().isBadRequest());
 
-            verify(routeService, times(1)).getRoutesByUserId(userId1);
-            verify(routeService, times(1)).getRoutesByUserId(userId2);
+            verify(routeService, never()).getRoutesByUserId(anyString(), any(), anyInt());
         }
 
         @Test
-        @DisplayName("Should return multiple routes for user with many routes")
-        void shouldReturnMultipleRoutesForUser() throws Exception {
-            String userId = "user-with-many-routes";
-            List<ResponseRouteDto> routes = new ArrayList<>();
-            
-            for (int i = 1; i <= 5; i++) {
-                ResponseRouteDto route = ResponseRouteDto.builder()
-                    .id("route-" + i)
-                    .createdBy(userId)
-                    .name("Route " + i)
-                    .points(createSamplePoints())
-                    .createdAt(Instant.now())
-                    .lastUpdated(Instant.now())
-                    .build();
-                routes.add(route);
-            }
-
-            when(routeService.getRoutesByUserId(userId)).thenReturn(routes);
+        @DisplayName("Should return 400 when cursor is invalid")
+        void shouldReturnBadRequestWhenCursorInvalid() throws Exception {
+            when(routeService.getRoutesByUserId("user-123", "broken", 20))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/route/user/{userId}", "user-123")
+                    .param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Invalid cursor")));
+        }
+    }
 
-            mockMvc.perform(get("/api/route/user/{userId}", userId)
-                    .contentType(MediaType.APPLICATION_JSON))
+    @Nested
+    @DisplayName("GET /api/route/user/{userId}/export - Export Routes Tests")
+    class ExportRoutesTests {
+
+        @Test
+        @DisplayName("Should stream NDJSON export as attachment")
+        void shouldStreamNdjsonExport() throws Exception {
+            String userId = "user-123";
+            doAnswer(invocation -> {
+                OutputStream output = invocation.getArgument(2);
+                output.write("{\"id\":\"route-1\"}\n".getBytes(StandardCharsets.UTF_8));
+                return null;
+            }).when(routeService).exportRoutesByUserId(eq(userId), eq(RouteExportFormat.NDJSON), any(OutputStream.class));
+
+            MvcResult result = mockMvc.perform(get("/api/route/user/{userId}/export", userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString("routes-user-123.ndjson")))
+                .andExpect(content().string("{\"id\":\"route-1\"}\n"));
+        }
+
+        @Test
+        @DisplayName("Should use GeoJSON media type when requested")
+        void shouldUseGeoJsonMediaType() throws Exception {
+            MvcResult result = mockMvc.perform(get("/api/route/user/{userId}/export", "user-123")
+                    .param("format", "geojson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$", hasSize(5)))
-                .andExpect(jsonPath("$[0].id", is("route-1")))
-                .andExpect(jsonPath("$[4].id", is("route-5")));
+                .andExpect(content().contentType("application/geo+json"));
 
-            verify(routeService, times(1)).getRoutesByUserId(userId);
+            verify(routeService, times(1))
+                .exportRoutesByUserId(eq("user-123"), eq(RouteExportFormat.GEOJSON), any(OutputStream.class));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for unknown format")
+        void shouldReturnBadRequestForUnknownFormat() throws Exception {
+            mockMvc.perform(get("/api/route/user/{userId}/export", "user-123")
+                    .param("format", "gpx"))
+                .andExpect(status().isBadRequest());
         }
     }
 
@@ -553,7 +787,7 @@ class RouteControllerIntegrationTest {
         void shouldUpdateRouteSuccessfully() throws Exception {
             String userId = "user-123";
             String routeId = "route-123";
-            List<Map<String, Object>> newPoints = createSamplePoints();
+            RouteGeometry newPoints = createSamplePoints();
 
             UpdateRouteDto updateRouteDto = UpdateRouteDto.builder()
                 .id(routeId) // Required for validation, will be overridden by controller
@@ -561,7 +795,6 @@ class RouteControllerIntegrationTest {
                 .description("Updated description")
                 .points(newPoints)
                 .isPublic(true)
-                .rating(5.0)
                 .build();
 
             ResponseRouteDto responseRouteDto = ResponseRouteDto.builder()
@@ -576,7 +809,7 @@ class RouteControllerIntegrationTest {
                 .lastUpdated(Instant.now())
                 .build();
 
-            when(routeService.updateRoute(any(UpdateRouteDto.class))).thenReturn(responseRouteDto);
+            when(routeService.updateRoute(any(UpdateRouteDto.class), eq(userId), isNull())).thenReturn(responseRouteDto);
 
             mockMvc.perform(put("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId)
@@ -594,7 +827,7 @@ class RouteControllerIntegrationTest {
                 dto.getId().equals(routeId) &&
                 dto.getName().equals("Updated Route Name") &&
                 dto.getDescription().equals("Updated description")
-            ));
+            ), eq(userId), isNull());
         }
 
         @Test
@@ -615,7 +848,7 @@ class RouteControllerIntegrationTest {
                 .lastUpdated(Instant.now())
                 .build();
 
-            when(routeService.updateRoute(any(UpdateRouteDto.class))).thenReturn(responseRouteDto);
+            when(routeService.updateRoute(any(UpdateRouteDto.class), eq(userId), isNull())).thenReturn(responseRouteDto);
 
             mockMvc.perform(put("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId)
@@ -625,7 +858,7 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.id", is(routeId)))
                 .andExpect(jsonPath("$.name", is("New Name Only")));
 
-            verify(routeService, times(1)).updateRoute(any(UpdateRouteDto.class));
+            verify(routeService, times(1)).updateRoute(any(UpdateRouteDto.class), eq(userId), isNull());
         }
 
         @Test
@@ -639,7 +872,7 @@ class RouteControllerIntegrationTest {
                 .name("Updated Name")
                 .build();
 
-            when(routeService.updateRoute(any(UpdateRouteDto.class)))
+            when(routeService.updateRoute(any(UpdateRouteDto.class), eq(userId), isNull()))
                 .thenThrow(new RouteNotFoundException("Route " + routeId + " not found"));
 
             mockMvc.perform(put("/api/route/{routeId}", routeId)
@@ -651,7 +884,7 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", containsString("not found")));
 
-            verify(routeService, times(1)).updateRoute(any(UpdateRouteDto.class));
+            verify(routeService, times(1)).updateRoute(any(UpdateRouteDto.class), eq(userId), isNull());
         }
 
         @Test
@@ -668,7 +901,7 @@ class RouteControllerIntegrationTest {
                     .content(objectMapper.writeValueAsString(updateRouteDto)))
                 .andExpect(status().isBadRequest());
 
-            verify(routeService, never()).updateRoute(any());
+            verify(routeService, never()).updateRoute(any(), any(), any());
         }
 
         @Test
@@ -686,7 +919,7 @@ class RouteControllerIntegrationTest {
                     .content(objectMapper.writeValueAsString(updateRouteDto)))
                 .andExpect(status().isBadRequest());
 
-            verify(routeService, never()).updateRoute(any());
+            verify(routeService, never()).updateRoute(any(), any(), any());
         }
 
         @Test
@@ -708,7 +941,7 @@ class RouteControllerIntegrationTest {
                 .lastUpdated(Instant.now())
                 .build();
 
-            when(routeService.updateRoute(any(UpdateRouteDto.class))).thenReturn(responseRouteDto);
+            when(routeService.updateRoute(any(UpdateRouteDto.class), eq(userId), isNull())).thenReturn(responseRouteDto);
 
             mockMvc.perform(put("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId)
@@ -719,7 +952,7 @@ class RouteControllerIntegrationTest {
 
             verify(routeService, times(1)).updateRoute(argThat(dto ->
                 dto.getId().equals(routeId)
-            ));
+            ), eq(userId), isNull());
         }
 
         @Test
@@ -740,7 +973,7 @@ class RouteControllerIntegrationTest {
                     .content(objectMapper.writeValueAsString(updateRouteDto)))
                 .andExpect(status().isBadRequest());
 
-            verify(routeService, never()).updateRoute(any());
+            verify(routeService, never()).updateRoute(any(), any(), any());
         }
 
         @Test
@@ -761,7 +994,619 @@ class RouteControllerIntegrationTest {
                     .content(objectMapper.writeValueAsString(updateRouteDto)))
                 .andExpect(status().isBadRequest());
 
-            verify(routeService, never()).updateRoute(any());
+            verify(routeService, never()).updateRoute(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("PATCH /api/route/{routeId}/points - Edit Route Points Tests")
+    class PatchRoutePointsTests {
+
+        @Test
+        @DisplayName("Should apply point operations and return the summary")
+        void shouldPatchRoutePoints() throws Exception {
+            String routeId = "route-123";
+            String body = "{\"operations\":[" +
+                "{\"op\":\"MOVE\",\"index\":1,\"points\":[{\"latitude\":52.3,\"longitude\":21.1}]}," +
+                "{\"op\":\"REORDER\",\"index\":0,\"to\":1}]}";
+            RouteSummaryDto summary = RouteSummaryDto.builder()
+                .id(routeId)
+                .createdBy("user-123")
+                .name("Test Route")
+                .build();
+
+            when(routeService.patchRoutePoints(eq(routeId), eq("user-123"), any(PatchRoutePointsDto.class), isNull())).thenReturn(summary);
+
+            mockMvc.perform(patch("/api/route/{routeId}/points", routeId)
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id", is(routeId)))
+                .andExpect(jsonPath("$.points").doesNotExist());
+
+            verify(routeService).patchRoutePoints(eq(routeId), eq("user-123"), argThat(dto ->
+                dto.getOperations().size() == 2 &&
+                dto.getOperations().get(0).getPoints().latitude(0) == 52.3 &&
+                dto.getOperations().get(1).getTo() == 1
+            ), isNull());
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an empty or malformed operation list")
+        void shouldRejectInvalidOperations() throws Exception {
+            mockMvc.perform(patch("/api/route/{routeId}/points", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"operations\":[]}"))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(patch("/api/route/{routeId}/points", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"operations\":[{\"op\":\"DELETE\",\"index\":-1}]}"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).patchRoutePoints(anyString(), anyString(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 400 when an operation cannot be applied")
+        void shouldReturnBadRequestWhenOperationFails() throws Exception {
+            when(routeService.patchRoutePoints(eq("route-123"), eq("user-123"), any(PatchRoutePointsDto.class), isNull()))
+                .thenThrow(new IllegalArgumentException("Operation 0: index 9 is out of range [0, 2)"));
+
+            mockMvc.perform(patch("/api/route/{routeId}/points", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"operations\":[{\"op\":\"DELETE\",\"index\":9}]}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("Operation 0")));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/route/{routeId}/optimize - Optimize Route Tests")
+    class OptimizeRouteTests {
+
+        @Test
+        @DisplayName("Should return optimized order and points")
+        void shouldReturnOptimizedOrder() throws Exception {
+            String routeId = "route-123";
+            OptimizedRouteDto optimizedRouteDto = OptimizedRouteDto.builder()
+                .routeId(routeId)
+                .order(new int[]{0, 1})
+                .points(createSamplePoints())
+                .exact(true)
+                .build();
+
+            when(routeService.optimizeRoute(routeId)).thenReturn(optimizedRouteDto);
+
+            mockMvc.perform(post("/api/route/{routeId}/optimize", routeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeId", is(routeId)))
+                .andExpect(jsonPath("$.order", contains(0, 1)))
+                .andExpect(jsonPath("$.points", hasSize(2)))
+                .andExpect(jsonPath("$.points[0].latitude", is(52.2297)))
+                .andExpect(jsonPath("$.exact", is(true)));
+
+            verify(routeService, times(1)).optimizeRoute(routeId);
+        }
+
+        @Test
+        @DisplayName("Should return 404 when route not found")
+        void shouldReturnNotFoundWhenRouteNotExists() throws Exception {
+            String routeId = "non-existent-route";
+
+            when(routeService.optimizeRoute(routeId))
+                .thenThrow(new RouteNotFoundException("Route " + routeId + " not found"));
+
+            mockMvc.perform(post("/api/route/{routeId}/optimize", routeId))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status", is(404)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when route has too many points")
+        void shouldReturnBadRequestWhenTooManyPoints() throws Exception {
+            String routeId = "huge-route";
+
+            when(routeService.optimizeRoute(routeId))
+                .thenThrow(new IllegalArgumentException("Route optimization supports at most 1000 points"));
+
+            mockMvc.perform(post("/api/route/{routeId}/optimize", routeId))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("at most")));
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/route/{routeId}/elevation - Elevation Profile Tests")
+    class ElevationProfileTests {
+
+        @Test
+        @DisplayName("Should return elevation profile")
+        void shouldReturnElevationProfile() throws Exception {
+            String routeId = "route-123";
+            ElevationProfileDto profile = ElevationProfileDto.builder()
+                .routeId(routeId)
+                .distancesMeters(List.of(0.0, 1500.0))
+                .elevationsMeters(Arrays.asList(110.0, null))
+                .ascentMeters(0.0)
+                .descentMeters(0.0)
+                .build();
+
+            when(routeService.getElevationProfile(routeId)).thenReturn(profile);
+
+            mockMvc.perform(get("/api/route/{routeId}/elevation", routeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.routeId", is(routeId)))
+                .andExpect(jsonPath("$.distancesMeters", contains(0.0, 1500.0)))
+                .andExpect(jsonPath("$.elevationsMeters[0]", is(110.0)))
+                .andExpect(jsonPath("$.elevationsMeters[1]", nullValue()));
+        }
+
+        @Test
+        @DisplayName("Should return 404 when route not found")
+        void shouldReturnNotFoundWhenRouteNotExists() throws Exception {
+            when(routeService.getElevationProfile("non-existent-route"))
+                .thenThrow(new RouteNotFoundException("Route non-existent-route not found"));
+
+            mockMvc.perform(get("/api/route/{routeId}/elevation", "non-existent-route"))
+                .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/route/{routeId}/directions - Directions Tests")
+    class DirectionsTests {
+
+        @Test
+        @DisplayName("Should return directions for the travel mode")
+        void shouldReturnDirections() throws Exception {
+            String routeId = "route-123";
+            DirectionsDto directions = DirectionsDto.builder()
+                .routeId(routeId)
+                .profile(TravelProfile.BIKE)
+                .points(RouteGeometry.builder().add(52.2297, 21.0122).add(52.2301, 21.0125).add(52.2310, 21.0140).build())
+                .distanceMeters(180.5)
+                .durationSeconds(36L)
+                .unroutedLegs(0)
+                .build();
+
+            when(routeService.getDirections(routeId, TravelProfile.BIKE)).thenReturn(directions);
+
+            mockMvc.perform(get("/api/route/{routeId}/directions", routeId).param("profile", "BIKE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile", is("BIKE")))
+                .andExpect(jsonPath("$.points", hasSize(3)))
+                .andExpect(jsonPath("$.durationSeconds", is(36)))
+                .andExpect(jsonPath("$.unroutedLegs", is(0)));
+        }
+
+        @Test
+        @DisplayName("Should walk by default")
+        void shouldWalkByDefault() throws Exception {
+            when(routeService.getDirections("route-123", TravelProfile.WALK))
+                .thenReturn(DirectionsDto.builder().routeId("route-123").profile(TravelProfile.WALK).build());
+
+            mockMvc.perform(get("/api/route/{routeId}/directions", "route-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.profile", is("WALK")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unknown travel mode")
+        void shouldReturnBadRequestForUnknownProfile() throws Exception {
+            mockMvc.perform(get("/api/route/{routeId}/directions", "route-123").param("profile", "TRAIN"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).getDirections(anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 503 without a road network")
+        void shouldReturnServiceUnavailableWithoutRoadGraph() throws Exception {
+            when(routeService.getDirections("route-123", TravelProfile.WALK))
+                .thenThrow(new RoutingUnavailableException("Routing along roads is not available, no road graph is configured"));
+
+            mockMvc.perform(get("/api/route/{routeId}/directions", "route-123"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.message", containsString("road graph")));
+        }
+    }
+
+    @Nested
+    @DisplayName("POST /api/route/matrix - Matrix Tests")
+    class MatrixTests {
+
+        private final MatrixRequestDto matrixRequest = MatrixRequestDto.builder()
+            .sources(List.of(new GeoPoint(52.2297, 21.0122)))
+            .destinations(List.of(new GeoPoint(52.2310, 21.0140), new GeoPoint(52.4064, 16.9252)))
+            .profile(TravelProfile.CAR)
+            .build();
+
+        private final TravelMatrix matrix = new TravelMatrix(TravelProfile.CAR, true, 1, 2,
+            new float[] {21.34f, Float.NaN}, new float[] {190.26f, Float.NaN});
+
+        @Test
+        @DisplayName("Should return the matrix as JSON")
+        void shouldReturnJson() throws Exception {
+            when(routeService.computeMatrix(any(MatrixRequestDto.class))).thenReturn(matrix);
+
+            MvcResult result = mockMvc.perform(post("/api/route/matrix")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(matrixRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.roads", is(true)))
+                .andExpect(jsonPath("$.sources", is(1)))
+                .andExpect(jsonPath("$.destinations", is(2)))
+                .andExpect(jsonPath("$.durationSeconds[0]", closeTo(21.3, 1e-6)))
+                .andExpect(jsonPath("$.distanceMeters[1]", nullValue()));
+        }
+
+        @Test
+        @DisplayName("Should return the matrix as binary when asked for octet-stream")
+        void shouldReturnBinary() throws Exception {
+            when(routeService.computeMatrix(any(MatrixRequestDto.class))).thenReturn(matrix);
+
+            MvcResult result = mockMvc.perform(post("/api/route/matrix")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_OCTET_STREAM)
+                    .content(objectMapper.writeValueAsString(matrixRequest)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+            byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+            ByteBuffer buffer = ByteBuffer.wrap(body).order(ByteOrder.LITTLE_ENDIAN);
+            assertThat(body).hasSize(8 + 4 * 4);
+            assertThat(buffer.getInt()).isEqualTo(1);
+            assertThat(buffer.getInt()).isEqualTo(2);
+            assertThat(buffer.getFloat()).isEqualTo(21.34f);
+            assertThat(buffer.getFloat()).isNaN();
+            assertThat(buffer.getFloat()).isEqualTo(190.26f);
+        }
+
+        @Test
+        @DisplayName("Should return 400 without destinations")
+        void shouldReturnBadRequestWithoutDestinations() throws Exception {
+            MatrixRequestDto empty = MatrixRequestDto.builder()
+                .sources(matrixRequest.getSources())
+                .destinations(List.of())
+                .build();
+
+            mockMvc.perform(post("/api/route/matrix")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(empty)))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).computeMatrix(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/route/isochrones - Isochrone Tests")
+    class IsochroneTests {
+
+        @Test
+        @DisplayName("Should return one area per time limit")
+        void shouldReturnIsochrones() throws Exception {
+            List<List<List<double[]>>> square = List.of(List.of(List.of(
+                new double[] {21.0, 52.0}, new double[] {21.01, 52.0}, new double[] {21.01, 52.01},
+                new double[] {21.0, 52.01}, new double[] {21.0, 52.0})));
+            IsochronesDto isochrones = IsochronesDto.builder()
+                .profile(TravelProfile.BIKE)
+                .origin(new GeoPoint(52.005, 21.005))
+                .cellMeters(100.0)
+                .isochrones(List.of(
+                    IsochroneDto.builder().minutes(10).coordinates(square).build(),
+                    IsochroneDto.builder().minutes(20).coordinates(List.of()).build()))
+                .build();
+            when(routeService.computeIsochrones(52.0051, 21.0049, TravelProfile.BIKE, List.of(10, 20)))
+                .thenReturn(isochrones);
+
+            mockMvc.perform(get("/api/route/isochrones")
+                    .param("lat", "52.0051")
+                    .param("lng", "21.0049")
+                    .param("profile", "BIKE")
+                    .param("minutes", "10,20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.origin.lat", is(52.005)))
+                .andExpect(jsonPath("$.isochrones[0].minutes", is(10)))
+                .andExpect(jsonPath("$.isochrones[0].coordinates[0][0][2][1]", is(52.01)))
+                .andExpect(jsonPath("$.isochrones[1].coordinates", hasSize(0)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for a latitude out of range")
+        void shouldReturnBadRequestForInvalidLatitude() throws Exception {
+            mockMvc.perform(get("/api/route/isochrones")
+                    .param("lat", "91")
+                    .param("lng", "21.0"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).computeIsochrones(anyDouble(), anyDouble(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 503 without a road network")
+        void shouldReturnServiceUnavailableWithoutRoadGraph() throws Exception {
+            when(routeService.computeIsochrones(52.0, 21.0, TravelProfile.WALK, List.of(5, 10, 15)))
+                .thenThrow(new RoutingUnavailableException("Isochrones are not available, no road graph is configured"));
+
+            mockMvc.perform(get("/api/route/isochrones")
+                    .param("lat", "52.0")
+                    .param("lng", "21.0"))
+                .andExpect(status().isServiceUnavailable());
+        }
+    }
+
+    @Nested
+    @DisplayName("/api/route/{routeId}/rating - Rating Tests")
+    class RatingTests {
+
+        @Test
+        @DisplayName("Should rate a route on behalf of the user")
+        void shouldRateRoute() throws Exception {
+            RouteRatingDto rating = RouteRatingDto.builder()
+                .routeId("route-123")
+                .stars(4)
+                .count(3)
+                .average(4.0)
+                .score(3.375)
+                .build();
+            when(routeService.rateRoute("route-123", "user-123", RateRouteDto.builder().stars(4).build()))
+                .thenReturn(rating);
+
+            mockMvc.perform(put("/api/route/{routeId}/rating", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"stars\": 4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.stars", is(4)))
+                .andExpect(jsonPath("$.count", is(3)))
+                .andExpect(jsonPath("$.score", is(3.375)));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for stars out of range")
+        void shouldReturnBadRequestForInvalidStars() throws Exception {
+            mockMvc.perform(put("/api/route/{routeId}/rating", "route-123")
+                    .header("X-User-Id", "user-123")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"stars\": 6}"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).rateRoute(anyString(), anyString(), any());
+        }
+
+        @Test
+        @DisplayName("Should return the totals without a user")
+        void shouldGetRatingWithoutUser() throws Exception {
+            when(routeService.getRouteRating("route-123", null))
+                .thenReturn(RouteRatingDto.builder().routeId("route-123").count(0).build());
+
+            mockMvc.perform(get("/api/route/{routeId}/rating", "route-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count", is(0)))
+                .andExpect(jsonPath("$.average").doesNotExist());
+        }
+
+        @Test
+        @DisplayName("Should return 404 when withdrawing a rating of an unknown route")
+        void shouldReturnNotFoundForUnknownRoute() throws Exception {
+            when(routeService.deleteRouteRating("non-existent-route", "user-123"))
+                .thenThrow(new RouteNotFoundException("Route non-existent-route not found"));
+
+            mockMvc.perform(delete("/api/route/{routeId}/rating", "non-existent-route")
+                    .header("X-User-Id", "user-123"))
+                .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/route/pois - Attraction Tests")
+    class PoiTests {
+
+        @Test
+        @DisplayName("Should return attractions near a point of the given categories")
+        void shouldReturnNearbyPois() throws Exception {
+            PoiDto castle = PoiDto.builder()
+                .id(42L)
+                .name("Zamek Królewski")
+                .lat(52.2479)
+                .lng(21.0153)
+                .categories(List.of(PoiCategory.MUSEUM, PoiCategory.CASTLE))
+                .distanceMeters(120.5)
+                .build();
+            when(routeService.findPoisNear(52.2469, 21.0143, 5, 2000.0, List.of(PoiCategory.CASTLE, PoiCategory.RUINS)))
+                .thenReturn(List.of(castle));
+
+            mockMvc.perform(get("/api/route/pois/nearby")
+                    .param("lat", "52.2469")
+                    .param("lng", "21.0143")
+                    .param("radius", "2000")
+                    .param("limit", "5")
+                    .param("categories", "CASTLE,RUINS"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(42)))
+                .andExpect(jsonPath("$[0].categories", contains("MUSEUM", "CASTLE")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for an unknown category")
+        void shouldReturnBadRequestForUnknownCategory() throws Exception {
+            mockMvc.perform(get("/api/route/pois/nearby")
+                    .param("lat", "52.2469")
+                    .param("lng", "21.0143")
+                    .param("categories", "SHOP"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).findPoisNear(anyDouble(), anyDouble(), anyInt(), anyDouble(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 404 for attractions along an unknown route")
+        void shouldReturnNotFoundForUnknownRoute() throws Exception {
+            when(routeService.findPoisAlongRoute("non-existent-route", 500.0, 100, null))
+                .thenThrow(new RouteNotFoundException("Route non-existent-route not found"));
+
+            mockMvc.perform(get("/api/route/non-existent-route/pois"))
+                .andExpect(status().isNotFound());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/route/public - Public Route Search Tests")
+    class PublicRouteSearchTests {
+
+        @Test
+        @DisplayName("Should return routes in bounding box")
+        void shouldReturnRoutesInBoundingBox() throws Exception {
+            RouteSummaryDto summary = RouteSummaryDto.builder()
+                .id("route-123")
+                .name("Warsaw Loop")
+                .isPublic(true)
+                .build();
+
+            when(routeService.findPublicRoutesInBox(52.0, 20.5, 52.5, 21.5, 100))
+                .thenReturn(List.of(summary));
+
+            mockMvc.perform(get("/api/route/public/bbox")
+                    .param("minLat", "52.0")
+                    .param("minLng", "20.5")
+                    .param("maxLat", "52.5")
+                    .param("maxLng", "21.5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is("route-123")))
+                .andExpect(jsonPath("$[0].name", is("Warsaw Loop")))
+                .andExpect(jsonPath("$[0].points").doesNotExist());
+
+            verify(routeService, times(1)).findPublicRoutesInBox(52.0, 20.5, 52.5, 21.5, 100);
+        }
+
+        @Test
+        @DisplayName("Should return 400 when latitude out of range")
+        void shouldReturnBadRequestWhenLatitudeOutOfRange() throws Exception {
+            mockMvc.perform(get("/api/route/public/bbox")
+                    .param("minLat", "-91")
+                    .param("minLng", "20.5")
+                    .param("maxLat", "52.5")
+                    .param("maxLng", "21.5"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).findPublicRoutesInBox(anyDouble(), anyDouble(), anyDouble(), anyDouble(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should return routes near point with given radius and limit")
+        void shouldReturnRoutesNearPoint() throws Exception {
+            RouteSummaryDto summary = RouteSummaryDto.builder()
+                .id("route-123")
+                .isPublic(true)
+                .build();
+
+            when(routeService.findPublicRoutesNear(52.2297, 21.0122, 2000.0, 10))
+                .thenReturn(List.of(summary));
+
+            mockMvc.perform(get("/api/route/public/nearby")
+                    .param("lat", "52.2297")
+                    .param("lng", "21.0122")
+                    .param("radius", "2000")
+                    .param("limit", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id", is("route-123")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when radius too large")
+        void shouldReturnBadRequestWhenRadiusTooLarge() throws Exception {
+            mockMvc.perform(get("/api/route/public/nearby")
+                    .param("lat", "52.2297")
+                    .param("lng", "21.0122")
+                    .param("radius", "1000000"))
+                .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        @DisplayName("Should search by text with the given filters")
+        void shouldSearchByText() throws Exception {
+            RouteSummaryPageDto page = RouteSummaryPageDto.builder()
+                .items(List.of(RouteSummaryDto.builder().id("route-123").name("Tatra Ridge").isPublic(true).build()))
+                .nextCursor("next")
+                .build();
+            RouteSearchFilterDto filter = RouteSearchFilterDto.builder()
+                .maxLengthMeters(20000.0)
+                .minRating(4.0)
+                .build();
+
+            when(routeService.searchPublicRoutes("tatra ridge", filter, null, 20)).thenReturn(page);
+
+            mockMvc.perform(get("/api/route/public/search")
+                    .param("q", "tatra ridge")
+                    .param("maxLength", "20000")
+                    .param("minRating", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id", is("route-123")))
+                .andExpect(jsonPath("$.nextCursor", is("next")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when the query is blank or the cursor invalid")
+        void shouldReturnBadRequestForInvalidSearch() throws Exception {
+            when(routeService.searchPublicRoutes(eq("lake"), any(), eq("bad"), anyInt()))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+            mockMvc.perform(get("/api/route/public/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+            mockMvc.perform(get("/api/route/public/search").param("q", "lake").param("cursor", "bad"))
+                .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Nested
+    @DisplayName("GET /api/route/tiles/{z}/{x}/{y}.mvt - Route Tile Tests")
+    class RouteTileTests {
+
+        @Test
+        @DisplayName("Should return the tile as a Mapbox Vector Tile")
+        void shouldReturnTile() throws Exception {
+            byte[] tile = {0x1a, 0x02, 0x78, 0x02};
+            when(routeService.getPublicRouteTile(8, 142, 84)).thenReturn(tile);
+
+            mockMvc.perform(get("/api/route/tiles/8/142/84.mvt"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/vnd.mapbox-vector-tile"))
+                .andExpect(content().bytes(tile));
+        }
+
+        @Test
+        @DisplayName("Should return 400 for tile outside the zoom level")
+        void shouldReturnBadRequestForInvalidTile() throws Exception {
+            when(routeService.getPublicRouteTile(3, 8, 0))
+                .thenThrow(new IllegalArgumentException("Tile 3/8/0 does not exist"));
+
+            mockMvc.perform(get("/api/route/tiles/3/8/0.mvt"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", is("Tile 3/8/0 does not exist")));
+        }
+
+        @Test
+        @DisplayName("Should return 400 when zoom too large")
+        void shouldReturnBadRequestWhenZoomTooLarge() throws Exception {
+            mockMvc.perform(get("/api/route/tiles/23/0/0.mvt"))
+                .andExpect(status().isBadRequest());
+
+            verify(routeService, never()).getPublicRouteTile(anyInt(), anyInt(), anyInt());
         }
     }
 
@@ -775,14 +1620,14 @@ class RouteControllerIntegrationTest {
             String userId = "user-123";
             String routeId = "route-123";
 
-            doNothing().when(routeService).deleteRouteById(routeId);
+            doNothing().when(routeService).deleteRouteById(routeId, "user-123", null);
 
             mockMvc.perform(delete("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId))
                 .andExpect(status().isNoContent())
                 .andExpect(content().string(""));
 
-            verify(routeService, times(1)).deleteRouteById(routeId);
+            verify(routeService, times(1)).deleteRouteById(routeId, "user-123", null);
         }
 
         @Test
@@ -792,7 +1637,7 @@ class RouteControllerIntegrationTest {
             String routeId = "non-existent-route";
 
             doThrow(new RouteNotFoundException("Route " + routeId + " not found"))
-                .when(routeService).deleteRouteById(routeId);
+                .when(routeService).deleteRouteById(routeId, "user-123", null);
 
             mockMvc.perform(delete("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId))
@@ -801,7 +1646,22 @@ class RouteControllerIntegrationTest {
                 .andExpect(jsonPath("$.error", is("Not Found")))
                 .andExpect(jsonPath("$.message", containsString("not found")));
 
-            verify(routeService, times(1)).deleteRouteById(routeId);
+            verify(routeService, times(1)).deleteRouteById(routeId, "user-123", null);
+        }
+
+        @Test
+        @DisplayName("Should return 403 when the route belongs to another user")
+        void shouldReturnForbiddenForOtherUsersRoute() throws Exception {
+            String routeId = "route-123";
+
+            doThrow(new RouteAccessDeniedException("Route " + routeId + " belongs to another user"))
+                .when(routeService).deleteRouteById(routeId, "user-456", null);
+
+            mockMvc.perform(delete("/api/route/{routeId}", routeId)
+                    .header("X-User-Id", "user-456"))
+                .andExpect(status().isForbidden())
+                .andExpect(jsonPath("$.status", is(403)))
+                .andExpect(jsonPath("$.error", is("Forbidden")));
         }
 
         @Test
@@ -812,7 +1672,7 @@ class RouteControllerIntegrationTest {
             mockMvc.perform(delete("/api/route/{routeId}", routeId))
                 .andExpect(status().isBadRequest());
 
-            verify(routeService, never()).deleteRouteById(anyString());
+            verify(routeService, never()).deleteRouteById(anyString(), anyString(), any());
         }
 
         @Test
@@ -824,7 +1684,7 @@ class RouteControllerIntegrationTest {
                     .header("X-User-Id", ""))
                 .andExpect(status().isBadRequest());
 
-            verify(routeService, never()).deleteRouteById(anyString());
+            verify(routeService, never()).deleteRouteById(anyString(), anyString(), any());
         }
 
         @Test
@@ -833,14 +1693,14 @@ class RouteControllerIntegrationTest {
             String userId = "user-123";
             String routeId = "specific-route-id";
 
-            doNothing().when(routeService).deleteRouteById(routeId);
+            doNothing().when(routeService).deleteRouteById(routeId, "user-123", null);
 
             mockMvc.perform(delete("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId))
                 .andExpect(status().isNoContent());
 
-            verify(routeService, times(1)).deleteRouteById(routeId);
-            verify(routeService, never()).deleteRouteById("different-route-id");
+            verify(routeService, times(1)).deleteRouteById(routeId, "user-123", null);
+            verify(routeService, never()).deleteRouteById("different-route-id", "user-123", null);
         }
 
         @Test
@@ -850,7 +1710,7 @@ class RouteControllerIntegrationTest {
             String routeId1 = "route-1";
             String routeId2 = "route-2";
 
-            doNothing().when(routeService).deleteRouteById(anyString());
+            doNothing().when(routeService).deleteRouteById(anyString(), anyString(), any());
 
             mockMvc.perform(delete("/api/route/{routeId}", routeId1)
                     .header("X-User-Id", userId))
@@ -860,8 +1720,8 @@ class RouteControllerIntegrationTest {
                     .header("X-User-Id", userId))
                 .andExpect(status().isNoContent());
 
-            verify(routeService, times(1)).deleteRouteById(routeId1);
-            verify(routeService, times(1)).deleteRouteById(routeId2);
+            verify(routeService, times(1)).deleteRouteById(routeId1, "user-123", null);
+            verify(routeService, times(1)).deleteRouteById(routeId2, "user-123", null);
         }
 
         @Test
@@ -870,14 +1730,14 @@ class RouteControllerIntegrationTest {
             String userId = "user-123";
             String routeId = "route-123";
 
-            doNothing().when(routeService).deleteRouteById(routeId);
+            doNothing().when(routeService).deleteRouteById(routeId, "user-123", null);
 
             mockMvc.perform(delete("/api/route/{routeId}", routeId)
                     .header("X-User-Id", userId))
                 .andExpect(status().isNoContent())
                 .andExpect(status().is(204));
 
-            verify(routeService, times(1)).deleteRouteById(routeId);
+            verify(routeService, times(1)).deleteRouteById(routeId, "user-123", null);
         }
     }
 }
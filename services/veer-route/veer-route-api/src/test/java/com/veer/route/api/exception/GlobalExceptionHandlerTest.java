@@ -1,7 +1,9 @@
 package com.veer.route.api.exception;
 
+import com.veer.route.model.exception.RouteAccessDeniedException;
 import com.veer.route.model.exception.RouteAlreadyExistsException;
 import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
 import jakarta.validation.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -96,6 +98,52 @@ class GlobalExceptionHandlerTest {
         }
     }
 
+    @Nested
+    @DisplayName("handleRouteAccessDeniedException Tests")
+    class HandleRouteAccessDeniedExceptionTests {
+
+        @Test
+        @DisplayName("Should handle RouteAccessDeniedException with 403 status")
+        void shouldHandleRouteAccessDeniedException() {
+            // Given
+            String message = "Route route-123 belongs to another user";
+            RouteAccessDeniedException ex = new RouteAccessDeniedException(message);
+
+            // When
+            ResponseEntity<Map<String, Object>> response = exceptionHandler.handleRouteAccessDeniedException(ex);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().get("status")).isEqualTo(403);
+            assertThat(response.getBody().get("error")).isEqualTo("Forbidden");
+            assertThat(response.getBody().get("message")).isEqualTo(message);
+        }
+    }
+
+    @Nested
+    @DisplayName("handleRouteVersionMismatchException Tests")
+    class HandleRouteVersionMismatchExceptionTests {
+
+        @Test
+        @DisplayName("Should handle RouteVersionMismatchException with 412 status")
+        void shouldHandleRouteVersionMismatchException() {
+            // Given
+            String message = "Route route-123 is at version 4, not 3";
+            RouteVersionMismatchException ex = new RouteVersionMismatchException(message);
+
+            // When
+            ResponseEntity<Map<String, Object>> response = exceptionHandler.handleRouteVersionMismatchException(ex);
+
+            // Then
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+            assertThat(response.getBody()).isNotNull();
+            assertThat(response.getBody().get("status")).isEqualTo(412);
+            assertThat(response.getBody().get("error")).isEqualTo("Precondition Failed");
+            assertThat(response.getBody().get("message")).isEqualTo(message);
+        }
+    }
+
     @Nested
     @DisplayName("handleMissingRequestHeaderException Tests")
     class HandleMissingRequestHeaderExceptionTests {
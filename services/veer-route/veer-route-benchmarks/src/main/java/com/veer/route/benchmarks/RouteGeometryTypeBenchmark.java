@@ -0,0 +1,77 @@
+package com.veer.route.benchmarks;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.model.geometry.RouteGeometryFormatMapper;
+import com.veer.route.model.geometry.RouteGeometryJavaType;
+import com.veer.route.model.geometry.RouteGeometryJson;
+import org.hibernate.type.format.FormatMapper;
+import org.hibernate.type.format.jackson.JacksonJsonFormatMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The jsonb mapping of the points columns, as Hibernate binds and reads
+ * them with {@link RouteGeometryJavaType}, measured without a database:
+ * through its default Jackson format mapper and through
+ * {@link RouteGeometryFormatMapper}, which the application registers.
+ * Compare gc.alloc.rate.norm of the two under -prof gc.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteGeometryTypeBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int points;
+
+    private final FormatMapper jacksonFormatMapper = new JacksonJsonFormatMapper();
+
+    private final FormatMapper routeGeometryFormatMapper = new RouteGeometryFormatMapper();
+
+    private RouteGeometry geometry;
+
+    private String json;
+
+    @Setup
+    public void setUp() {
+        geometry = SyntheticRoutes.points(points, points);
+        json = RouteGeometryJson.toJson(geometry);
+    }
+
+    // neither format mapper uses the wrapper options
+
+    @Benchmark
+    public String jacksonBind() {
+        return jacksonFormatMapper.toString(geometry, RouteGeometryJavaType.INSTANCE, null);
+    }
+
+    @Benchmark
+    public RouteGeometry jacksonRead() {
+        return jacksonFormatMapper.fromString(json, RouteGeometryJavaType.INSTANCE, null);
+    }
+
+    @Benchmark
+    public String routeGeometryBind() {
+        return routeGeometryFormatMapper.toString(geometry, RouteGeometryJavaType.INSTANCE, null);
+    }
+
+    @Benchmark
+    public RouteGeometry routeGeometryRead() {
+        return routeGeometryFormatMapper.fromString(json, RouteGeometryJavaType.INSTANCE, null);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.veer.route.benchmarks;
+
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.service.RouteMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request and response bodies as the API reads and writes them: a
+ * CreateRouteDto parsed from the bytes of a POST, and a ResponseRouteDto
+ * written to bytes as GET /api/route/{routeId} caches it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteJsonBenchmark {
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int points;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] createRouteJson;
+
+    private ResponseRouteDto responseRouteDto;
+
+    /**
+     * Configured as Spring Boot configures the application's mapper, with
+     * the parser feature application.yml enables; RouteGeometry brings its
+     * own serializer and deserializer.
+     */
+    static ObjectMapper objectMapper() {
+        return JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+            .build();
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = objectMapper();
+        createRouteJson = objectMapper.writeValueAsBytes(SyntheticRoutes.createRouteDto(points));
+        responseRouteDto = RouteMapper.toResponseRouteDto(SyntheticRoutes.route(points));
+    }
+
+    @Benchmark
+    public CreateRouteDto readCreateRouteDto() throws IOException {
+        return objectMapper.readValue(createRouteJson, CreateRouteDto.class);
+    }
+
+    @Benchmark
+    public byte[] writeResponseRouteDto() throws IOException {
+        return objectMapper.writeValueAsBytes(responseRouteDto);
+    }
+
+}
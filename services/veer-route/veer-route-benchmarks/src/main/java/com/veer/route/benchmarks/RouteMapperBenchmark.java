@@ -0,0 +1,70 @@
+package com.veer.route.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.Route;
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.service.RouteMapper;
+import com.veer.route.service.RouteStatisticsCalculator;
+import com.veer.route.service.simplify.RouteSimplifier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversions between the API bodies and the route entity, as
+ * RouteServiceImpl does them around the database: the bytes of a POST
+ * bound to a CreateRouteDto and turned into the Route that is saved, with
+ * its statistics and levels of detail, and a saved Route turned into the
+ * bytes of a GET. No elevation tiles are configured, so altitudes are the
+ * recorded ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RouteMapperBenchmark {
+
+    // a recorded track has a point every 5 s: from under a minute to about three days
+    @Param({"10", "100", "1000", "10000", "50000"})
+    public int points;
+
+    private ObjectMapper objectMapper;
+
+    private byte[] createRouteJson;
+
+    private Route route;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = RouteJsonBenchmark.objectMapper();
+        createRouteJson = objectMapper.writeValueAsBytes(SyntheticRoutes.createRouteDto(points));
+        route = SyntheticRoutes.route(points);
+    }
+
+    @Benchmark
+    public Route createRequestToEntity() throws IOException {
+        Route entity = RouteMapper.toEntity(objectMapper.readValue(createRouteJson, CreateRouteDto.class));
+        entity.setStatistics(RouteStatisticsCalculator.compute(entity.getPoints()));
+        entity.setDetailLevels(RouteSimplifier.detailLevels(entity.getPoints()));
+        return entity;
+    }
+
+    @Benchmark
+    public byte[] entityToResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(RouteMapper.toResponseRouteDto(route));
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.veer.route.benchmarks;
+
+import com.veer.route.graph.BidirectionalAStar;
+import com.veer.route.graph.ContractionHierarchy;
+import com.veer.route.graph.RoadGraph;
+import com.veer.route.graph.RoadPath;
+import com.veer.route.graph.RoadProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ContractionHierarchy} queries against uncontracted
+ * {@link BidirectionalAStar} on the same random node pairs of an imported
+ * graph, whose hierarchy must have been built next to it. Setup fails if
+ * the two find paths of different duration. There is no default graph:
+ *
+ * <pre>
+ * java -jar veer-route-benchmarks/target/benchmarks.jar RoutingBenchmark -p graph=poland.graph -p profile=CAR
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RoutingBenchmark {
+
+    @Param("")
+    public String graph;
+
+    @Param("CAR")
+    public RoadProfile profile;
+
+    @Param("1000")
+    public int queries;
+
+    private BidirectionalAStar aStar;
+
+    private ContractionHierarchy hierarchy;
+
+    private int[] sources;
+
+    private int[] targets;
+
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (graph.isEmpty())
+            throw new IllegalArgumentException("Pass the graph file with -p graph=<input.graph>");
+        Path graphFile = Path.of(graph);
+        RoadGraph roadGraph = RoadGraph.load(graphFile);
+        hierarchy = ContractionHierarchy.load(ContractionHierarchy.file(graphFile, profile), roadGraph, profile);
+        aStar = new BidirectionalAStar(roadGraph, profile);
+
+        sources = new int[queries];
+        targets = new int[queries];
+        Random random = new Random(42);
+        for (int i = 0; i < queries; i++) {
+            sources[i] = randomNode(roadGraph, random);
+            targets[i] = randomNode(roadGraph, random);
+        }
+
+        int mismatches = 0;
+        for (int i = 0; i < queries; i++) {
+            if (!sameDuration(hierarchy.route(sources[i], targets[i]), aStar.route(sources[i], targets[i])))
+                mismatches++;
+        }
+        if (mismatches > 0)
+            throw new IllegalStateException(mismatches + " of " + queries + " hierarchy paths differ from A*");
+    }
+
+    @Benchmark
+    public RoadPath aStar() {
+        int i = nextQuery();
+        return aStar.route(sources[i], targets[i]);
+    }
+
+    @Benchmark
+    public RoadPath contractionHierarchy() {
+        int i = nextQuery();
+        return hierarchy.route(sources[i], targets[i]);
+    }
+
+    private int nextQuery() {
+        int i = next;
+        next = i + 1 == queries ? 0 : i + 1;
+        return i;
+    }
+
+    private int randomNode(RoadGraph roadGraph, Random random) {
+        while (true) {
+            int node = random.nextInt(roadGraph.nodeCount());
+            if (roadGraph.isReachable(node, profile))
+                return node;
+        }
+    }
+
+    private static boolean sameDuration(RoadPath a, RoadPath b) {
+        if (a == null || b == null)
+            return a == b;
+        return Math.abs(a.getDurationSeconds() - b.getDurationSeconds()) <= 1e-6 * Math.max(1, b.getDurationSeconds());
+    }
+
+}
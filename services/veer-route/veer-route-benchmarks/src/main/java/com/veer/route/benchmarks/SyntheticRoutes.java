@@ -0,0 +1,83 @@
+package com.veer.route.benchmarks;
+
+import com.veer.route.model.Route;
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.RouteStatisticsCalculator;
+import com.veer.route.service.simplify.RouteSimplifier;
+
+import java.time.Instant;
+import java.util.SplittableRandom;
+
+/**
+ * Reproducible routes of any length for the benchmarks, without a
+ * database or recorded tracks: a random walk from Warsaw with steps of
+ * 5-25 m, a GPS-like altitude and timestamp on every point, START and
+ * STOP at the ends and a named stop every 500 points, so that every
+ * optional point attribute is exercised.
+ */
+final class SyntheticRoutes {
+
+    private static final Instant START_TIME = Instant.parse("2024-06-01T08:00:00Z");
+
+    private SyntheticRoutes() {
+    }
+
+    static RouteGeometry points(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        RouteGeometry.Builder builder = RouteGeometry.builder(count);
+        double latitude = 52.2297;
+        double longitude = 21.0122;
+        double altitude = 100;
+        double heading = random.nextDouble(2 * Math.PI);
+        for (int i = 0; i < count; i++) {
+            PointType type = i == 0 ? PointType.START : i == count - 1 ? PointType.STOP : PointType.WAYPOINT;
+            String name = i > 0 && i % 500 == 0 ? "Stop " + i / 500 : null;
+            builder.add(latitude, longitude, Math.round(altitude * 10) / 10.0, type, name, START_TIME.plusSeconds(5L * i));
+
+            heading += random.nextDouble(-0.3, 0.3);
+            double step = random.nextDouble(5, 25);
+            latitude += step * Math.cos(heading) / 111_320;
+            longitude += step * Math.sin(heading) / (111_320 * Math.cos(Math.toRadians(latitude)));
+            altitude = Math.max(0, altitude + random.nextDouble(-1.5, 1.5));
+        }
+        return builder.build();
+    }
+
+    static CreateRouteDto createRouteDto(int count) {
+        return CreateRouteDto.builder()
+            .createdBy("benchmark-user")
+            .points(points(count, count))
+            .name("Synthetic route of " + count + " points")
+            .description("Generated for benchmarks")
+            .isPublic(true)
+            .build();
+    }
+
+    /**
+     * A route as it is after being saved, with statistics, levels of
+     * detail, timestamps and a version.
+     */
+    static Route route(int count) {
+        RouteGeometry points = points(count, count);
+        return Route.builder()
+            .id("00000000-0000-0000-0000-" + String.format("%012d", count))
+            .createdBy("benchmark-user")
+            .points(points)
+            .name("Synthetic route of " + count + " points")
+            .description("Generated for benchmarks")
+            .isPublic(true)
+            .rating(4.2)
+            .ratingCount(12)
+            .ratingSum(50L)
+            .ratingScore(3.9)
+            .statistics(RouteStatisticsCalculator.compute(points))
+            .detailLevels(RouteSimplifier.detailLevels(points))
+            .createdAt(START_TIME)
+            .lastUpdated(START_TIME)
+            .version(3L)
+            .build();
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.veer.route.graph;
+
+import java.util.Arrays;
+
+/**
+ * Fastest paths between two nodes of a {@link RoadGraph}, searched from
+ * both ends at once with A*.
+ *
+ * Both searches use the average potential
+ * {@code p(v) = (h(v, target) - h(source, v)) / 2}, where {@code h} is the
+ * great-circle distance at the top speed of the graph. Edge costs reduced
+ * by it are the same seen from either end, so the two searches are plain
+ * Dijkstra on one reduced graph and may stop as soon as the smallest keys
+ * of both queues add up to the best path met so far.
+ *
+ * Labels live in a hash map over the nodes actually reached, so a query
+ * allocates in proportion to its search space rather than to the graph.
+ * An instance is stateless and may be shared between threads.
+ */
+public final class BidirectionalAStar implements RoadSearch {
+
+    private final RoadGraph graph;
+
+    private final RoadProfile profile;
+
+    // lengths are floats; a hair above the top speed keeps the heuristic below them
+    private final double maxMetersPerSecond;
+
+    public BidirectionalAStar(RoadGraph graph, RoadProfile profile) {
+        this.graph = graph;
+        this.profile = profile;
+        this.maxMetersPerSecond = graph.maxMetersPerSecond(profile) * (1 + 1e-6);
+    }
+
+    @Override
+    public RoadPath route(int source, int target) {
+        if (source == target)
+            return new RoadPath(new int[] {source}, 0, 0);
+        if (maxMetersPerSecond <= 0)
+            return null;
+        return new Search(source, target).run();
+    }
+
+    private final class Search {
+
+        private static final byte SETTLED_FORWARD = 1;
+
+        private static final byte SETTLED_BACKWARD = 2;
+
+        private final double sourceLatitude;
+
+        private final double sourceLongitude;
+
+        private final double targetLatitude;
+
+        private final double targetLongitude;
+
+        private final IntIntHashMap slots = new IntIntHashMap(1024);
+
+        private int size;
+
+        private int[] nodes = new int[1024];
+
+        private double[] potentials = new double[1024];
+
+        private double[] forwardCosts = new double[1024];
+
+        private double[] backwardCosts = new double[1024];
+
+        // edge and slot each label was reached by, -1 at the ends
+        private int[] forwardEdges = new int[1024];
+
+        private int[] forwardParents = new int[1024];
+
+        private int[] backwardEdges = new int[1024];
+
+        private int[] backwardParents = new int[1024];
+
+        private byte[] flags = new byte[1024];
+
+        private final MinHeap forward = new MinHeap(256);
+
+        private final MinHeap backward = new MinHeap(256);
+
+        private double best = Double.POSITIVE_INFINITY;
+
+        private int meeting = -1;
+
+        Search(int source, int target) {
+            sourceLatitude = graph.latitude(source);
+            sourceLongitude = graph.longitude(source);
+            targetLatitude = graph.latitude(target);
+            targetLongitude = graph.longitude(target);
+
+            int from = slot(source);
+            forwardCosts[from] = 0;
+            forward.push(from, potentials[from]);
+            int to = slot(target);
+            backwardCosts[to] = 0;
+            backward.push(to, -potentials[to]);
+        }
+
+        RoadPath run() {
+            while (!forward.isEmpty() && !backward.isEmpty()) {
+                double forwardKey = forward.peekKey();
+                double backwardKey = backward.peekKey();
+                if (forwardKey + backwardKey >= best)
+                    break;
+                if (forwardKey <= backwardKey)
+                    expandForward(forwardKey);
+                else
+                    expandBackward(backwardKey);
+            }
+            return meeting >= 0 ? path() : null;
+        }
+
+        private void expandForward(double key) {
+            int v = forward.pop();
+            if ((flags[v] & SETTLED_FORWARD) != 0 || key > forwardCosts[v] + potentials[v])
+                return;
+            flags[v] |= SETTLED_FORWARD;
+            int node = nodes[v];
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                if (!graph.canTravel(edge, profile))
+                    continue;
+                double cost = forwardCosts[v] + graph.travelSeconds(edge, profile);
+                int u = slot(graph.target(edge));
+                if (cost >= forwardCosts[u])
+                    continue;
+                forwardCosts[u] = cost;
+                forwardEdges[u] = edge;
+                forwardParents[u] = v;
+                forward.push(u, cost + potentials[u]);
+                if (cost + backwardCosts[u] < best) {
+                    best = cost + backwardCosts[u];
+                    meeting = u;
+                }
+            }
+        }
+
+        private void expandBackward(double key) {
+            int v = backward.pop();
+            if ((flags[v] & SETTLED_BACKWARD) != 0 || key > backwardCosts[v] - potentials[v])
+                return;
+            flags[v] |= SETTLED_BACKWARD;
+            int node = nodes[v];
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                if (!graph.canTravelBackward(edge, profile))
+                    continue;
+                double cost = backwardCosts[v] + graph.travelSeconds(edge, profile);
+                int u = slot(graph.target(edge));
+                if (cost >= backwardCosts[u])
+                    continue;
+                backwardCosts[u] = cost;
+                backwardEdges[u] = edge;
+                backwardParents[u] = v;
+                backward.push(u, cost - potentials[u]);
+                if (cost + forwardCosts[u] < best) {
+                    best = cost + forwardCosts[u];
+                    meeting = u;
+                }
+            }
+        }
+
+        private RoadPath path() {
+            int forwardLength = 0;
+            for (int v = meeting; forwardParents[v] >= 0; v = forwardParents[v])
+                forwardLength++;
+            int backwardLength = 0;
+            for (int v = meeting; backwardParents[v] >= 0; v = backwardParents[v])
+                backwardLength++;
+
+            int[] path = new int[forwardLength + backwardLength + 1];
+            double distance = 0;
+            int i = forwardLength;
+            for (int v = meeting; i >= 0; v = forwardParents[v], i--) {
+                path[i] = nodes[v];
+                if (forwardEdges[v] >= 0)
+                    distance += graph.lengthMeters(forwardEdges[v]);
+            }
+            i = forwardLength;
+            for (int v = meeting; backwardParents[v] >= 0; v = backwardParents[v]) {
+                distance += graph.lengthMeters(backwardEdges[v]);
+                path[++i] = nodes[backwardParents[v]];
+            }
+            return new RoadPath(path, distance, best);
+        }
+
+        private int slot(int node) {
+            int slot = slots.putIfAbsent(node, size);
+            if (slot < size)
+                return slot;
+            if (size == nodes.length)
+                grow();
+            size++;
+            double latitude = graph.latitude(node);
+            double longitude = graph.longitude(node);
+            double toTarget = GeoDistance.meters(latitude, longitude, targetLatitude, targetLongitude);
+            double fromSource = GeoDistance.meters(sourceLatitude, sourceLongitude, latitude, longitude);
+            nodes[slot] = node;
+            potentials[slot] = (toTarget - fromSource) / (2 * maxMetersPerSecond);
+            forwardCosts[slot] = Double.POSITIVE_INFINITY;
+            backwardCosts[slot] = Double.POSITIVE_INFINITY;
+            forwardEdges[slot] = -1;
+            forwardParents[slot] = -1;
+            backwardEdges[slot] = -1;
+            backwardParents[slot] = -1;
+            return slot;
+        }
+
+        private void grow() {
+            int capacity = nodes.length * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            potentials = Arrays.copyOf(potentials, capacity);
+            forwardCosts = Arrays.copyOf(forwardCosts, capacity);
+            backwardCosts = Arrays.copyOf(backwardCosts, capacity);
+            forwardEdges = Arrays.copyOf(forwardEdges, capacity);
+            forwardParents = Arrays.copyOf(forwardParents, capacity);
+            backwardEdges = Arrays.copyOf(backwardEdges, capacity);
+            backwardParents = Arrays.copyOf(backwardParents, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+        }
+    }
+
+}
@@ -0,0 +1,649 @@
+package com.veer.route.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction hierarchy of a {@link RoadGraph} for one {@link RoadProfile},
+ * built offline by {@link ContractionHierarchyBuilder}.
+ *
+ * Every node has a rank, and every arc leads from a node to one of higher
+ * rank: the up arcs of a node leave it, the down arcs of a node enter it.
+ * Arcs are road edges or shortcuts standing for the two arcs through a
+ * contracted node of lower rank. A fastest path always has a form going
+ * up and then down, so a query searches up arcs forward from the source
+ * and down arcs backward from the target, and the two searches settle a
+ * few hundred nodes even across a country, where {@link BidirectionalAStar}
+ * settles millions.
+ *
+ * The arrays are kept in compressed sparse row form and written and
+ * mapped like those of the graph, next to it in
+ * {@code <graph>.<profile>.ch}. A hierarchy records a fingerprint of its
+ * graph and refuses to load against another one. An instance is stateless
+ * and may be shared between threads.
+ *
+ * Matrices are computed with buckets: a backward search from every target
+ * leaves its cost at each node it settles, and a forward search from every
+ * source then only scans the buckets of the nodes it settles. Both sets of
+ * searches run in parallel, and a 500 x 500 matrix takes 1000 searches of a
+ * few hundred nodes rather than 250 000.
+ */
+public final class ContractionHierarchy implements RoadSearch, MatrixSearch {
+
+    static final long MAGIC = 0x5645455243484945L; // "VEERCHIE"
+
+    static final int VERSION = 2;
+
+    static final int HEADER_BYTES = 40;
+
+    private final RoadGraph graph;
+
+    private final RoadProfile profile;
+
+    private final long fingerprint;
+
+    private final IntBuffer ranks;
+
+    private final IntBuffer upFirst;
+
+    private final IntBuffer upTargets;
+
+    // seconds
+    private final FloatBuffer upWeights;
+
+    // meters
+    private final FloatBuffer upLengths;
+
+    // contracted node a shortcut bypasses, -1 for a road edge
+    private final IntBuffer upMiddles;
+
+    private final IntBuffer downFirst;
+
+    private final IntBuffer downSources;
+
+    private final FloatBuffer downWeights;
+
+    private final FloatBuffer downLengths;
+
+    private final IntBuffer downMiddles;
+
+    ContractionHierarchy(
+        RoadGraph graph, RoadProfile profile, long fingerprint, IntBuffer ranks,
+        IntBuffer upFirst, IntBuffer upTargets, FloatBuffer upWeights, FloatBuffer upLengths, IntBuffer upMiddles,
+        IntBuffer downFirst, IntBuffer downSources, FloatBuffer downWeights, FloatBuffer downLengths,
+        IntBuffer downMiddles
+    ) {
+        this.graph = graph;
+        this.profile = profile;
+        this.fingerprint = fingerprint;
+        this.ranks = ranks;
+        this.upFirst = upFirst;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upLengths = upLengths;
+        this.upMiddles = upMiddles;
+        this.downFirst = downFirst;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downLengths = downLengths;
+        this.downMiddles = downMiddles;
+    }
+
+    public RoadProfile profile() {
+        return profile;
+    }
+
+    public int upArcCount() {
+        return upTargets.limit();
+    }
+
+    public int downArcCount() {
+        return downSources.limit();
+    }
+
+    int rank(int node) {
+        return ranks.get(node);
+    }
+
+    @Override
+    public RoadPath route(int source, int target) {
+        if (source == target)
+            return new RoadPath(new int[] {source}, 0, 0);
+        return new Search(source, target).run();
+    }
+
+    @Override
+    public void matrix(int[] sources, int[] targets, float[] durationSeconds, float[] distanceMeters) {
+        Arrays.fill(durationSeconds, Float.NaN);
+        Arrays.fill(distanceMeters, Float.NaN);
+        Buckets buckets = new Buckets(targets);
+        IntStream.range(0, sources.length).parallel().forEach(row -> {
+            if (sources[row] >= 0)
+                buckets.scan(sources[row], row * targets.length, durationSeconds, distanceMeters);
+        });
+    }
+
+    /**
+     * @return where the hierarchy of {@code profile} for the graph in
+     *         {@code graphFile} is kept
+     */
+    public static Path file(Path graphFile, RoadProfile profile) {
+        return graphFile.resolveSibling(graphFile.getFileName() + "." + profile.name().toLowerCase(Locale.ROOT) + ".ch");
+    }
+
+    /**
+     * Writes the hierarchy to {@code file}, replacing it atomically.
+     */
+    public void save(Path file) throws IOException {
+        try (GraphFileWriter writer = new GraphFileWriter(file)) {
+            writer.putLong(MAGIC).putInt(VERSION).putInt(profile.ordinal())
+                .putLong(fingerprint).putInt(ranks.limit()).putInt(upArcCount()).putInt(downArcCount()).putInt(0)
+                .ints(ranks)
+                .ints(upFirst)
+                .ints(upTargets)
+                .floats(upWeights)
+                .floats(upLengths)
+                .ints(upMiddles)
+                .ints(downFirst)
+                .ints(downSources)
+                .floats(downWeights)
+                .floats(downLengths)
+                .ints(downMiddles)
+                .commit();
+        }
+    }
+
+    /**
+     * Maps a hierarchy written by {@link #save} for {@code graph}.
+     */
+    public static ContractionHierarchy load(Path file, RoadGraph graph, RoadProfile profile) throws IOException {
+        try (GraphFileReader reader = new GraphFileReader(file)) {
+            ByteBuffer header = reader.header(HEADER_BYTES, "contraction hierarchy");
+            if (header.getLong() != MAGIC)
+                throw new IOException(file + " is not a contraction hierarchy");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(file + " has contraction hierarchy version " + version + ", expected " + VERSION);
+            int ordinal = header.getInt();
+            if (ordinal != profile.ordinal())
+                throw new IOException(file + " is not a hierarchy for " + profile);
+            long fingerprint = header.getLong();
+            int nodeCount = header.getInt();
+            if (fingerprint != graph.fingerprint() || nodeCount != graph.nodeCount())
+                throw new IOException(file + " was built for another road graph");
+            int upCount = header.getInt();
+            int downCount = header.getInt();
+
+            long expected = HEADER_BYTES + 4L * nodeCount + 8L * (nodeCount + 1) + 16L * upCount + 16L * downCount;
+            if (reader.size() != expected)
+                throw new IOException(file + " is truncated or corrupt");
+
+            return new ContractionHierarchy(graph, profile, fingerprint,
+                reader.ints(nodeCount),
+                reader.ints(nodeCount + 1),
+                reader.ints(upCount),
+                reader.floats(upCount),
+                reader.floats(upCount),
+                reader.ints(upCount),
+                reader.ints(nodeCount + 1),
+                reader.ints(downCount),
+                reader.floats(downCount),
+                reader.floats(downCount),
+                reader.ints(downCount));
+        }
+    }
+
+    /**
+     * Forward search over up arcs and backward search over down arcs,
+     * each stopping once its smallest key reaches the best path met. A
+     * node is stalled, and not expanded, when a node above it already
+     * reaches it faster; such a node cannot be on the fastest path.
+     */
+    private final class Search {
+
+        private final IntIntHashMap slots = new IntIntHashMap(256);
+
+        private int size;
+
+        private int[] nodes = new int[256];
+
+        private double[] forwardCosts = new double[256];
+
+        private double[] backwardCosts = new double[256];
+
+        // slot and arc each label was reached by, -1 at the ends
+        private int[] forwardParents = new int[256];
+
+        private int[] forwardArcs = new int[256];
+
+        private int[] backwardParents = new int[256];
+
+        private int[] backwardArcs = new int[256];
+
+        private final MinHeap forward = new MinHeap(64);
+
+        private final MinHeap backward = new MinHeap(64);
+
+        private double best = Double.POSITIVE_INFINITY;
+
+        private int meeting = -1;
+
+        Search(int source, int target) {
+            int from = slot(source);
+            forwardCosts[from] = 0;
+            forward.push(from, 0);
+            int to = slot(target);
+            backwardCosts[to] = 0;
+            backward.push(to, 0);
+        }
+
+        RoadPath run() {
+            while (true) {
+                boolean forwardDone = forward.peekKey() >= best;
+                boolean backwardDone = backward.peekKey() >= best;
+                if (forwardDone && backwardDone)
+                    break;
+                if (!forwardDone && (backwardDone || forward.peekKey() <= backward.peekKey()))
+                    expandForward();
+                else
+                    expandBackward();
+            }
+            return meeting >= 0 ? path() : null;
+        }
+
+        private void expandForward() {
+            double cost = forward.peekKey();
+            int v = forward.pop();
+            if (cost > forwardCosts[v])
+                return;
+            int node = nodes[v];
+            // stalled if reached faster over a down arc from a higher node
+            for (int arc = downFirst.get(node), end = downFirst.get(node + 1); arc < end; arc++) {
+                int above = slots.get(downSources.get(arc));
+                if (above >= 0 && forwardCosts[above] + downWeights.get(arc) < cost)
+                    return;
+            }
+            for (int arc = upFirst.get(node), end = upFirst.get(node + 1); arc < end; arc++) {
+                double next = cost + upWeights.get(arc);
+                int u = slot(upTargets.get(arc));
+                if (next >= forwardCosts[u])
+                    continue;
+                forwardCosts[u] = next;
+                forwardParents[u] = v;
+                forwardArcs[u] = arc;
+                forward.push(u, next);
+                if (next + backwardCosts[u] < best) {
+                    best = next + backwardCosts[u];
+                    meeting = u;
+                }
+            }
+        }
+
+        private void expandBackward() {
+            double cost = backward.peekKey();
+            int v = backward.pop();
+            if (cost > backwardCosts[v])
+                return;
+            int node = nodes[v];
+            for (int arc = upFirst.get(node), end = upFirst.get(node + 1); arc < end; arc++) {
+                int above = slots.get(upTargets.get(arc));
+                if (above >= 0 && backwardCosts[above] + upWeights.get(arc) < cost)
+                    return;
+            }
+            for (int arc = downFirst.get(node), end = downFirst.get(node + 1); arc < end; arc++) {
+                double next = cost + downWeights.get(arc);
+                int u = slot(downSources.get(arc));
+                if (next >= backwardCosts[u])
+                    continue;
+                backwardCosts[u] = next;
+                backwardParents[u] = v;
+                backwardArcs[u] = arc;
+                backward.push(u, next);
+                if (next + forwardCosts[u] < best) {
+                    best = next + forwardCosts[u];
+                    meeting = u;
+                }
+            }
+        }
+
+        /**
+         * Unpacks the arcs from the source up to the meeting node and down
+         * to the target into road edges, and measures the path along them.
+         */
+        private RoadPath path() {
+            Unpacker unpacker = new Unpacker(nodes[0]);
+            int[] arcs = new int[16];
+            int count = 0;
+            for (int v = meeting; forwardParents[v] >= 0; v = forwardParents[v]) {
+                if (count == arcs.length)
+                    arcs = Arrays.copyOf(arcs, count * 2);
+                arcs[count++] = v;
+            }
+            for (int i = count - 1; i >= 0; i--) {
+                int v = arcs[i];
+                unpacker.arc(nodes[forwardParents[v]], nodes[v], upMiddles.get(forwardArcs[v]));
+            }
+            for (int v = meeting; backwardParents[v] >= 0; v = backwardParents[v])
+                unpacker.arc(nodes[v], nodes[backwardParents[v]], downMiddles.get(backwardArcs[v]));
+            return unpacker.path();
+        }
+
+        private int slot(int node) {
+            int slot = slots.putIfAbsent(node, size);
+            if (slot < size)
+                return slot;
+            if (size == nodes.length)
+                grow();
+            size++;
+            nodes[slot] = node;
+            forwardCosts[slot] = Double.POSITIVE_INFINITY;
+            backwardCosts[slot] = Double.POSITIVE_INFINITY;
+            forwardParents[slot] = -1;
+            forwardArcs[slot] = -1;
+            backwardParents[slot] = -1;
+            backwardArcs[slot] = -1;
+            return slot;
+        }
+
+        private void grow() {
+            int capacity = nodes.length * 2;
+            nodes = Arrays.copyOf(nodes, capacity);
+            forwardCosts = Arrays.copyOf(forwardCosts, capacity);
+            backwardCosts = Arrays.copyOf(backwardCosts, capacity);
+            forwardParents = Arrays.copyOf(forwardParents, capacity);
+            forwardArcs = Arrays.copyOf(forwardArcs, capacity);
+            backwardParents = Arrays.copyOf(backwardParents, capacity);
+            backwardArcs = Arrays.copyOf(backwardArcs, capacity);
+        }
+    }
+
+    /**
+     * Costs from the nodes above the targets down to them, grouped by node.
+     */
+    private final class Buckets {
+
+        private final int columns;
+
+        // node -> index of its bucket in starts
+        private final IntIntHashMap buckets;
+
+        private final int[] starts;
+
+        private final int[] entryColumns;
+
+        private final double[] entryCosts;
+
+        private final double[] entryLengths;
+
+        Buckets(int[] targets) {
+            columns = targets.length;
+            UpwardSearch[] searches = new UpwardSearch[targets.length];
+            IntStream.range(0, targets.length).parallel().forEach(column -> {
+                if (targets[column] >= 0)
+                    searches[column] = new UpwardSearch(targets[column], false);
+            });
+
+            int entryCount = 0;
+            for (UpwardSearch search : searches)
+                entryCount += search != null ? search.settledCount : 0;
+            // node in the high half, entry in the low, so that sorting groups by node
+            long[] keys = new long[entryCount];
+            int[] columnOf = new int[entryCount];
+            double[] costOf = new double[entryCount];
+            double[] lengthOf = new double[entryCount];
+            int entry = 0;
+            for (int column = 0; column < targets.length; column++) {
+                UpwardSearch search = searches[column];
+                if (search == null)
+                    continue;
+                for (int i = 0; i < search.settledCount; i++, entry++) {
+                    int slot = search.settled[i];
+                    keys[entry] = (long) search.nodes[slot] << 32 | entry;
+                    columnOf[entry] = column;
+                    costOf[entry] = search.costs[slot];
+                    lengthOf[entry] = search.lengths[slot];
+                }
+            }
+            Arrays.parallelSort(keys);
+
+            buckets = new IntIntHashMap(Math.max(16, entryCount / 2));
+            int[] bucketStarts = new int[entryCount + 1];
+            entryColumns = new int[entryCount];
+            entryCosts = new double[entryCount];
+            entryLengths = new double[entryCount];
+            int bucketCount = 0;
+            for (int i = 0; i < entryCount; i++) {
+                int node = (int) (keys[i] >>> 32);
+                int from = (int) keys[i];
+                if (buckets.putIfAbsent(node, bucketCount) == bucketCount)
+                    bucketStarts[bucketCount++] = i;
+                entryColumns[i] = columnOf[from];
+                entryCosts[i] = costOf[from];
+                entryLengths[i] = lengthOf[from];
+            }
+            bucketStarts[bucketCount] = entryCount;
+            starts = bucketStarts;
+        }
+
+        void scan(int source, int offset, float[] durationSeconds, float[] distanceMeters) {
+            double[] best = new double[columns];
+            double[] lengths = new double[columns];
+            Arrays.fill(best, Double.POSITIVE_INFINITY);
+            UpwardSearch search = new UpwardSearch(source, true);
+            for (int i = 0; i < search.settledCount; i++) {
+                int slot = search.settled[i];
+                int bucket = buckets.get(search.nodes[slot]);
+                if (bucket < 0)
+                    continue;
+                double cost = search.costs[slot];
+                for (int entry = starts[bucket], end = starts[bucket + 1]; entry < end; entry++) {
+                    int column = entryColumns[entry];
+                    if (cost + entryCosts[entry] < best[column]) {
+                        best[column] = cost + entryCosts[entry];
+                        lengths[column] = search.lengths[slot] + entryLengths[entry];
+                    }
+                }
+            }
+            for (int column = 0; column < columns; column++) {
+                if (best[column] < Double.POSITIVE_INFINITY) {
+                    durationSeconds[offset + column] = (float) best[column];
+                    distanceMeters[offset + column] = (float) lengths[column];
+                }
+            }
+        }
+    }
+
+    /**
+     * Complete search of the nodes above one node, forward over up arcs or
+     * backward over down arcs, with stall-on-demand. Keeps the nodes it
+     * settled without stalling, in the order settled.
+     */
+    private final class UpwardSearch {
+
+        private final IntIntHashMap slots = new IntIntHashMap(256);
+
+        private int size;
+
+        private int[] nodes = new int[256];
+
+        private double[] costs = new double[256];
+
+        private double[] lengths = new double[256];
+
+        private int[] settled = new int[64];
+
+        private int settledCount;
+
+        private final MinHeap heap = new MinHeap(64);
+
+        UpwardSearch(int start, boolean forward) {
+            int first = slot(start);
+            costs[first] = 0;
+            heap.push(first, 0);
+            while (!heap.isEmpty()) {
+                double cost = heap.peekKey();
+                int v = heap.pop();
+                if (cost > costs[v] || isStalled(nodes[v], cost, forward))
+                    continue;
+                if (settledCount == settled.length)
+                    settled = Arrays.copyOf(settled, settledCount * 2);
+                settled[settledCount++] = v;
+                if (forward)
+                    relaxUp(v, cost);
+                else
+                    relaxDown(v, cost);
+            }
+        }
+
+        private boolean isStalled(int node, double cost, boolean forward) {
+            if (forward) {
+                for (int arc = downFirst.get(node), end = downFirst.get(node + 1); arc < end; arc++) {
+                    int above = slots.get(downSources.get(arc));
+                    if (above >= 0 && costs[above] + downWeights.get(arc) < cost)
+                        return true;
+                }
+            } else {
+                for (int arc = upFirst.get(node), end = upFirst.get(node + 1); arc < end; arc++) {
+                    int above = slots.get(upTargets.get(arc));
+                    if (above >= 0 && costs[above] + upWeights.get(arc) < cost)
+                        return true;
+                }
+            }
+            return false;
+        }
+
+        private void relaxUp(int v, double cost) {
+            int node = nodes[v];
+            for (int arc = upFirst.get(node), end = upFirst.get(node + 1); arc < end; arc++)
+                relax(v, upTargets.get(arc), cost + upWeights.get(arc), upLengths.get(arc));
+        }
+
+        private void relaxDown(int v, double cost) {
+            int node = nodes[v];
+            for (int arc = downFirst.get(node), end = downFirst.get(node + 1); arc < end; arc++)
+                relax(v, downSources.get(arc), cost + downWeights.get(arc), downLengths.get(arc));
+        }
+
+        private void relax(int v, int node, double cost, float length) {
+            int u = slot(node);
+            if (cost >= costs[u])
+                return;
+            costs[u] = cost;
+            lengths[u] = lengths[v] + length;
+            heap.push(u, cost);
+        }
+
+        private int slot(int node) {
+            int slot = slots.putIfAbsent(node, size);
+            if (slot < size)
+                return slot;
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                costs = Arrays.copyOf(costs, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            size++;
+            nodes[slot] = node;
+            costs[slot] = Double.POSITIVE_INFINITY;
+            return slot;
+        }
+    }
+
+    /**
+     * Expands arcs into the road edges they stand for, in order, summing
+     * length and travel time edge by edge so that they come out the same
+     * as from {@link BidirectionalAStar} rather than from rounded weights.
+     */
+    private final class Unpacker {
+
+        private int[] nodes = new int[64];
+
+        private int count;
+
+        private double distance;
+
+        private double duration;
+
+        // pending arcs as (from, to, middle), last on top
+        private int[] stack = new int[48];
+
+        Unpacker(int source) {
+            nodes[count++] = source;
+        }
+
+        void arc(int from, int to, int middle) {
+            int top = push(0, from, to, middle);
+            while (top > 0) {
+                top -= 3;
+                int a = stack[top];
+                int b = stack[top + 1];
+                int m = stack[top + 2];
+                if (m < 0) {
+                    edge(a, b);
+                    continue;
+                }
+                // second half pushed first, so that the first comes out first
+                top = push(top, m, b, middleOfUp(m, b));
+                top = push(top, a, m, middleOfDown(m, a));
+            }
+        }
+
+        RoadPath path() {
+            return new RoadPath(Arrays.copyOf(nodes, count), distance, duration);
+        }
+
+        private int push(int top, int from, int to, int middle) {
+            if (top + 3 > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[top] = from;
+            stack[top + 1] = to;
+            stack[top + 2] = middle;
+            return top + 3;
+        }
+
+        // the fastest road edge from a to b, which the arc was built from
+        private void edge(int a, int b) {
+            int best = -1;
+            double bestSeconds = Double.POSITIVE_INFINITY;
+            for (int edge = graph.firstEdge(a), end = graph.endEdge(a); edge < end; edge++) {
+                if (graph.target(edge) != b || !graph.canTravel(edge, profile))
+                    continue;
+                double seconds = graph.travelSeconds(edge, profile);
+                if (seconds < bestSeconds) {
+                    best = edge;
+                    bestSeconds = seconds;
+                }
+            }
+            distance += graph.lengthMeters(best);
+            duration += bestSeconds;
+            if (count == nodes.length)
+                nodes = Arrays.copyOf(nodes, count * 2);
+            nodes[count++] = b;
+        }
+    }
+
+    // middle of the up arc m -> b, kept at m since m ranks below b
+    private int middleOfUp(int m, int b) {
+        for (int arc = upFirst.get(m), end = upFirst.get(m + 1); arc < end; arc++) {
+            if (upTargets.get(arc) == b)
+                return upMiddles.get(arc);
+        }
+        throw new IllegalStateException("No arc from " + m + " to " + b + " in the " + profile + " hierarchy");
+    }
+
+    // middle of the down arc a -> m, kept at m since m ranks below a
+    private int middleOfDown(int m, int a) {
+        for (int arc = downFirst.get(m), end = downFirst.get(m + 1); arc < end; arc++) {
+            if (downSources.get(arc) == a)
+                return downMiddles.get(arc);
+        }
+        throw new IllegalStateException("No arc from " + a + " to " + m + " in the " + profile + " hierarchy");
+    }
+
+}
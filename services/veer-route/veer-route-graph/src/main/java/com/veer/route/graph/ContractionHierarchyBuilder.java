@@ -0,0 +1,430 @@
+package com.veer.route.graph;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Builds the {@link ContractionHierarchy} of a {@link RoadGraph} for one
+ * {@link RoadProfile}. Run offline after {@code OsmGraphImporter}, once
+ * per profile, since a country takes minutes:
+ *
+ * <pre>
+ * java -cp veer-route-graph.jar com.veer.route.graph.ContractionHierarchyBuilder poland.graph
+ * </pre>
+ *
+ * Nodes are contracted in rounds. Every round takes the nodes whose
+ * priority (edge difference plus contracted neighbours) is lower than
+ * that of all their neighbours, which makes them independent, computes
+ * their shortcuts in parallel and then applies them. Witness searches
+ * avoid all nodes of the round, so that no two of them rely on each
+ * other for a witness; they also give up after {@value #WITNESS_SETTLE_LIMIT}
+ * nodes, which at worst adds a shortcut that was not needed. Priorities
+ * are only estimates and look for witnesses no further than
+ * {@value #ESTIMATE_SETTLE_LIMIT} nodes.
+ */
+public final class ContractionHierarchyBuilder {
+
+    private static final Logger log = LoggerFactory.getLogger(ContractionHierarchyBuilder.class);
+
+    static final int WITNESS_SETTLE_LIMIT = 500;
+
+    static final int ESTIMATE_SETTLE_LIMIT = 50;
+
+    private final RoadGraph graph;
+
+    private final RoadProfile profile;
+
+    private final int nodeCount;
+
+    // arcs between nodes not contracted yet; once a node is contracted its
+    // own lists stay as they were, leading to higher ranks only
+    private final Arcs[] outArcs;
+
+    private final Arcs[] inArcs;
+
+    private final int[] priorities;
+
+    private final int[] deletedNeighbours;
+
+    private final int[] ranks;
+
+    private final boolean[] inRound;
+
+    private final ThreadLocal<WitnessSearch> witnessSearches;
+
+    public ContractionHierarchyBuilder(RoadGraph graph, RoadProfile profile) {
+        this.graph = graph;
+        this.profile = profile;
+        this.nodeCount = graph.nodeCount();
+        this.outArcs = new Arcs[nodeCount];
+        this.inArcs = new Arcs[nodeCount];
+        this.priorities = new int[nodeCount];
+        this.deletedNeighbours = new int[nodeCount];
+        this.ranks = new int[nodeCount];
+        this.inRound = new boolean[nodeCount];
+        this.witnessSearches = ThreadLocal.withInitial(WitnessSearch::new);
+    }
+
+    public ContractionHierarchy build() {
+        for (int node = 0; node < nodeCount; node++) {
+            outArcs[node] = new Arcs();
+            inArcs[node] = new Arcs();
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                int target = graph.target(edge);
+                if (target == node || !graph.canTravel(edge, profile))
+                    continue;
+                double seconds = graph.travelSeconds(edge, profile);
+                double meters = graph.lengthMeters(edge);
+                outArcs[node].add(target, seconds, meters, -1);
+                inArcs[target].add(node, seconds, meters, -1);
+            }
+        }
+        Arrays.fill(ranks, -1);
+        IntStream.range(0, nodeCount).parallel().forEach(node -> priorities[node] = priority(node));
+
+        int[] remaining = IntStream.range(0, nodeCount).toArray();
+        int remainingCount = nodeCount;
+        int rank = 0;
+        int rounds = 0;
+        boolean[] touched = new boolean[nodeCount];
+        while (remainingCount > 0) {
+            int[] round = IntStream.of(remaining).limit(remainingCount).parallel()
+                .filter(this::isLocalMinimum)
+                .toArray();
+            for (int node : round)
+                inRound[node] = true;
+            Shortcuts[] shortcuts = new Shortcuts[round.length];
+            IntStream.range(0, round.length).parallel().forEach(i -> {
+                shortcuts[i] = new Shortcuts();
+                shortcuts(round[i], shortcuts[i]);
+            });
+
+            for (int i = 0; i < round.length; i++) {
+                ranks[round[i]] = rank++;
+                contract(round[i], shortcuts[i], touched);
+            }
+            for (int node : round)
+                inRound[node] = false;
+
+            int kept = 0;
+            for (int i = 0; i < remainingCount; i++) {
+                if (ranks[remaining[i]] < 0)
+                    remaining[kept++] = remaining[i];
+            }
+            remainingCount = kept;
+            int[] neighbours = IntStream.of(remaining).limit(remainingCount).filter(node -> touched[node]).toArray();
+            IntStream.of(neighbours).parallel().forEach(node -> priorities[node] = priority(node));
+            for (int node : neighbours)
+                touched[node] = false;
+            rounds++;
+        }
+        log.debug("Contracted {} nodes in {} rounds", nodeCount, rounds);
+        return pack();
+    }
+
+    /**
+     * Lower (priority, hash) than every neighbour not contracted yet, so
+     * that no two nodes of a round are adjacent.
+     */
+    private boolean isLocalMinimum(int node) {
+        Arcs out = outArcs[node];
+        for (int i = 0; i < out.size; i++) {
+            if (precedes(out.nodes[i], node))
+                return false;
+        }
+        Arcs in = inArcs[node];
+        for (int i = 0; i < in.size; i++) {
+            if (precedes(in.nodes[i], node))
+                return false;
+        }
+        return true;
+    }
+
+    private boolean precedes(int a, int b) {
+        if (priorities[a] != priorities[b])
+            return priorities[a] < priorities[b];
+        int hashA = a * 0x9E3779B9;
+        int hashB = b * 0x9E3779B9;
+        return hashA != hashB ? hashA < hashB : a < b;
+    }
+
+    private int priority(int node) {
+        int shortcuts = shortcuts(node, null);
+        return shortcuts - inArcs[node].size - outArcs[node].size + deletedNeighbours[node];
+    }
+
+    /**
+     * Finds the shortcuts contracting {@code node} takes to keep the
+     * fastest paths between its neighbours.
+     *
+     * @param collected receives the shortcuts; may be null to only count them
+     * @return the number of shortcuts
+     */
+    private int shortcuts(int node, Shortcuts collected) {
+        Arcs in = inArcs[node];
+        Arcs out = outArcs[node];
+        double maxOut = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < out.size; i++)
+            maxOut = Math.max(maxOut, out.weights[i]);
+        if (in.size == 0 || out.size == 0)
+            return 0;
+
+        WitnessSearch witness = witnessSearches.get();
+        int settleLimit = collected != null ? WITNESS_SETTLE_LIMIT : ESTIMATE_SETTLE_LIMIT;
+        int count = 0;
+        for (int i = 0; i < in.size; i++) {
+            int from = in.nodes[i];
+            double toNode = in.weights[i];
+            witness.run(from, node, toNode + maxOut, settleLimit);
+            for (int j = 0; j < out.size; j++) {
+                int to = out.nodes[j];
+                double via = toNode + out.weights[j];
+                if (to == from || witness.cost(to) <= via)
+                    continue;
+                count++;
+                if (collected != null)
+                    collected.add(from, to, via, in.lengths[i] + out.lengths[j]);
+            }
+        }
+        return count;
+    }
+
+    private void contract(int node, Shortcuts shortcuts, boolean[] touched) {
+        for (int i = 0; i < shortcuts.size; i++) {
+            outArcs[shortcuts.froms[i]].add(shortcuts.tos[i], shortcuts.weights[i], shortcuts.lengths[i], node);
+            inArcs[shortcuts.tos[i]].add(shortcuts.froms[i], shortcuts.weights[i], shortcuts.lengths[i], node);
+        }
+        Arcs out = outArcs[node];
+        for (int i = 0; i < out.size; i++) {
+            int neighbour = out.nodes[i];
+            inArcs[neighbour].remove(node);
+            deletedNeighbours[neighbour]++;
+            touched[neighbour] = true;
+        }
+        Arcs in = inArcs[node];
+        for (int i = 0; i < in.size; i++) {
+            int neighbour = in.nodes[i];
+            outArcs[neighbour].remove(node);
+            if (out.indexOf(neighbour) < 0)
+                deletedNeighbours[neighbour]++;
+            touched[neighbour] = true;
+        }
+    }
+
+    private ContractionHierarchy pack() {
+        int[] upFirst = new int[nodeCount + 1];
+        int[] downFirst = new int[nodeCount + 1];
+        for (int node = 0; node < nodeCount; node++) {
+            upFirst[node + 1] = upFirst[node] + outArcs[node].size;
+            downFirst[node + 1] = downFirst[node] + inArcs[node].size;
+        }
+        int upCount = upFirst[nodeCount];
+        int downCount = downFirst[nodeCount];
+        int[] upTargets = new int[upCount];
+        float[] upWeights = new float[upCount];
+        float[] upLengths = new float[upCount];
+        int[] upMiddles = new int[upCount];
+        int[] downSources = new int[downCount];
+        float[] downWeights = new float[downCount];
+        float[] downLengths = new float[downCount];
+        int[] downMiddles = new int[downCount];
+        for (int node = 0; node < nodeCount; node++) {
+            Arcs out = outArcs[node];
+            for (int i = 0, arc = upFirst[node]; i < out.size; i++, arc++) {
+                upTargets[arc] = out.nodes[i];
+                upWeights[arc] = (float) out.weights[i];
+                upLengths[arc] = (float) out.lengths[i];
+                upMiddles[arc] = out.middles[i];
+            }
+            Arcs in = inArcs[node];
+            for (int i = 0, arc = downFirst[node]; i < in.size; i++, arc++) {
+                downSources[arc] = in.nodes[i];
+                downWeights[arc] = (float) in.weights[i];
+                downLengths[arc] = (float) in.lengths[i];
+                downMiddles[arc] = in.middles[i];
+            }
+        }
+        return new ContractionHierarchy(graph, profile, graph.fingerprint(),
+            IntBuffer.wrap(ranks),
+            IntBuffer.wrap(upFirst), IntBuffer.wrap(upTargets), FloatBuffer.wrap(upWeights),
+            FloatBuffer.wrap(upLengths), IntBuffer.wrap(upMiddles),
+            IntBuffer.wrap(downFirst), IntBuffer.wrap(downSources), FloatBuffer.wrap(downWeights),
+            FloatBuffer.wrap(downLengths), IntBuffer.wrap(downMiddles));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: ContractionHierarchyBuilder <input.graph> [WALK|BIKE|CAR ...]");
+            System.exit(2);
+        }
+        Path graphFile = Path.of(args[0]);
+        RoadGraph graph = RoadGraph.load(graphFile);
+        RoadProfile[] profiles = args.length > 1
+            ? Arrays.stream(args, 1, args.length).map(RoadProfile::valueOf).toArray(RoadProfile[]::new)
+            : RoadProfile.values();
+        for (RoadProfile profile : profiles) {
+            long started = System.nanoTime();
+            ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph, profile).build();
+            Path file = ContractionHierarchy.file(graphFile, profile);
+            hierarchy.save(file);
+            log.info("{} hierarchy with {} up and {} down arcs written to {} in {} s",
+                profile, hierarchy.upArcCount(), hierarchy.downArcCount(), file,
+                (System.nanoTime() - started) / 1_000_000_000);
+        }
+    }
+
+    /**
+     * Growable arcs of one node: the other end, the travel time, the
+     * length and the contracted node a shortcut bypasses, -1 for a road
+     * edge. Parallel arcs are merged into the fastest.
+     */
+    private static final class Arcs {
+
+        private int size;
+
+        private int[] nodes = new int[4];
+
+        private double[] weights = new double[4];
+
+        private double[] lengths = new double[4];
+
+        private int[] middles = new int[4];
+
+        void add(int node, double weight, double length, int middle) {
+            int i = indexOf(node);
+            if (i >= 0) {
+                if (weight < weights[i]) {
+                    weights[i] = weight;
+                    lengths[i] = length;
+                    middles[i] = middle;
+                }
+                return;
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            lengths[size] = length;
+            middles[size] = middle;
+            size++;
+        }
+
+        void remove(int node) {
+            int i = indexOf(node);
+            if (i < 0)
+                return;
+            size--;
+            nodes[i] = nodes[size];
+            weights[i] = weights[size];
+            lengths[i] = lengths[size];
+            middles[i] = middles[size];
+        }
+
+        int indexOf(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node)
+                    return i;
+            }
+            return -1;
+        }
+    }
+
+    private static final class Shortcuts {
+
+        private int size;
+
+        private int[] froms = new int[8];
+
+        private int[] tos = new int[8];
+
+        private double[] weights = new double[8];
+
+        private double[] lengths = new double[8];
+
+        void add(int from, int to, double weight, double length) {
+            if (size == froms.length) {
+                froms = Arrays.copyOf(froms, size * 2);
+                tos = Arrays.copyOf(tos, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                lengths = Arrays.copyOf(lengths, size * 2);
+            }
+            froms[size] = from;
+            tos[size] = to;
+            weights[size] = weight;
+            lengths[size] = length;
+            size++;
+        }
+    }
+
+    /**
+     * Dijkstra over the arcs not contracted yet, one per worker thread,
+     * with costs in an array over the whole graph that is reset through
+     * the list of nodes touched.
+     */
+    private final class WitnessSearch {
+
+        private final double[] costs = new double[nodeCount];
+
+        private int[] touched = new int[64];
+
+        private int touchedCount;
+
+        private final MinHeap heap = new MinHeap(64);
+
+        WitnessSearch() {
+            Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        }
+
+        void run(int source, int excluded, double maxCost, int settleLimit) {
+            for (int i = 0; i < touchedCount; i++)
+                costs[touched[i]] = Double.POSITIVE_INFINITY;
+            touchedCount = 0;
+            heap.clear();
+
+            label(source, 0);
+            int settled = 0;
+            while (!heap.isEmpty() && heap.peekKey() <= maxCost && settled < settleLimit) {
+                double cost = heap.peekKey();
+                int node = heap.pop();
+                if (cost > costs[node])
+                    continue;
+                settled++;
+                Arcs out = outArcs[node];
+                for (int i = 0; i < out.size; i++) {
+                    int next = out.nodes[i];
+                    double nextCost = cost + out.weights[i];
+                    if (next != excluded && !inRound[next] && nextCost < costs[next])
+                        label(next, nextCost);
+                }
+            }
+        }
+
+        double cost(int node) {
+            return costs[node];
+        }
+
+        private void label(int node, double cost) {
+            if (costs[node] == Double.POSITIVE_INFINITY) {
+                if (touchedCount == touched.length)
+                    touched = Arrays.copyOf(touched, touchedCount * 2);
+                touched[touchedCount++] = node;
+            }
+            costs[node] = cost;
+            heap.push(node, cost);
+        }
+    }
+
+}
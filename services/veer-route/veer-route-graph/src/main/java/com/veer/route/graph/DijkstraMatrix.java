@@ -0,0 +1,103 @@
+package com.veer.route.graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * {@link MatrixSearch} over the plain graph, for profiles without a
+ * {@link ContractionHierarchy}: one Dijkstra per source, run in parallel,
+ * each stopping once it has settled all targets. Every search may cover
+ * the area spanned by the points, so prefer the hierarchy for long
+ * distances.
+ */
+public final class DijkstraMatrix implements MatrixSearch {
+
+    private final RoadGraph graph;
+
+    private final RoadProfile profile;
+
+    public DijkstraMatrix(RoadGraph graph, RoadProfile profile) {
+        this.graph = graph;
+        this.profile = profile;
+    }
+
+    @Override
+    public void matrix(int[] sources, int[] targets, float[] durationSeconds, float[] distanceMeters) {
+        Arrays.fill(durationSeconds, Float.NaN);
+        Arrays.fill(distanceMeters, Float.NaN);
+
+        // columns of every target node, chained for targets given twice
+        IntIntHashMap firstColumns = new IntIntHashMap(targets.length);
+        int[] nextColumns = new int[targets.length];
+        for (int column = 0; column < targets.length; column++) {
+            nextColumns[column] = -1;
+            if (targets[column] < 0)
+                continue;
+            int last = firstColumns.putIfAbsent(targets[column], column);
+            if (last == column)
+                continue;
+            while (nextColumns[last] >= 0)
+                last = nextColumns[last];
+            nextColumns[last] = column;
+        }
+        int targetCount = firstColumns.size();
+
+        IntStream.range(0, sources.length).parallel().forEach(row -> {
+            if (sources[row] >= 0 && targetCount > 0)
+                search(sources[row], firstColumns, nextColumns, targetCount,
+                    row * targets.length, durationSeconds, distanceMeters);
+        });
+    }
+
+    private void search(
+        int source, IntIntHashMap firstColumns, int[] nextColumns, int targetCount,
+        int offset, float[] durationSeconds, float[] distanceMeters
+    ) {
+        IntIntHashMap slots = new IntIntHashMap(1024);
+        int[] nodes = new int[1024];
+        double[] costs = new double[1024];
+        double[] lengths = new double[1024];
+        MinHeap heap = new MinHeap(256);
+
+        slots.putIfAbsent(source, 0);
+        nodes[0] = source;
+        int size = 1;
+        heap.push(0, 0);
+        int remaining = targetCount;
+        while (!heap.isEmpty() && remaining > 0) {
+            double cost = heap.peekKey();
+            int v = heap.pop();
+            if (cost > costs[v])
+                continue;
+            int node = nodes[v];
+            for (int column = firstColumns.get(node); column >= 0; column = nextColumns[column]) {
+                durationSeconds[offset + column] = (float) cost;
+                distanceMeters[offset + column] = (float) lengths[v];
+            }
+            if (firstColumns.get(node) >= 0)
+                remaining--;
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                if (!graph.canTravel(edge, profile))
+                    continue;
+                double next = cost + graph.travelSeconds(edge, profile);
+                int u = slots.putIfAbsent(graph.target(edge), size);
+                if (u == size) {
+                    if (size == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, size * 2);
+                        costs = Arrays.copyOf(costs, size * 2);
+                        lengths = Arrays.copyOf(lengths, size * 2);
+                    }
+                    nodes[u] = graph.target(edge);
+                    costs[u] = Double.POSITIVE_INFINITY;
+                    size++;
+                }
+                if (next >= costs[u])
+                    continue;
+                costs[u] = next;
+                lengths[u] = lengths[v] + graph.lengthMeters(edge);
+                heap.push(u, next);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.veer.route.graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Maps the arrays written by {@link GraphFileWriter}, each on its own so
+ * that none is limited by the 2 GB of a single mapping. Mappings stay
+ * valid after the reader is closed.
+ */
+final class GraphFileReader implements Closeable {
+
+    private final Path file;
+
+    private final FileChannel channel;
+
+    private long offset;
+
+    GraphFileReader(Path file) throws IOException {
+        this.file = file;
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    long size() throws IOException {
+        return channel.size();
+    }
+
+    /**
+     * @return the first {@code bytes} of the file, or an IOException
+     *         naming {@code kind} if the file is shorter
+     */
+    ByteBuffer header(int bytes, String kind) throws IOException {
+        if (channel.size() < bytes)
+            throw new IOException(file + " is not a " + kind);
+        offset = bytes;
+        return channel.map(FileChannel.MapMode.READ_ONLY, 0, bytes).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    IntBuffer ints(int count) throws IOException {
+        return next(4L * count).asIntBuffer();
+    }
+
+    FloatBuffer floats(int count) throws IOException {
+        return next(4L * count).asFloatBuffer();
+    }
+
+    ByteBuffer bytes(int count) throws IOException {
+        return next(padded(count)).limit(count);
+    }
+
+    static long padded(int bytes) {
+        return (bytes + 3L) & ~3L;
+    }
+
+    private MappedByteBuffer next(long size) throws IOException {
+        MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        section.order(ByteOrder.LITTLE_ENDIAN);
+        offset += size;
+        return section;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+}
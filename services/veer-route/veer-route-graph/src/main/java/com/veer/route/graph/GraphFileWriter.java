@@ -0,0 +1,101 @@
+package com.veer.route.graph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes primitive arrays little-endian one after another, for
+ * {@link GraphFileReader} to map again. The file is written under a
+ * temporary name and only {@link #commit}ted in place atomically, so a
+ * running instance never maps a half-written file.
+ */
+final class GraphFileWriter implements Closeable {
+
+    private final Path file;
+
+    private final Path temporary;
+
+    private final FileChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+
+    private boolean committed;
+
+    GraphFileWriter(Path file) throws IOException {
+        this.file = file;
+        this.temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        this.channel = FileChannel.open(temporary,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+    }
+
+    GraphFileWriter putLong(long value) throws IOException {
+        ensure(8).putLong(value);
+        return this;
+    }
+
+    GraphFileWriter putInt(int value) throws IOException {
+        ensure(4).putInt(value);
+        return this;
+    }
+
+    GraphFileWriter ints(IntBuffer values) throws IOException {
+        for (int i = 0, n = values.limit(); i < n; i++)
+            ensure(4).putInt(values.get(i));
+        return this;
+    }
+
+    GraphFileWriter floats(FloatBuffer values) throws IOException {
+        for (int i = 0, n = values.limit(); i < n; i++)
+            ensure(4).putFloat(values.get(i));
+        return this;
+    }
+
+    // padded to whole ints, so that the following arrays stay aligned
+    GraphFileWriter bytes(ByteBuffer values) throws IOException {
+        int n = values.limit();
+        for (int i = 0; i < n; i++)
+            ensure(1).put(values.get(i));
+        for (int i = n; i % 4 != 0; i++)
+            ensure(1).put((byte) 0);
+        return this;
+    }
+
+    void commit() throws IOException {
+        flush();
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (committed)
+            return;
+        channel.close();
+        Files.deleteIfExists(temporary);
+    }
+
+    private ByteBuffer ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            flush();
+        return buffer;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.veer.route.graph;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from node indices to slots of per-search arrays.
+ * A search touches a small part of a large graph, so its labels are kept
+ * here instead of in arrays as long as the graph.
+ */
+final class IntIntHashMap {
+
+    private static final int EMPTY = -1;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    IntIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return the value of {@code key} (not negative), or -1 if absent
+     */
+    int get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int current = keys[slot];
+            if (current == key)
+                return values[slot];
+            if (current == EMPTY)
+                return -1;
+        }
+    }
+
+    /**
+     * @return the value of {@code key}, after mapping it to
+     *         {@code value} if it was absent
+     */
+    int putIfAbsent(int key, int value) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        for (; keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key)
+                return values[slot];
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size * 2 > keys.length)
+            grow();
+        return value;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(keys, EMPTY);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] == EMPTY)
+                continue;
+            int slot = hash(oldKeys[i]) & mask;
+            while (keys[slot] != EMPTY)
+                slot = (slot + 1) & mask;
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ h >>> 16;
+    }
+
+}
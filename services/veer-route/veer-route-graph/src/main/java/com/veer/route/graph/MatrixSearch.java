@@ -0,0 +1,20 @@
+package com.veer.route.graph;
+
+/**
+ * Travel times and lengths of the fastest paths from each of a set of
+ * nodes to each of another, for one {@link RoadProfile}. Implementations
+ * may be shared between threads.
+ */
+public interface MatrixSearch {
+
+    /**
+     * Fills both matrices row by row, row {@code i} holding the paths from
+     * {@code sources[i]} to every target in order. Cells are NaN where the
+     * target cannot be reached, or where the source or target is -1.
+     *
+     * @param durationSeconds {@code sources.length * targets.length} cells
+     * @param distanceMeters  as many cells
+     */
+    void matrix(int[] sources, int[] targets, float[] durationSeconds, float[] distanceMeters);
+
+}
@@ -0,0 +1,88 @@
+package com.veer.route.graph;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of ints by double keys, in two parallel arrays.
+ * There is no decrease-key: a better key is pushed again and the stale
+ * entry skipped by the caller when it comes up, which is cheaper than
+ * tracking heap positions for the few nodes improved more than once.
+ */
+final class MinHeap {
+
+    private double[] keys;
+
+    private int[] items;
+
+    private int size;
+
+    MinHeap(int capacity) {
+        keys = new double[Math.max(16, capacity)];
+        items = new int[keys.length];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return the smallest key, {@code +Infinity} when empty
+     */
+    double peekKey() {
+        return size > 0 ? keys[0] : Double.POSITIVE_INFINITY;
+    }
+
+    void push(int item, double key) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            items = Arrays.copyOf(items, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key)
+                break;
+            keys[i] = keys[parent];
+            items[i] = items[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        items[i] = item;
+    }
+
+    /**
+     * Removes the entry with the smallest key; read it first with
+     * {@link #peekKey} when the key is needed.
+     */
+    int pop() {
+        int top = items[0];
+        int last = --size;
+        double key = keys[last];
+        int item = items[last];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= last)
+                break;
+            if (child + 1 < last && keys[child + 1] < keys[child])
+                child++;
+            if (keys[child] >= key)
+                break;
+            keys[i] = keys[child];
+            items[i] = items[child];
+            i = child;
+        }
+        keys[i] = key;
+        items[i] = item;
+        return top;
+    }
+
+}
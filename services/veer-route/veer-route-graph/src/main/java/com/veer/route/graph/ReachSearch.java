@@ -0,0 +1,119 @@
+package com.veer.route.graph;
+
+import java.util.Arrays;
+
+/**
+ * Every node reachable from one node within a travel time, for isochrones:
+ * a Dijkstra over the plain graph that stops at the first node farther
+ * than the limit. Any number of smaller limits can be read off the same
+ * result, so a search is run once for the largest. Instances may be
+ * shared between threads.
+ */
+public final class ReachSearch {
+
+    private final RoadGraph graph;
+
+    private final RoadProfile profile;
+
+    public ReachSearch(RoadGraph graph, RoadProfile profile) {
+        this.graph = graph;
+        this.profile = profile;
+    }
+
+    public RoadProfile profile() {
+        return profile;
+    }
+
+    /**
+     * @param startSeconds time already spent when leaving {@code source}
+     * @return the nodes reached within {@code maxSeconds}, in the order
+     *         they were settled
+     */
+    public Reach reach(int source, double startSeconds, double maxSeconds) {
+        if (startSeconds > maxSeconds)
+            return Reach.NONE;
+        IntIntHashMap slots = new IntIntHashMap(1024);
+        int[] nodes = new int[1024];
+        double[] costs = new double[1024];
+        MinHeap heap = new MinHeap(256);
+        int[] settled = new int[1024];
+        double[] settledSeconds = new double[1024];
+        int settledCount = 0;
+
+        slots.putIfAbsent(source, 0);
+        nodes[0] = source;
+        costs[0] = startSeconds;
+        int size = 1;
+        heap.push(0, startSeconds);
+        while (!heap.isEmpty()) {
+            double cost = heap.peekKey();
+            int v = heap.pop();
+            if (cost > costs[v])
+                continue;
+            int node = nodes[v];
+            if (settledCount == settled.length) {
+                settled = Arrays.copyOf(settled, settledCount * 2);
+                settledSeconds = Arrays.copyOf(settledSeconds, settledCount * 2);
+            }
+            settled[settledCount] = node;
+            settledSeconds[settledCount++] = cost;
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                if (!graph.canTravel(edge, profile))
+                    continue;
+                double next = cost + graph.travelSeconds(edge, profile);
+                if (next > maxSeconds)
+                    continue;
+                int u = slots.putIfAbsent(graph.target(edge), size);
+                if (u == size) {
+                    if (size == nodes.length) {
+                        nodes = Arrays.copyOf(nodes, size * 2);
+                        costs = Arrays.copyOf(costs, size * 2);
+                    }
+                    nodes[u] = graph.target(edge);
+                    costs[u] = Double.POSITIVE_INFINITY;
+                    size++;
+                }
+                if (next >= costs[u])
+                    continue;
+                costs[u] = next;
+                heap.push(u, next);
+            }
+        }
+        return new Reach(settled, settledSeconds, settledCount);
+    }
+
+    /**
+     * Nodes reached by a {@link ReachSearch} with their travel times, in
+     * increasing order of time.
+     */
+    public static final class Reach {
+
+        public static final Reach NONE = new Reach(new int[0], new double[0], 0);
+
+        private final int[] nodes;
+
+        private final double[] seconds;
+
+        private final int size;
+
+        Reach(int[] nodes, double[] seconds, int size) {
+            this.nodes = nodes;
+            this.seconds = seconds;
+            this.size = size;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public int node(int i) {
+            return nodes[i];
+        }
+
+        public double seconds(int i) {
+            return seconds[i];
+        }
+
+    }
+
+}
@@ -0,0 +1,318 @@
+package com.veer.route.graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Path;
+
+/**
+ * Immutable road network in compressed sparse row form: the edges leaving
+ * node {@code n} are {@code firstEdge(n) .. firstEdge(n + 1) - 1}, and
+ * every attribute lives in a primitive array indexed by node or edge, so a
+ * graph of tens of millions of edges holds no object per edge.
+ *
+ * Each road segment is stored as two edges, one leaving each end, and each
+ * edge records per {@link RoadProfile} whether it may be travelled along
+ * and against its direction. A search against the direction of travel
+ * (from the target backwards) therefore walks the same edges as a forward
+ * one and needs no second, reversed copy of the graph.
+ *
+ * Nodes are numbered in the order of a grid of {@link #CELLS_PER_DEGREE}
+ * cells per degree, so that nodes close on the map are mostly close in
+ * memory, and {@link #nearestNode} needs only the first node of every
+ * non-empty cell.
+ *
+ * {@link #save} writes the arrays as they are; {@link #load} memory-maps
+ * them again without parsing or copying, so a graph opens in milliseconds
+ * and pages are read from disk as queries touch them. Every array is
+ * mapped on its own, so none is limited by the 2 GB of a single mapping.
+ */
+public final class RoadGraph {
+
+    static final long MAGIC = 0x5645455247524150L; // "VEERGRAP"
+
+    static final int VERSION = 1;
+
+    static final int HEADER_BYTES = 32;
+
+    public static final int CELLS_PER_DEGREE = 100;
+
+    static final int COLUMNS = 360 * CELLS_PER_DEGREE;
+
+    static final int ROWS = 180 * CELLS_PER_DEGREE;
+
+    // meters per degree of latitude
+    private static final double METERS_PER_DEGREE = Math.PI * GeoDistance.EARTH_RADIUS_METERS / 180;
+
+    // farthest ring of cells nearestNode looks at
+    private static final int MAX_RINGS = 200;
+
+    private final int nodeCount;
+
+    private final int edgeCount;
+
+    private final int maxCarKmh;
+
+    private final IntBuffer firstEdges;
+
+    // fixed point, 1e-7 degrees
+    private final IntBuffer latitudes;
+
+    private final IntBuffer longitudes;
+
+    private final IntBuffer targets;
+
+    private final FloatBuffer lengths;
+
+    private final ByteBuffer access;
+
+    // km/h for cars, 0 where cars may not go
+    private final ByteBuffer speeds;
+
+    // sorted keys of the non-empty cells and the first node of each
+    private final IntBuffer cellKeys;
+
+    private final IntBuffer cellStarts;
+
+    RoadGraph(
+        int nodeCount, int edgeCount, int maxCarKmh,
+        IntBuffer firstEdges, IntBuffer latitudes, IntBuffer longitudes,
+        IntBuffer targets, FloatBuffer lengths, ByteBuffer access, ByteBuffer speeds,
+        IntBuffer cellKeys, IntBuffer cellStarts
+    ) {
+        this.nodeCount = nodeCount;
+        this.edgeCount = edgeCount;
+        this.maxCarKmh = maxCarKmh;
+        this.firstEdges = firstEdges;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.targets = targets;
+        this.lengths = lengths;
+        this.access = access;
+        this.speeds = speeds;
+        this.cellKeys = cellKeys;
+        this.cellStarts = cellStarts;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    public int edgeCount() {
+        return edgeCount;
+    }
+
+    public double latitude(int node) {
+        return latitudes.get(node) * 1e-7;
+    }
+
+    public double longitude(int node) {
+        return longitudes.get(node) * 1e-7;
+    }
+
+    public int firstEdge(int node) {
+        return firstEdges.get(node);
+    }
+
+    /**
+     * @return one past the last edge leaving {@code node}
+     */
+    public int endEdge(int node) {
+        return firstEdges.get(node + 1);
+    }
+
+    public int target(int edge) {
+        return targets.get(edge);
+    }
+
+    public float lengthMeters(int edge) {
+        return lengths.get(edge);
+    }
+
+    public int speedKmh(int edge) {
+        return speeds.get(edge) & 0xFF;
+    }
+
+    /**
+     * @return whether {@code profile} may go from the edge's source to its target
+     */
+    public boolean canTravel(int edge, RoadProfile profile) {
+        return (access.get(edge) & profile.bit()) != 0;
+    }
+
+    /**
+     * @return whether {@code profile} may go from the edge's target to its source
+     */
+    public boolean canTravelBackward(int edge, RoadProfile profile) {
+        return (access.get(edge) & profile.bit() << RoadProfile.BACKWARD_SHIFT) != 0;
+    }
+
+    public double travelSeconds(int edge, RoadProfile profile) {
+        return lengths.get(edge) / profile.metersPerSecond(speedKmh(edge));
+    }
+
+    /**
+     * Upper bound of the speed on any edge, for search heuristics.
+     */
+    public double maxMetersPerSecond(RoadProfile profile) {
+        return profile.metersPerSecond(maxCarKmh);
+    }
+
+    /**
+     * @return whether any edge at {@code node} may be used by {@code profile}
+     */
+    public boolean isReachable(int node, RoadProfile profile) {
+        int mask = profile.bit() | profile.bit() << RoadProfile.BACKWARD_SHIFT;
+        for (int edge = firstEdge(node), end = endEdge(node); edge < end; edge++) {
+            if ((access.get(edge) & mask) != 0)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Closest node usable by {@code profile}, looked up ring by ring in
+     * the cell grid around the position.
+     *
+     * @return the node, or -1 if none is within {@code maxDistanceMeters}
+     */
+    public int nearestNode(double latitude, double longitude, RoadProfile profile, double maxDistanceMeters) {
+        int row = row(latitude);
+        int column = column(longitude);
+        double cellHeight = METERS_PER_DEGREE / CELLS_PER_DEGREE;
+        // narrowest cell width within reach, so that ring distances stay lower bounds
+        double farthestLatitude = Math.min(89.9, Math.abs(latitude) + maxDistanceMeters / METERS_PER_DEGREE);
+        double cellWidth = cellHeight * Math.max(0.01, Math.cos(Math.toRadians(farthestLatitude)));
+        int rings = (int) Math.min(MAX_RINGS, Math.ceil(maxDistanceMeters / cellWidth) + 1);
+
+        int best = -1;
+        double bestDistance = maxDistanceMeters;
+        for (int ring = 0; ring <= rings; ring++) {
+            if ((ring - 1) * cellWidth > bestDistance)
+                break;
+            for (int r = row - ring; r <= row + ring; r++) {
+                if (r < 0 || r >= ROWS)
+                    continue;
+                boolean edgeRow = r == row - ring || r == row + ring;
+                int step = edgeRow ? 1 : 2 * ring;
+                for (int c = column - ring; c <= column + ring; c += step) {
+                    int cell = cellIndex(r * COLUMNS + Math.floorMod(c, COLUMNS));
+                    if (cell < 0)
+                        continue;
+                    for (int node = cellStarts.get(cell), end = cellStarts.get(cell + 1); node < end; node++) {
+                        double distance = GeoDistance.meters(latitude, longitude, latitude(node), longitude(node));
+                        if (distance <= bestDistance && isReachable(node, profile)) {
+                            best = node;
+                            bestDistance = distance;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int cellIndex(int key) {
+        int low = 0;
+        int high = cellKeys.limit() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = cellKeys.get(middle);
+            if (value < key)
+                low = middle + 1;
+            else if (value > key)
+                high = middle - 1;
+            else
+                return middle;
+        }
+        return -1;
+    }
+
+    /**
+     * Hash of the node and edge counts and of a sample of positions and
+     * edges, so that files derived from a graph can tell whether they
+     * were derived from this one.
+     */
+    long fingerprint() {
+        long hash = nodeCount * 31L + edgeCount;
+        int nodeStep = Math.max(1, nodeCount / 4096);
+        for (int node = 0; node < nodeCount; node += nodeStep)
+            hash = hash * 0x9E3779B97F4A7C15L + ((long) latitudes.get(node) << 32 | longitudes.get(node) & 0xFFFFFFFFL);
+        int edgeStep = Math.max(1, edgeCount / 4096);
+        for (int edge = 0; edge < edgeCount; edge += edgeStep)
+            hash = hash * 0x9E3779B97F4A7C15L + ((long) targets.get(edge) << 32 | Float.floatToIntBits(lengths.get(edge)) & 0xFFFFFFFFL)
+                + (access.get(edge) & 0xFF);
+        return hash;
+    }
+
+    static int row(double latitude) {
+        return Math.max(0, Math.min(ROWS - 1, (int) Math.floor((latitude + 90) * CELLS_PER_DEGREE)));
+    }
+
+    static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) * CELLS_PER_DEGREE), COLUMNS);
+    }
+
+    static int cellKey(int latitudeE7, int longitudeE7) {
+        return row(latitudeE7 * 1e-7) * COLUMNS + column(longitudeE7 * 1e-7);
+    }
+
+    /**
+     * Writes the graph to {@code file}, replacing it atomically so that a
+     * running instance never maps a half-written graph.
+     */
+    public void save(Path file) throws IOException {
+        try (GraphFileWriter writer = new GraphFileWriter(file)) {
+            writer.putLong(MAGIC).putInt(VERSION).putInt(nodeCount).putInt(edgeCount)
+                .putInt(cellKeys.limit()).putInt(maxCarKmh).putInt(0)
+                .ints(firstEdges)
+                .ints(latitudes)
+                .ints(longitudes)
+                .ints(targets)
+                .floats(lengths)
+                .bytes(access)
+                .bytes(speeds)
+                .ints(cellKeys)
+                .ints(cellStarts)
+                .commit();
+        }
+    }
+
+    /**
+     * Maps a graph written by {@link #save}.
+     */
+    public static RoadGraph load(Path file) throws IOException {
+        try (GraphFileReader reader = new GraphFileReader(file)) {
+            ByteBuffer header = reader.header(HEADER_BYTES, "road graph");
+            if (header.getLong() != MAGIC)
+                throw new IOException(file + " is not a road graph");
+            int version = header.getInt();
+            if (version != VERSION)
+                throw new IOException(file + " has road graph version " + version + ", expected " + VERSION);
+            int nodeCount = header.getInt();
+            int edgeCount = header.getInt();
+            int cellCount = header.getInt();
+            int maxCarKmh = header.getInt();
+
+            long expected = HEADER_BYTES
+                + 4L * (nodeCount + 1) + 8L * nodeCount
+                + 8L * edgeCount + 2 * GraphFileReader.padded(edgeCount)
+                + 4L * cellCount + 4L * (cellCount + 1);
+            if (reader.size() != expected)
+                throw new IOException(file + " is truncated or corrupt");
+
+            return new RoadGraph(nodeCount, edgeCount, maxCarKmh,
+                reader.ints(nodeCount + 1),
+                reader.ints(nodeCount),
+                reader.ints(nodeCount),
+                reader.ints(edgeCount),
+                reader.floats(edgeCount),
+                reader.bytes(edgeCount),
+                reader.bytes(edgeCount),
+                reader.ints(cellCount),
+                reader.ints(cellCount + 1));
+        }
+    }
+
+}
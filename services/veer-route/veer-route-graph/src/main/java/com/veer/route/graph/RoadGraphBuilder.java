@@ -0,0 +1,202 @@
+package com.veer.route.graph;
+
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Collects ways and the positions of their nodes and packs them into a
+ * {@link RoadGraph}.
+ *
+ * An OSM extract lists nodes before the ways using them, yet only the few
+ * nodes on roads matter. Ways are therefore added first, which registers
+ * the ids of their nodes, and positions are then set for the registered
+ * ids only ({@link #needsNode}), in a second pass over the extract.
+ * Ways referring to nodes never positioned lose the segments at them.
+ *
+ * Every node becomes a graph node, including those merely shaping a road
+ * between two junctions, so that paths come out following the road.
+ */
+public final class RoadGraphBuilder {
+
+    private static final int MISSING = Integer.MIN_VALUE;
+
+    private final LongIntHashMap nodeIds;
+
+    // dense node index of every way node, ways one after another
+    private int[] wayNodes = new int[1 << 16];
+
+    private int wayNodeCount;
+
+    private int[] wayStarts = new int[1 << 12];
+
+    // travel directions per profile, as in RoadGraph
+    private byte[] wayAccess = new byte[1 << 12];
+
+    private byte[] waySpeeds = new byte[1 << 12];
+
+    private int wayCount;
+
+    private int[] latitudes = new int[0];
+
+    private int[] longitudes = new int[0];
+
+    public RoadGraphBuilder() {
+        this(1 << 16);
+    }
+
+    public RoadGraphBuilder(int expectedNodes) {
+        nodeIds = new LongIntHashMap(expectedNodes);
+    }
+
+    /**
+     * Adds a road through the nodes {@code refs[0 .. count - 1]}.
+     *
+     * @param forward  {@link RoadProfile#bit()}s of the profiles that may
+     *                 follow the way in the order of its nodes
+     * @param backward the same, against that order
+     * @param speedKmh speed of cars, ignored when cars may not use the way
+     */
+    public void addWay(long[] refs, int count, int forward, int backward, int speedKmh) {
+        if (count < 2 || (forward | backward) == 0)
+            return;
+        if (wayCount + 1 >= wayStarts.length) {
+            wayStarts = Arrays.copyOf(wayStarts, wayStarts.length * 2);
+            wayAccess = Arrays.copyOf(wayAccess, wayStarts.length);
+            waySpeeds = Arrays.copyOf(waySpeeds, wayStarts.length);
+        }
+        if (wayNodeCount + count > wayNodes.length)
+            wayNodes = Arrays.copyOf(wayNodes, Math.max(wayNodes.length * 2, wayNodeCount + count));
+
+        wayStarts[wayCount] = wayNodeCount;
+        wayAccess[wayCount] = (byte) (forward | backward << RoadProfile.BACKWARD_SHIFT);
+        boolean cars = ((forward | backward) & RoadProfile.CAR.bit()) != 0;
+        waySpeeds[wayCount] = (byte) (cars ? Math.max(1, Math.min(255, speedKmh)) : 0);
+        wayCount++;
+        for (int i = 0; i < count; i++)
+            wayNodes[wayNodeCount++] = nodeIds.putIfAbsent(refs[i], nodeIds.size());
+        wayStarts[wayCount] = wayNodeCount;
+    }
+
+    public boolean needsNode(long nodeId) {
+        return nodeIds.get(nodeId) >= 0;
+    }
+
+    public void setNode(long nodeId, double latitude, double longitude) {
+        int node = nodeIds.get(nodeId);
+        if (node < 0)
+            return;
+        if (latitudes.length < nodeIds.size()) {
+            int length = latitudes.length;
+            latitudes = Arrays.copyOf(latitudes, nodeIds.size());
+            longitudes = Arrays.copyOf(longitudes, nodeIds.size());
+            Arrays.fill(latitudes, length, latitudes.length, MISSING);
+        }
+        latitudes[node] = (int) Math.round(latitude * 1e7);
+        longitudes[node] = (int) Math.round(longitude * 1e7);
+    }
+
+    public RoadGraph build() {
+        int nodeCount = nodeIds.size();
+        if (latitudes.length < nodeCount) {
+            int length = latitudes.length;
+            latitudes = Arrays.copyOf(latitudes, nodeCount);
+            longitudes = Arrays.copyOf(longitudes, nodeCount);
+            Arrays.fill(latitudes, length, nodeCount, MISSING);
+        }
+
+        int[] degrees = new int[nodeCount];
+        forEachSegment((way, a, b) -> {
+            degrees[a]++;
+            degrees[b]++;
+        });
+
+        // number the connected nodes in cell order
+        long[] order = new long[nodeCount];
+        int graphNodes = 0;
+        for (int node = 0; node < nodeCount; node++) {
+            if (degrees[node] > 0)
+                order[graphNodes++] = (long) RoadGraph.cellKey(latitudes[node], longitudes[node]) << 32 | node;
+        }
+        order = Arrays.copyOf(order, graphNodes);
+        Arrays.parallelSort(order);
+        int[] renumbered = new int[nodeCount];
+        int[] nodeLatitudes = new int[graphNodes];
+        int[] nodeLongitudes = new int[graphNodes];
+        int[] firstEdges = new int[graphNodes + 1];
+        int cellCount = 0;
+        int[] cellKeys = new int[Math.max(1, graphNodes)];
+        int[] cellStarts = new int[Math.max(1, graphNodes) + 1];
+        for (int i = 0; i < graphNodes; i++) {
+            int node = (int) order[i];
+            int cell = (int) (order[i] >>> 32);
+            renumbered[node] = i;
+            nodeLatitudes[i] = latitudes[node];
+            nodeLongitudes[i] = longitudes[node];
+            firstEdges[i + 1] = firstEdges[i] + degrees[node];
+            if (cellCount == 0 || cellKeys[cellCount - 1] != cell) {
+                cellKeys[cellCount] = cell;
+                cellStarts[cellCount++] = i;
+            }
+        }
+        cellStarts[cellCount] = graphNodes;
+
+        int edgeCount = firstEdges[graphNodes];
+        int[] targets = new int[edgeCount];
+        float[] lengths = new float[edgeCount];
+        byte[] access = new byte[edgeCount];
+        byte[] speeds = new byte[edgeCount];
+        int[] next = Arrays.copyOf(firstEdges, graphNodes);
+        int[] maxSpeed = new int[1];
+        forEachSegment((way, a, b) -> {
+            int from = renumbered[a];
+            int to = renumbered[b];
+            float length = (float) GeoDistance.meters(
+                nodeLatitudes[from] * 1e-7, nodeLongitudes[from] * 1e-7,
+                nodeLatitudes[to] * 1e-7, nodeLongitudes[to] * 1e-7);
+            int directions = wayAccess[way] & 0xFF;
+            int reversed = directions >>> RoadProfile.BACKWARD_SHIFT | (directions & 0b111) << RoadProfile.BACKWARD_SHIFT;
+            maxSpeed[0] = Math.max(maxSpeed[0], waySpeeds[way] & 0xFF);
+
+            int edge = next[from]++;
+            targets[edge] = to;
+            lengths[edge] = length;
+            access[edge] = (byte) directions;
+            speeds[edge] = waySpeeds[way];
+            edge = next[to]++;
+            targets[edge] = from;
+            lengths[edge] = length;
+            access[edge] = (byte) reversed;
+            speeds[edge] = waySpeeds[way];
+        });
+
+        return new RoadGraph(graphNodes, edgeCount, maxSpeed[0],
+            IntBuffer.wrap(firstEdges),
+            IntBuffer.wrap(nodeLatitudes),
+            IntBuffer.wrap(nodeLongitudes),
+            IntBuffer.wrap(targets),
+            FloatBuffer.wrap(lengths),
+            ByteBuffer.wrap(access),
+            ByteBuffer.wrap(speeds),
+            IntBuffer.wrap(cellKeys, 0, cellCount).slice(),
+            IntBuffer.wrap(cellStarts, 0, cellCount + 1).slice());
+    }
+
+    private interface SegmentVisitor {
+        void segment(int way, int a, int b);
+    }
+
+    // consecutive positioned nodes of every way
+    private void forEachSegment(SegmentVisitor visitor) {
+        for (int way = 0; way < wayCount; way++) {
+            for (int i = wayStarts[way] + 1; i < wayStarts[way + 1]; i++) {
+                int a = wayNodes[i - 1];
+                int b = wayNodes[i];
+                if (a != b && latitudes[a] != MISSING && latitudes[b] != MISSING)
+                    visitor.segment(way, a, b);
+            }
+        }
+    }
+
+}
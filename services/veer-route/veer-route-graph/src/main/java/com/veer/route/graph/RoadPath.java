@@ -0,0 +1,33 @@
+package com.veer.route.graph;
+
+/**
+ * Nodes of a path through the road graph, from the source to the target,
+ * with its length and travel time.
+ */
+public final class RoadPath {
+
+    private final int[] nodes;
+
+    private final double distanceMeters;
+
+    private final double durationSeconds;
+
+    RoadPath(int[] nodes, double distanceMeters, double durationSeconds) {
+        this.nodes = nodes;
+        this.distanceMeters = distanceMeters;
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int[] getNodes() {
+        return nodes;
+    }
+
+    public double getDistanceMeters() {
+        return distanceMeters;
+    }
+
+    public double getDurationSeconds() {
+        return durationSeconds;
+    }
+
+}
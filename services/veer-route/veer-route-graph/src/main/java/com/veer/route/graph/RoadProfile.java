@@ -0,0 +1,40 @@
+package com.veer.route.graph;
+
+/**
+ * Modes of travel over the road graph. Every edge records, per mode,
+ * whether it may be travelled along and against its direction. Walking
+ * and cycling go at a flat speed, cars at the speed of the road.
+ */
+public enum RoadProfile {
+
+    WALK(5.0),
+
+    BIKE(18.0),
+
+    CAR(0.0);
+
+    // travel directions of one edge: forward bits 0..2, backward bits 3..5
+    static final int BACKWARD_SHIFT = 3;
+
+    private final double flatKmh;
+
+    RoadProfile(double flatKmh) {
+        this.flatKmh = flatKmh;
+    }
+
+    /**
+     * @return the bit of this mode in the masks passed to
+     *         {@link RoadGraphBuilder#addWay}
+     */
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @param roadKmh speed of the road, used by cars only
+     */
+    public double metersPerSecond(int roadKmh) {
+        return (flatKmh > 0 ? flatKmh : roadKmh) / 3.6;
+    }
+
+}
@@ -0,0 +1,15 @@
+package com.veer.route.graph;
+
+/**
+ * Fastest paths between nodes of a {@link RoadGraph} for one
+ * {@link RoadProfile}. Implementations may be shared between threads.
+ */
+public interface RoadSearch {
+
+    /**
+     * @return the fastest path, or null if {@code target} cannot be
+     *         reached from {@code source}
+     */
+    RoadPath route(int source, int target);
+
+}
@@ -0,0 +1,57 @@
+package com.veer.route.graph.osm;
+
+import com.veer.route.graph.RoadGraph;
+import com.veer.route.graph.RoadGraphBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+
+/**
+ * Builds a {@link RoadGraph} from an OSM PBF extract in two passes: the
+ * roads first, then the positions of their nodes. Run offline, since a
+ * country takes minutes:
+ *
+ * <pre>
+ * java -cp veer-route-graph.jar com.veer.route.graph.osm.OsmGraphImporter poland-latest.osm.pbf poland.graph
+ * </pre>
+ */
+public final class OsmGraphImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OsmGraphImporter.class);
+
+    private OsmGraphImporter() {
+    }
+
+    public static RoadGraph importGraph(Path extract) throws IOException {
+        RoadGraphBuilder builder = new RoadGraphBuilder(1 << 20);
+        PbfReader.read(extract, EnumSet.of(PbfReader.Element.WAYS), new OsmHandler() {
+            @Override
+            public void way(long id, long[] refs, int refCount, OsmTags tags) {
+                OsmRoads.add(builder, refs, refCount, tags);
+            }
+        });
+        PbfReader.read(extract, EnumSet.of(PbfReader.Element.NODES), new OsmHandler() {
+            @Override
+            public void node(long id, double latitude, double longitude) {
+                builder.setNode(id, latitude, longitude);
+            }
+        });
+        return builder.build();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: OsmGraphImporter <extract.osm.pbf> <output.graph>");
+            System.exit(2);
+        }
+        long started = System.nanoTime();
+        RoadGraph graph = importGraph(Path.of(args[0]));
+        graph.save(Path.of(args[1]));
+        log.info("Road graph with {} nodes and {} edges written to {} in {} s",
+            graph.nodeCount(), graph.edgeCount(), args[1], (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.veer.route.graph.osm;
+
+/**
+ * Receives the elements of an extract read by {@link PbfReader}.
+ * Arguments are reused for the next element, so copy what is kept.
+ */
+public interface OsmHandler {
+
+    default void node(long id, double latitude, double longitude) {
+    }
+
+    /**
+     * Called instead of {@link #node(long, double, double)} when node tags
+     * are read, see {@link PbfReader.Element#NODE_TAGS}. Most nodes have none.
+     */
+    default void node(long id, double latitude, double longitude, OsmTags tags) {
+        node(id, latitude, longitude);
+    }
+
+    /**
+     * @param refs ids of the way's nodes in {@code refs[0 .. refCount - 1]}
+     */
+    default void way(long id, long[] refs, int refCount, OsmTags tags) {
+    }
+
+}
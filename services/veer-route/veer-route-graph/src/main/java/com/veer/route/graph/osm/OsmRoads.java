@@ -0,0 +1,134 @@
+package com.veer.route.graph.osm;
+
+import com.veer.route.graph.RoadGraphBuilder;
+import com.veer.route.graph.RoadProfile;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Who may use an OSM way and how fast, from its tags, following the
+ * common defaults of the OSM wiki: the {@code highway} class first, then
+ * {@code access}, the per-mode {@code foot}, {@code bicycle},
+ * {@code motor_vehicle} and {@code motorcar}, {@code maxspeed} and
+ * {@code oneway}. Country-specific defaults and turn restrictions are
+ * not modelled.
+ */
+final class OsmRoads {
+
+    private static final int WALK = RoadProfile.WALK.bit();
+
+    private static final int BIKE = RoadProfile.BIKE.bit();
+
+    private static final int CAR = RoadProfile.CAR.bit();
+
+    private static final int ALL = WALK | BIKE | CAR;
+
+    private record Highway(int modes, int speedKmh, boolean oneway) {
+    }
+
+    private static final Map<String, Highway> HIGHWAYS = Map.ofEntries(
+        Map.entry("motorway", new Highway(CAR, 120, true)),
+        Map.entry("motorway_link", new Highway(CAR, 60, true)),
+        Map.entry("trunk", new Highway(CAR, 90, false)),
+        Map.entry("trunk_link", new Highway(CAR, 50, false)),
+        Map.entry("primary", new Highway(ALL, 70, false)),
+        Map.entry("primary_link", new Highway(ALL, 50, false)),
+        Map.entry("secondary", new Highway(ALL, 60, false)),
+        Map.entry("secondary_link", new Highway(ALL, 50, false)),
+        Map.entry("tertiary", new Highway(ALL, 50, false)),
+        Map.entry("tertiary_link", new Highway(ALL, 40, false)),
+        Map.entry("unclassified", new Highway(ALL, 40, false)),
+        Map.entry("residential", new Highway(ALL, 30, false)),
+        Map.entry("living_street", new Highway(ALL, 10, false)),
+        Map.entry("service", new Highway(ALL, 20, false)),
+        Map.entry("road", new Highway(ALL, 30, false)),
+        Map.entry("track", new Highway(WALK | BIKE, 15, false)),
+        Map.entry("cycleway", new Highway(WALK | BIKE, 0, false)),
+        Map.entry("path", new Highway(WALK | BIKE, 0, false)),
+        Map.entry("footway", new Highway(WALK, 0, false)),
+        Map.entry("pedestrian", new Highway(WALK, 0, false)),
+        Map.entry("bridleway", new Highway(WALK, 0, false)),
+        Map.entry("steps", new Highway(WALK, 0, false))
+    );
+
+    private OsmRoads() {
+    }
+
+    /**
+     * Adds the way to {@code builder} if it is a road anyone may use.
+     */
+    static void add(RoadGraphBuilder builder, long[] refs, int count, OsmTags tags) {
+        String type = tags.get("highway");
+        Highway highway = type != null ? HIGHWAYS.get(type) : null;
+        if (highway == null || "yes".equals(tags.get("area")))
+            return;
+
+        int modes = highway.modes();
+        if (denies(tags.get("access")))
+            modes = 0;
+        modes = override(modes, WALK, tags.get("foot"));
+        modes = override(modes, BIKE, tags.get("bicycle"));
+        modes = override(modes, CAR, tags.get("motor_vehicle"));
+        modes = override(modes, CAR, tags.get("motorcar"));
+
+        int forward = modes;
+        int backward = modes;
+        String oneway = tags.get("oneway");
+        boolean roundabout = "roundabout".equals(tags.get("junction"));
+        if ("-1".equals(oneway) || "reverse".equals(oneway)) {
+            forward &= ~(CAR | BIKE);
+        } else if ("yes".equals(oneway) || "true".equals(oneway) || "1".equals(oneway)
+            || (oneway == null && (highway.oneway() || roundabout))) {
+            backward &= ~(CAR | BIKE);
+        }
+        if ("no".equals(tags.get("oneway:bicycle"))) {
+            forward |= modes & BIKE;
+            backward |= modes & BIKE;
+        }
+
+        int speed = speedKmh(tags.get("maxspeed"), highway.speedKmh() > 0 ? highway.speedKmh() : 30);
+        builder.addWay(refs, count, forward, backward, speed);
+    }
+
+    private static boolean denies(String value) {
+        return "no".equals(value) || "private".equals(value) || "use_sidepath".equals(value);
+    }
+
+    private static boolean allows(String value) {
+        return "yes".equals(value) || "designated".equals(value)
+            || "permissive".equals(value) || "destination".equals(value);
+    }
+
+    private static int override(int modes, int mode, String value) {
+        if (denies(value))
+            return modes & ~mode;
+        if (allows(value))
+            return modes | mode;
+        return modes;
+    }
+
+    /**
+     * @return the numeric {@code maxspeed} in km/h, {@code fallback} for
+     *         symbolic values such as {@code none} or {@code PL:urban}
+     */
+    static int speedKmh(String maxspeed, int fallback) {
+        if (maxspeed == null)
+            return fallback;
+        String value = maxspeed.trim().toLowerCase(Locale.ROOT);
+        double factor = 1.0;
+        if (value.endsWith("mph")) {
+            factor = 1.609344;
+            value = value.substring(0, value.length() - 3).trim();
+        } else if (value.endsWith("km/h")) {
+            value = value.substring(0, value.length() - 4).trim();
+        }
+        try {
+            int speed = (int) Math.round(Double.parseDouble(value) * factor);
+            return speed > 0 ? Math.min(255, speed) : fallback;
+        } catch (NumberFormatException e) {
+            return fallback;
+        }
+    }
+
+}
@@ -0,0 +1,45 @@
+package com.veer.route.graph.osm;
+
+import java.util.Arrays;
+
+/**
+ * Tags of the element being read. The instance is reused for the next
+ * element, so keep values rather than the tags themselves.
+ */
+public final class OsmTags {
+
+    private String[] keys = new String[16];
+
+    private String[] values = new String[16];
+
+    private int size;
+
+    void clear() {
+        size = 0;
+    }
+
+    void add(String key, String value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size++] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the value of {@code key}, or null if the element has no such tag
+     */
+    public String get(String key) {
+        for (int i = 0; i < size; i++) {
+            if (keys[i].equals(key))
+                return values[i];
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,343 @@
+package com.veer.route.graph.osm;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Streaming reader of OSM PBF extracts, as published by Geofabrik and
+ * others: a sequence of blobs, each a zlib-compressed block of nodes,
+ * ways or relations sharing a string table.
+ *
+ * Only what routing and points of interest need is decoded: node
+ * positions (plain and dense), node tags when asked for, and ways with
+ * their tags and node references. Relations, metadata and blocks of
+ * elements not asked for are skipped.
+ */
+public final class PbfReader {
+
+    /**
+     * {@code NODE_TAGS} reads nodes with their tags, passed to
+     * {@link OsmHandler#node(long, double, double, OsmTags)}.
+     */
+    public enum Element { NODES, NODE_TAGS, WAYS }
+
+    // limits from the format specification
+    private static final int MAX_HEADER_BYTES = 64 * 1024;
+
+    private static final int MAX_BLOB_BYTES = 32 * 1024 * 1024;
+
+    private static final Set<String> SUPPORTED_FEATURES = Set.of("OsmSchema-V0.6", "DenseNodes");
+
+    private final boolean nodes;
+
+    private final boolean nodeTags;
+
+    private final boolean ways;
+
+    private final OsmHandler handler;
+
+    private final Inflater inflater = new Inflater();
+
+    private final OsmTags tags = new OsmTags();
+
+    private long[] refs = new long[256];
+
+    private PbfReader(Set<Element> elements, OsmHandler handler) {
+        this.nodeTags = elements.contains(Element.NODE_TAGS);
+        this.nodes = nodeTags || elements.contains(Element.NODES);
+        this.ways = elements.contains(Element.WAYS);
+        this.handler = handler;
+    }
+
+    /**
+     * Passes the {@code elements} of {@code file} to {@code handler} in
+     * file order, which for extracts is all nodes before all ways.
+     */
+    public static void read(Path file, Set<Element> elements, OsmHandler handler) throws IOException {
+        PbfReader reader = new PbfReader(elements, handler);
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            reader.read(input);
+        } finally {
+            reader.inflater.end();
+        }
+    }
+
+    private void read(DataInputStream input) throws IOException {
+        while (true) {
+            int headerLength;
+            try {
+                headerLength = input.readInt();
+            } catch (EOFException e) {
+                return;
+            }
+            if (headerLength < 0 || headerLength > MAX_HEADER_BYTES)
+                throw new IOException("Invalid blob header length " + headerLength);
+            byte[] header = new byte[headerLength];
+            input.readFully(header);
+
+            String type = null;
+            int dataLength = -1;
+            ProtobufInput blobHeader = new ProtobufInput(header, 0, headerLength);
+            while (blobHeader.hasMore()) {
+                int tag = blobHeader.readTag();
+                switch (tag) {
+                    case 1 << 3 | ProtobufInput.LENGTH_DELIMITED -> type = blobHeader.readString();
+                    case 3 << 3 | ProtobufInput.VARINT -> dataLength = (int) blobHeader.readVarint();
+                    default -> blobHeader.skip(tag);
+                }
+            }
+            if (type == null || dataLength < 0 || dataLength > MAX_BLOB_BYTES)
+                throw new IOException("Invalid blob header");
+            byte[] blob = new byte[dataLength];
+            input.readFully(blob);
+
+            if ("OSMHeader".equals(type))
+                checkHeader(data(blob));
+            else if ("OSMData".equals(type))
+                readBlock(data(blob));
+        }
+    }
+
+    private byte[] data(byte[] blob) throws IOException {
+        ProtobufInput input = new ProtobufInput(blob, 0, blob.length);
+        int rawSize = -1;
+        byte[] compressed = null;
+        while (input.hasMore()) {
+            int tag = input.readTag();
+            switch (tag) {
+                case 1 << 3 | ProtobufInput.LENGTH_DELIMITED -> {
+                    return input.readBytes();
+                }
+                case 2 << 3 | ProtobufInput.VARINT -> rawSize = (int) input.readVarint();
+                case 3 << 3 | ProtobufInput.LENGTH_DELIMITED -> compressed = input.readBytes();
+                case 4 << 3 | ProtobufInput.LENGTH_DELIMITED, 6 << 3 | ProtobufInput.LENGTH_DELIMITED,
+                    7 << 3 | ProtobufInput.LENGTH_DELIMITED ->
+                    throw new IOException("Unsupported blob compression, only zlib is read");
+                default -> input.skip(tag);
+            }
+        }
+        if (compressed == null || rawSize < 0 || rawSize > MAX_BLOB_BYTES)
+            throw new IOException("Invalid blob");
+        byte[] data = new byte[rawSize];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int length = 0;
+            while (length < rawSize && !inflater.finished()) {
+                int inflated = inflater.inflate(data, length, rawSize - length);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+                    break;
+                length += inflated;
+            }
+            if (length != rawSize)
+                throw new IOException("Blob inflates to " + length + " bytes instead of " + rawSize);
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt blob", e);
+        }
+        return data;
+    }
+
+    private void checkHeader(byte[] data) throws IOException {
+        ProtobufInput input = new ProtobufInput(data, 0, data.length);
+        while (input.hasMore()) {
+            int tag = input.readTag();
+            if (tag == (4 << 3 | ProtobufInput.LENGTH_DELIMITED)) {
+                String feature = input.readString();
+                if (!SUPPORTED_FEATURES.contains(feature))
+                    throw new IOException("Unsupported required feature " + feature);
+            } else {
+                input.skip(tag);
+            }
+        }
+    }
+
+    private void readBlock(byte[] data) throws IOException {
+        ProtobufInput input = new ProtobufInput(data, 0, data.length);
+        List<String> strings = new ArrayList<>();
+        List<ProtobufInput> groups = new ArrayList<>();
+        int granularity = 100;
+        long latitudeOffset = 0;
+        long longitudeOffset = 0;
+        while (input.hasMore()) {
+            int tag = input.readTag();
+            switch (tag) {
+                case 1 << 3 | ProtobufInput.LENGTH_DELIMITED -> {
+                    ProtobufInput table = input.readMessage();
+                    while (table.hasMore()) {
+                        int entry = table.readTag();
+                        if (entry == (1 << 3 | ProtobufInput.LENGTH_DELIMITED))
+                            strings.add(table.readString());
+                        else
+                            table.skip(entry);
+                    }
+                }
+                case 2 << 3 | ProtobufInput.LENGTH_DELIMITED -> groups.add(input.readMessage());
+                case 17 << 3 | ProtobufInput.VARINT -> granularity = (int) input.readVarint();
+                case 19 << 3 | ProtobufInput.VARINT -> latitudeOffset = input.readVarint();
+                case 20 << 3 | ProtobufInput.VARINT -> longitudeOffset = input.readVarint();
+                default -> input.skip(tag);
+            }
+        }
+
+        Block block = new Block(strings.toArray(new String[0]), granularity, latitudeOffset, longitudeOffset);
+        for (ProtobufInput group : groups) {
+            while (group.hasMore()) {
+                int tag = group.readTag();
+                if (nodes && tag == (1 << 3 | ProtobufInput.LENGTH_DELIMITED))
+                    readNode(group.readMessage(), block);
+                else if (nodes && tag == (2 << 3 | ProtobufInput.LENGTH_DELIMITED))
+                    readDenseNodes(group.readMessage(), block);
+                else if (ways && tag == (3 << 3 | ProtobufInput.LENGTH_DELIMITED))
+                    readWay(group.readMessage(), block);
+                else
+                    group.skip(tag);
+            }
+        }
+    }
+
+    private void readNode(ProtobufInput input, Block block) throws IOException {
+        long id = 0;
+        long latitude = 0;
+        long longitude = 0;
+        ProtobufInput keys = null;
+        ProtobufInput values = null;
+        while (input.hasMore()) {
+            int tag = input.readTag();
+            switch (tag) {
+                case 1 << 3 | ProtobufInput.VARINT -> id = input.readSignedVarint();
+                case 2 << 3 | ProtobufInput.LENGTH_DELIMITED -> keys = input.readMessage();
+                case 3 << 3 | ProtobufInput.LENGTH_DELIMITED -> values = input.readMessage();
+                case 8 << 3 | ProtobufInput.VARINT -> latitude = input.readSignedVarint();
+                case 9 << 3 | ProtobufInput.VARINT -> longitude = input.readSignedVarint();
+                default -> input.skip(tag);
+            }
+        }
+        if (!nodeTags) {
+            handler.node(id, block.latitude(latitude), block.longitude(longitude));
+            return;
+        }
+        tags.clear();
+        if (keys != null && values != null) {
+            while (keys.hasMore() && values.hasMore())
+                tags.add(block.string(keys.readVarint()), block.string(values.readVarint()));
+        }
+        handler.node(id, block.latitude(latitude), block.longitude(longitude), tags);
+    }
+
+    // ids and positions are delta coded, each in a packed field of its own;
+    // tags of all nodes are in one, as key and value pairs ending in 0 per node
+    private void readDenseNodes(ProtobufInput input, Block block) throws IOException {
+        ProtobufInput ids = null;
+        ProtobufInput latitudes = null;
+        ProtobufInput longitudes = null;
+        ProtobufInput keysValues = null;
+        while (input.hasMore()) {
+            int tag = input.readTag();
+            switch (tag) {
+                case 1 << 3 | ProtobufInput.LENGTH_DELIMITED -> ids = input.readMessage();
+                case 8 << 3 | ProtobufInput.LENGTH_DELIMITED -> latitudes = input.readMessage();
+                case 9 << 3 | ProtobufInput.LENGTH_DELIMITED -> longitudes = input.readMessage();
+                case 10 << 3 | ProtobufInput.LENGTH_DELIMITED -> keysValues = input.readMessage();
+                default -> input.skip(tag);
+            }
+        }
+        if (ids == null || latitudes == null || longitudes == null)
+            return;
+        long id = 0;
+        long latitude = 0;
+        long longitude = 0;
+        while (ids.hasMore()) {
+            id += ids.readSignedVarint();
+            latitude += latitudes.readSignedVarint();
+            longitude += longitudes.readSignedVarint();
+            if (!nodeTags) {
+                handler.node(id, block.latitude(latitude), block.longitude(longitude));
+                continue;
+            }
+            tags.clear();
+            while (keysValues != null && keysValues.hasMore()) {
+                long key = keysValues.readVarint();
+                if (key == 0)
+                    break;
+                tags.add(block.string(key), block.string(keysValues.readVarint()));
+            }
+            handler.node(id, block.latitude(latitude), block.longitude(longitude), tags);
+        }
+    }
+
+    private void readWay(ProtobufInput input, Block block) throws IOException {
+        long id = 0;
+        ProtobufInput keys = null;
+        ProtobufInput values = null;
+        ProtobufInput deltas = null;
+        while (input.hasMore()) {
+            int tag = input.readTag();
+            switch (tag) {
+                case 1 << 3 | ProtobufInput.VARINT -> id = input.readVarint();
+                case 2 << 3 | ProtobufInput.LENGTH_DELIMITED -> keys = input.readMessage();
+                case 3 << 3 | ProtobufInput.LENGTH_DELIMITED -> values = input.readMessage();
+                case 8 << 3 | ProtobufInput.LENGTH_DELIMITED -> deltas = input.readMessage();
+                default -> input.skip(tag);
+            }
+        }
+
+        tags.clear();
+        if (keys != null && values != null) {
+            while (keys.hasMore() && values.hasMore())
+                tags.add(block.string(keys.readVarint()), block.string(values.readVarint()));
+        }
+        int count = 0;
+        long ref = 0;
+        while (deltas != null && deltas.hasMore()) {
+            ref += deltas.readSignedVarint();
+            if (count == refs.length)
+                refs = Arrays.copyOf(refs, count * 2);
+            refs[count++] = ref;
+        }
+        handler.way(id, refs, count, tags);
+    }
+
+    private static final class Block {
+
+        private final String[] strings;
+
+        private final int granularity;
+
+        private final long latitudeOffset;
+
+        private final long longitudeOffset;
+
+        Block(String[] strings, int granularity, long latitudeOffset, long longitudeOffset) {
+            this.strings = strings;
+            this.granularity = granularity;
+            this.latitudeOffset = latitudeOffset;
+            this.longitudeOffset = longitudeOffset;
+        }
+
+        // positions are in nanodegrees
+        double latitude(long value) {
+            return 1e-9 * (latitudeOffset + granularity * value);
+        }
+
+        double longitude(long value) {
+            return 1e-9 * (longitudeOffset + granularity * value);
+        }
+
+        String string(long index) throws IOException {
+            if (index < 0 || index >= strings.length)
+                throw new IOException("String index " + index + " out of the string table");
+            return strings[(int) index];
+        }
+    }
+
+}
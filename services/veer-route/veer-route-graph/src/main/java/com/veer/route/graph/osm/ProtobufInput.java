@@ -0,0 +1,110 @@
+package com.veer.route.graph.osm;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reader of protocol buffer wire format over a byte array, just enough
+ * for the OSM PBF messages. Length-delimited fields are read as views
+ * over the same array, without copying.
+ */
+final class ProtobufInput {
+
+    static final int VARINT = 0;
+
+    static final int FIXED64 = 1;
+
+    static final int LENGTH_DELIMITED = 2;
+
+    static final int FIXED32 = 5;
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private final int limit;
+
+    ProtobufInput(byte[] buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.position = offset;
+        this.limit = offset + length;
+    }
+
+    boolean hasMore() {
+        return position < limit;
+    }
+
+    /**
+     * @return field number and wire type, as {@code number << 3 | type}
+     */
+    int readTag() throws IOException {
+        return (int) readVarint();
+    }
+
+    long readVarint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit)
+                throw new IOException("Truncated varint");
+            byte b = buffer[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    long readSignedVarint() throws IOException {
+        long value = readVarint();
+        return value >>> 1 ^ -(value & 1);
+    }
+
+    /**
+     * The next length-delimited field, as a reader of its own.
+     */
+    ProtobufInput readMessage() throws IOException {
+        int length = readLength();
+        ProtobufInput message = new ProtobufInput(buffer, position, length);
+        position += length;
+        return message;
+    }
+
+    String readString() throws IOException {
+        int length = readLength();
+        String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    byte[] readBytes() throws IOException {
+        int length = readLength();
+        byte[] value = new byte[length];
+        System.arraycopy(buffer, position, value, 0, length);
+        position += length;
+        return value;
+    }
+
+    void skip(int tag) throws IOException {
+        switch (tag & 7) {
+            case VARINT -> readVarint();
+            case FIXED64 -> advance(8);
+            case LENGTH_DELIMITED -> advance(readLength());
+            case FIXED32 -> advance(4);
+            default -> throw new IOException("Unsupported wire type " + (tag & 7));
+        }
+    }
+
+    private int readLength() throws IOException {
+        long length = readVarint();
+        if (length < 0 || length > limit - position)
+            throw new IOException("Truncated field");
+        return (int) length;
+    }
+
+    private void advance(int bytes) throws IOException {
+        if (bytes > limit - position)
+            throw new IOException("Truncated field");
+        position += bytes;
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.veer.route.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("BidirectionalAStar Unit Tests")
+class BidirectionalAStarTest {
+
+    private static final int WALK = RoadProfile.WALK.bit();
+
+    private static final int ALL = RoadProfile.WALK.bit() | RoadProfile.BIKE.bit() | RoadProfile.CAR.bit();
+
+    /**
+     * Grid of {@code size} x {@code size} nodes about 300 m apart, with some
+     * streets missing, some one-way for vehicles and random car speeds.
+     */
+    static RoadGraph randomGrid(int size, long seed) {
+        Random random = new Random(seed);
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                long id = (long) row * size + column;
+                if (column + 1 < size && random.nextDouble() < 0.9)
+                    builder.addWay(new long[] {id, id + 1}, 2, ALL, random.nextInt(6) == 0 ? WALK : ALL, 20 + random.nextInt(100));
+                if (row + 1 < size && random.nextDouble() < 0.9)
+                    builder.addWay(new long[] {id, id + size}, 2, random.nextInt(6) == 0 ? WALK : ALL, ALL, 20 + random.nextInt(100));
+            }
+        }
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++)
+                builder.setNode((long) row * size + column,
+                    50 + row * 0.003 + random.nextDouble() * 0.001,
+                    19 + column * 0.004 + random.nextDouble() * 0.001);
+        }
+        return builder.build();
+    }
+
+    // plain Dijkstra as the reference
+    static double fastest(RoadGraph graph, RoadProfile profile, int source, int target) {
+        double[] costs = new double[graph.nodeCount()];
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        costs[source] = 0;
+        PriorityQueue<double[]> queue = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+        queue.add(new double[] {0, source});
+        while (!queue.isEmpty()) {
+            double[] entry = queue.poll();
+            int node = (int) entry[1];
+            if (entry[0] > costs[node])
+                continue;
+            for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                if (!graph.canTravel(edge, profile))
+                    continue;
+                double cost = costs[node] + graph.travelSeconds(edge, profile);
+                if (cost < costs[graph.target(edge)]) {
+                    costs[graph.target(edge)] = cost;
+                    queue.add(new double[] {cost, graph.target(edge)});
+                }
+            }
+        }
+        return costs[target];
+    }
+
+    @Nested
+    @DisplayName("Route Tests")
+    class RouteTests {
+
+        @Test
+        @DisplayName("Should find the fastest path for every profile")
+        void shouldMatchDijkstra() {
+            // Given
+            RoadGraph graph = randomGrid(40, 7);
+            Random random = new Random(11);
+
+            for (int query = 0; query < 150; query++) {
+                RoadProfile profile = RoadProfile.values()[query % 3];
+                int source = random.nextInt(graph.nodeCount());
+                int target = random.nextInt(graph.nodeCount());
+
+                // When
+                RoadPath path = new BidirectionalAStar(graph, profile).route(source, target);
+
+                // Then
+                double expected = fastest(graph, profile, source, target);
+                if (Double.isInfinite(expected)) {
+                    assertThat(path).isNull();
+                    continue;
+                }
+                assertThat(path.getDurationSeconds()).isCloseTo(expected, within(1e-6 * Math.max(1, expected)));
+                assertThat(path.getNodes()[0]).isEqualTo(source);
+                assertThat(path.getNodes()[path.getNodes().length - 1]).isEqualTo(target);
+            }
+        }
+
+        @Test
+        @DisplayName("Should follow one-way streets by car and walk against them")
+        void shouldRespectOneWayStreets() {
+            // Given - 1 -> 2 is one-way for cars, 2 -> 3 -> 1 the long way back
+            RoadGraphBuilder builder = new RoadGraphBuilder();
+            builder.addWay(new long[] {1, 2}, 2, ALL, WALK, 50);
+            builder.addWay(new long[] {2, 3, 1}, 3, ALL, ALL, 50);
+            builder.setNode(1, 52.0, 21.0);
+            builder.setNode(2, 52.0, 21.01);
+            builder.setNode(3, 52.01, 21.005);
+            RoadGraph graph = builder.build();
+            int one = graph.nearestNode(52.0, 21.0, RoadProfile.CAR, 10);
+            int two = graph.nearestNode(52.0, 21.01, RoadProfile.CAR, 10);
+
+            // When
+            RoadPath car = new BidirectionalAStar(graph, RoadProfile.CAR).route(two, one);
+            RoadPath walk = new BidirectionalAStar(graph, RoadProfile.WALK).route(two, one);
+
+            // Then
+            assertThat(car.getNodes()).hasSize(3);
+            assertThat(walk.getNodes()).containsExactly(two, one);
+            assertThat(walk.getDistanceMeters()).isCloseTo(684.6, within(1.0));
+        }
+
+        @Test
+        @DisplayName("Should return null when the target cannot be reached")
+        void shouldReturnNullWhenUnreachable() {
+            // Given - a footway only
+            RoadGraphBuilder builder = new RoadGraphBuilder();
+            builder.addWay(new long[] {1, 2}, 2, WALK, WALK, 0);
+            builder.setNode(1, 52.0, 21.0);
+            builder.setNode(2, 52.0, 21.01);
+            RoadGraph graph = builder.build();
+
+            // Then
+            assertThat(new BidirectionalAStar(graph, RoadProfile.CAR).route(0, 1)).isNull();
+            assertThat(new BidirectionalAStar(graph, RoadProfile.WALK).route(0, 1)).isNotNull();
+        }
+    }
+
+}
@@ -0,0 +1,177 @@
+package com.veer.route.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static com.veer.route.graph.BidirectionalAStarTest.fastest;
+import static com.veer.route.graph.BidirectionalAStarTest.randomGrid;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ContractionHierarchy Unit Tests")
+class ContractionHierarchyTest {
+
+    @TempDir
+    Path directory;
+
+    @Nested
+    @DisplayName("Route Tests")
+    class RouteTests {
+
+        @Test
+        @DisplayName("Should find the fastest path for every profile")
+        void shouldMatchDijkstra() {
+            // Given
+            RoadGraph graph = randomGrid(40, 7);
+            Random random = new Random(11);
+
+            for (RoadProfile profile : RoadProfile.values()) {
+                ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph, profile).build();
+                for (int query = 0; query < 100; query++) {
+                    int source = random.nextInt(graph.nodeCount());
+                    int target = random.nextInt(graph.nodeCount());
+
+                    // When
+                    RoadPath path = hierarchy.route(source, target);
+
+                    // Then
+                    double expected = fastest(graph, profile, source, target);
+                    if (Double.isInfinite(expected)) {
+                        assertThat(path).isNull();
+                        continue;
+                    }
+                    assertThat(path.getDurationSeconds()).isCloseTo(expected, within(1e-6 * Math.max(1, expected)));
+                    assertThat(path.getNodes()[0]).isEqualTo(source);
+                    assertThat(path.getNodes()[path.getNodes().length - 1]).isEqualTo(target);
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should unpack shortcuts into consecutive road edges")
+        void shouldUnpackShortcuts() {
+            // Given
+            RoadGraph graph = randomGrid(30, 3);
+            ContractionHierarchy hierarchy = new ContractionHierarchyBuilder(graph, RoadProfile.CAR).build();
+
+            // When
+            RoadPath path = hierarchy.route(0, graph.nodeCount() - 1);
+            RoadPath expected = new BidirectionalAStar(graph, RoadProfile.CAR).route(0, graph.nodeCount() - 1);
+
+            // Then - the same length as measured along the graph
+            int[] nodes = path.getNodes();
+            for (int i = 1; i < nodes.length; i++) {
+                boolean connected = false;
+                for (int edge = graph.firstEdge(nodes[i - 1]); edge < graph.endEdge(nodes[i - 1]); edge++)
+                    connected |= graph.target(edge) == nodes[i] && graph.canTravel(edge, RoadProfile.CAR);
+                assertThat(connected).isTrue();
+            }
+            assertThat(path.getDurationSeconds()).isCloseTo(expected.getDurationSeconds(), within(1e-6));
+            assertThat(path.getDistanceMeters()).isCloseTo(expected.getDistanceMeters(), within(1.0));
+        }
+    }
+
+    @Nested
+    @DisplayName("Matrix Tests")
+    class MatrixTests {
+
+        @Test
+        @DisplayName("Should match Dijkstra in every cell, with buckets and without")
+        void shouldMatchDijkstra() {
+            // Given - a missing point and a target given twice
+            RoadGraph graph = randomGrid(30, 9);
+            Random random = new Random(13);
+            int[] sources = random.ints(12, 0, graph.nodeCount()).toArray();
+            int[] targets = random.ints(10, 0, graph.nodeCount()).toArray();
+            sources[3] = -1;
+            targets[7] = targets[2];
+
+            for (RoadProfile profile : RoadProfile.values()) {
+                MatrixSearch[] searches = {
+                    new ContractionHierarchyBuilder(graph, profile).build(),
+                    new DijkstraMatrix(graph, profile)
+                };
+                for (MatrixSearch search : searches) {
+                    float[] durations = new float[sources.length * targets.length];
+                    float[] distances = new float[durations.length];
+
+                    // When
+                    search.matrix(sources, targets, durations, distances);
+
+                    // Then
+                    for (int i = 0; i < sources.length; i++) {
+                        for (int j = 0; j < targets.length; j++) {
+                            float duration = durations[i * targets.length + j];
+                            double expected = sources[i] < 0
+                                ? Double.POSITIVE_INFINITY
+                                : fastest(graph, profile, sources[i], targets[j]);
+                            if (Double.isInfinite(expected)) {
+                                assertThat(duration).isNaN();
+                                assertThat(distances[i * targets.length + j]).isNaN();
+                            } else {
+                                assertThat((double) duration).isCloseTo(expected, within(1e-4 * Math.max(1, expected)));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("File Tests")
+    class FileTests {
+
+        @Test
+        @DisplayName("Should route the same after a save and load")
+        void shouldRoundTrip() throws IOException {
+            // Given
+            RoadGraph graph = randomGrid(20, 5);
+            ContractionHierarchy built = new ContractionHierarchyBuilder(graph, RoadProfile.BIKE).build();
+            Path graphFile = directory.resolve("warsaw.graph");
+            Path file = ContractionHierarchy.file(graphFile, RoadProfile.BIKE);
+
+            // When
+            built.save(file);
+            ContractionHierarchy loaded = ContractionHierarchy.load(file, graph, RoadProfile.BIKE);
+
+            // Then
+            assertThat(file.getFileName().toString()).isEqualTo("warsaw.graph.bike.ch");
+            assertThat(loaded.upArcCount()).isEqualTo(built.upArcCount());
+            for (int node = 0; node < graph.nodeCount(); node += 7) {
+                RoadPath expected = built.route(0, node);
+                RoadPath actual = loaded.route(0, node);
+                if (expected == null) {
+                    assertThat(actual).isNull();
+                    continue;
+                }
+                assertThat(actual.getNodes()).containsExactly(expected.getNodes());
+            }
+        }
+
+        @Test
+        @DisplayName("Should refuse a hierarchy of another graph or profile")
+        void shouldRejectMismatch() throws IOException {
+            // Given
+            RoadGraph graph = randomGrid(20, 5);
+            Path file = directory.resolve("warsaw.graph.car.ch");
+            new ContractionHierarchyBuilder(graph, RoadProfile.CAR).build().save(file);
+
+            // Then
+            assertThatThrownBy(() -> ContractionHierarchy.load(file, randomGrid(20, 6), RoadProfile.CAR))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("another road graph");
+            assertThatThrownBy(() -> ContractionHierarchy.load(file, graph, RoadProfile.WALK))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("not a hierarchy for WALK");
+        }
+    }
+
+}
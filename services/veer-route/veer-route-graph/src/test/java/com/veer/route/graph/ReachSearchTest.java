@@ -0,0 +1,58 @@
+package com.veer.route.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ReachSearch Unit Tests")
+class ReachSearchTest {
+
+    @Nested
+    @DisplayName("Reach Tests")
+    class ReachTests {
+
+        @Test
+        @DisplayName("Should settle exactly the nodes within the limit, in order of time")
+        void shouldMatchDijkstra() {
+            // Given
+            RoadGraph graph = BidirectionalAStarTest.randomGrid(20, 5);
+            int source = 10 * 20 + 10;
+
+            for (RoadProfile profile : RoadProfile.values()) {
+                // When
+                ReachSearch.Reach reach = new ReachSearch(graph, profile).reach(source, 10, 300);
+
+                // Then
+                int expected = 0;
+                for (int node = 0; node < graph.nodeCount(); node++) {
+                    if (10 + BidirectionalAStarTest.fastest(graph, profile, source, node) <= 300)
+                        expected++;
+                }
+                assertThat(reach.size()).as(profile.name()).isEqualTo(expected);
+                for (int i = 0; i < reach.size(); i++) {
+                    assertThat(reach.seconds(i))
+                        .isCloseTo(10 + BidirectionalAStarTest.fastest(graph, profile, source, reach.node(i)), within(1e-6));
+                    if (i > 0)
+                        assertThat(reach.seconds(i)).isGreaterThanOrEqualTo(reach.seconds(i - 1));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should reach nothing when the start is already past the limit")
+        void shouldReachNothingPastTheLimit() {
+            // Given
+            RoadGraph graph = BidirectionalAStarTest.randomGrid(5, 5);
+
+            // When
+            ReachSearch.Reach reach = new ReachSearch(graph, RoadProfile.WALK).reach(0, 120, 60);
+
+            // Then
+            assertThat(reach.size()).isZero();
+        }
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.veer.route.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("RoadGraph Unit Tests")
+class RoadGraphTest {
+
+    @TempDir
+    Path directory;
+
+    private static final int WALK = RoadProfile.WALK.bit();
+
+    private static final int CAR = RoadProfile.CAR.bit();
+
+    // a street in Warsaw and, cells away, a footpath
+    private static RoadGraph warsaw() {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        builder.addWay(new long[] {10, 11, 12}, 3, WALK | CAR, WALK | CAR, 50);
+        builder.addWay(new long[] {20, 21}, 2, WALK, WALK, 0);
+        builder.setNode(10, 52.2297, 21.0122);
+        builder.setNode(11, 52.2310, 21.0140);
+        builder.setNode(12, 52.2330, 21.0160);
+        builder.setNode(20, 52.2500, 21.0500);
+        builder.setNode(21, 52.2505, 21.0505);
+        return builder.build();
+    }
+
+    @Nested
+    @DisplayName("Build Tests")
+    class BuildTests {
+
+        @Test
+        @DisplayName("Should store every segment as an edge in each direction")
+        void shouldStoreBothDirections() {
+            RoadGraph graph = warsaw();
+
+            assertThat(graph.nodeCount()).isEqualTo(5);
+            assertThat(graph.edgeCount()).isEqualTo(6);
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                for (int edge = graph.firstEdge(node); edge < graph.endEdge(node); edge++) {
+                    int back = -1;
+                    for (int e = graph.firstEdge(graph.target(edge)); e < graph.endEdge(graph.target(edge)); e++) {
+                        if (graph.target(e) == node)
+                            back = e;
+                    }
+                    assertThat(back).isNotNegative();
+                    assertThat(graph.lengthMeters(back)).isEqualTo(graph.lengthMeters(edge));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("Should drop segments at nodes without a position")
+        void shouldDropUnpositionedNodes() {
+            // Given
+            RoadGraphBuilder builder = new RoadGraphBuilder();
+            builder.addWay(new long[] {1, 2, 3}, 3, WALK, WALK, 0);
+            builder.setNode(1, 52.0, 21.0);
+            builder.setNode(2, 52.0, 21.001);
+
+            // When
+            RoadGraph graph = builder.build();
+
+            // Then
+            assertThat(graph.nodeCount()).isEqualTo(2);
+            assertThat(graph.edgeCount()).isEqualTo(2);
+        }
+    }
+
+    @Nested
+    @DisplayName("Nearest Node Tests")
+    class NearestNodeTests {
+
+        @Test
+        @DisplayName("Should find the closest node the profile may use")
+        void shouldFindClosestUsableNode() {
+            RoadGraph graph = warsaw();
+
+            int walk = graph.nearestNode(52.2504, 21.0504, RoadProfile.WALK, 500);
+            int car = graph.nearestNode(52.2504, 21.0504, RoadProfile.CAR, 5000);
+
+            assertThat(graph.latitude(walk)).isCloseTo(52.2505, within(1e-7));
+            assertThat(graph.latitude(car)).isCloseTo(52.2330, within(1e-7));
+        }
+
+        @Test
+        @DisplayName("Should return -1 when nothing is within the distance")
+        void shouldReturnMinusOneWhenTooFar() {
+            RoadGraph graph = warsaw();
+
+            assertThat(graph.nearestNode(52.2504, 21.0504, RoadProfile.CAR, 500)).isEqualTo(-1);
+            assertThat(graph.nearestNode(50.0614, 19.9366, RoadProfile.WALK, 500)).isEqualTo(-1);
+        }
+    }
+
+    @Nested
+    @DisplayName("File Tests")
+    class FileTests {
+
+        @Test
+        @DisplayName("Should map a saved graph with the same nodes and edges")
+        void shouldRoundTrip() throws IOException {
+            // Given
+            RoadGraph graph = warsaw();
+            Path file = directory.resolve("warsaw.graph");
+
+            // When
+            graph.save(file);
+            RoadGraph loaded = RoadGraph.load(file);
+
+            // Then
+            assertThat(loaded.nodeCount()).isEqualTo(graph.nodeCount());
+            assertThat(loaded.edgeCount()).isEqualTo(graph.edgeCount());
+            for (int node = 0; node < graph.nodeCount(); node++) {
+                assertThat(loaded.latitude(node)).isEqualTo(graph.latitude(node));
+                assertThat(loaded.longitude(node)).isEqualTo(graph.longitude(node));
+                assertThat(loaded.firstEdge(node)).isEqualTo(graph.firstEdge(node));
+            }
+            for (int edge = 0; edge < graph.edgeCount(); edge++) {
+                assertThat(loaded.target(edge)).isEqualTo(graph.target(edge));
+                assertThat(loaded.lengthMeters(edge)).isEqualTo(graph.lengthMeters(edge));
+                assertThat(loaded.speedKmh(edge)).isEqualTo(graph.speedKmh(edge));
+                for (RoadProfile profile : RoadProfile.values())
+                    assertThat(loaded.canTravel(edge, profile)).isEqualTo(graph.canTravel(edge, profile));
+            }
+            assertThat(loaded.nearestNode(52.2504, 21.0504, RoadProfile.WALK, 500))
+                .isEqualTo(graph.nearestNode(52.2504, 21.0504, RoadProfile.WALK, 500));
+        }
+
+        @Test
+        @DisplayName("Should reject files that are not a complete graph")
+        void shouldRejectCorruptFiles() throws IOException {
+            // Given
+            Path file = directory.resolve("warsaw.graph");
+            warsaw().save(file);
+            byte[] bytes = Files.readAllBytes(file);
+            Path truncated = directory.resolve("truncated.graph");
+            Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+            Path other = directory.resolve("other.graph");
+            Files.write(other, new byte[64]);
+
+            // Then
+            assertThatThrownBy(() -> RoadGraph.load(truncated)).isInstanceOf(IOException.class);
+            assertThatThrownBy(() -> RoadGraph.load(other)).isInstanceOf(IOException.class);
+        }
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.veer.route.graph.osm;
+
+import com.veer.route.graph.BidirectionalAStar;
+import com.veer.route.graph.RoadGraph;
+import com.veer.route.graph.RoadPath;
+import com.veer.route.graph.RoadProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.offset;
+
+@DisplayName("OsmGraphImporter Unit Tests")
+class OsmGraphImporterTest {
+
+    @TempDir
+    Path directory;
+
+    /*
+     * 1 - 2 - 3   residential street
+     * |       |   footway 3 - 4
+     * 5 ----- 4   primary, one-way 4 -> 5 -> 1
+     *
+     * plus a building and a private motorway to node 9 far away
+     */
+    private Path extract() throws IOException {
+        Path file = directory.resolve("warsaw.osm.pbf");
+        new PbfFixture()
+            .node(1, 52.2300, 21.0100)
+            .node(2, 52.2310, 21.0100)
+            .node(3, 52.2320, 21.0100)
+            .node(4, 52.2320, 21.0120)
+            .node(5, 52.2300, 21.0120)
+            .node(9, 52.3000, 21.1000, "tourism", "viewpoint", "name", "Kopiec")
+            .way(100, new long[] {1, 2, 3}, "highway", "residential", "name", "Marszałkowska")
+            .way(101, new long[] {3, 4}, "highway", "footway")
+            .way(102, new long[] {4, 5, 1}, "highway", "primary", "oneway", "yes", "maxspeed", "50")
+            .way(103, new long[] {1, 9}, "highway", "motorway", "access", "no")
+            .way(104, new long[] {2, 9}, "building", "yes")
+            .write(file);
+        return file;
+    }
+
+    @Nested
+    @DisplayName("Reader Tests")
+    class ReaderTests {
+
+        @Test
+        @DisplayName("Should read dense nodes and ways with their tags")
+        void shouldReadNodesAndWays() throws IOException {
+            // Given
+            Path file = extract();
+            List<Long> nodes = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+
+            // When
+            PbfReader.read(file, EnumSet.allOf(PbfReader.Element.class), new OsmHandler() {
+                @Override
+                public void node(long id, double latitude, double longitude) {
+                    nodes.add(id);
+                    if (id == 4) {
+                        assertThat(latitude).isEqualTo(52.2320, offset(1e-9));
+                        assertThat(longitude).isEqualTo(21.0120, offset(1e-9));
+                    }
+                }
+
+                @Override
+                public void way(long id, long[] refs, int refCount, OsmTags tags) {
+                    if (id == 100) {
+                        assertThat(refCount).isEqualTo(3);
+                        assertThat(refs[2]).isEqualTo(3);
+                    }
+                    names.add(tags.get("name"));
+                }
+            });
+
+            // Then
+            assertThat(nodes).containsExactly(1L, 2L, 3L, 4L, 5L, 9L);
+            assertThat(names).hasSize(5).contains("Marszałkowska");
+        }
+
+        @Test
+        @DisplayName("Should read node tags only when asked for")
+        void shouldReadNodeTags() throws IOException {
+            // Given
+            Path file = extract();
+            List<String> tagged = new ArrayList<>();
+            List<Long> untagged = new ArrayList<>();
+
+            // When
+            PbfReader.read(file, EnumSet.of(PbfReader.Element.NODE_TAGS), new OsmHandler() {
+                @Override
+                public void node(long id, double latitude, double longitude, OsmTags tags) {
+                    if (tags.size() > 0)
+                        tagged.add(id + ":" + tags.get("tourism") + ":" + tags.get("name"));
+                }
+            });
+            PbfReader.read(file, EnumSet.of(PbfReader.Element.NODES), new OsmHandler() {
+                @Override
+                public void node(long id, double latitude, double longitude) {
+                    untagged.add(id);
+                }
+            });
+
+            // Then
+            assertThat(tagged).containsExactly("9:viewpoint:Kopiec");
+            assertThat(untagged).hasSize(6);
+        }
+
+        @Test
+        @DisplayName("Should reject files that are not PBF")
+        void shouldRejectOtherFiles() throws IOException {
+            Path file = directory.resolve("routes.json");
+            Files.writeString(file, "[{\"name\": \"not an extract\"}]");
+
+            assertThatThrownBy(() -> PbfReader.read(file, EnumSet.allOf(PbfReader.Element.class), new OsmHandler() { }))
+                .isInstanceOf(IOException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Import Tests")
+    class ImportTests {
+
+        @Test
+        @DisplayName("Should keep only roads and their nodes")
+        void shouldKeepRoads() throws IOException {
+            RoadGraph graph = OsmGraphImporter.importGraph(extract());
+
+            // the private motorway and the building are left out, and with them node 9
+            assertThat(graph.nodeCount()).isEqualTo(5);
+            assertThat(graph.edgeCount()).isEqualTo(10);
+        }
+
+        @Test
+        @DisplayName("Should walk on footways and drive one-way streets in their direction only")
+        void shouldApplyAccessAndOneWay() throws IOException {
+            // Given
+            RoadGraph graph = OsmGraphImporter.importGraph(extract());
+            int one = graph.nearestNode(52.2300, 21.0100, RoadProfile.WALK, 10);
+            int four = graph.nearestNode(52.2320, 21.0120, RoadProfile.WALK, 10);
+
+            // When
+            RoadPath walk = new BidirectionalAStar(graph, RoadProfile.WALK).route(one, four);
+            RoadPath driveThere = new BidirectionalAStar(graph, RoadProfile.CAR).route(one, four);
+            RoadPath driveBack = new BidirectionalAStar(graph, RoadProfile.CAR).route(four, one);
+
+            // Then
+            assertThat(walk).isNotNull();
+            assertThat(driveThere).isNull();
+            assertThat(driveBack.getNodes()).hasSize(3);
+            // 50 km/h from maxspeed
+            assertThat(driveBack.getDurationSeconds() * 50 / 3.6)
+                .isEqualTo(driveBack.getDistanceMeters(), offset(1e-3));
+        }
+    }
+
+}
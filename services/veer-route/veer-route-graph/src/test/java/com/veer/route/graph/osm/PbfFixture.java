@@ -0,0 +1,202 @@
+package com.veer.route.graph.osm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes small OSM PBF extracts for tests: a header blob, one block of
+ * dense nodes and one block of ways, zlib compressed as real extracts are.
+ */
+final class PbfFixture {
+
+    private final List<double[]> nodes = new ArrayList<>();
+
+    private final List<String[]> nodeTags = new ArrayList<>();
+
+    private final List<long[]> ways = new ArrayList<>();
+
+    private final List<String[]> wayTags = new ArrayList<>();
+
+    /**
+     * @param tags keys and values, alternating
+     */
+    PbfFixture node(long id, double latitude, double longitude, String... tags) {
+        nodes.add(new double[] {id, latitude, longitude});
+        nodeTags.add(tags);
+        return this;
+    }
+
+    /**
+     * @param tags keys and values, alternating
+     */
+    PbfFixture way(long id, long[] refs, String... tags) {
+        long[] way = new long[refs.length + 1];
+        way[0] = id;
+        System.arraycopy(refs, 0, way, 1, refs.length);
+        ways.add(way);
+        wayTags.add(tags);
+        return this;
+    }
+
+    void write(Path file) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+
+        Message header = new Message();
+        header.string(4, "OsmSchema-V0.6");
+        header.string(4, "DenseNodes");
+        blob(data, "OSMHeader", header.bytes());
+
+        // dense nodes, delta coded, granularity 100 nanodegrees
+        Map<String, Integer> nodeStrings = new LinkedHashMap<>();
+        nodeStrings.put("", 0);
+        Message ids = new Message();
+        Message latitudes = new Message();
+        Message longitudes = new Message();
+        Message keysValues = new Message();
+        long lastId = 0;
+        long lastLatitude = 0;
+        long lastLongitude = 0;
+        for (int n = 0; n < nodes.size(); n++) {
+            double[] node = nodes.get(n);
+            String[] tags = nodeTags.get(n);
+            for (String tag : tags)
+                keysValues.varint(nodeStrings.computeIfAbsent(tag, s -> nodeStrings.size()));
+            keysValues.varint(0);
+            long id = (long) node[0];
+            long latitude = Math.round(node[1] * 1e7);
+            long longitude = Math.round(node[2] * 1e7);
+            ids.signed(id - lastId);
+            latitudes.signed(latitude - lastLatitude);
+            longitudes.signed(longitude - lastLongitude);
+            lastId = id;
+            lastLatitude = latitude;
+            lastLongitude = longitude;
+        }
+        Message dense = new Message();
+        dense.message(1, ids);
+        dense.message(8, latitudes);
+        dense.message(9, longitudes);
+        dense.message(10, keysValues);
+        Message nodeGroup = new Message();
+        nodeGroup.message(2, dense);
+        Message nodeTable = new Message();
+        for (String string : nodeStrings.keySet())
+            nodeTable.string(1, string);
+        Message nodeBlock = new Message();
+        nodeBlock.message(1, nodeTable);
+        nodeBlock.message(2, nodeGroup);
+        blob(data, "OSMData", nodeBlock.bytes());
+
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        strings.put("", 0);
+        Message wayGroup = new Message();
+        for (int w = 0; w < ways.size(); w++) {
+            long[] way = ways.get(w);
+            String[] tags = wayTags.get(w);
+            Message keys = new Message();
+            Message values = new Message();
+            for (int t = 0; t < tags.length; t += 2) {
+                keys.varint(strings.computeIfAbsent(tags[t], s -> strings.size()));
+                values.varint(strings.computeIfAbsent(tags[t + 1], s -> strings.size()));
+            }
+            Message refs = new Message();
+            long last = 0;
+            for (int i = 1; i < way.length; i++) {
+                refs.signed(way[i] - last);
+                last = way[i];
+            }
+            Message message = new Message();
+            message.tag(1, 0).varint(way[0]);
+            message.message(2, keys);
+            message.message(3, values);
+            message.message(8, refs);
+            wayGroup.message(3, message);
+        }
+        Message table = new Message();
+        for (String string : strings.keySet())
+            table.string(1, string);
+        Message wayBlock = new Message();
+        wayBlock.message(1, table);
+        wayBlock.message(2, wayGroup);
+        blob(data, "OSMData", wayBlock.bytes());
+
+        Files.write(file, out.toByteArray());
+    }
+
+    private static void blob(DataOutputStream out, String type, byte[] raw) throws IOException {
+        Deflater deflater = new Deflater();
+        deflater.setInput(raw);
+        deflater.finish();
+        byte[] compressed = new byte[raw.length + 64];
+        int length = deflater.deflate(compressed);
+        deflater.end();
+
+        Message blob = new Message();
+        blob.tag(2, 0).varint(raw.length);
+        blob.tag(3, 2).varint(length);
+        blob.raw(compressed, length);
+        byte[] blobBytes = blob.bytes();
+
+        Message header = new Message();
+        header.string(1, type);
+        header.tag(3, 0).varint(blobBytes.length);
+        byte[] headerBytes = header.bytes();
+        out.writeInt(headerBytes.length);
+        out.write(headerBytes);
+        out.write(blobBytes);
+    }
+
+    private static final class Message {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        Message tag(int field, int type) {
+            return varint((long) field << 3 | type);
+        }
+
+        Message varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+            return this;
+        }
+
+        Message signed(long value) {
+            return varint(value << 1 ^ value >> 63);
+        }
+
+        Message string(int field, String value) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            tag(field, 2).varint(bytes.length);
+            return raw(bytes, bytes.length);
+        }
+
+        Message message(int field, Message message) {
+            byte[] bytes = message.bytes();
+            tag(field, 2).varint(bytes.length);
+            return raw(bytes, bytes.length);
+        }
+
+        Message raw(byte[] bytes, int length) {
+            out.write(bytes, 0, length);
+            return this;
+        }
+
+        byte[] bytes() {
+            return out.toByteArray();
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.veer.route.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Kinds of attractions suggested near a point or along a route. A point of
+ * interest may be of several; the index keeps them as a bit set of
+ * {@link #bit()}s, so there may be at most 32.
+ */
+public enum PoiCategory {
+
+    VIEWPOINT,
+
+    ATTRACTION,
+
+    MUSEUM,
+
+    GALLERY,
+
+    ARTWORK,
+
+    MONUMENT,
+
+    MEMORIAL,
+
+    CASTLE,
+
+    RUINS,
+
+    ARCHAEOLOGICAL_SITE,
+
+    PLACE_OF_WORSHIP,
+
+    PARK,
+
+    ZOO,
+
+    THEME_PARK,
+
+    PICNIC_SITE,
+
+    PEAK,
+
+    WATERFALL,
+
+    CAVE;
+
+    public static final int ALL = (1 << values().length) - 1;
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+
+    /**
+     * @return the bit set of the categories, {@link #ALL} for none or null
+     */
+    public static int mask(Collection<PoiCategory> categories) {
+        if (categories == null || categories.isEmpty())
+            return ALL;
+        int mask = 0;
+        for (PoiCategory category : categories)
+            mask |= category.bit();
+        return mask;
+    }
+
+    public static List<PoiCategory> of(int mask) {
+        List<PoiCategory> categories = new ArrayList<>(Integer.bitCount(mask));
+        for (PoiCategory category : values()) {
+            if ((mask & category.bit()) != 0)
+                categories.add(category);
+        }
+        return categories;
+    }
+
+}
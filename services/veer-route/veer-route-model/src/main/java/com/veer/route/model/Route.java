@@ -1,25 +1,34 @@
 package com.veer.route.model;
 
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.model.geometry.RouteGeometryJavaType;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JavaType;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.type.SqlTypes;
 
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "routes")
+@Table(
+    name = "routes",
+    indexes = {
+        // keyset pagination of a user's routes, see RouteRepository.findSummariesByCreatedBy
+        @Index(name = "idx_routes_created_by_created_at_id", columnList = "created_by, created_at DESC, id DESC"),
+        // public routes best rated first
+        @Index(name = "idx_routes_rating_score", columnList = "rating_score DESC")
+    }
+)
 public class Route {
 
     @Id
@@ -29,9 +38,10 @@ public class Route {
     @Column(name = "created_by", nullable = false)
     private String createdBy;
 
+    @JavaType(RouteGeometryJavaType.class)
     @JdbcTypeCode(SqlTypes.JSON)
     @Column(name = "points", columnDefinition = "jsonb")
-    private List<Map<String, Object>> points;
+    private RouteGeometry points;
 
     @Column(name = "name", nullable = false)
     private String name;
@@ -43,9 +53,29 @@ public class Route {
     @Builder.Default
     private Boolean isPublic = false;
 
+    // mean of the route_ratings stars, null while unrated
     @Column(name = "rating")
     private Double rating;
 
+    // maintained with every rating, see RouteRepository.addRating
+    @Column(name = "rating_count", nullable = false, columnDefinition = "integer not null default 0")
+    @Builder.Default
+    private Integer ratingCount = 0;
+
+    @Column(name = "rating_sum", nullable = false, columnDefinition = "bigint not null default 0")
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    // Bayesian average for ranking, null while unrated
+    @Column(name = "rating_score")
+    private Double ratingScore;
+
+    @Embedded
+    private RouteStatistics statistics;
+
+    @Embedded
+    private RouteDetailLevels detailLevels;
+
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
@@ -54,5 +84,13 @@ public class Route {
     @Column(name = "last_updated", nullable = false)
     private Instant lastUpdated;
 
+    /**
+     * Optimistic lock, also the route's ETag. Left null on new routes so
+     * that save() knows to insert without a select first.
+     */
+    @Version
+    @Column(name = "version", nullable = false, columnDefinition = "bigint not null default 0")
+    private Long version;
+
 }
 
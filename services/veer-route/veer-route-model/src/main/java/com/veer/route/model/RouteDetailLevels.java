@@ -0,0 +1,44 @@
+package com.veer.route.model;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.model.geometry.RouteGeometryJavaType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+/**
+ * Simplified copies of the route points for map previews, computed
+ * whenever the points are written. Each is precise to about one screen
+ * pixel at zoom 8, 11 and 14 respectively, so it can be read instead of
+ * the full points for any zoom up to that one. Null on rows written
+ * before levels of detail existed.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class RouteDetailLevels {
+
+    @JavaType(RouteGeometryJavaType.class)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "points_low", columnDefinition = "jsonb")
+    private RouteGeometry low;
+
+    @JavaType(RouteGeometryJavaType.class)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "points_medium", columnDefinition = "jsonb")
+    private RouteGeometry medium;
+
+    @JavaType(RouteGeometryJavaType.class)
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "points_high", columnDefinition = "jsonb")
+    private RouteGeometry high;
+
+}
@@ -0,0 +1,62 @@
+package com.veer.route.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * One user's stars for one route. The totals on {@link Route} are kept in
+ * step with these rows, so they are only read to answer what a user gave.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(RouteRating.Key.class)
+@Table(name = "route_ratings")
+public class RouteRating {
+
+    public static final int MIN_STARS = 1;
+
+    public static final int MAX_STARS = 5;
+
+    @Id
+    @Column(name = "route_id", nullable = false, updatable = false)
+    private String routeId;
+
+    @Id
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private String userId;
+
+    // only for the foreign key, ratings go with their route
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "route_id", insertable = false, updatable = false,
+        foreignKey = @ForeignKey(name = "fk_route_ratings_route"))
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Route route;
+
+    @Column(name = "stars", nullable = false)
+    private Integer stars;
+
+    @Column(name = "rated_at", nullable = false)
+    private Instant ratedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+
+        private String routeId;
+
+        private String userId;
+    }
+
+}
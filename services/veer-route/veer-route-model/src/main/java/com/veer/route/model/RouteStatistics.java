@@ -0,0 +1,61 @@
+package com.veer.route.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Statistics derived from route points, stored as plain columns on the
+ * routes table so that listings never have to parse the points document.
+ * All columns are nullable: rows created before statistics existed are
+ * filled in on their next update.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class RouteStatistics {
+
+    @Column(name = "length_m")
+    private Double lengthMeters;
+
+    @Column(name = "ascent_m")
+    private Double ascentMeters;
+
+    @Column(name = "descent_m")
+    private Double descentMeters;
+
+    @Column(name = "duration_walk_s")
+    private Long walkDurationSeconds;
+
+    @Column(name = "duration_bike_s")
+    private Long bikeDurationSeconds;
+
+    @Column(name = "duration_car_s")
+    private Long carDurationSeconds;
+
+    @Column(name = "bbox_min_lat")
+    private Double minLatitude;
+
+    @Column(name = "bbox_min_lng")
+    private Double minLongitude;
+
+    @Column(name = "bbox_max_lat")
+    private Double maxLatitude;
+
+    @Column(name = "bbox_max_lng")
+    private Double maxLongitude;
+
+    public Long durationSeconds(TravelProfile profile) {
+        return switch (profile) {
+            case WALK -> walkDurationSeconds;
+            case BIKE -> bikeDurationSeconds;
+            case CAR -> carDurationSeconds;
+        };
+    }
+
+}
@@ -0,0 +1,33 @@
+package com.veer.route.model;
+
+/**
+ * Travel modes used for duration estimates.
+ * Durations follow Naismith-style rules: a flat speed plus a time penalty
+ * for every meter of ascent.
+ */
+public enum TravelProfile {
+
+    WALK(5.0 / 3.6, 6.0),
+
+    BIKE(18.0 / 3.6, 1.2),
+
+    CAR(50.0 / 3.6, 0.0);
+
+    private final double metersPerSecond;
+
+    private final double secondsPerMeterAscent;
+
+    TravelProfile(double metersPerSecond, double secondsPerMeterAscent) {
+        this.metersPerSecond = metersPerSecond;
+        this.secondsPerMeterAscent = secondsPerMeterAscent;
+    }
+
+    public double getMetersPerSecond() {
+        return metersPerSecond;
+    }
+
+    public long estimateDurationSeconds(double lengthMeters, double ascentMeters) {
+        return Math.round(lengthMeters / metersPerSecond + ascentMeters * secondsPerMeterAscent);
+    }
+
+}
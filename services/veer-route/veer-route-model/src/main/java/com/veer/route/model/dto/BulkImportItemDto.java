@@ -0,0 +1,29 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one element of a bulk import request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportItemDto {
+
+    public enum Status { CREATED, INVALID, FAILED }
+
+    // position of the route in the request array
+    private int index;
+
+    // id of the created route, null unless CREATED
+    private String id;
+
+    private Status status;
+
+    private String message;
+
+}
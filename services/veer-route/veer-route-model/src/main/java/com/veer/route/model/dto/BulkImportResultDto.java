@@ -0,0 +1,22 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkImportResultDto {
+
+    private int created;
+
+    private int failed;
+
+    // one entry per array element read, ordered by index
+    private List<BulkImportItemDto> results;
+
+}
@@ -1,5 +1,6 @@
 package com.veer.route.model.dto;
 
+import com.veer.route.model.geometry.RouteGeometry;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -7,8 +8,6 @@ import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
-import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -24,7 +23,7 @@ public class CreateRouteDto {
     private String createdBy;
 
     @NotNull
-    private List<Map<String, Object>> points;
+    private RouteGeometry points;
 
     @NotBlank
     @Size(min = 1, max = 255)
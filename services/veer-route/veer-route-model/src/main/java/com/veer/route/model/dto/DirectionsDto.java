@@ -0,0 +1,33 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.geometry.RouteGeometry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectionsDto {
+
+    private String routeId;
+
+    private TravelProfile profile;
+
+    /*
+     * the stored points with the road nodes between them,
+     * the stored points keep their type, name and timestamp
+     */
+    private RouteGeometry points;
+
+    private Double distanceMeters;
+
+    private Long durationSeconds;
+
+    // legs without a road between their ends, joined by a straight line
+    private Integer unroutedLegs;
+
+}
@@ -0,0 +1,32 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ElevationProfileDto {
+
+    private String routeId;
+
+    // distance along the route to each point, in meters
+    private List<Double> distancesMeters;
+
+    // height of each point in meters, null where unknown
+    private List<Double> elevationsMeters;
+
+    private Double ascentMeters;
+
+    private Double descentMeters;
+
+    private Double minElevationMeters;
+
+    private Double maxElevationMeters;
+
+}
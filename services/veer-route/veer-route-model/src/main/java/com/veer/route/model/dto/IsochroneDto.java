@@ -0,0 +1,24 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochroneDto {
+
+    private Integer minutes;
+
+    /*
+     * GeoJSON MultiPolygon coordinates of the area reached within the time:
+     * polygons of rings of [lng, lat], outer rings counterclockwise, holes clockwise
+     */
+    private List<List<List<double[]>>> coordinates;
+
+}
@@ -0,0 +1,28 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.TravelProfile;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IsochronesDto {
+
+    private TravelProfile profile;
+
+    // the requested origin snapped to the grid searches are cached on
+    private GeoPoint origin;
+
+    // side of the cells the areas are made of
+    private Double cellMeters;
+
+    // one per time limit, shortest first
+    private List<IsochroneDto> isochrones;
+
+}
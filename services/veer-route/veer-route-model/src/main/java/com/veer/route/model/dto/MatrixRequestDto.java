@@ -0,0 +1,32 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.TravelProfile;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatrixRequestDto {
+
+    // rows of the matrix
+    @NotEmpty
+    @Size(max = 1000)
+    private List<GeoPoint> sources;
+
+    // columns of the matrix
+    @NotEmpty
+    @Size(max = 1000)
+    private List<GeoPoint> destinations;
+
+    // WALK when not given
+    private TravelProfile profile;
+
+}
@@ -0,0 +1,32 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.geometry.RouteGeometry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimizedRouteDto {
+
+    private String routeId;
+
+    /*
+     * indices of the stored points in their optimized order,
+     * i.e. points[i] is the stored point order[i]
+     */
+    private int[] order;
+
+    private RouteGeometry points;
+
+    private RouteStatistics statistics;
+
+    private RouteStatistics previousStatistics;
+
+    private Boolean exact;
+
+}
@@ -0,0 +1,24 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatchRoutePointsDto {
+
+    // applied in order, all or nothing
+    @NotEmpty
+    @Size(max = 1000)
+    @Valid
+    private List<RoutePointOperationDto> operations;
+
+}
@@ -0,0 +1,34 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.PoiCategory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoiDto {
+
+    // OSM node id, or the id column of a CSV dataset
+    private Long id;
+
+    private String name;
+
+    private Double lat;
+
+    private Double lng;
+
+    private List<PoiCategory> categories;
+
+    // from the query point, or from the nearest point of the route
+    private Double distanceMeters;
+
+    // along the route to its point nearest the attraction, null for point queries
+    private Double alongMeters;
+
+}
@@ -0,0 +1,23 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.RouteRating;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateRouteDto {
+
+    @NotNull
+    @Min(RouteRating.MIN_STARS)
+    @Max(RouteRating.MAX_STARS)
+    private Integer stars;
+
+}
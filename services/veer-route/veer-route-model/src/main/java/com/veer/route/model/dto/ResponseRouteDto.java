@@ -1,12 +1,12 @@
 package com.veer.route.model.dto;
 
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.geometry.RouteGeometry;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.time.Instant;
-import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -18,7 +18,7 @@ public class ResponseRouteDto {
 
     private String createdBy;
 
-    private List<Map<String, Object>> points;
+    private RouteGeometry points;
 
     private String name;
 
@@ -26,11 +26,22 @@ public class ResponseRouteDto {
 
     private Boolean isPublic;
 
+    // mean stars, null while unrated
     private Double rating;
 
+    private Integer ratingCount;
+
+    // Bayesian average, pulled towards the prior while ratings are few
+    private Double ratingScore;
+
+    private RouteStatistics statistics;
+
     private Instant createdAt;
 
     private Instant lastUpdated;
 
+    // changes with every update, sent back in If-Match
+    private Long version;
+
 }
 
@@ -0,0 +1,44 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One point-level edit. Indices refer to the points as left by the
+ * previous operation of the same request.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoutePointOperationDto {
+
+    public enum Op {
+        /** insert {@code points} so that the first of them ends up at {@code index} */
+        INSERT,
+        /** set the position and altitude of point {@code index} to the single point in {@code points}; without an altitude, the old one is dropped */
+        MOVE,
+        /** remove point {@code index} */
+        DELETE,
+        /** move point {@code index} to position {@code to} */
+        REORDER
+    }
+
+    @NotNull
+    private Op op;
+
+    @NotNull
+    @Min(0)
+    private Integer index;
+
+    @Min(0)
+    private Integer to;
+
+    private RouteGeometry points;
+
+}
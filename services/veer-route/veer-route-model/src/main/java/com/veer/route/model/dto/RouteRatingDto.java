@@ -0,0 +1,30 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rating totals of a route, and the stars the asking user gave it.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteRatingDto {
+
+    private String routeId;
+
+    // of the asking user, null if they have not rated the route
+    private Integer stars;
+
+    private Integer count;
+
+    // mean stars, null while unrated
+    private Double average;
+
+    // Bayesian average, null while unrated
+    private Double score;
+
+}
@@ -0,0 +1,26 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Bounds a text search of public routes by their statistics; null fields
+ * are not applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSearchFilterDto {
+
+    private Double minLengthMeters;
+
+    private Double maxLengthMeters;
+
+    private Double maxAscentMeters;
+
+    private Double minRating;
+
+}
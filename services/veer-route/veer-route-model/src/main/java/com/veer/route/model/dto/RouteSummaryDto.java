@@ -0,0 +1,44 @@
+package com.veer.route.model.dto;
+
+import com.veer.route.model.RouteStatistics;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+/**
+ * Route without its points, for listings and map searches.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSummaryDto {
+
+    private String id;
+
+    private String createdBy;
+
+    private String name;
+
+    private Boolean isPublic;
+
+    // mean stars, null while unrated
+    private Double rating;
+
+    private Integer ratingCount;
+
+    // Bayesian average, pulled towards the prior while ratings are few
+    private Double ratingScore;
+
+    private RouteStatistics statistics;
+
+    private Instant createdAt;
+
+    private Instant lastUpdated;
+
+    // changes with every update, sent back in If-Match
+    private Long version;
+
+}
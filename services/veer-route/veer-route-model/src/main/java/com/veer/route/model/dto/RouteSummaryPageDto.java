@@ -0,0 +1,20 @@
+package com.veer.route.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteSummaryPageDto {
+
+    private List<RouteSummaryDto> items;
+
+    // pass back as ?cursor= to get the next page, null on the last page
+    private String nextCursor;
+
+}
@@ -1,13 +1,12 @@
 package com.veer.route.model.dto;
 
+import com.veer.route.model.geometry.RouteGeometry;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
-import java.util.List;
-import java.util.Map;
 
 @Data
 @Builder
@@ -19,7 +18,7 @@ public class UpdateRouteDto {
     @Size(max = 36)
     private String id;
 
-    private List<Map<String, Object>> points;
+    private RouteGeometry points;
 
     @Size(min = 1, max = 255)
     private String name;
@@ -28,7 +27,5 @@ public class UpdateRouteDto {
     private String description;
 
     private Boolean isPublic;
-
-    private Double rating;
 }
 
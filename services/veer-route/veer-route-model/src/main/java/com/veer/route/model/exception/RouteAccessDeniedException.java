@@ -0,0 +1,7 @@
+package com.veer.route.model.exception;
+
+public class RouteAccessDeniedException extends RuntimeException {
+
+    public RouteAccessDeniedException(String message) { super(message); }
+
+}
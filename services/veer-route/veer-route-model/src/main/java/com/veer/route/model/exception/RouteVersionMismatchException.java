@@ -0,0 +1,7 @@
+package com.veer.route.model.exception;
+
+public class RouteVersionMismatchException extends RuntimeException {
+
+    public RouteVersionMismatchException(String message) { super(message); }
+
+}
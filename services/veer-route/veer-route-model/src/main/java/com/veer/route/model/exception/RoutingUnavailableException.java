@@ -0,0 +1,7 @@
+package com.veer.route.model.exception;
+
+public class RoutingUnavailableException extends RuntimeException {
+
+    public RoutingUnavailableException(String message) { super(message); }
+
+}
@@ -0,0 +1,25 @@
+package com.veer.route.model.geometry;
+
+/**
+ * Role of a single point within a route.
+ * WAYPOINT is the default and is omitted from the JSON representation.
+ */
+public enum PointType {
+
+    WAYPOINT,
+
+    START,
+
+    STOP;
+
+    private static final PointType[] VALUES = values();
+
+    static PointType ofCode(byte code) {
+        return VALUES[code];
+    }
+
+    byte code() {
+        return (byte) ordinal();
+    }
+
+}
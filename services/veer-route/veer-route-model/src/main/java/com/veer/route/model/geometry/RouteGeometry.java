@@ -0,0 +1,502 @@
+package com.veer.route.model.geometry;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.io.Serializable;
+import java.lang.reflect.Array;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Immutable, primitive-backed list of route points.
+ *
+ * Coordinates are packed into a single interleaved {@code double[]}
+ * (lat0, lng0, lat1, lng1, ...). Optional per-point attributes (altitude,
+ * type, name, timestamp) are stored in parallel arrays which are only
+ * allocated when at least one point actually carries the attribute, so a
+ * plain recorded track costs 16 bytes per point instead of a HashMap of
+ * boxed Doubles. Any other properties a point was given are kept as the
+ * JSON text of an object, in the same way, so they are written back as
+ * they were read.
+ *
+ * The JSON representation is an array of objects, e.g.
+ * {@code [{"latitude": 52.2297, "longitude": 21.0122, "type": "START"}]}
+ * - see {@link RouteGeometryJson}.
+ */
+@JsonSerialize(using = RouteGeometrySerializer.class)
+@JsonDeserialize(using = RouteGeometryDeserializer.class)
+@Schema(
+    type = "array",
+    description = "Route points, each an object with latitude, longitude and" +
+    " optional altitude, type (START, STOP, WAYPOINT), name and timestamp;" +
+    " other properties are kept as given"
+)
+public final class RouteGeometry implements Serializable {
+
+    private static final RouteGeometry EMPTY = new RouteGeometry(0, new double[0], null, null, null, null, null);
+
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private final int size;
+
+    private final double[] coordinates;
+
+    private final double[] altitudes;
+
+    private final byte[] types;
+
+    private final String[] names;
+
+    private final long[] timestamps;
+
+    private final String[] extras;
+
+    private RouteGeometry(
+        int size,
+        double[] coordinates,
+        double[] altitudes,
+        byte[] types,
+        String[] names,
+        long[] timestamps,
+        String[] extras
+    ) {
+        this.size = size;
+        this.coordinates = coordinates;
+        this.altitudes = altitudes;
+        this.types = types;
+        this.names = names;
+        this.timestamps = timestamps;
+        this.extras = extras;
+    }
+
+    public static RouteGeometry empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder(16);
+    }
+
+    public static Builder builder(int expectedSize) {
+        return new Builder(expectedSize);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double latitude(int index) {
+        return coordinates[2 * checkIndex(index)];
+    }
+
+    public double longitude(int index) {
+        return coordinates[2 * checkIndex(index) + 1];
+    }
+
+    /**
+     * @return altitude in meters or {@code NaN} when the point has none
+     */
+    public double altitude(int index) {
+        checkIndex(index);
+        return altitudes == null ? Double.NaN : altitudes[index];
+    }
+
+    public boolean hasAltitudes() {
+        return altitudes != null;
+    }
+
+    public PointType type(int index) {
+        checkIndex(index);
+        return types == null ? PointType.WAYPOINT : PointType.ofCode(types[index]);
+    }
+
+    public String name(int index) {
+        checkIndex(index);
+        return names == null ? null : names[index];
+    }
+
+    public Instant timestamp(int index) {
+        checkIndex(index);
+        if (timestamps == null || timestamps[index] == NO_TIMESTAMP)
+            return null;
+        return Instant.ofEpochMilli(timestamps[index]);
+    }
+
+    /**
+     * @return the point's other properties as a JSON object, e.g.
+     * {@code {"speed":3.1}}, or null when it has none
+     */
+    public String extras(int index) {
+        checkIndex(index);
+        return extras == null ? null : extras[index];
+    }
+
+    /**
+     * Returns a builder pre-filled with all points of this geometry.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder(size + 1);
+        for (int i = 0; i < size; i++)
+            builder.add(this, i);
+        return builder;
+    }
+
+    private int checkIndex(int index) {
+        return Objects.checkIndex(index, size);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RouteGeometry other)) return false;
+        return size == other.size
+            && Arrays.equals(coordinates, 0, 2 * size, other.coordinates, 0, 2 * other.size)
+            && Arrays.equals(altitudes, other.altitudes)
+            && Arrays.equals(types, other.types)
+            && Arrays.equals(names, other.names)
+            && Arrays.equals(timestamps, other.timestamps)
+            && Arrays.equals(extras, other.extras);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = size;
+        for (int i = 0; i < 2 * size; i++)
+            result = 31 * result + Double.hashCode(coordinates[i]);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "RouteGeometry[size=" + size + "]";
+    }
+
+    /**
+     * Growable builder, also used to edit a copy of an existing geometry
+     * (see {@link RouteGeometry#toBuilder()}). Optional attribute arrays are
+     * allocated lazily and back-filled with their "missing" marker.
+     */
+    public static final class Builder {
+
+        private int size;
+
+        private double[] coordinates;
+
+        private double[] altitudes;
+
+        private byte[] types;
+
+        private String[] names;
+
+        private long[] timestamps;
+
+        private String[] extras;
+
+        private Builder(int expectedSize) {
+            this.coordinates = new double[2 * Math.max(expectedSize, 1)];
+        }
+
+        public Builder add(double latitude, double longitude) {
+            return add(latitude, longitude, Double.NaN, PointType.WAYPOINT, null, null);
+        }
+
+        public Builder add(
+            double latitude,
+            double longitude,
+            double altitude,
+            PointType type,
+            String name,
+            Instant timestamp
+        ) {
+            return add(latitude, longitude, altitude, type, name, timestamp, null);
+        }
+
+        /**
+         * @param extras the point's other properties as a JSON object, or null
+         */
+        public Builder add(
+            double latitude,
+            double longitude,
+            double altitude,
+            PointType type,
+            String name,
+            Instant timestamp,
+            String extras
+        ) {
+            checkCoordinates(latitude, longitude);
+            ensureCapacity(size + 1);
+
+            coordinates[2 * size] = latitude;
+            coordinates[2 * size + 1] = longitude;
+            if (!Double.isNaN(altitude))
+                altitudes()[size] = altitude;
+            if (type != null && type != PointType.WAYPOINT)
+                types()[size] = type.code();
+            if (name != null)
+                names()[size] = name;
+            if (timestamp != null)
+                timestamps()[size] = timestamp.toEpochMilli();
+            if (extras != null)
+                extras()[size] = extras;
+
+            size++;
+            return this;
+        }
+
+        /**
+         * Copies the point at {@code index} of {@code source}, with all its attributes.
+         */
+        public Builder add(RouteGeometry source, int index) {
+            return add(
+                source.latitude(index),
+                source.longitude(index),
+                source.altitude(index),
+                source.type(index),
+                source.name(index),
+                source.timestamp(index),
+                source.extras(index)
+            );
+        }
+
+        /**
+         * Copies the point at {@code sourceIndex} of {@code source} so that it
+         * ends up at {@code index}, shifting later points back.
+         */
+        public Builder insert(int index, RouteGeometry source, int sourceIndex) {
+            Objects.checkIndex(index, size + 1);
+            add(source, sourceIndex);
+            return move(size - 1, index);
+        }
+
+        /**
+         * Inserts all points of {@code source} so that the first of them
+         * ends up at {@code index}, shifting later points back once.
+         */
+        public Builder insert(int index, RouteGeometry source) {
+            Objects.checkIndex(index, size + 1);
+            int count = source.size;
+            if (count == 0)
+                return this;
+            ensureCapacity(size + count);
+            int tail = size - index;
+
+            System.arraycopy(coordinates, 2 * index, coordinates, 2 * (index + count), 2 * tail);
+            System.arraycopy(source.coordinates, 0, coordinates, 2 * index, 2 * count);
+            if (altitudes != null || source.altitudes != null) {
+                double[] altitudes = altitudes();
+                System.arraycopy(altitudes, index, altitudes, index + count, tail);
+                if (source.altitudes != null)
+                    System.arraycopy(source.altitudes, 0, altitudes, index, count);
+                else
+                    Arrays.fill(altitudes, index, index + count, Double.NaN);
+            }
+            if (types != null || source.types != null) {
+                byte[] types = types();
+                System.arraycopy(types, index, types, index + count, tail);
+                if (source.types != null)
+                    System.arraycopy(source.types, 0, types, index, count);
+                else
+                    Arrays.fill(types, index, index + count, (byte) 0);
+            }
+            if (names != null || source.names != null) {
+                String[] names = names();
+                System.arraycopy(names, index, names, index + count, tail);
+                if (source.names != null)
+                    System.arraycopy(source.names, 0, names, index, count);
+                else
+                    Arrays.fill(names, index, index + count, null);
+            }
+            if (timestamps != null || source.timestamps != null) {
+                long[] timestamps = timestamps();
+                System.arraycopy(timestamps, index, timestamps, index + count, tail);
+                if (source.timestamps != null)
+                    System.arraycopy(source.timestamps, 0, timestamps, index, count);
+                else
+                    Arrays.fill(timestamps, index, index + count, NO_TIMESTAMP);
+            }
+            if (extras != null || source.extras != null) {
+                String[] extras = extras();
+                System.arraycopy(extras, index, extras, index + count, tail);
+                if (source.extras != null)
+                    System.arraycopy(source.extras, 0, extras, index, count);
+                else
+                    Arrays.fill(extras, index, index + count, null);
+            }
+            size += count;
+            return this;
+        }
+
+        /**
+         * Changes the position of a point, keeping its type, name and other
+         * attributes. A {@code NaN} altitude clears the altitude, since the
+         * old one was the height of the old position.
+         */
+        public Builder setPosition(int index, double latitude, double longitude, double altitude) {
+            Objects.checkIndex(index, size);
+            checkCoordinates(latitude, longitude);
+            coordinates[2 * index] = latitude;
+            coordinates[2 * index + 1] = longitude;
+            if (!Double.isNaN(altitude))
+                altitudes()[index] = altitude;
+            else if (altitudes != null)
+                altitudes[index] = Double.NaN;
+            return this;
+        }
+
+        public Builder remove(int index) {
+            Objects.checkIndex(index, size);
+            int tail = size - index - 1;
+            System.arraycopy(coordinates, 2 * (index + 1), coordinates, 2 * index, 2 * tail);
+            if (altitudes != null) {
+                System.arraycopy(altitudes, index + 1, altitudes, index, tail);
+                altitudes[size - 1] = Double.NaN;
+            }
+            if (types != null) {
+                System.arraycopy(types, index + 1, types, index, tail);
+                types[size - 1] = 0;
+            }
+            if (names != null) {
+                System.arraycopy(names, index + 1, names, index, tail);
+                names[size - 1] = null;
+            }
+            if (timestamps != null) {
+                System.arraycopy(timestamps, index + 1, timestamps, index, tail);
+                timestamps[size - 1] = NO_TIMESTAMP;
+            }
+            if (extras != null) {
+                System.arraycopy(extras, index + 1, extras, index, tail);
+                extras[size - 1] = null;
+            }
+            size--;
+            return this;
+        }
+
+        /**
+         * Moves the point at {@code from} to position {@code to}, shifting
+         * the points in between by one.
+         */
+        public Builder move(int from, int to) {
+            Objects.checkIndex(from, size);
+            Objects.checkIndex(to, size);
+            if (from == to)
+                return this;
+            rotate(coordinates, 2, from, to);
+            if (altitudes != null)
+                rotate(altitudes, 1, from, to);
+            if (types != null)
+                rotate(types, 1, from, to);
+            if (names != null)
+                rotate(names, 1, from, to);
+            if (timestamps != null)
+                rotate(timestamps, 1, from, to);
+            if (extras != null)
+                rotate(extras, 1, from, to);
+            return this;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public RouteGeometry build() {
+            if (size == 0)
+                return EMPTY;
+            return new RouteGeometry(
+                size,
+                Arrays.copyOf(coordinates, 2 * size),
+                altitudes == null ? null : Arrays.copyOf(altitudes, size),
+                types == null ? null : Arrays.copyOf(types, size),
+                names == null ? null : Arrays.copyOf(names, size),
+                timestamps == null ? null : Arrays.copyOf(timestamps, size),
+                extras == null ? null : Arrays.copyOf(extras, size)
+            );
+        }
+
+        private void ensureCapacity(int required) {
+            int capacity = coordinates.length / 2;
+            if (required <= capacity)
+                return;
+            int newCapacity = Math.max(required, capacity + (capacity >> 1));
+            coordinates = Arrays.copyOf(coordinates, 2 * newCapacity);
+            if (altitudes != null) {
+                int from = altitudes.length;
+                altitudes = Arrays.copyOf(altitudes, newCapacity);
+                Arrays.fill(altitudes, from, newCapacity, Double.NaN);
+            }
+            if (types != null)
+                types = Arrays.copyOf(types, newCapacity);
+            if (names != null)
+                names = Arrays.copyOf(names, newCapacity);
+            if (timestamps != null) {
+                int from = timestamps.length;
+                timestamps = Arrays.copyOf(timestamps, newCapacity);
+                Arrays.fill(timestamps, from, newCapacity, NO_TIMESTAMP);
+            }
+            if (extras != null)
+                extras = Arrays.copyOf(extras, newCapacity);
+        }
+
+        private double[] altitudes() {
+            if (altitudes == null) {
+                altitudes = new double[coordinates.length / 2];
+                Arrays.fill(altitudes, Double.NaN);
+            }
+            return altitudes;
+        }
+
+        private byte[] types() {
+            if (types == null)
+                types = new byte[coordinates.length / 2];
+            return types;
+        }
+
+        private String[] names() {
+            if (names == null)
+                names = new String[coordinates.length / 2];
+            return names;
+        }
+
+        private long[] timestamps() {
+            if (timestamps == null) {
+                timestamps = new long[coordinates.length / 2];
+                Arrays.fill(timestamps, NO_TIMESTAMP);
+            }
+            return timestamps;
+        }
+
+        private String[] extras() {
+            if (extras == null)
+                extras = new String[coordinates.length / 2];
+            return extras;
+        }
+
+        /**
+         * Moves the {@code width} slots of element {@code from} to element
+         * {@code to} in any primitive or object array.
+         */
+        private static void rotate(Object array, int width, int from, int to) {
+            Object moved = Array.newInstance(array.getClass().getComponentType(), width);
+            System.arraycopy(array, from * width, moved, 0, width);
+            if (from < to)
+                System.arraycopy(array, (from + 1) * width, array, from * width, (to - from) * width);
+            else
+                System.arraycopy(array, to * width, array, (to + 1) * width, (from - to) * width);
+            System.arraycopy(moved, 0, array, to * width, width);
+        }
+
+        private static void checkCoordinates(double latitude, double longitude) {
+            if (!(latitude >= -90.0 && latitude <= 90.0))
+                throw new IllegalArgumentException("Latitude " + latitude + " is out of range [-90, 90]");
+            if (!(longitude >= -180.0 && longitude <= 180.0))
+                throw new IllegalArgumentException("Longitude " + longitude + " is out of range [-180, 180]");
+        }
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.veer.route.model.geometry;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+public class RouteGeometryDeserializer extends StdDeserializer<RouteGeometry> {
+
+    public RouteGeometryDeserializer() {
+        super(RouteGeometry.class);
+    }
+
+    @Override
+    public RouteGeometry deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        return RouteGeometryJson.read(p);
+    }
+
+}
@@ -0,0 +1,49 @@
+package com.veer.route.model.geometry;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.JavaType;
+import org.hibernate.type.format.FormatMapper;
+import org.hibernate.type.format.jackson.JacksonJsonFormatMapper;
+
+/**
+ * Hibernate JSON format mapper that reads and writes {@link RouteGeometry}
+ * columns with the streaming {@link RouteGeometryJson} codec directly.
+ *
+ * Hibernate's default Jackson mapper reaches the same codec only through
+ * its own ObjectMapper, which resolves the deserializer, sets up a
+ * databind context and buffers the text once more for every column of
+ * every row. Other JSON values are left to Jackson.
+ */
+public final class RouteGeometryFormatMapper implements FormatMapper {
+
+    private final FormatMapper delegate;
+
+    public RouteGeometryFormatMapper() {
+        this(new JacksonJsonFormatMapper());
+    }
+
+    public RouteGeometryFormatMapper(ObjectMapper objectMapper) {
+        this(new JacksonJsonFormatMapper(objectMapper));
+    }
+
+    RouteGeometryFormatMapper(FormatMapper delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T fromString(CharSequence charSequence, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        if (javaType.getJavaTypeClass() == RouteGeometry.class)
+            return (T) RouteGeometryJson.fromJson(charSequence.toString());
+        return delegate.fromString(charSequence, javaType, wrapperOptions);
+    }
+
+    @Override
+    public <T> String toString(T value, JavaType<T> javaType, WrapperOptions wrapperOptions) {
+        if (value instanceof RouteGeometry geometry)
+            return RouteGeometryJson.toJson(geometry);
+        return delegate.toString(value, javaType, wrapperOptions);
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.veer.route.model.geometry;
+
+import org.hibernate.type.SqlTypes;
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+import org.hibernate.type.descriptor.java.ImmutableMutabilityPlan;
+import org.hibernate.type.descriptor.jdbc.JdbcType;
+import org.hibernate.type.descriptor.jdbc.JdbcTypeIndicators;
+
+/**
+ * Hibernate java type for {@link RouteGeometry} columns.
+ *
+ * The geometry is immutable, so Hibernate never deep-copies the arrays for
+ * dirty checking and compares snapshots with {@link RouteGeometry#equals}.
+ * The JSON (jsonb) conversion is done by Hibernate's format mapper:
+ * {@link RouteGeometryFormatMapper} calls the streaming
+ * {@link RouteGeometryJson} codec directly, and the default Jackson mapper
+ * reaches it through the annotations on RouteGeometry.
+ */
+public class RouteGeometryJavaType extends AbstractClassJavaType<RouteGeometry> {
+
+    public static final RouteGeometryJavaType INSTANCE = new RouteGeometryJavaType();
+
+    public RouteGeometryJavaType() {
+        super(RouteGeometry.class, ImmutableMutabilityPlan.instance());
+    }
+
+    @Override
+    public JdbcType getRecommendedJdbcType(JdbcTypeIndicators indicators) {
+        return indicators.getJdbcType(SqlTypes.JSON);
+    }
+
+    @Override
+    public String toString(RouteGeometry value) {
+        return RouteGeometryJson.toJson(value);
+    }
+
+    @Override
+    public RouteGeometry fromString(CharSequence string) {
+        return RouteGeometryJson.fromJson(string.toString());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(RouteGeometry value, Class<X> type, WrapperOptions options) {
+        if (value == null)
+            return null;
+        if (RouteGeometry.class.isAssignableFrom(type))
+            return (X) value;
+        if (String.class.isAssignableFrom(type))
+            return (X) toString(value);
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> RouteGeometry wrap(X value, WrapperOptions options) {
+        if (value == null)
+            return null;
+        if (value instanceof RouteGeometry geometry)
+            return geometry;
+        if (value instanceof CharSequence string)
+            return fromString(string);
+        throw unknownWrap(value.getClass());
+    }
+
+}
@@ -0,0 +1,232 @@
+package com.veer.route.model.geometry;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Streaming JSON codec for {@link RouteGeometry}, shared by the Jackson
+ * (de)serializers and the Hibernate java type of the {@code points} column.
+ *
+ * Points are read token by token straight into the primitive builder, so no
+ * intermediate Map or boxed number is created. Coordinates are parsed with
+ * Jackson's fast double parser, enabled here for the columns and through
+ * spring.jackson.parser for request bodies.
+ *
+ * Properties the model has no field for are kept as a JSON object per point
+ * and written back after the known ones, so rows written before the typed
+ * model keep everything they stored. The known properties are normalised:
+ * "lat"/"lng" are read as "latitude"/"longitude", a timestamp given in epoch
+ * milliseconds is written as an ISO-8601 instant, and a null known property
+ * is left out.
+ */
+public final class RouteGeometryJson {
+
+    public static final String LATITUDE = "latitude";
+    public static final String LONGITUDE = "longitude";
+    public static final String ALTITUDE = "altitude";
+    public static final String TYPE = "type";
+    public static final String NAME = "name";
+    public static final String TIMESTAMP = "timestamp";
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+        .enable(StreamReadFeature.USE_FAST_DOUBLE_PARSER)
+        .build();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper(JSON_FACTORY);
+
+    private RouteGeometryJson() {
+    }
+
+    public static void write(RouteGeometry geometry, JsonGenerator gen) throws IOException {
+        int size = geometry.size();
+        gen.writeStartArray(geometry, size);
+        for (int i = 0; i < size; i++) {
+            gen.writeStartObject();
+            gen.writeNumberField(LATITUDE, geometry.latitude(i));
+            gen.writeNumberField(LONGITUDE, geometry.longitude(i));
+
+            double altitude = geometry.altitude(i);
+            if (!Double.isNaN(altitude))
+                gen.writeNumberField(ALTITUDE, altitude);
+
+            PointType type = geometry.type(i);
+            if (type != PointType.WAYPOINT)
+                gen.writeStringField(TYPE, type.name());
+
+            String name = geometry.name(i);
+            if (name != null)
+                gen.writeStringField(NAME, name);
+
+            Instant timestamp = geometry.timestamp(i);
+            if (timestamp != null)
+                gen.writeStringField(TIMESTAMP, timestamp.toString());
+
+            String extras = geometry.extras(i);
+            if (extras != null)
+                writeExtras(extras, gen);
+
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+
+    /**
+     * Reads a geometry starting at the parser's current token, which must be
+     * the opening bracket of the points array (or a JSON null).
+     */
+    public static RouteGeometry read(JsonParser p) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL)
+            return null;
+        if (token != JsonToken.START_ARRAY)
+            throw MismatchedInputException.from(p, RouteGeometry.class, "Route points must be a JSON array");
+
+        RouteGeometry.Builder builder = RouteGeometry.builder();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.START_OBJECT)
+                throw MismatchedInputException.from(p, RouteGeometry.class, "Route point must be a JSON object");
+            readPoint(p, builder);
+        }
+        return builder.build();
+    }
+
+    // RouteGeometry is annotated with its serializer, which calls write
+    public static String toJson(RouteGeometry geometry) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(geometry);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static RouteGeometry fromJson(String json) {
+        try (JsonParser p = JSON_FACTORY.createParser(json)) {
+            p.nextToken();
+            return read(p);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static RouteGeometry fromJson(byte[] json) {
+        try (JsonParser p = JSON_FACTORY.createParser(json)) {
+            p.nextToken();
+            return read(p);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void readPoint(JsonParser p, RouteGeometry.Builder builder) throws IOException {
+        double latitude = Double.NaN;
+        double longitude = Double.NaN;
+        double altitude = Double.NaN;
+        PointType type = PointType.WAYPOINT;
+        String name = null;
+        Instant timestamp = null;
+        StringWriter extras = null;
+        JsonGenerator extrasGenerator = null;
+
+        while (p.nextToken() == JsonToken.FIELD_NAME) {
+            String field = p.currentName();
+            p.nextToken();
+            switch (field) {
+                case LATITUDE, "lat" -> latitude = readDouble(p, field);
+                case LONGITUDE, "lng" -> longitude = readDouble(p, field);
+                case ALTITUDE -> altitude = readDouble(p, field);
+                case TYPE -> type = readType(p);
+                case NAME -> name = readString(p, field);
+                case TIMESTAMP -> timestamp = readTimestamp(p);
+                default -> {
+                    if (extrasGenerator == null) {
+                        extras = new StringWriter();
+                        extrasGenerator = JSON_FACTORY.createGenerator(extras);
+                        extrasGenerator.writeStartObject();
+                    }
+                    extrasGenerator.writeFieldName(field);
+                    extrasGenerator.copyCurrentStructure(p);
+                }
+            }
+        }
+        if (extrasGenerator != null) {
+            extrasGenerator.writeEndObject();
+            extrasGenerator.close();
+        }
+
+        if (Double.isNaN(latitude) || Double.isNaN(longitude))
+            throw MismatchedInputException.from(p, RouteGeometry.class,
+                "Route point " + builder.size() + " must have latitude and longitude");
+        try {
+            builder.add(latitude, longitude, altitude, type, name, timestamp,
+                extras != null ? extras.toString() : null);
+        } catch (IllegalArgumentException e) {
+            throw MismatchedInputException.from(p, RouteGeometry.class,
+                "Route point " + builder.size() + ": " + e.getMessage());
+        }
+    }
+
+    // other properties are copied field by field into the point's object
+    private static void writeExtras(String extras, JsonGenerator gen) throws IOException {
+        try (JsonParser p = JSON_FACTORY.createParser(extras)) {
+            p.nextToken();
+            while (p.nextToken() == JsonToken.FIELD_NAME)
+                gen.copyCurrentStructure(p);
+        }
+    }
+
+    // a null known property counts as absent
+    private static double readDouble(JsonParser p, String field) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL)
+            return Double.NaN;
+        if (!p.currentToken().isNumeric())
+            throw MismatchedInputException.from(p, RouteGeometry.class, "Point " + field + " must be a number");
+        return p.getDoubleValue();
+    }
+
+    private static String readString(JsonParser p, String field) throws IOException {
+        if (p.currentToken() == JsonToken.VALUE_NULL)
+            return null;
+        if (p.currentToken() != JsonToken.VALUE_STRING)
+            throw MismatchedInputException.from(p, RouteGeometry.class, "Point " + field + " must be a string");
+        return p.getText();
+    }
+
+    private static PointType readType(JsonParser p) throws IOException {
+        String type = readString(p, TYPE);
+        if (type == null)
+            return PointType.WAYPOINT;
+        try {
+            return PointType.valueOf(type);
+        } catch (IllegalArgumentException e) {
+            throw MismatchedInputException.from(p, RouteGeometry.class,
+                "Point type must be one of START, STOP, WAYPOINT");
+        }
+    }
+
+    private static Instant readTimestamp(JsonParser p) throws IOException {
+        if (p.currentToken().isNumeric())
+            return Instant.ofEpochMilli(p.getLongValue());
+        String timestamp = readString(p, TIMESTAMP);
+        if (timestamp == null)
+            return null;
+        try {
+            return Instant.parse(timestamp);
+        } catch (DateTimeParseException e) {
+            throw MismatchedInputException.from(p, RouteGeometry.class,
+                "Point timestamp must be an ISO-8601 instant");
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.veer.route.model.geometry;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+public class RouteGeometrySerializer extends StdSerializer<RouteGeometry> {
+
+    public RouteGeometrySerializer() {
+        super(RouteGeometry.class);
+    }
+
+    @Override
+    public void serialize(RouteGeometry value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        RouteGeometryJson.write(value, gen);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, RouteGeometry value) {
+        return value == null || value.isEmpty();
+    }
+
+}
@@ -0,0 +1,340 @@
+package com.veer.route.model.geometry;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.type.descriptor.java.StringJavaType;
+import org.hibernate.type.format.jackson.JacksonJsonFormatMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RouteGeometry Unit Tests")
+class RouteGeometryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Nested
+    @DisplayName("Builder Tests")
+    class BuilderTests {
+
+        @Test
+        @DisplayName("Should grow beyond the expected size and keep attributes aligned")
+        void shouldGrowAndKeepAttributesAligned() {
+            // Given
+            RouteGeometry.Builder builder = RouteGeometry.builder(1);
+            for (int i = 0; i < 100; i++)
+                builder.add(50.0 + i * 0.001, 19.0);
+            builder.add(51.0, 20.0, 210.5, PointType.STOP, "Stop", null);
+
+            // When
+            RouteGeometry geometry = builder.build();
+
+            // Then
+            assertThat(geometry.size()).isEqualTo(101);
+            assertThat(geometry.latitude(99)).isEqualTo(50.099);
+            assertThat(geometry.altitude(99)).isNaN();
+            assertThat(geometry.type(99)).isEqualTo(PointType.WAYPOINT);
+            assertThat(geometry.altitude(100)).isEqualTo(210.5);
+            assertThat(geometry.type(100)).isEqualTo(PointType.STOP);
+            assertThat(geometry.name(100)).isEqualTo("Stop");
+            assertThat(geometry.timestamp(100)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject coordinates out of range")
+        void shouldRejectCoordinatesOutOfRange() {
+            assertThatThrownBy(() -> RouteGeometry.builder().add(91.0, 0.0))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> RouteGeometry.builder().add(0.0, -180.5))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        @Test
+        @DisplayName("Should consider geometries with the same points equal")
+        void shouldCompareByContent() {
+            RouteGeometry first = RouteGeometry.builder().add(52.0, 21.0).add(52.1, 21.1).build();
+            RouteGeometry second = first.toBuilder().build();
+
+            assertThat(second).isEqualTo(first);
+            assertThat(second.hashCode()).isEqualTo(first.hashCode());
+            assertThat(first.toBuilder().add(52.2, 21.2).build()).isNotEqualTo(first);
+        }
+    }
+
+    @Nested
+    @DisplayName("Builder Edit Tests")
+    class BuilderEditTests {
+
+        private RouteGeometry points() {
+            return RouteGeometry.builder()
+                .add(50.0, 19.0, Double.NaN, PointType.START, "A", null)
+                .add(50.1, 19.1)
+                .add(50.2, 19.2, 250.0, PointType.STOP, "C", Instant.ofEpochMilli(1000), "{\"hr\":120}")
+                .add(50.3, 19.3)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should move points with all their attributes")
+        void shouldMovePointsWithAttributes() {
+            // When
+            RouteGeometry forward = points().toBuilder().move(0, 2).build();
+            RouteGeometry backward = points().toBuilder().move(2, 0).build();
+
+            // Then
+            assertThat(forward.latitude(2)).isEqualTo(50.0);
+            assertThat(forward.type(2)).isEqualTo(PointType.START);
+            assertThat(forward.name(2)).isEqualTo("A");
+            assertThat(forward.latitude(0)).isEqualTo(50.1);
+            assertThat(forward.latitude(1)).isEqualTo(50.2);
+            assertThat(forward.altitude(1)).isEqualTo(250.0);
+
+            assertThat(backward.latitude(0)).isEqualTo(50.2);
+            assertThat(backward.timestamp(0)).isEqualTo(Instant.ofEpochMilli(1000));
+            assertThat(backward.extras(0)).isEqualTo("{\"hr\":120}");
+            assertThat(backward.extras(1)).isNull();
+            assertThat(backward.name(1)).isEqualTo("A");
+            assertThat(backward.latitude(3)).isEqualTo(50.3);
+        }
+
+        @Test
+        @DisplayName("Should insert and remove points keeping attributes aligned")
+        void shouldInsertAndRemovePoints() {
+            // Given
+            RouteGeometry source = RouteGeometry.builder()
+                .add(49.0, 18.0, 100.0, PointType.STOP, "X", null)
+                .build();
+
+            // When
+            RouteGeometry edited = points().toBuilder()
+                .insert(1, source, 0)
+                .remove(3)
+                .build();
+
+            // Then
+            assertThat(edited.size()).isEqualTo(4);
+            assertThat(edited.latitude(1)).isEqualTo(49.0);
+            assertThat(edited.name(1)).isEqualTo("X");
+            assertThat(edited.altitude(1)).isEqualTo(100.0);
+            assertThat(edited.latitude(2)).isEqualTo(50.1);
+            assertThat(edited.altitude(2)).isNaN();
+            assertThat(edited.latitude(3)).isEqualTo(50.3);
+            assertThat(edited.type(3)).isEqualTo(PointType.WAYPOINT);
+            assertThat(edited.timestamp(3)).isNull();
+            assertThat(edited.extras(3)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should insert a block of points like inserting them one by one")
+        void shouldInsertBlock() {
+            // Given
+            RouteGeometry source = RouteGeometry.builder()
+                .add(49.0, 18.0, 100.0, PointType.STOP, "X", null, "{\"hr\":90}")
+                .add(49.1, 18.1)
+                .add(49.2, 18.2, Double.NaN, PointType.WAYPOINT, null, Instant.ofEpochMilli(2000))
+                .build();
+            RouteGeometry.Builder oneByOne = points().toBuilder();
+            for (int i = 0; i < source.size(); i++)
+                oneByOne.insert(2 + i, source, i);
+
+            // When
+            RouteGeometry block = RouteGeometry.builder(1).add(50.0, 19.0).add(50.1, 19.1).build()
+                .toBuilder()
+                .insert(0, points())
+                .insert(2, source)
+                .insert(7, RouteGeometry.empty())
+                .build();
+
+            // Then
+            assertThat(block.size()).isEqualTo(9);
+            assertThat(block.toBuilder().remove(8).remove(7).build()).isEqualTo(oneByOne.build());
+            assertThat(block.latitude(2)).isEqualTo(49.0);
+            assertThat(block.extras(2)).isEqualTo("{\"hr\":90}");
+            assertThat(block.timestamp(4)).isEqualTo(Instant.ofEpochMilli(2000));
+            assertThat(block.name(5)).isEqualTo("C");
+            assertThat(block.latitude(8)).isEqualTo(50.1);
+            assertThat(block.altitude(8)).isNaN();
+            assertThat(block.type(7)).isEqualTo(PointType.WAYPOINT);
+        }
+
+        @Test
+        @DisplayName("Should change the position and altitude and keep the rest of the point")
+        void shouldChangePosition() {
+            // When
+            RouteGeometry edited = points().toBuilder()
+                .setPosition(2, 51.0, 20.0, Double.NaN)
+                .setPosition(1, 51.5, 20.5, 300.0)
+                .build();
+
+            // Then
+            assertThat(edited.latitude(2)).isEqualTo(51.0);
+            assertThat(edited.altitude(2)).isNaN();
+            assertThat(edited.name(2)).isEqualTo("C");
+            assertThat(edited.timestamp(2)).isEqualTo(Instant.ofEpochMilli(1000));
+            assertThat(edited.altitude(1)).isEqualTo(300.0);
+            assertThatThrownBy(() -> points().toBuilder().setPosition(4, 51.0, 20.0, Double.NaN))
+                .isInstanceOf(IndexOutOfBoundsException.class);
+            assertThatThrownBy(() -> points().toBuilder().setPosition(0, 91.0, 20.0, Double.NaN))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("JSON Tests")
+    class JsonTests {
+
+        @Test
+        @DisplayName("Should write points as an array of objects")
+        void shouldWritePointsAsArrayOfObjects() throws Exception {
+            // Given
+            RouteGeometry geometry = RouteGeometry.builder()
+                .add(52.2297, 21.0122, Double.NaN, PointType.START, null, null)
+                .add(52.4064, 16.9252, 100.0, PointType.WAYPOINT, "Poznan",
+                    Instant.parse("2024-01-01T10:00:00Z"))
+                .build();
+
+            // When
+            String json = objectMapper.writeValueAsString(geometry);
+
+            // Then
+            assertThat(json).isEqualTo(
+                "[{\"latitude\":52.2297,\"longitude\":21.0122,\"type\":\"START\"}," +
+                "{\"latitude\":52.4064,\"longitude\":16.9252,\"altitude\":100.0," +
+                "\"name\":\"Poznan\",\"timestamp\":\"2024-01-01T10:00:00Z\"}]"
+            );
+        }
+
+        @Test
+        @DisplayName("Should survive a JSON round trip")
+        void shouldSurviveJsonRoundTrip() throws Exception {
+            // Given
+            RouteGeometry geometry = RouteGeometry.builder()
+                .add(52.2297, 21.0122, 80.0, PointType.START, "Warsaw",
+                    Instant.parse("2024-01-01T10:00:00Z"))
+                .add(52.4064, 16.9252)
+                .build();
+
+            // When
+            RouteGeometry read = objectMapper.readValue(
+                objectMapper.writeValueAsString(geometry), RouteGeometry.class);
+
+            // Then
+            assertThat(read).isEqualTo(geometry);
+            assertThat(RouteGeometryJson.fromJson(RouteGeometryJson.toJson(geometry))).isEqualTo(geometry);
+        }
+
+        @Test
+        @DisplayName("Should keep unknown properties and write them back")
+        void shouldKeepUnknownProperties() throws Exception {
+            // Given
+            String json = "[{\"latitude\":52.0,\"longitude\":21.0,\"speed\":{\"value\":3.5,\"unit\":\"m/s\"}," +
+                "\"tags\":[\"a\",null],\"note\":null},{\"latitude\":53.0,\"longitude\":22.0}]";
+
+            // When
+            RouteGeometry geometry = objectMapper.readValue(json, RouteGeometry.class);
+
+            // Then
+            assertThat(geometry.extras(0)).isEqualTo(
+                "{\"speed\":{\"value\":3.5,\"unit\":\"m/s\"},\"tags\":[\"a\",null],\"note\":null}");
+            assertThat(geometry.extras(1)).isNull();
+            assertThat(objectMapper.writeValueAsString(geometry)).isEqualTo(json);
+            assertThat(RouteGeometryJson.fromJson(RouteGeometryJson.toJson(geometry))).isEqualTo(geometry);
+        }
+
+        @Test
+        @DisplayName("Should normalise aliases, epoch timestamps and null known properties")
+        void shouldNormaliseKnownProperties() throws Exception {
+            // Given
+            String json = "[{\"lat\":52.0,\"lng\":21.0,\"timestamp\":1704103200000," +
+                "\"altitude\":null,\"type\":null,\"name\":null}]";
+
+            // When
+            RouteGeometry geometry = objectMapper.readValue(json, RouteGeometry.class);
+
+            // Then
+            assertThat(geometry.hasAltitudes()).isFalse();
+            assertThat(geometry.type(0)).isEqualTo(PointType.WAYPOINT);
+            assertThat(geometry.extras(0)).isNull();
+            assertThat(objectMapper.writeValueAsString(geometry)).isEqualTo(
+                "[{\"latitude\":52.0,\"longitude\":21.0,\"timestamp\":\"2024-01-01T10:00:00Z\"}]");
+        }
+
+        @Test
+        @DisplayName("Should read coordinates in any JSON number form")
+        void shouldReadAnyNumberForm() throws Exception {
+            // When
+            RouteGeometry geometry = objectMapper.readValue(
+                "[{\"latitude\":52,\"longitude\":2.1e1,\"altitude\":-0.5}]", RouteGeometry.class);
+
+            // Then
+            assertThat(geometry.latitude(0)).isEqualTo(52.0);
+            assertThat(geometry.longitude(0)).isEqualTo(21.0);
+            assertThat(geometry.altitude(0)).isEqualTo(-0.5);
+        }
+
+        @Test
+        @DisplayName("Should reject a point without coordinates")
+        void shouldRejectPointWithoutCoordinates() {
+            assertThatThrownBy(() -> objectMapper.readValue("[{\"latitude\":52.0}]", RouteGeometry.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("must have latitude and longitude");
+        }
+
+        @Test
+        @DisplayName("Should reject malformed point values")
+        void shouldRejectMalformedPointValues() {
+            assertThatThrownBy(() -> objectMapper.readValue(
+                    "[{\"latitude\":\"52\",\"longitude\":21.0}]", RouteGeometry.class))
+                .isInstanceOf(JsonMappingException.class);
+            assertThatThrownBy(() -> objectMapper.readValue(
+                    "[{\"latitude\":95.0,\"longitude\":21.0}]", RouteGeometry.class))
+                .isInstanceOf(JsonMappingException.class)
+                .hasMessageContaining("out of range");
+            assertThatThrownBy(() -> objectMapper.readValue(
+                    "[{\"latitude\":52.0,\"longitude\":21.0,\"type\":\"FINISH\"}]", RouteGeometry.class))
+                .isInstanceOf(JsonMappingException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Format Mapper Tests")
+    class FormatMapperTests {
+
+        private final RouteGeometryFormatMapper formatMapper = new RouteGeometryFormatMapper(objectMapper);
+
+        @Test
+        @DisplayName("Should map columns as Hibernate's Jackson mapper does")
+        void shouldMatchJacksonFormatMapper() {
+            // Given
+            JacksonJsonFormatMapper jacksonMapper = new JacksonJsonFormatMapper(objectMapper);
+            RouteGeometry geometry = RouteGeometry.builder()
+                .add(52.2297, 21.0122, 80.0, PointType.START, "Warsaw",
+                    Instant.parse("2024-01-01T10:00:00Z"))
+                .add(52.4064, 16.9252)
+                .build();
+
+            // When
+            String json = formatMapper.toString(geometry, RouteGeometryJavaType.INSTANCE, null);
+
+            // Then
+            assertThat(json).isEqualTo(jacksonMapper.toString(geometry, RouteGeometryJavaType.INSTANCE, null));
+            assertThat(formatMapper.fromString(json, RouteGeometryJavaType.INSTANCE, null)).isEqualTo(geometry);
+            assertThat(formatMapper.fromString("null", RouteGeometryJavaType.INSTANCE, null)).isNull();
+        }
+
+        @Test
+        @DisplayName("Should leave other JSON values to Jackson")
+        void shouldDelegateOtherValues() {
+            assertThat(formatMapper.fromString("{\"level\":1}", StringJavaType.INSTANCE, null))
+                .isEqualTo("{\"level\":1}");
+            assertThat(formatMapper.toString("{\"level\":1}", StringJavaType.INSTANCE, null))
+                .isEqualTo("{\"level\":1}");
+        }
+    }
+
+}
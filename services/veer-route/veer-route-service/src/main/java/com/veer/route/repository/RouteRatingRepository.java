@@ -0,0 +1,32 @@
+package com.veer.route.repository;
+
+import com.veer.route.model.RouteRating;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RouteRatingRepository extends JpaRepository<RouteRating, RouteRating.Key> {
+
+    @Query("select r.stars from RouteRating r where r.routeId = :routeId and r.userId = :userId")
+    Optional<Integer> findStars(@Param("routeId") String routeId, @Param("userId") String userId);
+
+    /**
+     * Inserts the rating, or replaces the stars of the user's earlier one.
+     */
+    @Modifying
+    @Query(value = "insert into route_ratings (route_id, user_id, stars, rated_at) "
+        + "values (:routeId, :userId, :stars, now()) "
+        + "on conflict (route_id, user_id) do update set stars = excluded.stars, rated_at = excluded.rated_at",
+        nativeQuery = true)
+    void upsert(@Param("routeId") String routeId, @Param("userId") String userId, @Param("stars") int stars);
+
+    @Modifying
+    @Query("delete from RouteRating r where r.routeId = :routeId and r.userId = :userId")
+    int deleteByRouteIdAndUserId(@Param("routeId") String routeId, @Param("userId") String userId);
+
+}
@@ -1,15 +1,353 @@
 package com.veer.route.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.veer.route.model.Route;
+import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.geometry.RouteGeometry;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface RouteRepository extends JpaRepository<Route, String> {
 
-    List<Route> findByCreatedBy(String createdBy);
+    String SUMMARY_SELECT = "select new com.veer.route.model.dto.RouteSummaryDto(r.id, r.createdBy, r.name, "
+        + "r.isPublic, r.rating, r.ratingCount, r.ratingScore, r.statistics, r.createdAt, r.lastUpdated, r.version) "
+        + "from Route r ";
 
-}
+    // full route dto with the points of one level of detail, without reading the full points
+    String DETAIL_SELECT_PREFIX = "select new com.veer.route.model.dto.ResponseRouteDto(r.id, r.createdBy, ";
+
+    String DETAIL_SELECT_SUFFIX = ", r.name, r.description, r.isPublic, r.rating, r.ratingCount, r.ratingScore, "
+        + "r.statistics, r.createdAt, r.lastUpdated, r.version) from Route r where r.id = :id";
+
+    @Query(DETAIL_SELECT_PREFIX + "r.detailLevels.low" + DETAIL_SELECT_SUFFIX)
+    Optional<ResponseRouteDto> findLowDetailById(@Param("id") String id);
+
+    @Query(DETAIL_SELECT_PREFIX + "r.detailLevels.medium" + DETAIL_SELECT_SUFFIX)
+    Optional<ResponseRouteDto> findMediumDetailById(@Param("id") String id);
+
+    @Query(DETAIL_SELECT_PREFIX + "r.detailLevels.high" + DETAIL_SELECT_SUFFIX)
+    Optional<ResponseRouteDto> findHighDetailById(@Param("id") String id);
+
+    // every column but the points of a route row, named as the fields of RouteRow
+    String ROW_COLUMNS = "id, created_by as \"createdBy\", name, description, is_public as \"isPublic\", "
+        + "rating, rating_count as \"ratingCount\", rating_score as \"ratingScore\", "
+        + "length_m as \"lengthMeters\", ascent_m as \"ascentMeters\", descent_m as \"descentMeters\", "
+        + "duration_walk_s as \"walkDurationSeconds\", duration_bike_s as \"bikeDurationSeconds\", "
+        + "duration_car_s as \"carDurationSeconds\", bbox_min_lat as \"minLatitude\", "
+        + "bbox_min_lng as \"minLongitude\", bbox_max_lat as \"maxLatitude\", bbox_max_lng as \"maxLongitude\", "
+        + "created_at as \"createdAt\", last_updated as \"lastUpdated\", version";
+
+    String ROW_RETURNING = " returning " + ROW_COLUMNS;
+
+    // the route of the user, at the expected version unless that is null
+    String OWNED_ROUTE = " where id = :id and created_by = :userId "
+        + "and (cast(:expectedVersion as int8) is null or version = :expectedVersion)";
+
+    // also run by the reactive runtime, which binds the same parameters
+    String DELETE_OWNED = "delete from routes" + OWNED_ROUTE + ROW_RETURNING;
+
+    String UPDATE_OWNED_DETAILS = "update routes set "
+        + "name = coalesce(cast(:name as varchar), name), "
+        + "description = coalesce(cast(:description as varchar), description), "
+        + "is_public = coalesce(cast(:isPublic as boolean), is_public), "
+        + "last_updated = :lastUpdated, "
+        + "version = version + 1"
+        + OWNED_ROUTE + ROW_RETURNING + ", cast(points as text) as \"pointsJson\"";
+
+    // public routes drawn in vector tiles, with the points of one level of detail
+    String LINE_SELECT_PREFIX = "select r.id as id, r.name as name, r.rating as rating, "
+        + "r.statistics.lengthMeters as lengthMeters, ";
+
+    String LINE_SELECT_SUFFIX = " as points from Route r where r.id in :ids and r.isPublic = true";
+
+    @Query(LINE_SELECT_PREFIX + "r.detailLevels.low" + LINE_SELECT_SUFFIX)
+    List<RouteLine> findLowDetailLinesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query(LINE_SELECT_PREFIX + "r.detailLevels.medium" + LINE_SELECT_SUFFIX)
+    List<RouteLine> findMediumDetailLinesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query(LINE_SELECT_PREFIX + "r.detailLevels.high" + LINE_SELECT_SUFFIX)
+    List<RouteLine> findHighDetailLinesByIdIn(@Param("ids") Collection<String> ids);
+
+    @Query(LINE_SELECT_PREFIX + "r.points" + LINE_SELECT_SUFFIX)
+    List<RouteLine> findLinesByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * Newest routes of a user first; only the page size of {@code pageable} is used.
+     */
+    @Query(SUMMARY_SELECT + "where r.createdBy = :userId order by r.createdAt desc, r.id desc")
+    List<RouteSummaryDto> findSummariesByCreatedBy(@Param("userId") String userId, Pageable pageable);
+
+    /**
+     * Routes of a user strictly after the keyset position (createdAt, id) in
+     * {@link #findSummariesByCreatedBy} order.
+     */
+    @Query(SUMMARY_SELECT + "where r.createdBy = :userId "
+        + "and (r.createdAt < :createdAt or (r.createdAt = :createdAt and r.id < :id)) "
+        + "order by r.createdAt desc, r.id desc")
+    List<RouteSummaryDto> findSummariesByCreatedByAfter(
+        @Param("userId") String userId,
+        @Param("createdAt") Instant createdAt,
+        @Param("id") String id,
+        Pageable pageable
+    );
+
+    /**
+     * All routes of a user, oldest first, read through a cursor.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "50"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select r from Route r where r.createdBy = :userId order by r.createdAt, r.id")
+    Stream<Route> streamByCreatedBy(@Param("userId") String userId);
+
+    /**
+     * Bounding boxes of all public routes, without loading points.
+     * Must be consumed inside a transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select r.id as id, r.statistics.minLatitude as minLatitude, r.statistics.minLongitude as minLongitude, "
+        + "r.statistics.maxLatitude as maxLatitude, r.statistics.maxLongitude as maxLongitude "
+        + "from Route r where r.isPublic = true and r.statistics.minLatitude is not null")
+    Stream<RouteBounds> streamPublicRouteBounds();
+
+    /**
+     * Bounding box of a route if it is public and has one.
+     */
+    @Query("select r.id as id, r.statistics.minLatitude as minLatitude, r.statistics.minLongitude as minLongitude, "
+        + "r.statistics.maxLatitude as maxLatitude, r.statistics.maxLongitude as maxLongitude "
+        + "from Route r where r.id = :id and r.isPublic = true and r.statistics.minLatitude is not null")
+    Optional<RouteBounds> findPublicRouteBoundsById(@Param("id") String id);
+
+    /**
+     * Current version of a route, without loading the route itself.
+     */
+    @Query("select r.version from Route r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    /**
+     * Owner and version of a route, to tell why an owner-scoped statement
+     * changed nothing.
+     */
+    @Query("select r.createdBy as createdBy, r.version as version from Route r where r.id = :id")
+    Optional<RouteOwnership> findOwnershipById(@Param("id") String id);
+
+    /**
+     * Deletes the route if the user owns it and it is at the expected
+     * version, in one statement that reads no points.
+     *
+     * @return the deleted row, empty if none matched
+     */
+    @Transactional
+    @Query(value = DELETE_OWNED, nativeQuery = true)
+    Optional<RouteRow> deleteOwned(
+        @Param("id") String id,
+        @Param("userId") String userId,
+        @Param("expectedVersion") Long expectedVersion
+    );
+
+    /**
+     * Sets the name, description and visibility given (null keeps the
+     * stored value) if the user owns the route and it is at the expected
+     * version, in one statement. Moves the version like a save would.
+     *
+     * @return the updated row with its points, empty if none matched
+     */
+    @Transactional
+    @Query(value = UPDATE_OWNED_DETAILS, nativeQuery = true)
+    Optional<RouteDetailsRow> updateOwnedDetails(
+        @Param("id") String id,
+        @Param("userId") String userId,
+        @Param("expectedVersion") Long expectedVersion,
+        @Param("name") String name,
+        @Param("description") String description,
+        @Param("isPublic") Boolean isPublic,
+        @Param("lastUpdated") Instant lastUpdated
+    );
+
+    /**
+     * Locks the route row until the end of the transaction, so that the
+     * ratings of a route change one at a time. Does not block inserts
+     * referencing the route.
+     */
+    @Query(value = "select id from routes where id = :id for no key update", nativeQuery = true)
+    Optional<String> lockForRating(@Param("id") String id);
+
+    /**
+     * Adds to the rating totals and derives the mean and the Bayesian
+     * average {@code (priorWeight * priorMean + sum) / (priorWeight + count)}
+     * from the new totals, in one statement. A rating changes what the
+     * route reads like, so its version moves as well.
+     */
+    @Modifying
+    @Query(value = "update routes set "
+        + "rating_count = rating_count + :countDelta, "
+        + "rating_sum = rating_sum + :sumDelta, "
+        + "rating = case when rating_count + :countDelta = 0 then null "
+        + "else (rating_sum + :sumDelta)::float8 / (rating_count + :countDelta) end, "
+        + "rating_score = case when rating_count + :countDelta = 0 then null "
+        + "else (:priorWeight * :priorMean + rating_sum + :sumDelta) / (:priorWeight + rating_count + :countDelta) end, "
+        + "version = version + 1 "
+        + "where id = :id", nativeQuery = true)
+    int addRating(
+        @Param("id") String id,
+        @Param("countDelta") int countDelta,
+        @Param("sumDelta") int sumDelta,
+        @Param("priorWeight") double priorWeight,
+        @Param("priorMean") double priorMean
+    );
+
+    /**
+     * Public routes matching the text, best first, strictly after the keyset
+     * position (score, id) if given. Full-text matches over name and
+     * description (see RouteSearchSchema) score 1 plus their rank, names
+     * only similar to the text (typos) their word similarity, below 1.
+     * Null filters are not applied.
+     */
+    @Query(value = "with q as (select websearch_to_tsquery('english', :text) "
+        + "|| websearch_to_tsquery('polish', :text) as query) "
+        + "select hits.id as id, hits.score as score from ("
+        + "select r.id, cast(case when r.search_vector @@ q.query then 1 + ts_rank_cd(r.search_vector, q.query) "
+        + "else word_similarity(:text, r.name) end as float8) as score "
+        + "from routes r, q "
+        + "where r.is_public and (r.search_vector @@ q.query or :text <% r.name) "
+        + "and (cast(:minLength as float8) is null or r.length_m >= :minLength) "
+        + "and (cast(:maxLength as float8) is null or r.length_m <= :maxLength) "
+        + "and (cast(:maxAscent as float8) is null or r.ascent_m <= :maxAscent) "
+        + "and (cast(:minRating as float8) is null or r.rating >= :minRating)"
+        + ") hits "
+        + "where cast(:afterScore as float8) is null or hits.score < :afterScore "
+        + "or (hits.score = :afterScore and hits.id < :afterId) "
+        + "order by hits.score desc, hits.id desc "
+        + "limit :limit", nativeQuery = true)
+    List<SearchHit> searchPublic(
+        @Param("text") String text,
+        @Param("minLength") Double minLengthMeters,
+        @Param("maxLength") Double maxLengthMeters,
+        @Param("maxAscent") Double maxAscentMeters,
+        @Param("minRating") Double minRating,
+        @Param("afterScore") Double afterScore,
+        @Param("afterId") String afterId,
+        @Param("limit") int limit
+    );
+
+    /**
+     * Lowest word similarity for {@link #searchPublic} to count a name as
+     * a typo of the text, until the end of the transaction.
+     */
+    @Query(value = "select set_config('pg_trgm.word_similarity_threshold', cast(:threshold as text), true)",
+        nativeQuery = true)
+    String setWordSimilarityThreshold(@Param("threshold") double threshold);
+
+    @Query(SUMMARY_SELECT + "where r.id in :ids")
+    List<RouteSummaryDto> findSummariesByIdIn(@Param("ids") Collection<String> ids);
+
+    interface RouteBounds {
+
+        String getId();
+
+        Double getMinLatitude();
+
+        Double getMinLongitude();
+
+        Double getMaxLatitude();
+
+        Double getMaxLongitude();
+    }
+
+    interface RouteOwnership {
 
+        String getCreatedBy();
+
+        Long getVersion();
+    }
+
+    interface RouteRow {
+
+        String getId();
+
+        String getCreatedBy();
+
+        String getName();
+
+        String getDescription();
+
+        Boolean getIsPublic();
+
+        Double getRating();
+
+        Integer getRatingCount();
+
+        Double getRatingScore();
+
+        Double getLengthMeters();
+
+        Double getAscentMeters();
+
+        Double getDescentMeters();
+
+        Long getWalkDurationSeconds();
+
+        Long getBikeDurationSeconds();
+
+        Long getCarDurationSeconds();
+
+        Double getMinLatitude();
+
+        Double getMinLongitude();
+
+        Double getMaxLatitude();
+
+        Double getMaxLongitude();
+
+        Instant getCreatedAt();
+
+        Instant getLastUpdated();
+
+        Long getVersion();
+    }
+
+    // a route row with its points as jsonb text, parsed by the caller
+    interface RouteDetailsRow extends RouteRow {
+
+        String getPointsJson();
+    }
+
+    interface SearchHit {
+
+        String getId();
+
+        Double getScore();
+    }
+
+    interface RouteLine {
+
+        String getId();
+
+        String getName();
+
+        Double getRating();
+
+        Double getLengthMeters();
+
+        RouteGeometry getPoints();
+    }
+
+}
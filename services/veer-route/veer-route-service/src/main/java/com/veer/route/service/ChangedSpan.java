@@ -0,0 +1,48 @@
+package com.veer.route.service;
+
+import com.veer.route.model.geometry.RouteGeometry;
+
+import java.util.Objects;
+
+/**
+ * Where two versions of route points differ: both share their first
+ * {@code prefix} and their last {@code suffix} points, and everything in
+ * between may have changed.
+ */
+public record ChangedSpan(int prefix, int suffix) {
+
+    public static ChangedSpan between(RouteGeometry before, RouteGeometry after) {
+        int oldSize = before.size();
+        int newSize = after.size();
+        int common = Math.min(oldSize, newSize);
+
+        int prefix = 0;
+        while (prefix < common && samePoint(before, prefix, after, prefix))
+            prefix++;
+        int suffix = 0;
+        while (suffix < common - prefix && samePoint(before, oldSize - 1 - suffix, after, newSize - 1 - suffix))
+            suffix++;
+        return new ChangedSpan(prefix, suffix);
+    }
+
+    /**
+     * @return end of the changed points in a geometry of {@code size} points, exclusive
+     */
+    public int end(int size) {
+        return size - suffix;
+    }
+
+    public boolean isUnchanged(RouteGeometry before, RouteGeometry after) {
+        return prefix == before.size() && before.size() == after.size();
+    }
+
+    private static boolean samePoint(RouteGeometry a, int i, RouteGeometry b, int j) {
+        return a.latitude(i) == b.latitude(j)
+            && a.longitude(i) == b.longitude(j)
+            && Double.compare(a.altitude(i), b.altitude(j)) == 0
+            && a.type(i) == b.type(j)
+            && Objects.equals(a.name(i), b.name(j))
+            && Objects.equals(a.timestamp(i), b.timestamp(j));
+    }
+
+}
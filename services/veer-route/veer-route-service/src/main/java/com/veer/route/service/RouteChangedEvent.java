@@ -0,0 +1,58 @@
+package com.veer.route.service;
+
+import com.veer.route.model.Route;
+import com.veer.route.model.RouteStatistics;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by {@link RouteServiceImpl} after a route was saved or deleted,
+ * so derived structures (indexes, caches) can follow without polling.
+ * {@link Type#RATED} changes only the rating, never the geometry.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class RouteChangedEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED, RATED }
+
+    private final Type type;
+
+    private final String routeId;
+
+    private final boolean publicRoute;
+
+    private final RouteStatistics statistics;
+
+    // statistics (and so bounding box) before the change, null for CREATED
+    private final RouteStatistics previousStatistics;
+
+    public static RouteChangedEvent created(Route route) {
+        return new RouteChangedEvent(Type.CREATED, route.getId(),
+            Boolean.TRUE.equals(route.getIsPublic()), route.getStatistics(), null);
+    }
+
+    public static RouteChangedEvent updated(Route route, RouteStatistics previousStatistics) {
+        return new RouteChangedEvent(Type.UPDATED, route.getId(),
+            Boolean.TRUE.equals(route.getIsPublic()), route.getStatistics(), previousStatistics);
+    }
+
+    // an update that left the points, and so the statistics, as they were
+    public static RouteChangedEvent updated(String routeId, boolean publicRoute, RouteStatistics statistics) {
+        return new RouteChangedEvent(Type.UPDATED, routeId, publicRoute, statistics, statistics);
+    }
+
+    public static RouteChangedEvent rated(String routeId, boolean publicRoute, RouteStatistics statistics) {
+        return new RouteChangedEvent(Type.RATED, routeId, publicRoute, statistics, null);
+    }
+
+    public static RouteChangedEvent deleted(Route route) {
+        return deleted(route.getId(), Boolean.TRUE.equals(route.getIsPublic()), route.getStatistics());
+    }
+
+    public static RouteChangedEvent deleted(String routeId, boolean publicRoute, RouteStatistics statistics) {
+        return new RouteChangedEvent(Type.DELETED, routeId, publicRoute, null, statistics);
+    }
+
+}
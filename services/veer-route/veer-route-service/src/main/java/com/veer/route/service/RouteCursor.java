@@ -0,0 +1,51 @@
+package com.veer.route.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (created_at, id): the position of the last
+ * route of a page, encoded as URL-safe base64. Shared with the reactive
+ * runtime, so that pages started on one runtime continue on the other.
+ */
+public final class RouteCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final Instant createdAt;
+
+    private final String id;
+
+    private RouteCursor(Instant createdAt, String id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static String encode(Instant createdAt, String id) {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static RouteCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1)
+                throw new IllegalArgumentException("Invalid cursor");
+            return new RouteCursor(Instant.parse(raw.substring(0, separator)), raw.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+}
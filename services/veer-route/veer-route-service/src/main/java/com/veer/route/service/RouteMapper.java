@@ -1,8 +1,13 @@
 package com.veer.route.service;
 
 import com.veer.route.model.Route;
+import com.veer.route.model.RouteStatistics;
 import com.veer.route.model.dto.CreateRouteDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.model.geometry.RouteGeometryJson;
+import com.veer.route.repository.RouteRepository;
 
 import java.util.UUID;
 
@@ -28,10 +33,72 @@ public class RouteMapper {
             .description(route.getDescription())
             .isPublic(route.getIsPublic())
             .rating(route.getRating())
+            .ratingCount(route.getRatingCount())
+            .ratingScore(route.getRatingScore())
+            .statistics(route.getStatistics())
             .createdAt(route.getCreatedAt())
             .lastUpdated(route.getLastUpdated())
+            .version(route.getVersion())
             .build();
     }
 
-}
+    public static RouteSummaryDto toRouteSummaryDto(Route route) {
+        return RouteSummaryDto.builder()
+            .id(route.getId())
+            .createdBy(route.getCreatedBy())
+            .name(route.getName())
+            .isPublic(route.getIsPublic())
+            .rating(route.getRating())
+            .ratingCount(route.getRatingCount())
+            .ratingScore(route.getRatingScore())
+            .statistics(route.getStatistics())
+            .createdAt(route.getCreatedAt())
+            .lastUpdated(route.getLastUpdated())
+            .version(route.getVersion())
+            .build();
+    }
+
+    // points are not part of the row, so the dto has none
+    public static ResponseRouteDto toResponseRouteDto(RouteRepository.RouteRow row) {
+        return toResponseRouteDto(row, null);
+    }
+
+    // points of the row as stored jsonb
+    public static ResponseRouteDto toResponseRouteDto(RouteRepository.RouteDetailsRow row) {
+        return toResponseRouteDto(row, row.getPointsJson() != null ? RouteGeometryJson.fromJson(row.getPointsJson()) : null);
+    }
 
+    private static ResponseRouteDto toResponseRouteDto(RouteRepository.RouteRow row, RouteGeometry points) {
+        return ResponseRouteDto.builder()
+            .id(row.getId())
+            .createdBy(row.getCreatedBy())
+            .points(points)
+            .name(row.getName())
+            .description(row.getDescription())
+            .isPublic(row.getIsPublic())
+            .rating(row.getRating())
+            .ratingCount(row.getRatingCount())
+            .ratingScore(row.getRatingScore())
+            .statistics(toStatistics(row))
+            .createdAt(row.getCreatedAt())
+            .lastUpdated(row.getLastUpdated())
+            .version(row.getVersion())
+            .build();
+    }
+
+    public static RouteStatistics toStatistics(RouteRepository.RouteRow row) {
+        return RouteStatistics.builder()
+            .lengthMeters(row.getLengthMeters())
+            .ascentMeters(row.getAscentMeters())
+            .descentMeters(row.getDescentMeters())
+            .walkDurationSeconds(row.getWalkDurationSeconds())
+            .bikeDurationSeconds(row.getBikeDurationSeconds())
+            .carDurationSeconds(row.getCarDurationSeconds())
+            .minLatitude(row.getMinLatitude())
+            .minLongitude(row.getMinLongitude())
+            .maxLatitude(row.getMaxLatitude())
+            .maxLongitude(row.getMaxLongitude())
+            .build();
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.veer.route.service;
+
+import com.veer.route.model.dto.RoutePointOperationDto;
+import com.veer.route.model.geometry.RouteGeometry;
+
+import java.util.List;
+
+/**
+ * Applies point-level operations to a copy of a route geometry.
+ */
+public final class RoutePointEditor {
+
+    private RoutePointEditor() {
+    }
+
+    /**
+     * @throws IllegalArgumentException naming the first operation that cannot be applied
+     */
+    public static RouteGeometry apply(RouteGeometry points, List<RoutePointOperationDto> operations) {
+        RouteGeometry.Builder builder = points.toBuilder();
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                apply(builder, operations.get(i));
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Operation " + i + ": " + e.getMessage(), e);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void apply(RouteGeometry.Builder builder, RoutePointOperationDto operation) {
+        int index = operation.getIndex();
+        RouteGeometry points = operation.getPoints();
+        switch (operation.getOp()) {
+            case INSERT -> {
+                if (points == null || points.isEmpty())
+                    throw new IllegalArgumentException("INSERT requires points");
+                checkIndex(index, builder.size() + 1);
+                builder.insert(index, points);
+            }
+            // without an altitude the moved point gets the terrain height
+            case MOVE -> {
+                if (points == null || points.size() != 1)
+                    throw new IllegalArgumentException("MOVE requires exactly one point");
+                checkIndex(index, builder.size());
+                builder.setPosition(index, points.latitude(0), points.longitude(0), points.altitude(0));
+            }
+            case DELETE -> {
+                checkIndex(index, builder.size());
+                builder.remove(index);
+            }
+            case REORDER -> {
+                if (operation.getTo() == null)
+                    throw new IllegalArgumentException("REORDER requires to");
+                checkIndex(index, builder.size());
+                checkIndex(operation.getTo(), builder.size());
+                builder.move(index, operation.getTo());
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int size) {
+        if (index < 0 || index >= size)
+            throw new IllegalArgumentException("index " + index + " is out of range [0, " + size + ")");
+    }
+
+}
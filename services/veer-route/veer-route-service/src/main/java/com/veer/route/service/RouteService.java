@@ -1,22 +1,100 @@
 package com.veer.route.service;
 
+import com.veer.route.model.PoiCategory;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.dto.BulkImportResultDto;
 import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.DirectionsDto;
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.dto.IsochronesDto;
+import com.veer.route.model.dto.MatrixRequestDto;
+import com.veer.route.model.dto.OptimizedRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.PoiDto;
+import com.veer.route.model.dto.RateRouteDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteRatingDto;
+import com.veer.route.model.dto.RouteSearchFilterDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
 import com.veer.route.model.dto.UpdateRouteDto;
 
+import com.veer.route.service.cache.RouteJson;
+import com.veer.route.service.export.RouteExportFormat;
+import com.veer.route.service.routing.TravelMatrix;
+import com.veer.route.service.simplify.DetailLevel;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface RouteService {
 
     ResponseRouteDto createRoute(CreateRouteDto createRouteDto);
 
+    BulkImportResultDto importRoutes(String userId, InputStream input) throws IOException;
+
     ResponseRouteDto getRouteById(String routeId);
 
-    void deleteRouteById(String routeId);
+    // the route as the JSON of its ResponseRouteDto with the points of the given level, cached
+    RouteJson getRouteJsonById(String routeId, DetailLevel level);
+
+    long getRouteVersion(String routeId);
+
+    // only by the route's owner, otherwise a RouteAccessDeniedException;
+    // expectedVersion: null to skip the check, otherwise a RouteVersionMismatchException if it differs
+    void deleteRouteById(String routeId, String userId, Long expectedVersion);
+
+    ResponseRouteDto updateRoute(UpdateRouteDto updateRouteDto, String userId, Long expectedVersion);
+
+    RouteSummaryDto patchRoutePoints(
+        String routeId, String userId, PatchRoutePointsDto patchRoutePointsDto, Long expectedVersion
+    );
+
+    RouteSummaryPageDto getRoutesByUserId(String userId, String cursor, int limit);
+
+    void exportRoutesByUserId(String userId, RouteExportFormat format, OutputStream output) throws IOException;
+
+    OptimizedRouteDto optimizeRoute(String routeId);
+
+    // one rating per user and route, a second one replaces the first
+    RouteRatingDto rateRoute(String routeId, String userId, RateRouteDto rateRouteDto);
+
+    RouteRatingDto deleteRouteRating(String routeId, String userId);
+
+    // totals of the route, with the stars of the user if given
+    RouteRatingDto getRouteRating(String routeId, String userId);
+
+    // the route along roads of the local road graph, leg by leg between the stored points
+    DirectionsDto getDirections(String routeId, TravelProfile profile);
+
+    // travel times and distances between two sets of points over the road graph, great-circle without one
+    TravelMatrix computeMatrix(MatrixRequestDto matrixRequestDto);
+
+    // areas reached from a point within each of the time limits, from one search over the road graph
+    IsochronesDto computeIsochrones(double latitude, double longitude, TravelProfile profile, List<Integer> minutes);
+
+    // attractions of the local dataset nearest a point, of any of the categories or of all without any
+    List<PoiDto> findPoisNear(double latitude, double longitude, int limit, double radiusMeters, List<PoiCategory> categories);
+
+    // attractions within a buffer of the route line, in the order they are passed
+    List<PoiDto> findPoisAlongRoute(String routeId, double bufferMeters, int limit, List<PoiCategory> categories);
+
+    // heights along the route, recorded altitudes first and terrain heights from local DEM tiles elsewhere
+    ElevationProfileDto getElevationProfile(String routeId);
+
+    List<RouteSummaryDto> findPublicRoutesInBox(
+        double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int limit
+    );
+
+    List<RouteSummaryDto> findPublicRoutesNear(double latitude, double longitude, double radiusMeters, int limit);
 
-    ResponseRouteDto updateRoute(UpdateRouteDto updateRouteDto);
+    // public routes whose name or description match the text, best first, optionally within statistic bounds
+    RouteSummaryPageDto searchPublicRoutes(String query, RouteSearchFilterDto filter, String cursor, int limit);
 
-    List<ResponseRouteDto> getRoutesByUserId(String userId);
+    // Mapbox Vector Tile of the public routes crossing tile zoom/x/y, empty when there are none
+    byte[] getPublicRouteTile(int zoom, int x, int y);
 
 }
 
@@ -1,35 +1,164 @@
 package com.veer.route.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.PoiCategory;
 import com.veer.route.model.Route;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.dto.BulkImportResultDto;
 import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.DirectionsDto;
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.dto.GeoPoint;
+import com.veer.route.model.dto.IsochroneDto;
+import com.veer.route.model.dto.IsochronesDto;
+import com.veer.route.model.dto.MatrixRequestDto;
+import com.veer.route.model.dto.OptimizedRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.PoiDto;
+import com.veer.route.model.dto.RateRouteDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteRatingDto;
+import com.veer.route.model.dto.RouteSearchFilterDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
 import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.model.exception.RouteAccessDeniedException;
 import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import com.veer.route.model.exception.RoutingUnavailableException;
+import com.veer.route.model.geometry.RouteGeometry;
 import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.bulk.RouteBulkImporter;
+import com.veer.route.service.cache.RouteCache;
+import com.veer.route.service.cache.RouteJson;
+import com.veer.route.service.elevation.ElevationModel;
+import com.veer.route.service.export.RouteExportFormat;
+import com.veer.route.service.export.RouteExporter;
+import com.veer.route.service.optimizer.RouteOptimizer;
+import com.veer.route.service.poi.PoiIndex;
+import com.veer.route.service.rating.RouteRatings;
+import com.veer.route.service.search.RouteSearch;
+import com.veer.route.service.routing.ReachCache;
+import com.veer.route.service.routing.ReachGrid;
+import com.veer.route.service.routing.RoadRouter;
+import com.veer.route.service.routing.TravelMatrix;
+import com.veer.route.service.simplify.DetailLevel;
+import com.veer.route.service.simplify.RouteSimplifier;
+import com.veer.route.service.spatial.RouteSpatialIndex;
+import com.veer.route.service.tiles.RouteTileGenerator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class RouteServiceImpl implements RouteService {
 
+    // time limits per isochrone request, all computed from one search
+    static final int MAX_ISOCHRONES = 10;
+
+    static final int MAX_POIS = 500;
+
+    static final double MAX_POI_RADIUS_METERS = 100_000;
+
+    static final double MAX_POI_BUFFER_METERS = 10_000;
+
     RouteRepository repository;
 
-    public RouteServiceImpl(RouteRepository repository) {
+    RouteOptimizer optimizer;
+
+    RouteSpatialIndex spatialIndex;
+
+    ApplicationEventPublisher eventPublisher;
+
+    RouteExporter exporter;
+
+    RouteBulkImporter bulkImporter;
+
+    RouteCache cache;
+
+    ObjectMapper objectMapper;
+
+    RouteTileGenerator tileGenerator;
+
+    ElevationModel elevationModel;
+
+    RoadRouter roadRouter;
+
+    ReachCache reachCache;
+
+    PoiIndex poiIndex;
+
+    RouteRatings ratings;
+
+    RouteSearch search;
+
+    public RouteServiceImpl(
+        RouteRepository repository,
+        RouteOptimizer optimizer,
+        RouteSpatialIndex spatialIndex,
+        ApplicationEventPublisher eventPublisher,
+        RouteExporter exporter,
+        RouteBulkImporter bulkImporter,
+        RouteCache cache,
+        ObjectMapper objectMapper,
+        RouteTileGenerator tileGenerator,
+        ElevationModel elevationModel,
+        RoadRouter roadRouter,
+        ReachCache reachCache,
+        PoiIndex poiIndex,
+        RouteRatings ratings,
+        RouteSearch search
+    ) {
         this.repository = repository;
+        this.optimizer = optimizer;
+        this.spatialIndex = spatialIndex;
+        this.eventPublisher = eventPublisher;
+        this.exporter = exporter;
+        this.bulkImporter = bulkImporter;
+        this.cache = cache;
+        this.objectMapper = objectMapper;
+        this.tileGenerator = tileGenerator;
+        this.elevationModel = elevationModel;
+        this.roadRouter = roadRouter;
+        this.reachCache = reachCache;
+        this.poiIndex = poiIndex;
+        this.ratings = ratings;
+        this.search = search;
     }
 
     @Override
     public ResponseRouteDto createRoute(CreateRouteDto createRouteDto) {
 
         Route route = RouteMapper.toEntity(createRouteDto);
+        // points without altitude climb as the terrain does
+        route.setStatistics(RouteStatisticsCalculator.compute(elevationModel.withElevations(route.getPoints())));
+        route.setDetailLevels(RouteSimplifier.detailLevels(route.getPoints()));
 
         Route savedRoute = repository.save(route);
+        eventPublisher.publishEvent(RouteChangedEvent.created(savedRoute));
 
         return RouteMapper.toResponseRouteDto(savedRoute);
     }
 
+    @Override
+    public BulkImportResultDto importRoutes(String userId, InputStream input) throws IOException {
+        return bulkImporter.importRoutes(userId, input);
+    }
+
     @Override
     public ResponseRouteDto getRouteById(String routeId) {
         Route route = repository.findById(routeId)
@@ -40,47 +169,417 @@ public class RouteServiceImpl implements RouteService {
     }
 
     @Override
-    public void deleteRouteById(String routeId) {
-        Route route = repository.findById(routeId)
+    public RouteJson getRouteJsonById(String routeId, DetailLevel level) {
+        RouteJson cached = cache.get(routeId, level);
+        if (cached != null)
+            return cached;
+
+        long stamp = cache.stamp(routeId);
+        // a simplified level is read on its own, without the full points
+        ResponseRouteDto dto = findDetail(routeId, level)
+            .filter(detail -> detail.getPoints() != null)
+            .orElse(null);
+        if (dto == null) {
+            Route route = repository.findById(routeId)
+                .orElseThrow(() -> new RouteNotFoundException(
+                    "Route " + routeId + " not found"
+                ));
+            dto = RouteMapper.toResponseRouteDto(route);
+            // written before levels of detail were stored
+            if (level != DetailLevel.FULL && route.getPoints() != null)
+                dto.setPoints(RouteSimplifier.simplify(route.getPoints(), level.toleranceMeters()));
+        }
+
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(dto);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Route " + routeId + " cannot be serialized", e);
+        }
+        RouteJson routeJson = new RouteJson(dto.getId(), dto.getVersion(), json);
+        cache.put(stamp, level, routeJson, dto.getPoints() != null ? dto.getPoints().size() : 0);
+        return routeJson;
+    }
+
+    @Override
+    public long getRouteVersion(String routeId) {
+        RouteJson cached = cache.get(routeId);
+        if (cached != null && cached.version() != null)
+            return cached.version();
+        return repository.findVersionById(routeId)
             .orElseThrow(() -> new RouteNotFoundException(
                 "Route " + routeId + " not found"
             ));
-        repository.delete(route);
     }
 
+    /**
+     * One statement deletes the route only if the user owns it and it is
+     * at the expected version, without loading it; only when it deletes
+     * nothing is the route read again to tell why.
+     */
+    @Override
+    public void deleteRouteById(String routeId, String userId, Long expectedVersion) {
+        RouteRepository.RouteRow deleted = repository.deleteOwned(routeId, userId, expectedVersion)
+            .orElseThrow(() -> rejected(routeId, userId, expectedVersion));
+        eventPublisher.publishEvent(RouteChangedEvent.deleted(
+            routeId, Boolean.TRUE.equals(deleted.getIsPublic()), RouteMapper.toStatistics(deleted)
+        ));
+    }
+
+    /**
+     * Without new points, the other fields are set by one owner-scoped
+     * statement, as for a delete, which returns the route with its points.
+     * New points need the old ones to update the statistics, so the route
+     * is loaded and saved.
+     */
     @Override
-    public ResponseRouteDto updateRoute(UpdateRouteDto updateRouteDto) {
-        Route route = repository.findById(updateRouteDto.getId())
+    public ResponseRouteDto updateRoute(UpdateRouteDto updateRouteDto, String userId, Long expectedVersion) {
+        String routeId = updateRouteDto.getId();
+        if (updateRouteDto.getPoints() == null) {
+            RouteRepository.RouteDetailsRow updated = repository.updateOwnedDetails(routeId, userId, expectedVersion,
+                    updateRouteDto.getName(), updateRouteDto.getDescription(), updateRouteDto.getIsPublic(), Instant.now())
+                .orElseThrow(() -> rejected(routeId, userId, expectedVersion));
+            eventPublisher.publishEvent(RouteChangedEvent.updated(
+                routeId, Boolean.TRUE.equals(updated.getIsPublic()), RouteMapper.toStatistics(updated)
+            ));
+            return RouteMapper.toResponseRouteDto(updated);
+        }
+
+        Route route = repository.findById(routeId)
             .orElseThrow(() -> new RouteNotFoundException(
-                "Route " + updateRouteDto.getId() + " not found"
+                "Route " + routeId + " not found"
             ));
+        checkOwner(route, userId);
+        checkVersion(route, expectedVersion);
 
+        RouteStatistics previousStatistics = route.getStatistics();
         Route updatedRoute = updateRouteEntity(route, updateRouteDto);
 
-        Route savedRoute = repository.save(updatedRoute);
-        
+        Route savedRoute = save(updatedRoute);
+        eventPublisher.publishEvent(RouteChangedEvent.updated(savedRoute, previousStatistics));
+
         return RouteMapper.toResponseRouteDto(savedRoute);
     }
 
+    /**
+     * Statistics are updated from the old and new geometry instead of being
+     * recomputed, and the response carries no points, so a small edit of a
+     * long route transfers only the operations and the summary.
+     */
+    @Override
+    public RouteSummaryDto patchRoutePoints(
+        String routeId, String userId, PatchRoutePointsDto patchRoutePointsDto, Long expectedVersion
+    ) {
+        Route route = repository.findById(routeId)
+            .orElseThrow(() -> new RouteNotFoundException(
+                "Route " + routeId + " not found"
+            ));
+        checkOwner(route, userId);
+        checkVersion(route, expectedVersion);
+
+        RouteGeometry before = route.getPoints() != null ? route.getPoints() : RouteGeometry.empty();
+        RouteGeometry after = RoutePointEditor.apply(before, patchRoutePointsDto.getOperations());
+
+        RouteStatistics previousStatistics = route.getStatistics();
+        route.setStatistics(RouteStatisticsCalculator.update(previousStatistics, before, after, elevationModel));
+        route.setDetailLevels(RouteSimplifier.updateDetailLevels(route.getDetailLevels(), before, after));
+        route.setPoints(after);
+
+        Route savedRoute = save(route);
+        eventPublisher.publishEvent(RouteChangedEvent.updated(savedRoute, previousStatistics));
+
+        return RouteMapper.toRouteSummaryDto(savedRoute);
+    }
+
+    @Override
+    public RouteSummaryPageDto getRoutesByUserId(String userId, String cursor, int limit) {
+        // one extra row tells whether there is a next page
+        PageRequest page = PageRequest.ofSize(limit + 1);
+        List<RouteSummaryDto> rows;
+        if (cursor == null || cursor.isEmpty()) {
+            rows = repository.findSummariesByCreatedBy(userId, page);
+        } else {
+            RouteCursor after = RouteCursor.decode(cursor);
+            rows = repository.findSummariesByCreatedByAfter(userId, after.getCreatedAt(), after.getId(), page);
+        }
+
+        if (rows.size() <= limit)
+            return RouteSummaryPageDto.builder().items(rows).build();
+
+        List<RouteSummaryDto> items = rows.subList(0, limit);
+        RouteSummaryDto last = items.get(limit - 1);
+        return RouteSummaryPageDto.builder()
+            .items(items)
+            .nextCursor(RouteCursor.encode(last.getCreatedAt(), last.getId()))
+            .build();
+    }
+
+    @Override
+    public void exportRoutesByUserId(String userId, RouteExportFormat format, OutputStream output) throws IOException {
+        exporter.export(userId, format, output);
+    }
+
+    @Override
+    public List<RouteSummaryDto> findPublicRoutesInBox(
+        double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int limit
+    ) {
+        if (minLatitude > maxLatitude)
+            throw new IllegalArgumentException("minLat must not be greater than maxLat");
+        return loadPublicSummaries(spatialIndex.search(minLatitude, minLongitude, maxLatitude, maxLongitude, limit));
+    }
+
+    @Override
+    public List<RouteSummaryDto> findPublicRoutesNear(double latitude, double longitude, double radiusMeters, int limit) {
+        return loadPublicSummaries(spatialIndex.nearby(latitude, longitude, radiusMeters, limit));
+    }
+
+    @Override
+    public RouteSummaryPageDto searchPublicRoutes(String query, RouteSearchFilterDto filter, String cursor, int limit) {
+        return search.search(query, filter, cursor, limit);
+    }
+
+    @Override
+    public ElevationProfileDto getElevationProfile(String routeId) {
+        Route route = repository.findById(routeId)
+            .orElseThrow(() -> new RouteNotFoundException(
+                "Route " + routeId + " not found"
+            ));
+        return elevationModel.profile(routeId, route.getPoints());
+    }
+
+    @Override
+    public byte[] getPublicRouteTile(int zoom, int x, int y) {
+        return tileGenerator.tile(zoom, x, y);
+    }
+
+    @Override
+    public OptimizedRouteDto optimizeRoute(String routeId) {
+        Route route = repository.findById(routeId)
+            .orElseThrow(() -> new RouteNotFoundException(
+                "Route " + routeId + " not found"
+            ));
+        RouteGeometry points = route.getPoints() != null ? route.getPoints() : RouteGeometry.empty();
+
+        RouteOptimizer.Result result = optimizer.optimize(points);
+
+        RouteGeometry.Builder builder = RouteGeometry.builder(points.size());
+        for (int index : result.getOrder())
+            builder.add(points, index);
+        RouteGeometry optimizedPoints = builder.build();
+
+        RouteStatistics previousStatistics = route.getStatistics() != null
+            ? route.getStatistics()
+            : RouteStatisticsCalculator.compute(points);
+
+        return OptimizedRouteDto.builder()
+            .routeId(routeId)
+            .order(result.getOrder())
+            .points(optimizedPoints)
+            .statistics(RouteStatisticsCalculator.compute(optimizedPoints))
+            .previousStatistics(previousStatistics)
+            .exact(result.isExact())
+            .build();
+    }
+
+    @Override
+    public RouteRatingDto rateRoute(String routeId, String userId, RateRouteDto rateRouteDto) {
+        return ratings.rate(routeId, userId, rateRouteDto.getStars());
+    }
+
+    @Override
+    public RouteRatingDto deleteRouteRating(String routeId, String userId) {
+        return ratings.remove(routeId, userId);
+    }
+
+    @Override
+    public RouteRatingDto getRouteRating(String routeId, String userId) {
+        return ratings.get(routeId, userId);
+    }
+
+    @Override
+    public DirectionsDto getDirections(String routeId, TravelProfile profile) {
+        if (!roadRouter.isAvailable())
+            throw new RoutingUnavailableException("Routing along roads is not available, no road graph is configured");
+        Route route = repository.findById(routeId)
+            .orElseThrow(() -> new RouteNotFoundException(
+                "Route " + routeId + " not found"
+            ));
+        RouteGeometry points = route.getPoints() != null ? route.getPoints() : RouteGeometry.empty();
+
+        RoadRouter.Result result = roadRouter.route(points, profile);
+
+        return DirectionsDto.builder()
+            .routeId(routeId)
+            .profile(profile)
+            .points(result.getPoints())
+            .distanceMeters(result.getDistanceMeters())
+            .durationSeconds(Math.round(result.getDurationSeconds()))
+            .unroutedLegs(result.getUnroutedLegs())
+            .build();
+    }
+
     @Override
-    public List<ResponseRouteDto> getRoutesByUserId(String userId) {
-        List<Route> routes = repository.findByCreatedBy(userId);
-        return routes.stream()
-            .map(RouteMapper::toResponseRouteDto)
+    public TravelMatrix computeMatrix(MatrixRequestDto matrixRequestDto) {
+        List<GeoPoint> sources = matrixRequestDto.getSources();
+        List<GeoPoint> destinations = matrixRequestDto.getDestinations();
+        if (sources == null || sources.isEmpty() || destinations == null || destinations.isEmpty())
+            throw new IllegalArgumentException("Sources and destinations must not be empty");
+        validatePoints(sources);
+        validatePoints(destinations);
+        TravelProfile profile = matrixRequestDto.getProfile() != null ? matrixRequestDto.getProfile() : TravelProfile.WALK;
+        return roadRouter.matrix(sources, destinations, profile);
+    }
+
+    @Override
+    public IsochronesDto computeIsochrones(double latitude, double longitude, TravelProfile profile, List<Integer> minutes) {
+        if (!roadRouter.isAvailable())
+            throw new RoutingUnavailableException("Isochrones are not available, no road graph is configured");
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180))
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        List<Integer> limits = minutes == null ? List.of() : minutes.stream().filter(Objects::nonNull).distinct().sorted().toList();
+        if (limits.isEmpty() || limits.size() != minutes.size() || limits.size() > MAX_ISOCHRONES)
+            throw new IllegalArgumentException("Between 1 and " + MAX_ISOCHRONES + " distinct time limits are required");
+        if (limits.get(0) < 1 || limits.get(limits.size() - 1) > reachCache.getMaxMinutes())
+            throw new IllegalArgumentException("Time limits must be within [1, " + reachCache.getMaxMinutes() + "] minutes");
+
+        // one search for the longest limit, traced once per limit
+        ReachGrid grid = reachCache.get(latitude, longitude, profile, limits.get(limits.size() - 1) * 60.0);
+        List<IsochroneDto> isochrones = limits.stream()
+            .map(limit -> IsochroneDto.builder()
+                .minutes(limit)
+                .coordinates(grid.polygons(limit * 60.0))
+                .build())
+            .toList();
+        return IsochronesDto.builder()
+            .profile(profile)
+            .origin(new GeoPoint(ReachCache.quantize(latitude), ReachCache.quantize(longitude)))
+            .cellMeters(Math.round(grid.getCellMeters() * 10) / 10.0)
+            .isochrones(isochrones)
+            .build();
+    }
+
+    @Override
+    public List<PoiDto> findPoisNear(double latitude, double longitude, int limit, double radiusMeters, List<PoiCategory> categories) {
+        if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180))
+            throw new IllegalArgumentException("Latitude must be within [-90, 90] and longitude within [-180, 180]");
+        if (limit < 1 || limit > MAX_POIS)
+            throw new IllegalArgumentException("Limit must be within [1, " + MAX_POIS + "]");
+        if (!(radiusMeters > 0) || radiusMeters > MAX_POI_RADIUS_METERS)
+            throw new IllegalArgumentException("Radius must be within (0, " + (int) MAX_POI_RADIUS_METERS + "] meters");
+        return poiIndex.nearest(latitude, longitude, limit, radiusMeters, PoiCategory.mask(categories));
+    }
+
+    @Override
+    public List<PoiDto> findPoisAlongRoute(String routeId, double bufferMeters, int limit, List<PoiCategory> categories) {
+        if (limit < 1 || limit > MAX_POIS)
+            throw new IllegalArgumentException("Limit must be within [1, " + MAX_POIS + "]");
+        if (!(bufferMeters > 0) || bufferMeters > MAX_POI_BUFFER_METERS)
+            throw new IllegalArgumentException("Buffer must be within (0, " + (int) MAX_POI_BUFFER_METERS + "] meters");
+        Route route = repository.findById(routeId)
+            .orElseThrow(() -> new RouteNotFoundException(
+                "Route " + routeId + " not found"
+            ));
+        RouteGeometry points = route.getPoints() != null ? route.getPoints() : RouteGeometry.empty();
+        return poiIndex.alongRoute(points, bufferMeters, limit, PoiCategory.mask(categories));
+    }
+
+    private static void validatePoints(List<GeoPoint> points) {
+        for (GeoPoint point : points) {
+            if (point == null || !(Math.abs(point.getLat()) <= 90) || !(Math.abs(point.getLng()) <= 180))
+                throw new IllegalArgumentException("Point latitudes must be within [-90, 90] and longitudes within [-180, 180]");
+        }
+    }
+
+    private Optional<ResponseRouteDto> findDetail(String routeId, DetailLevel level) {
+        return switch (level) {
+            case LOW -> repository.findLowDetailById(routeId);
+            case MEDIUM -> repository.findMediumDetailById(routeId);
+            case HIGH -> repository.findHighDetailById(routeId);
+            case FULL -> Optional.empty();
+        };
+    }
+
+    /**
+     * Summaries in the order of {@code ids}. Routes deleted or made private
+     * since the index was asked are dropped.
+     */
+    private List<RouteSummaryDto> loadPublicSummaries(List<String> ids) {
+        if (ids.isEmpty())
+            return List.of();
+        Map<String, RouteSummaryDto> summaries = repository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(RouteSummaryDto::getId, Function.identity()));
+        return ids.stream()
+            .map(summaries::get)
+            .filter(Objects::nonNull)
+            .filter(summary -> Boolean.TRUE.equals(summary.getIsPublic()))
             .collect(Collectors.toList());
     }
 
+    private static void checkOwner(Route route, String userId) {
+        if (!route.getCreatedBy().equals(userId))
+            throw notOwner(route.getId());
+    }
+
+    private static RouteAccessDeniedException notOwner(String routeId) {
+        return new RouteAccessDeniedException("Route " + routeId + " belongs to another user");
+    }
+
+    /**
+     * Why an owner-scoped statement changed no row: the route is gone,
+     * someone else's, at another version, or was changed in between.
+     */
+    private RuntimeException rejected(String routeId, String userId, Long expectedVersion) {
+        RouteRepository.RouteOwnership current = repository.findOwnershipById(routeId).orElse(null);
+        if (current == null)
+            return new RouteNotFoundException("Route " + routeId + " not found");
+        if (!current.getCreatedBy().equals(userId))
+            return notOwner(routeId);
+        if (expectedVersion != null && !expectedVersion.equals(current.getVersion()))
+            return new RouteVersionMismatchException(
+                "Route " + routeId + " is at version " + current.getVersion() + ", not " + expectedVersion
+            );
+        return concurrentlyModified(routeId);
+    }
+
+    /**
+     * Rejects a stale write before doing any work. A write racing with
+     * this check still fails, on the version column, inside save().
+     */
+    private static void checkVersion(Route route, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(route.getVersion()))
+            throw new RouteVersionMismatchException(
+                "Route " + route.getId() + " is at version " + route.getVersion() + ", not " + expectedVersion
+            );
+    }
+
+    private Route save(Route route) {
+        try {
+            return repository.save(route);
+        } catch (OptimisticLockingFailureException e) {
+            throw concurrentlyModified(route.getId());
+        }
+    }
+
+    private static RouteVersionMismatchException concurrentlyModified(String routeId) {
+        return new RouteVersionMismatchException("Route " + routeId + " was modified concurrently");
+    }
+
     private Route updateRouteEntity(Route route, UpdateRouteDto updateRouteDto) {
-        if (updateRouteDto.getPoints() != null) 
+        if (updateRouteDto.getPoints() != null) {
+            route.setStatistics(RouteStatisticsCalculator.update(
+                route.getStatistics(), route.getPoints(), updateRouteDto.getPoints(), elevationModel
+            ));
+            route.setDetailLevels(RouteSimplifier.updateDetailLevels(
+                route.getDetailLevels(), route.getPoints(), updateRouteDto.getPoints()
+            ));
             route.setPoints(updateRouteDto.getPoints());
+        }
         if (updateRouteDto.getName() != null) 
             route.setName(updateRouteDto.getName());
         if (updateRouteDto.getDescription() != null) 
             route.setDescription(updateRouteDto.getDescription());
         if (updateRouteDto.getIsPublic() != null)
             route.setIsPublic(updateRouteDto.getIsPublic());
-        if (updateRouteDto.getRating() != null)
-            route.setRating(updateRouteDto.getRating());
 
         return route;
     }
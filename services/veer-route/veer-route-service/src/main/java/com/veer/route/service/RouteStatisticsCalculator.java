@@ -0,0 +1,177 @@
+package com.veer.route.service;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.elevation.ElevationModel;
+
+/**
+ * Computes {@link RouteStatistics} from route points.
+ *
+ * A route is a sequence of legs (point i to point i + 1). Length, ascent and
+ * descent are sums over legs, so when only a few points change
+ * {@link #update} subtracts the legs of the changed window in the old
+ * geometry and adds the legs of the changed window in the new one instead of
+ * walking the whole route again.
+ */
+public final class RouteStatisticsCalculator {
+
+    private static final int LENGTH = 0;
+    private static final int ASCENT = 1;
+    private static final int DESCENT = 2;
+
+    private RouteStatisticsCalculator() {
+    }
+
+    public static RouteStatistics compute(RouteGeometry geometry) {
+        if (geometry == null)
+            return null;
+
+        double[] totals = new double[3];
+        addLegs(geometry, 0, geometry.size() - 1, 1.0, totals);
+
+        double[] bbox = boundingBox(geometry);
+        return build(totals, bbox);
+    }
+
+    /**
+     * Recomputes statistics after the points changed from {@code before} to
+     * {@code after}. Only the legs around the differing window are visited;
+     * falls back to {@link #compute} when there is nothing to start from or
+     * when most of the route changed anyway.
+     */
+    public static RouteStatistics update(RouteStatistics previous, RouteGeometry before, RouteGeometry after) {
+        return update(previous, before, after, null);
+    }
+
+    /**
+     * Like {@link #update(RouteStatistics, RouteGeometry, RouteGeometry)},
+     * with terrain heights from {@code elevationModel} for points without an
+     * altitude. Heights are looked up only for the points of the visited
+     * legs, so an edit of a few points of a long route costs a few lookups.
+     */
+    public static RouteStatistics update(
+        RouteStatistics previous, RouteGeometry before, RouteGeometry after, ElevationModel elevationModel
+    ) {
+        if (after == null)
+            return previous;
+        if (previous == null || previous.getLengthMeters() == null || before == null)
+            return compute(withElevations(elevationModel, after, 0, after.size()));
+
+        int oldSize = before.size();
+        int newSize = after.size();
+        ChangedSpan span = ChangedSpan.between(before, after);
+        if (span.isUnchanged(before, after))
+            return previous;
+
+        int firstLeg = Math.max(span.prefix() - 1, 0);
+        int oldLegsEnd = Math.min(span.end(oldSize), oldSize - 1);
+        int newLegsEnd = Math.min(span.end(newSize), newSize - 1);
+        if ((oldLegsEnd - firstLeg) + (newLegsEnd - firstLeg) > newSize)
+            return compute(withElevations(elevationModel, after, 0, newSize));
+
+        double[] totals = {
+            previous.getLengthMeters(),
+            valueOrZero(previous.getAscentMeters()),
+            valueOrZero(previous.getDescentMeters())
+        };
+        addLegs(withElevations(elevationModel, before, firstLeg, oldLegsEnd + 1), firstLeg, oldLegsEnd, -1.0, totals);
+        addLegs(withElevations(elevationModel, after, firstLeg, newLegsEnd + 1), firstLeg, newLegsEnd, 1.0, totals);
+        for (int i = 0; i < totals.length; i++)
+            totals[i] = Math.max(totals[i], 0.0);
+
+        double[] bbox = updateBoundingBox(
+            previous, before, span.prefix(), span.end(oldSize), after, span.prefix(), span.end(newSize));
+        return build(totals, bbox);
+    }
+
+    private static RouteGeometry withElevations(ElevationModel elevationModel, RouteGeometry points, int from, int to) {
+        return elevationModel != null ? elevationModel.withElevations(points, from, to) : points;
+    }
+
+    private static void addLegs(RouteGeometry geometry, int fromLeg, int toLeg, double sign, double[] totals) {
+        for (int i = fromLeg; i < toLeg; i++) {
+            totals[LENGTH] += sign * GeoMath.haversine(
+                geometry.latitude(i), geometry.longitude(i),
+                geometry.latitude(i + 1), geometry.longitude(i + 1)
+            );
+
+            double climb = geometry.altitude(i + 1) - geometry.altitude(i);
+            if (climb > 0)
+                totals[ASCENT] += sign * climb;
+            else if (climb < 0)
+                totals[DESCENT] -= sign * climb;
+        }
+    }
+
+    private static double[] boundingBox(RouteGeometry geometry) {
+        if (geometry.isEmpty())
+            return null;
+        double[] bbox = {
+            Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY,
+            Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY
+        };
+        extend(bbox, geometry, 0, geometry.size());
+        return bbox;
+    }
+
+    /**
+     * New points can only grow the box. Removed points shrink it only if
+     * they were on its edge, in which case the box is rescanned (a cheap
+     * pass without any trigonometry).
+     */
+    private static double[] updateBoundingBox(
+        RouteStatistics previous,
+        RouteGeometry before, int removedFrom, int removedTo,
+        RouteGeometry after, int addedFrom, int addedTo
+    ) {
+        if (previous.getMinLatitude() == null || after.isEmpty())
+            return boundingBox(after);
+
+        double[] bbox = {
+            previous.getMinLatitude(), previous.getMinLongitude(),
+            previous.getMaxLatitude(), previous.getMaxLongitude()
+        };
+        for (int i = removedFrom; i < removedTo; i++) {
+            double lat = before.latitude(i);
+            double lng = before.longitude(i);
+            if (lat == bbox[0] || lng == bbox[1] || lat == bbox[2] || lng == bbox[3])
+                return boundingBox(after);
+        }
+        extend(bbox, after, addedFrom, addedTo);
+        return bbox;
+    }
+
+    private static void extend(double[] bbox, RouteGeometry geometry, int from, int to) {
+        for (int i = from; i < to; i++) {
+            double lat = geometry.latitude(i);
+            double lng = geometry.longitude(i);
+            bbox[0] = Math.min(bbox[0], lat);
+            bbox[1] = Math.min(bbox[1], lng);
+            bbox[2] = Math.max(bbox[2], lat);
+            bbox[3] = Math.max(bbox[3], lng);
+        }
+    }
+
+    private static double valueOrZero(Double value) {
+        return value == null ? 0.0 : value;
+    }
+
+    private static RouteStatistics build(double[] totals, double[] bbox) {
+        double length = totals[LENGTH];
+        double ascent = totals[ASCENT];
+        return RouteStatistics.builder()
+            .lengthMeters(length)
+            .ascentMeters(ascent)
+            .descentMeters(totals[DESCENT])
+            .walkDurationSeconds(TravelProfile.WALK.estimateDurationSeconds(length, ascent))
+            .bikeDurationSeconds(TravelProfile.BIKE.estimateDurationSeconds(length, ascent))
+            .carDurationSeconds(TravelProfile.CAR.estimateDurationSeconds(length, ascent))
+            .minLatitude(bbox == null ? null : bbox[0])
+            .minLongitude(bbox == null ? null : bbox[1])
+            .maxLatitude(bbox == null ? null : bbox[2])
+            .maxLongitude(bbox == null ? null : bbox[3])
+            .build();
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.veer.route.service.bulk;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DatabindException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.Route;
+import com.veer.route.model.dto.BulkImportItemDto;
+import com.veer.route.model.dto.BulkImportResultDto;
+import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.service.RouteChangedEvent;
+import com.veer.route.service.RouteMapper;
+import com.veer.route.service.RouteStatisticsCalculator;
+import com.veer.route.service.elevation.ElevationModel;
+import com.veer.route.service.simplify.RouteSimplifier;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Creates routes from a JSON array read incrementally from a stream.
+ *
+ * Elements are parsed and validated one at a time. Valid routes are
+ * inserted {@code batch-size} per transaction with {@code persist}, which
+ * (unlike {@code save} with an assigned id) issues no select before the
+ * insert, so Hibernate can group the inserts into JDBC batches. If a batch
+ * fails, its routes are retried one per transaction to find the culprits.
+ */
+@Component
+public class RouteBulkImporter {
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Validator validator;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ElevationModel elevationModel;
+
+    private final int batchSize;
+
+    public RouteBulkImporter(
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        Validator validator,
+        ApplicationEventPublisher eventPublisher,
+        ElevationModel elevationModel,
+        @Value("${veer.route.bulk.batch-size:500}") int batchSize
+    ) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.elevationModel = elevationModel;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * A syntax error ends the import: routes before it are kept, the
+     * element it occurred in is reported as INVALID.
+     */
+    public BulkImportResultDto importRoutes(String userId, InputStream input) throws IOException {
+        List<BulkImportItemDto> results = new ArrayList<>();
+        List<PendingRoute> batch = new ArrayList<>(batchSize);
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(input)) {
+            try {
+                if (parser.nextToken() != JsonToken.START_ARRAY)
+                    throw new IllegalArgumentException("Request body must be a JSON array of routes");
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Request body must be a JSON array of routes", e);
+            }
+
+            JsonStreamContext routes = parser.getParsingContext();
+            int index = 0;
+            while (true) {
+                CreateRouteDto createRouteDto;
+                try {
+                    JsonToken token = parser.nextToken();
+                    if (token == JsonToken.END_ARRAY)
+                        break;
+                    if (token == null) {
+                        results.add(result(index, null, BulkImportItemDto.Status.INVALID, "Unexpected end of input"));
+                        break;
+                    }
+                    createRouteDto = readRoute(parser, routes, index, results);
+                } catch (JsonProcessingException e) {
+                    results.add(result(index, null, BulkImportItemDto.Status.INVALID,
+                        "Malformed JSON: " + e.getOriginalMessage()));
+                    break;
+                }
+
+                Route route = createRouteDto != null ? toRoute(userId, createRouteDto, index, results) : null;
+                if (route != null) {
+                    batch.add(new PendingRoute(index, route));
+                    if (batch.size() >= batchSize)
+                        insert(batch, results);
+                }
+                index++;
+            }
+        }
+        insert(batch, results);
+
+        results.sort(Comparator.comparingInt(BulkImportItemDto::getIndex));
+        int created = (int) results.stream()
+            .filter(result -> result.getStatus() == BulkImportItemDto.Status.CREATED)
+            .count();
+        return BulkImportResultDto.builder()
+            .created(created)
+            .failed(results.size() - created)
+            .results(results)
+            .build();
+    }
+
+    /**
+     * Binds the element at the current token straight from the stream. On a
+     * mapping error the element is reported as INVALID and the rest of it is
+     * skipped, leaving the parser on its last token like a successful read
+     * does; syntax errors are thrown.
+     */
+    private CreateRouteDto readRoute(
+        JsonParser parser, JsonStreamContext routes, int index, List<BulkImportItemDto> results
+    ) throws IOException {
+        try {
+            return objectMapper.readValue(parser, CreateRouteDto.class);
+        } catch (DatabindException | IllegalArgumentException e) {
+            while (parser.getParsingContext() != routes)
+                parser.nextToken();
+            String message = e instanceof DatabindException json ? json.getOriginalMessage() : e.getMessage();
+            results.add(result(index, null, BulkImportItemDto.Status.INVALID, message));
+            return null;
+        }
+    }
+
+    private Route toRoute(String userId, CreateRouteDto createRouteDto, int index, List<BulkImportItemDto> results) {
+        createRouteDto.setCreatedBy(userId);
+
+        Set<ConstraintViolation<CreateRouteDto>> violations = validator.validate(createRouteDto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+            results.add(result(index, null, BulkImportItemDto.Status.INVALID, message));
+            return null;
+        }
+
+        Route route = RouteMapper.toEntity(createRouteDto);
+        route.setStatistics(RouteStatisticsCalculator.compute(elevationModel.withElevations(route.getPoints())));
+        route.setDetailLevels(RouteSimplifier.detailLevels(route.getPoints()));
+        return route;
+    }
+
+    private void insert(List<PendingRoute> batch, List<BulkImportItemDto> results) {
+        if (batch.isEmpty())
+            return;
+        try {
+            persist(batch);
+            for (PendingRoute pending : batch)
+                created(pending, results);
+        } catch (RuntimeException batchFailure) {
+            for (PendingRoute pending : batch) {
+                try {
+                    // the failed batch assigned these; with a version set, persist would take the route for detached
+                    pending.route.setVersion(null);
+                    pending.route.setCreatedAt(null);
+                    pending.route.setLastUpdated(null);
+                    persist(List.of(pending));
+                    created(pending, results);
+                } catch (RuntimeException e) {
+                    results.add(result(pending.index, null, BulkImportItemDto.Status.FAILED, rootMessage(e)));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void persist(List<PendingRoute> routes) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (PendingRoute pending : routes)
+                entityManager.persist(pending.route);
+            // the persistence context may outlive the transaction (open-in-view), keep it empty
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private void created(PendingRoute pending, List<BulkImportItemDto> results) {
+        results.add(result(pending.index, pending.route.getId(), BulkImportItemDto.Status.CREATED, null));
+        eventPublisher.publishEvent(RouteChangedEvent.created(pending.route));
+    }
+
+    private static BulkImportItemDto result(int index, String id, BulkImportItemDto.Status status, String message) {
+        return BulkImportItemDto.builder()
+            .index(index)
+            .id(id)
+            .status(status)
+            .message(message)
+            .build();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null && cause.getCause() != cause)
+            cause = cause.getCause();
+        return cause.getMessage();
+    }
+
+    private record PendingRoute(int index, Route route) {
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.veer.route.service.cache;
+
+import com.veer.route.service.RouteChangedEvent;
+import com.veer.route.service.simplify.DetailLevel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of serialized routes, so that reading a popular route
+ * costs neither a query nor a jsonb parse nor a JSON write.
+ *
+ * Each {@link DetailLevel} of a route is a separate entry. Eviction is by
+ * entry count and by weight, the weight of an entry being its number of
+ * points, so a few huge tracks cannot crowd out memory.
+ *
+ * Entries are dropped on every {@link RouteChangedEvent}. A reader that
+ * started loading a route before such a change must not put its stale copy
+ * back afterwards: it takes a {@link #stamp(String)} before reading the
+ * database and {@link #put} ignores the entry if the stamp has moved since.
+ * Stamps are kept per stripe of route ids, see {@link StampedLruCache}.
+ */
+@Component
+public class RouteCache {
+
+    private static final int STRIPES = 256;
+
+    private final StampedLruCache<Key, Entry> entries;
+
+    public RouteCache(
+        @Value("${veer.route.cache.max-entries:10000}") int maxEntries,
+        @Value("${veer.route.cache.max-points:5000000}") long maxWeight
+    ) {
+        this.entries = new StampedLruCache<>(maxEntries, maxWeight, STRIPES, key -> key.routeId().hashCode(), Entry::weight);
+    }
+
+    public RouteJson get(String routeId) {
+        return get(routeId, DetailLevel.FULL);
+    }
+
+    public RouteJson get(String routeId, DetailLevel level) {
+        Entry entry = entries.get(new Key(routeId, level));
+        return entry != null ? entry.route : null;
+    }
+
+    /**
+     * To be taken before the route is read from the database, see {@link #put}.
+     */
+    public long stamp(String routeId) {
+        // every level of a route is in the stripe of its id
+        return entries.stamp(new Key(routeId, DetailLevel.FULL));
+    }
+
+    /**
+     * Caches {@code route} unless it was invalidated since {@code stamp}
+     * was taken, or it alone outweighs the whole cache.
+     *
+     * @param points number of points of the route, its weight
+     */
+    public void put(long stamp, RouteJson route, int points) {
+        put(stamp, DetailLevel.FULL, route, points);
+    }
+
+    public void put(long stamp, DetailLevel level, RouteJson route, int points) {
+        entries.put(stamp, new Key(route.id(), level), new Entry(route, Math.max(points, 1)));
+    }
+
+    public void invalidate(String routeId) {
+        for (DetailLevel level : DetailLevel.values())
+            entries.invalidate(new Key(routeId, level));
+    }
+
+    public void invalidateAll() {
+        entries.invalidateAll();
+    }
+
+    @EventListener
+    public void onRouteChanged(RouteChangedEvent event) {
+        invalidate(event.getRouteId());
+    }
+
+    public long hitCount() {
+        return entries.hitCount();
+    }
+
+    public long missCount() {
+        return entries.missCount();
+    }
+
+    public long evictionCount() {
+        return entries.evictionCount();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Total number of points of the cached routes.
+     */
+    public long weight() {
+        return entries.weight();
+    }
+
+    private record Key(String routeId, DetailLevel level) {
+    }
+
+    private record Entry(RouteJson route, long weight) {
+    }
+
+}
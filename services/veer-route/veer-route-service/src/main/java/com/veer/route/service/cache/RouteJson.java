@@ -0,0 +1,8 @@
+package com.veer.route.service.cache;
+
+/**
+ * A route serialized as the JSON of its {@code ResponseRouteDto}, together
+ * with the version it was read at.
+ */
+public record RouteJson(String id, Long version, byte[] json) {
+}
@@ -0,0 +1,227 @@
+package com.veer.route.service.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded LRU map behind the route, tile and reach caches, evicting by
+ * entry count and by total weight, so a few heavy values cannot crowd out
+ * memory.
+ *
+ * A value computed from data read before an invalidation must not be put
+ * back afterwards: the caller takes a {@link #stamp} before reading, and
+ * {@link #put} ignores the value if the stamp has moved since. Stamps are
+ * kept per stripe of keys rather than per key, so they cost constant
+ * memory and an unrelated invalidation only rarely refuses a put; with a
+ * single stripe every invalidation moves every stamp.
+ */
+public class StampedLruCache<K, V> {
+
+    private final int maxEntries;
+
+    private final long maxWeight;
+
+    private final ToLongFunction<? super V> weigher;
+
+    private final ToIntFunction<? super K> stripeHash;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // access order, eldest first
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private final AtomicLongArray stamps;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param stripes    number of stamps, a power of two
+     * @param stripeHash hash of the part of the key invalidations are made by
+     * @param weigher    weight of a value
+     */
+    public StampedLruCache(
+        int maxEntries, long maxWeight, int stripes,
+        ToIntFunction<? super K> stripeHash, ToLongFunction<? super V> weigher
+    ) {
+        if (Integer.bitCount(stripes) != 1)
+            throw new IllegalArgumentException("Stripes must be a power of two, got " + stripes);
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.stamps = new AtomicLongArray(stripes);
+        this.stripeHash = stripeHash;
+        this.weigher = weigher;
+    }
+
+    public V get(K key) {
+        return get(key, value -> true);
+    }
+
+    /**
+     * @return the cached value if {@code usable} accepts it, counted as a
+     * hit, otherwise null, counted as a miss
+     */
+    public V get(K key, Predicate<? super V> usable) {
+        V value;
+        lock.lock();
+        try {
+            value = entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+        if (value == null || !usable.test(value)) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return value;
+    }
+
+    /**
+     * To be taken before the value of {@code key} is computed, see {@link #put}.
+     */
+    public long stamp(K key) {
+        return stamps.get(stripe(key));
+    }
+
+    /**
+     * Caches {@code value} unless the key was invalidated since
+     * {@code stamp} was taken, or the value alone outweighs the whole cache.
+     */
+    public void put(long stamp, K key, V value) {
+        merge(stamp, key, value, (previous, next) -> next);
+    }
+
+    /**
+     * As {@link #put}, caching {@code remapping} of the cached value and
+     * {@code value} if there is a cached value.
+     */
+    public void merge(long stamp, K key, V value, BinaryOperator<V> remapping) {
+        if (maxEntries <= 0 || weigher.applyAsLong(value) > maxWeight)
+            return;
+        lock.lock();
+        try {
+            if (stamps.get(stripe(key)) != stamp)
+                return;
+            V previous = entries.get(key);
+            V next = previous != null ? remapping.apply(previous, value) : value;
+            if (next == previous)
+                return;
+            entries.put(key, next);
+            if (previous != null)
+                weight -= weigher.applyAsLong(previous);
+            weight += weigher.applyAsLong(next);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            stamps.incrementAndGet(stripe(key));
+            V removed = entries.remove(key);
+            if (removed != null)
+                weight -= weigher.applyAsLong(removed);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the entries whose key matches, moving every stamp.
+     */
+    public void invalidateIf(Predicate<? super K> matches) {
+        lock.lock();
+        try {
+            moveStamps();
+            Iterator<Map.Entry<K, V>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, V> entry = iterator.next();
+                if (matches.test(entry.getKey())) {
+                    weight -= weigher.applyAsLong(entry.getValue());
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            moveStamps();
+            entries.clear();
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long weight() {
+        lock.lock();
+        try {
+            return weight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void moveStamps() {
+        for (int i = 0; i < stamps.length(); i++)
+            stamps.incrementAndGet(i);
+    }
+
+    private void evict() {
+        Iterator<V> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= weigher.applyAsLong(eldest.next());
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private int stripe(K key) {
+        if (stamps.length() == 1)
+            return 0;
+        int hash = stripeHash.applyAsInt(key);
+        return (hash ^ (hash >>> 16)) & (stamps.length() - 1);
+    }
+
+}
@@ -0,0 +1,241 @@
+package com.veer.route.service.elevation;
+
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.GeoMath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Terrain heights from SRTM {@code .hgt} tiles in a local directory, named
+ * after their south-west corner as usual ({@code N52E021.hgt}), so that
+ * routes without recorded altitudes still get an ascent and descent.
+ *
+ * Tiles are memory-mapped on first use, so only the pages actually read
+ * are loaded, and at most {@code max-mapped-bytes} of them stay mapped,
+ * least recently used first out. Java 17 cannot unmap a buffer explicitly;
+ * an evicted tile is unmapped once the garbage collector reclaims it.
+ * Tiles not found are remembered, so files added later need a restart.
+ * Without a directory the model has no data and changes nothing.
+ */
+@Component
+public class ElevationModel {
+
+    private static final Logger log = LoggerFactory.getLogger(ElevationModel.class);
+
+    private final Path directory;
+
+    private final long maxMappedBytes;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // access order, eldest first
+    private final LinkedHashMap<Integer, HgtTile> tiles = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long mappedBytes;
+
+    private final Set<Integer> absent = ConcurrentHashMap.newKeySet();
+
+    public ElevationModel(
+        @Value("${veer.route.elevation.directory:}") String directory,
+        @Value("${veer.route.elevation.max-mapped-bytes:2147483648}") long maxMappedBytes
+    ) {
+        this.directory = directory == null || directory.isBlank() ? null : Path.of(directory);
+        this.maxMappedBytes = maxMappedBytes;
+    }
+
+    public boolean isAvailable() {
+        return directory != null;
+    }
+
+    /**
+     * @return terrain height in meters, {@code NaN} where there is no data
+     */
+    public double elevation(double latitude, double longitude) {
+        HgtTile tile = tile(key(latitude, longitude));
+        return tile != null ? tile.elevation(latitude, longitude) : Double.NaN;
+    }
+
+    /**
+     * Terrain heights of all points, {@code NaN} where there is no data.
+     * Consecutive points mostly share a tile, which is then looked up once.
+     */
+    public double[] elevations(RouteGeometry points) {
+        return elevations(points, 0, points.size());
+    }
+
+    private double[] elevations(RouteGeometry points, int from, int to) {
+        double[] elevations = new double[to - from];
+        int currentKey = Integer.MIN_VALUE;
+        HgtTile current = null;
+        for (int i = 0; i < elevations.length; i++) {
+            double latitude = points.latitude(from + i);
+            double longitude = points.longitude(from + i);
+            int key = key(latitude, longitude);
+            if (key != currentKey) {
+                currentKey = key;
+                current = tile(key);
+            }
+            elevations[i] = current != null ? current.elevation(latitude, longitude) : Double.NaN;
+        }
+        return elevations;
+    }
+
+    /**
+     * The points with terrain heights for those without an altitude.
+     * Recorded altitudes are kept. Returns {@code points} itself when
+     * there is nothing to fill.
+     */
+    public RouteGeometry withElevations(RouteGeometry points) {
+        return points != null ? withElevations(points, 0, points.size()) : null;
+    }
+
+    /**
+     * Like {@link #withElevations(RouteGeometry)}, looking up terrain
+     * heights only for the points from {@code from} to {@code to}
+     * (exclusive); the others are returned as they are.
+     */
+    public RouteGeometry withElevations(RouteGeometry points, int from, int to) {
+        if (points == null || directory == null || from >= to)
+            return points;
+        boolean missing = false;
+        for (int i = from; i < to && !missing; i++)
+            missing = Double.isNaN(points.altitude(i));
+        if (!missing)
+            return points;
+
+        double[] elevations = elevations(points, from, to);
+        RouteGeometry.Builder builder = null;
+        for (int i = 0; i < elevations.length; i++) {
+            int index = from + i;
+            if (Double.isNaN(points.altitude(index)) && !Double.isNaN(elevations[i])) {
+                if (builder == null)
+                    builder = points.toBuilder();
+                builder.setPosition(index, points.latitude(index), points.longitude(index), elevations[i]);
+            }
+        }
+        return builder != null ? builder.build() : points;
+    }
+
+    /**
+     * Heights and distances along the route, recorded altitudes first and
+     * terrain heights elsewhere. Ascent and descent sum the legs whose both
+     * ends have a height, as the route statistics do.
+     */
+    public ElevationProfileDto profile(String routeId, RouteGeometry points) {
+        RouteGeometry filled = withElevations(points != null ? points : RouteGeometry.empty());
+        int n = filled.size();
+        List<Double> distances = new ArrayList<>(n);
+        List<Double> elevations = new ArrayList<>(n);
+        double distance = 0;
+        double ascent = 0;
+        double descent = 0;
+        double min = Double.POSITIVE_INFINITY;
+        double max = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double elevation = filled.altitude(i);
+            if (i > 0) {
+                distance += GeoMath.haversine(filled.latitude(i - 1), filled.longitude(i - 1),
+                    filled.latitude(i), filled.longitude(i));
+                double climb = elevation - filled.altitude(i - 1);
+                if (climb > 0)
+                    ascent += climb;
+                else if (climb < 0)
+                    descent -= climb;
+            }
+            distances.add(distance);
+            elevations.add(Double.isNaN(elevation) ? null : elevation);
+            if (!Double.isNaN(elevation)) {
+                min = Math.min(min, elevation);
+                max = Math.max(max, elevation);
+            }
+        }
+        boolean known = min <= max;
+        return ElevationProfileDto.builder()
+            .routeId(routeId)
+            .distancesMeters(distances)
+            .elevationsMeters(elevations)
+            .ascentMeters(known ? ascent : null)
+            .descentMeters(known ? descent : null)
+            .minElevationMeters(known ? min : null)
+            .maxElevationMeters(known ? max : null)
+            .build();
+    }
+
+    public int mappedTileCount() {
+        lock.lock();
+        try {
+            return tiles.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private HgtTile tile(int key) {
+        if (directory == null || absent.contains(key))
+            return null;
+        lock.lock();
+        try {
+            HgtTile tile = tiles.get(key);
+            if (tile != null)
+                return tile;
+            tile = map(key);
+            if (tile == null) {
+                absent.add(key);
+                return null;
+            }
+            tiles.put(key, tile);
+            mappedBytes += tile.mappedBytes();
+            Iterator<HgtTile> eldest = tiles.values().iterator();
+            // the tile just mapped is the youngest and always stays
+            while (mappedBytes > maxMappedBytes && tiles.size() > 1) {
+                mappedBytes -= eldest.next().mappedBytes();
+                eldest.remove();
+            }
+            return tile;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private HgtTile map(int key) {
+        int southLatitude = Math.floorDiv(key, 360) - 90;
+        int westLongitude = Math.floorMod(key, 360) - 180;
+        String name = String.format(Locale.ROOT, "%s%02d%s%03d.hgt",
+            southLatitude < 0 ? "S" : "N", Math.abs(southLatitude),
+            westLongitude < 0 ? "W" : "E", Math.abs(westLongitude));
+        Path file = directory.resolve(name);
+        if (!Files.isRegularFile(file))
+            file = directory.resolve(name.toLowerCase(Locale.ROOT));
+        if (!Files.isRegularFile(file))
+            return null;
+        try {
+            return HgtTile.map(file, southLatitude, westLongitude);
+        } catch (IOException e) {
+            log.warn("Cannot map elevation tile {}", file, e);
+            return null;
+        }
+    }
+
+    // one degree cell, 0 .. 180 * 360 - 1
+    private static int key(double latitude, double longitude) {
+        int south = Math.min(89, (int) Math.floor(latitude));
+        int west = Math.min(179, (int) Math.floor(longitude));
+        return (south + 90) * 360 + west + 180;
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.veer.route.service.elevation;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * One memory-mapped SRTM {@code .hgt} tile: a square grid of big-endian
+ * 16-bit heights in meters covering one degree of latitude and longitude,
+ * rows from north to south, columns from west to east. The edge rows and
+ * columns repeat those of the neighbouring tiles. 1201 samples per side is
+ * SRTM3 (3 arc-seconds), 3601 is SRTM1.
+ */
+final class HgtTile {
+
+    static final short VOID = -32768;
+
+    private final int southLatitude;
+
+    private final int westLongitude;
+
+    private final int samples;
+
+    private final MappedByteBuffer heights;
+
+    private HgtTile(int southLatitude, int westLongitude, int samples, MappedByteBuffer heights) {
+        this.southLatitude = southLatitude;
+        this.westLongitude = westLongitude;
+        this.samples = samples;
+        this.heights = heights;
+    }
+
+    static HgtTile map(Path file, int southLatitude, int westLongitude) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            int samples = (int) Math.round(Math.sqrt(size / 2.0));
+            if (samples < 2 || 2L * samples * samples != size)
+                throw new IOException(file + " is not a square grid of 16-bit heights");
+            // the mapping stays valid after the channel is closed
+            return new HgtTile(southLatitude, westLongitude, samples, channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+    }
+
+    long mappedBytes() {
+        return heights.capacity();
+    }
+
+    /**
+     * Bilinear interpolation of the four samples around the position.
+     * Void samples are left out and the weights of the others scaled up.
+     *
+     * @return height in meters, {@code NaN} if all four samples are void
+     */
+    double elevation(double latitude, double longitude) {
+        double row = (southLatitude + 1 - latitude) * (samples - 1);
+        double column = (longitude - westLongitude) * (samples - 1);
+        int row0 = Math.max(0, Math.min(samples - 2, (int) Math.floor(row)));
+        int column0 = Math.max(0, Math.min(samples - 2, (int) Math.floor(column)));
+        double dy = Math.max(0.0, Math.min(1.0, row - row0));
+        double dx = Math.max(0.0, Math.min(1.0, column - column0));
+
+        double sum = 0;
+        double weights = 0;
+        for (int corner = 0; corner < 4; corner++) {
+            int r = row0 + (corner >> 1);
+            int c = column0 + (corner & 1);
+            double weight = ((corner >> 1) == 1 ? dy : 1 - dy) * ((corner & 1) == 1 ? dx : 1 - dx);
+            short height = heights.getShort((r * samples + c) * 2);
+            if (height == VOID || weight == 0)
+                continue;
+            sum += weight * height;
+            weights += weight;
+        }
+        return weights > 0 ? sum / weights : Double.NaN;
+    }
+
+}
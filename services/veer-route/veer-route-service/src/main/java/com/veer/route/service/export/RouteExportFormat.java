@@ -0,0 +1,38 @@
+package com.veer.route.service.export;
+
+import java.util.Locale;
+
+public enum RouteExportFormat {
+
+    /** One ResponseRouteDto JSON document per line, lossless. */
+    NDJSON("application/x-ndjson", "ndjson"),
+
+    /** GeoJSON FeatureCollection with one LineString feature per route. */
+    GEOJSON("application/geo+json", "geojson");
+
+    private final String mediaType;
+
+    private final String fileExtension;
+
+    RouteExportFormat(String mediaType, String fileExtension) {
+        this.mediaType = mediaType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static RouteExportFormat fromName(String name) {
+        for (RouteExportFormat format : values()) {
+            if (format.fileExtension.equals(name.toLowerCase(Locale.ROOT)))
+                return format;
+        }
+        throw new IllegalArgumentException("Export format must be one of ndjson, geojson");
+    }
+
+}
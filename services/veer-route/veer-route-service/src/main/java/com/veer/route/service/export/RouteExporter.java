@@ -0,0 +1,135 @@
+package com.veer.route.service.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.veer.route.model.Route;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.RouteMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes all routes of a user to an output stream one at a time. Rows are
+ * read through a database cursor and every route is detached once written,
+ * so memory use does not depend on how many routes the user has.
+ */
+@Component
+public class RouteExporter {
+
+    private final RouteRepository repository;
+
+    private final EntityManager entityManager;
+
+    private final ObjectWriter writer;
+
+    public RouteExporter(RouteRepository repository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.entityManager = entityManager;
+        // the servlet response buffers on its own, flushing per route would only add syscalls
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public void export(String userId, RouteExportFormat format, OutputStream output) throws IOException {
+        try (JsonGenerator generator = writer.getFactory().createGenerator(output);
+             Stream<Route> routes = repository.streamByCreatedBy(userId)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            if (format == RouteExportFormat.GEOJSON) {
+                generator.writeStartObject();
+                generator.writeStringField("type", "FeatureCollection");
+                generator.writeArrayFieldStart("features");
+            }
+
+            Iterator<Route> iterator = routes.iterator();
+            while (iterator.hasNext()) {
+                Route route = iterator.next();
+                if (format == RouteExportFormat.GEOJSON) {
+                    writeFeature(generator, route);
+                } else {
+                    writer.writeValue(generator, RouteMapper.toResponseRouteDto(route));
+                    generator.writeRaw('\n');
+                }
+                entityManager.detach(route);
+            }
+
+            if (format == RouteExportFormat.GEOJSON) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        }
+    }
+
+    private void writeFeature(JsonGenerator generator, Route route) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("type", "Feature");
+        generator.writeStringField("id", route.getId());
+        generator.writeFieldName("geometry");
+        writeGeometry(generator, route.getPoints());
+
+        generator.writeObjectFieldStart("properties");
+        generator.writeStringField("createdBy", route.getCreatedBy());
+        generator.writeStringField("name", route.getName());
+        generator.writeStringField("description", route.getDescription());
+        generator.writeFieldName("isPublic");
+        writer.writeValue(generator, route.getIsPublic());
+        generator.writeFieldName("rating");
+        writer.writeValue(generator, route.getRating());
+        generator.writeFieldName("statistics");
+        writer.writeValue(generator, route.getStatistics());
+        generator.writeStringField("createdAt", toString(route.getCreatedAt()));
+        generator.writeStringField("lastUpdated", toString(route.getLastUpdated()));
+        generator.writeEndObject();
+
+        generator.writeEndObject();
+    }
+
+    /**
+     * LineString for two or more points, Point for one, null for none.
+     * Positions are [longitude, latitude] plus altitude when known.
+     */
+    private static void writeGeometry(JsonGenerator generator, RouteGeometry points) throws IOException {
+        if (points == null || points.isEmpty()) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartObject();
+        if (points.size() == 1) {
+            generator.writeStringField("type", "Point");
+            generator.writeFieldName("coordinates");
+            writePosition(generator, points, 0);
+        } else {
+            generator.writeStringField("type", "LineString");
+            generator.writeArrayFieldStart("coordinates");
+            for (int i = 0; i < points.size(); i++)
+                writePosition(generator, points, i);
+            generator.writeEndArray();
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writePosition(JsonGenerator generator, RouteGeometry points, int index) throws IOException {
+        generator.writeStartArray();
+        generator.writeNumber(points.longitude(index));
+        generator.writeNumber(points.latitude(index));
+        if (!Double.isNaN(points.altitude(index)))
+            generator.writeNumber(points.altitude(index));
+        generator.writeEndArray();
+    }
+
+    private static String toString(Instant instant) {
+        return instant != null ? instant.toString() : null;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.veer.route.service.optimizer;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.GeoMath;
+
+/**
+ * Dense symmetric matrix of great-circle distances between route points,
+ * indexed by local node number (see {@link RouteOptimizer}).
+ */
+final class DistanceMatrix {
+
+    private final int size;
+
+    private final double[] distances;
+
+    private DistanceMatrix(int size, double[] distances) {
+        this.size = size;
+        this.distances = distances;
+    }
+
+    /**
+     * @param nodes geometry index of every local node
+     */
+    static DistanceMatrix of(RouteGeometry geometry, int[] nodes) {
+        int n = nodes.length;
+        double[] distances = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            double lat = geometry.latitude(nodes[i]);
+            double lng = geometry.longitude(nodes[i]);
+            for (int j = i + 1; j < n; j++) {
+                double d = GeoMath.haversine(lat, lng, geometry.latitude(nodes[j]), geometry.longitude(nodes[j]));
+                distances[i * n + j] = d;
+                distances[j * n + i] = d;
+            }
+        }
+        return new DistanceMatrix(n, distances);
+    }
+
+    int size() {
+        return size;
+    }
+
+    double get(int from, int to) {
+        return distances[from * size + to];
+    }
+
+    double pathLength(int[] tour) {
+        double length = 0;
+        for (int i = 1; i < tour.length; i++)
+            length += get(tour[i - 1], tour[i]);
+        return length;
+    }
+
+}
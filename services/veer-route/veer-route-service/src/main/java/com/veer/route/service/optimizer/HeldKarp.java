@@ -0,0 +1,70 @@
+package com.veer.route.service.optimizer;
+
+import java.util.Arrays;
+
+/**
+ * Exact shortest open path starting at node 0 and visiting every other node
+ * once (Held-Karp dynamic programming, O(2^n * n^2)). Only used for small n.
+ */
+final class HeldKarp {
+
+    private HeldKarp() {
+    }
+
+    static int[] solve(DistanceMatrix dist) {
+        int n = dist.size();
+        int[] tour = new int[n];
+        if (n <= 2) {
+            for (int i = 0; i < n; i++)
+                tour[i] = i;
+            return tour;
+        }
+
+        // free nodes 1..n-1 are bits 0..m-1
+        int m = n - 1;
+        int full = (1 << m) - 1;
+        double[] cost = new double[(full + 1) * m];
+        byte[] parent = new byte[(full + 1) * m];
+        Arrays.fill(cost, Double.POSITIVE_INFINITY);
+
+        for (int j = 0; j < m; j++) {
+            cost[(1 << j) * m + j] = dist.get(0, j + 1);
+            parent[(1 << j) * m + j] = -1;
+        }
+
+        for (int mask = 1; mask <= full; mask++) {
+            for (int last = 0; last < m; last++) {
+                double base = cost[mask * m + last];
+                if ((mask & (1 << last)) == 0 || base == Double.POSITIVE_INFINITY)
+                    continue;
+                for (int next = 0; next < m; next++) {
+                    if ((mask & (1 << next)) != 0)
+                        continue;
+                    int nextMask = mask | (1 << next);
+                    double candidate = base + dist.get(last + 1, next + 1);
+                    if (candidate < cost[nextMask * m + next]) {
+                        cost[nextMask * m + next] = candidate;
+                        parent[nextMask * m + next] = (byte) last;
+                    }
+                }
+            }
+        }
+
+        int last = 0;
+        for (int j = 1; j < m; j++) {
+            if (cost[full * m + j] < cost[full * m + last])
+                last = j;
+        }
+
+        int mask = full;
+        for (int position = n - 1; position > 0; position--) {
+            tour[position] = last + 1;
+            int previous = parent[mask * m + last];
+            mask &= ~(1 << last);
+            last = previous;
+        }
+        tour[0] = 0;
+        return tour;
+    }
+
+}
@@ -0,0 +1,234 @@
+package com.veer.route.service.optimizer;
+
+import java.util.Random;
+
+/**
+ * Construction and improvement moves for open paths whose first node is
+ * fixed. Every loop checks the deadline so a search never overruns the
+ * wall-clock budget by more than one pass over a single node.
+ */
+final class LocalSearch {
+
+    private static final double EPSILON = 1e-7;
+
+    private static final int MAX_SEGMENT = 3;
+
+    private final DistanceMatrix dist;
+
+    private final int n;
+
+    private final long deadline;
+
+    LocalSearch(DistanceMatrix dist, long deadline) {
+        this.dist = dist;
+        this.n = dist.size();
+        this.deadline = deadline;
+    }
+
+    boolean expired() {
+        return System.nanoTime() - deadline >= 0;
+    }
+
+    /**
+     * Nearest neighbour from node 0. With a random source the next node is
+     * picked among the few closest unvisited ones, which gives restarts
+     * different starting points.
+     */
+    int[] nearestNeighbour(Random random) {
+        int[] tour = new int[n];
+        boolean[] visited = new boolean[n];
+        visited[0] = true;
+        int[] candidates = new int[3];
+
+        for (int position = 1; position < n; position++) {
+            int current = tour[position - 1];
+            int found = 0;
+            for (int node = 1; node < n; node++) {
+                if (visited[node])
+                    continue;
+                found = offer(candidates, found, current, node);
+            }
+            int next = random == null ? candidates[0] : candidates[random.nextInt(found)];
+            tour[position] = next;
+            visited[next] = true;
+        }
+        return tour;
+    }
+
+    /**
+     * Keeps {@code candidates} sorted by distance from {@code from}.
+     */
+    private int offer(int[] candidates, int found, int from, int node) {
+        double d = dist.get(from, node);
+        int position = Math.min(found, candidates.length);
+        while (position > 0 && dist.get(from, candidates[position - 1]) > d) {
+            if (position < candidates.length)
+                candidates[position] = candidates[position - 1];
+            position--;
+        }
+        if (position < candidates.length)
+            candidates[position] = node;
+        return Math.min(found + 1, candidates.length);
+    }
+
+    /**
+     * Alternates 2-opt and Or-opt until neither improves or time runs out.
+     */
+    void improve(int[] tour) {
+        boolean improved = true;
+        while (improved && !expired()) {
+            improved = twoOpt(tour);
+            improved |= orOpt(tour);
+        }
+    }
+
+    /**
+     * Reverses tour[i+1..j] when that shortens the path. Since the end of
+     * the path is free, j may be the last position, in which case only one
+     * edge is replaced.
+     */
+    boolean twoOpt(int[] tour) {
+        boolean improvedAny = false;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int i = 0; i < n - 2; i++) {
+                if (expired())
+                    return improvedAny;
+                int a = tour[i];
+                int b = tour[i + 1];
+                double ab = dist.get(a, b);
+                for (int j = i + 2; j < n; j++) {
+                    int c = tour[j];
+                    double delta = dist.get(a, c) - ab;
+                    if (j + 1 < n) {
+                        int d = tour[j + 1];
+                        delta += dist.get(b, d) - dist.get(c, d);
+                    }
+                    if (delta < -EPSILON) {
+                        reverse(tour, i + 1, j);
+                        b = tour[i + 1];
+                        ab = dist.get(a, b);
+                        improved = true;
+                        improvedAny = true;
+                    }
+                }
+            }
+        }
+        return improvedAny;
+    }
+
+    /**
+     * Moves segments of 1..3 consecutive nodes to a better position,
+     * optionally reversed.
+     */
+    boolean orOpt(int[] tour) {
+        boolean improvedAny = false;
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            for (int length = 1; length <= MAX_SEGMENT; length++) {
+                for (int i = 1; i + length <= n; i++) {
+                    if (expired())
+                        return improvedAny;
+                    if (tryMoveSegment(tour, i, length)) {
+                        improved = true;
+                        improvedAny = true;
+                    }
+                }
+            }
+        }
+        return improvedAny;
+    }
+
+    private boolean tryMoveSegment(int[] tour, int start, int length) {
+        int end = start + length - 1;
+        int first = tour[start];
+        int last = tour[end];
+        int prev = tour[start - 1];
+        int next = end + 1 < n ? tour[end + 1] : -1;
+
+        double removeGain = dist.get(prev, first);
+        if (next >= 0)
+            removeGain += dist.get(last, next) - dist.get(prev, next);
+
+        double bestDelta = -EPSILON;
+        int bestPosition = -1;
+        boolean bestReversed = false;
+        for (int j = 0; j < n; j++) {
+            if (j >= start - 1 && j <= end)
+                continue;
+            int x = tour[j];
+            int y = j + 1 < n ? tour[j + 1] : -1;
+            double xy = y >= 0 ? dist.get(x, y) : 0.0;
+            double forward = dist.get(x, first) + (y >= 0 ? dist.get(last, y) : 0.0) - xy;
+            double reversed = dist.get(x, last) + (y >= 0 ? dist.get(first, y) : 0.0) - xy;
+            if (forward - removeGain < bestDelta) {
+                bestDelta = forward - removeGain;
+                bestPosition = j;
+                bestReversed = false;
+            }
+            if (length > 1 && reversed - removeGain < bestDelta) {
+                bestDelta = reversed - removeGain;
+                bestPosition = j;
+                bestReversed = true;
+            }
+        }
+        if (bestPosition < 0)
+            return false;
+
+        moveSegment(tour, start, length, bestPosition, bestReversed);
+        return true;
+    }
+
+    /**
+     * Moves tour[start..start+length) so that it directly follows the node
+     * currently at {@code after}.
+     */
+    private static void moveSegment(int[] tour, int start, int length, int after, boolean reversed) {
+        int[] segment = new int[length];
+        System.arraycopy(tour, start, segment, 0, length);
+        if (reversed)
+            reverse(segment, 0, length - 1);
+
+        if (after < start) {
+            System.arraycopy(tour, after + 1, tour, after + 1 + length, start - after - 1);
+            System.arraycopy(segment, 0, tour, after + 1, length);
+        } else {
+            System.arraycopy(tour, start + length, tour, start, after - start - length + 1);
+            System.arraycopy(segment, 0, tour, after - length + 1, length);
+        }
+    }
+
+    /**
+     * Double-bridge kick: splits the free part of the path into A B C D and
+     * reconnects it as A C B D, a change 2-opt and Or-opt cannot undo in one step.
+     */
+    int[] doubleBridge(int[] tour, Random random) {
+        int free = n - 1;
+        int a = 1 + random.nextInt(free - 2);
+        int b = a + 1 + random.nextInt(free - a - 1);
+        int c = b + 1 + random.nextInt(free - b);
+
+        int[] kicked = new int[n];
+        int position = 0;
+        for (int i = 0; i < a; i++)
+            kicked[position++] = tour[i];
+        for (int i = b; i < c; i++)
+            kicked[position++] = tour[i];
+        for (int i = a; i < b; i++)
+            kicked[position++] = tour[i];
+        for (int i = c; i < n; i++)
+            kicked[position++] = tour[i];
+        return kicked;
+    }
+
+    private static void reverse(int[] tour, int from, int to) {
+        while (from < to) {
+            int tmp = tour[from];
+            tour[from++] = tour[to];
+            tour[to--] = tmp;
+        }
+    }
+
+}
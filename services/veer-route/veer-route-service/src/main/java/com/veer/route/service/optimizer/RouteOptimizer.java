@@ -0,0 +1,188 @@
+package com.veer.route.service.optimizer;
+
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Reorders route points to minimize the total (great-circle) length of the
+ * open path, keeping the START point first.
+ *
+ * Small routes are solved exactly with Held-Karp. Larger ones use nearest
+ * neighbour construction followed by iterated 2-opt / Or-opt local search
+ * with double-bridge kicks, bounded by a hard wall-clock budget. From
+ * {@link #PARALLEL_THRESHOLD} points on, independent restarts run in parallel
+ * on a fork-join pool and the shortest path wins.
+ */
+@Component
+public class RouteOptimizer {
+
+    public static final int MAX_POINTS = 1000;
+
+    static final int EXACT_LIMIT = 15;
+
+    static final int PARALLEL_THRESHOLD = 100;
+
+    /*
+     * iterated local search stops early after this many kicks in a row
+     * that did not improve the best path
+     */
+    private static final int STALL_LIMIT = 200;
+
+    private final Duration timeBudget;
+
+    private final ForkJoinPool pool;
+
+    @Autowired
+    public RouteOptimizer(@Value("${veer.route.optimizer.time-budget:2s}") Duration timeBudget) {
+        this(timeBudget, ForkJoinPool.commonPool());
+    }
+
+    RouteOptimizer(Duration timeBudget, ForkJoinPool pool) {
+        this.timeBudget = timeBudget;
+        this.pool = pool;
+    }
+
+    public Result optimize(RouteGeometry geometry) {
+        int n = geometry.size();
+        if (n > MAX_POINTS)
+            throw new IllegalArgumentException(
+                "Route optimization supports at most " + MAX_POINTS + " points, route has " + n
+            );
+
+        int[] nodes = localNodes(geometry);
+        DistanceMatrix dist = DistanceMatrix.of(geometry, nodes);
+
+        int[] tour;
+        boolean exact = n <= EXACT_LIMIT;
+        if (exact)
+            tour = HeldKarp.solve(dist);
+        else
+            tour = search(dist, System.nanoTime() + timeBudget.toNanos());
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++)
+            order[i] = nodes[tour[i]];
+        return new Result(order, dist.pathLength(tour), exact);
+    }
+
+    /**
+     * Local node 0 is the START point (or the first point when none is
+     * marked), the others follow in their current order.
+     */
+    private static int[] localNodes(RouteGeometry geometry) {
+        int n = geometry.size();
+        int start = 0;
+        for (int i = 0; i < n; i++) {
+            if (geometry.type(i) == PointType.START) {
+                start = i;
+                break;
+            }
+        }
+
+        int[] nodes = new int[n];
+        if (n == 0)
+            return nodes;
+        nodes[0] = start;
+        int position = 1;
+        for (int i = 0; i < n; i++) {
+            if (i != start)
+                nodes[position++] = i;
+        }
+        return nodes;
+    }
+
+    private int[] search(DistanceMatrix dist, long deadline) {
+        if (dist.size() < PARALLEL_THRESHOLD || pool.getParallelism() < 2)
+            return iteratedLocalSearch(dist, deadline, 0);
+
+        List<ForkJoinTask<int[]>> restarts = new ArrayList<>();
+        for (int seed = 0; seed < pool.getParallelism(); seed++) {
+            long restartSeed = seed;
+            restarts.add(pool.submit(() -> iteratedLocalSearch(dist, deadline, restartSeed)));
+        }
+
+        int[] best = null;
+        double bestLength = Double.POSITIVE_INFINITY;
+        for (ForkJoinTask<int[]> restart : restarts) {
+            int[] tour = restart.join();
+            double length = dist.pathLength(tour);
+            if (length < bestLength) {
+                best = tour;
+                bestLength = length;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Restart 0 starts from the plain nearest neighbour path, the others
+     * from randomized ones.
+     */
+    private static int[] iteratedLocalSearch(DistanceMatrix dist, long deadline, long seed) {
+        LocalSearch search = new LocalSearch(dist, deadline);
+        Random random = new Random(seed);
+
+        int[] best = search.nearestNeighbour(seed == 0 ? null : random);
+        search.improve(best);
+        double bestLength = dist.pathLength(best);
+
+        int stalled = 0;
+        while (stalled < STALL_LIMIT && !search.expired()) {
+            int[] candidate = search.doubleBridge(best, random);
+            search.improve(candidate);
+            double length = dist.pathLength(candidate);
+            if (length < bestLength - 1e-7) {
+                best = candidate;
+                bestLength = length;
+                stalled = 0;
+            } else {
+                stalled++;
+            }
+        }
+        return best;
+    }
+
+    public static final class Result {
+
+        private final int[] order;
+
+        private final double lengthMeters;
+
+        private final boolean exact;
+
+        Result(int[] order, double lengthMeters, boolean exact) {
+            this.order = order;
+            this.lengthMeters = lengthMeters;
+            this.exact = exact;
+        }
+
+        /**
+         * @return indices into the original geometry, in optimized order
+         */
+        public int[] getOrder() {
+            return order;
+        }
+
+        public double getLengthMeters() {
+            return lengthMeters;
+        }
+
+        /**
+         * @return whether the order is provably optimal
+         */
+        public boolean isExact() {
+            return exact;
+        }
+    }
+
+}
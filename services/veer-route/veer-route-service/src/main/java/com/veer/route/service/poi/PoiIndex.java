@@ -0,0 +1,206 @@
+package com.veer.route.service.poi;
+
+import com.veer.route.model.PoiCategory;
+import com.veer.route.model.dto.PoiDto;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.GeoMath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Attractions near a point or along a route, from the dataset at
+ * {@code file} read by {@link PoiLoader} into a {@link PoiKdTree}.
+ *
+ * The dataset is read at startup, failing it if the file is unreadable,
+ * and again on {@link #reload()}. A reload builds a whole new tree next to
+ * the one in use and then swaps them, so queries never wait and always see
+ * one complete dataset; a failed reload keeps the old one.
+ * Without a file the index is empty.
+ */
+@Component
+public class PoiIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PoiIndex.class);
+
+    private final Path file;
+
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public PoiIndex(@Value("${veer.route.poi.file:}") String file) throws IOException {
+        this.file = file == null || file.isBlank() ? null : Path.of(file);
+        this.snapshot = this.file == null ? new Snapshot(PoiKdTree.EMPTY, null) : read(this.file);
+    }
+
+    PoiIndex(PoiKdTree tree) {
+        this.file = null;
+        this.snapshot = new Snapshot(tree, Instant.now());
+    }
+
+    /**
+     * Reads the dataset again and puts it in place of the one in use.
+     *
+     * @return the number of points of interest now indexed
+     * @throws IOException if the file cannot be read; the index is unchanged
+     */
+    public int reload() throws IOException {
+        if (file == null)
+            return 0;
+        reloadLock.lock();
+        try {
+            snapshot = read(file);
+            return snapshot.tree.size();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+
+    public int size() {
+        return snapshot.tree.size();
+    }
+
+    /**
+     * @return when the dataset in use was read, null without a file
+     */
+    public Instant getLoadedAt() {
+        return snapshot.loadedAt;
+    }
+
+    public String getFile() {
+        return file != null ? file.toString() : null;
+    }
+
+    private static Snapshot read(Path file) throws IOException {
+        long started = System.nanoTime();
+        PoiKdTree tree = PoiLoader.load(file);
+        log.info("Indexed {} points of interest from {} in {} ms",
+            tree.size(), file, (System.nanoTime() - started) / 1_000_000);
+        return new Snapshot(tree, Instant.now());
+    }
+
+    /**
+     * Up to {@code limit} points of interest of any of the categories
+     * within {@code radiusMeters} of the point, nearest first.
+     */
+    public List<PoiDto> nearest(double latitude, double longitude, int limit, double radiusMeters, int categoryMask) {
+        PoiKdTree tree = snapshot.tree;
+        List<PoiDto> pois = new ArrayList<>();
+        for (int entry : tree.nearest(latitude, longitude, limit, radiusMeters, categoryMask)) {
+            double distance = tree.distanceMeters(latitude, longitude, entry);
+            if (distance <= radiusMeters)
+                pois.add(toDto(tree, entry, distance, null));
+        }
+        return pois;
+    }
+
+    /**
+     * Points of interest of any of the categories within
+     * {@code bufferMeters} of the route line, in the order they are passed.
+     * Each comes with its distance from the route and how far along the
+     * route its nearest point is; of more than {@code limit}, those nearest
+     * the route are kept.
+     */
+    public List<PoiDto> alongRoute(RouteGeometry points, double bufferMeters, int limit, int categoryMask) {
+        PoiKdTree tree = snapshot.tree;
+        if (points.isEmpty() || tree.size() == 0)
+            return List.of();
+
+        // entry to {distance from the route, distance along it}
+        Map<Integer, double[]> found = new HashMap<>();
+        if (points.size() == 1) {
+            double latitude = points.latitude(0);
+            double longitude = points.longitude(0);
+            tree.within(latitude, longitude, bufferMeters, categoryMask, entry -> {
+                double distance = tree.distanceMeters(latitude, longitude, entry);
+                if (distance <= bufferMeters)
+                    found.put(entry, new double[] {distance, 0});
+            });
+        }
+        double along = 0;
+        for (int i = 0; i + 1 < points.size(); i++) {
+            double fromLatitude = points.latitude(i);
+            double fromLongitude = points.longitude(i);
+            double toLatitude = points.latitude(i + 1);
+            double toLongitude = points.longitude(i + 1);
+            double length = GeoMath.haversine(fromLatitude, fromLongitude, toLatitude, toLongitude);
+            // the segment in meters east and north of its start
+            double metersPerDegree = GeoMath.EARTH_RADIUS_METERS * Math.PI / 180;
+            double cos = Math.cos(Math.toRadians(fromLatitude));
+            double dx = wrap(toLongitude - fromLongitude) * metersPerDegree * cos;
+            double dy = (toLatitude - fromLatitude) * metersPerDegree;
+            double squaredLength = dx * dx + dy * dy;
+            double segmentStart = along;
+            // around the middle, a little wider than half the segment for
+            // the midpoint of degrees not being quite the middle
+            tree.within((fromLatitude + toLatitude) / 2, fromLongitude + wrap(toLongitude - fromLongitude) / 2,
+                length * 0.55 + bufferMeters, categoryMask, entry -> {
+                    double px = wrap(tree.longitude(entry) - fromLongitude) * metersPerDegree * cos;
+                    double py = (tree.latitude(entry) - fromLatitude) * metersPerDegree;
+                    double t = squaredLength == 0 ? 0 : Math.max(0, Math.min(1, (px * dx + py * dy) / squaredLength));
+                    double distance = Math.hypot(px - t * dx, py - t * dy);
+                    if (distance > bufferMeters)
+                        return;
+                    double[] best = found.get(entry);
+                    if (best == null || distance < best[0])
+                        found.put(entry, new double[] {distance, segmentStart + t * length});
+                });
+            along += length;
+        }
+
+        List<Map.Entry<Integer, double[]>> nearest = new ArrayList<>(found.entrySet());
+        if (nearest.size() > limit) {
+            nearest.sort(Comparator.comparingDouble(e -> e.getValue()[0]));
+            nearest = nearest.subList(0, limit);
+        }
+        nearest.sort(Comparator.comparingDouble(e -> e.getValue()[1]));
+        List<PoiDto> pois = new ArrayList<>(nearest.size());
+        for (Map.Entry<Integer, double[]> e : nearest)
+            pois.add(toDto(tree, e.getKey(), e.getValue()[0], e.getValue()[1]));
+        return pois;
+    }
+
+    // longitude difference in [-180, 180)
+    private static double wrap(double degrees) {
+        return degrees - 360 * Math.floor((degrees + 180) / 360);
+    }
+
+    private static PoiDto toDto(PoiKdTree tree, int entry, double distanceMeters, Double alongMeters) {
+        return PoiDto.builder()
+            .id(tree.id(entry))
+            .name(tree.name(entry))
+            .lat(tree.latitude(entry))
+            .lng(tree.longitude(entry))
+            .categories(PoiCategory.of(tree.categories(entry)))
+            .distanceMeters(distanceMeters)
+            .alongMeters(alongMeters)
+            .build();
+    }
+
+    private static final class Snapshot {
+
+        final PoiKdTree tree;
+
+        final Instant loadedAt;
+
+        Snapshot(PoiKdTree tree, Instant loadedAt) {
+            this.tree = tree;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+}
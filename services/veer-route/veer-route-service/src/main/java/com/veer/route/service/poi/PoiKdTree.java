@@ -0,0 +1,405 @@
+package com.veer.route.service.poi;
+
+import com.veer.route.service.GeoMath;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable k-d tree of points of interest, packed into parallel arrays.
+ *
+ * Points are kept as unit vectors rather than latitude and longitude, so
+ * that the straight-line (chord) distance between two of them grows with
+ * their great-circle distance everywhere, poles and antimeridian included,
+ * and a split plane gives an exact bound for pruning.
+ *
+ * The tree is implicit: the entries of a subtree occupy a range of the
+ * arrays with its root in the middle, split on the axis along which the
+ * range is widest, so no child pointers are stored. Every root also keeps
+ * the union of the categories below it, and a search skips the subtrees
+ * holding none of the categories asked for.
+ */
+final class PoiKdTree {
+
+    static final PoiKdTree EMPTY = new Builder().build();
+
+    private final int size;
+
+    private final long[] ids;
+
+    private final String[] names;
+
+    // fixed point, 1e-7 degrees
+    private final int[] latitudes;
+
+    private final int[] longitudes;
+
+    private final int[] categories;
+
+    // x, y, z of the unit vector of every entry
+    private final float[] points;
+
+    private final byte[] axes;
+
+    private final int[] subtreeCategories;
+
+    private PoiKdTree(
+        int size, long[] ids, String[] names, int[] latitudes, int[] longitudes, int[] categories,
+        float[] points, byte[] axes, int[] subtreeCategories
+    ) {
+        this.size = size;
+        this.ids = ids;
+        this.names = names;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.categories = categories;
+        this.points = points;
+        this.axes = axes;
+        this.subtreeCategories = subtreeCategories;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long id(int entry) {
+        return ids[entry];
+    }
+
+    String name(int entry) {
+        return names[entry];
+    }
+
+    double latitude(int entry) {
+        return latitudes[entry] * 1e-7;
+    }
+
+    double longitude(int entry) {
+        return longitudes[entry] * 1e-7;
+    }
+
+    int categories(int entry) {
+        return categories[entry];
+    }
+
+    /**
+     * Up to {@code k} entries of any of the {@code categoryMask} categories
+     * within {@code maxMeters} of the point, nearest first.
+     */
+    int[] nearest(double latitude, double longitude, int k, double maxMeters, int categoryMask) {
+        if (size == 0 || k <= 0)
+            return new int[0];
+        Nearest search = new Nearest(vector(latitude, longitude), k, chord(maxMeters), categoryMask);
+        search.visit(0, size);
+        return search.sorted();
+    }
+
+    /**
+     * Calls {@code consumer} with every entry of any of the
+     * {@code categoryMask} categories within {@code maxMeters} of the point,
+     * in no particular order.
+     */
+    void within(double latitude, double longitude, double maxMeters, int categoryMask, IntConsumer consumer) {
+        if (size == 0)
+            return;
+        double[] query = vector(latitude, longitude);
+        double bound = chord(maxMeters);
+        within(0, size, query, bound * bound, categoryMask, consumer);
+    }
+
+    private void within(int from, int to, double[] query, double bound, int categoryMask, IntConsumer consumer) {
+        while (from < to) {
+            int root = (from + to) >>> 1;
+            if ((subtreeCategories[root] & categoryMask) == 0)
+                return;
+            if ((categories[root] & categoryMask) != 0 && squaredChord(query, root) <= bound)
+                consumer.accept(root);
+            double offset = query[axes[root]] - points[root * 3 + axes[root]];
+            boolean left = offset < 0;
+            if (offset * offset <= bound) {
+                // both sides, the far one first by recursion
+                if (left)
+                    within(root + 1, to, query, bound, categoryMask, consumer);
+                else
+                    within(from, root, query, bound, categoryMask, consumer);
+            }
+            if (left)
+                to = root;
+            else
+                from = root + 1;
+        }
+    }
+
+    /**
+     * Great-circle distance in meters between the point and an entry.
+     */
+    double distanceMeters(double latitude, double longitude, int entry) {
+        return GeoMath.haversine(latitude, longitude, latitude(entry), longitude(entry));
+    }
+
+    private double squaredChord(double[] query, int entry) {
+        double dx = query[0] - points[entry * 3];
+        double dy = query[1] - points[entry * 3 + 1];
+        double dz = query[2] - points[entry * 3 + 2];
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    static double[] vector(double latitude, double longitude) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cos = Math.cos(phi);
+        return new double[] {cos * Math.cos(lambda), cos * Math.sin(lambda), Math.sin(phi)};
+    }
+
+    // chord on the unit sphere of a great-circle distance, a little longer
+    // than exact so that float coordinates never lose an entry at the edge
+    static double chord(double meters) {
+        double angle = Math.min(Math.PI, Math.max(0, meters) / GeoMath.EARTH_RADIUS_METERS);
+        return 2 * Math.sin(angle / 2) + 1e-6;
+    }
+
+    /**
+     * k nearest entries, with a max-heap of the best found so far whose
+     * top bounds the search once full.
+     */
+    private final class Nearest {
+
+        private final double[] query;
+
+        private final int k;
+
+        private final int categoryMask;
+
+        private final double maxSquaredChord;
+
+        private final double[] keys;
+
+        private final int[] entries;
+
+        private int count;
+
+        Nearest(double[] query, int k, double maxChord, int categoryMask) {
+            this.query = query;
+            this.k = k;
+            this.categoryMask = categoryMask;
+            this.maxSquaredChord = maxChord * maxChord;
+            int capacity = Math.min(k, size);
+            this.keys = new double[capacity];
+            this.entries = new int[capacity];
+        }
+
+        private double bound() {
+            return count == k ? keys[0] : maxSquaredChord;
+        }
+
+        void visit(int from, int to) {
+            if (from >= to)
+                return;
+            int root = (from + to) >>> 1;
+            if ((subtreeCategories[root] & categoryMask) == 0)
+                return;
+            if ((categories[root] & categoryMask) != 0) {
+                double distance = squaredChord(query, root);
+                if (distance <= bound())
+                    offer(root, distance);
+            }
+            double offset = query[axes[root]] - points[root * 3 + axes[root]];
+            if (offset < 0) {
+                visit(from, root);
+                if (offset * offset <= bound())
+                    visit(root + 1, to);
+            } else {
+                visit(root + 1, to);
+                if (offset * offset <= bound())
+                    visit(from, root);
+            }
+        }
+
+        private void offer(int entry, double key) {
+            if (count < keys.length) {
+                int i = count++;
+                while (i > 0) {
+                    int parent = (i - 1) >>> 1;
+                    if (keys[parent] >= key)
+                        break;
+                    keys[i] = keys[parent];
+                    entries[i] = entries[parent];
+                    i = parent;
+                }
+                keys[i] = key;
+                entries[i] = entry;
+                return;
+            }
+            if (key >= keys[0])
+                return;
+            // replace the farthest and sift it down
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= count)
+                    break;
+                if (child + 1 < count && keys[child + 1] > keys[child])
+                    child++;
+                if (keys[child] <= key)
+                    break;
+                keys[i] = keys[child];
+                entries[i] = entries[child];
+                i = child;
+            }
+            keys[i] = key;
+            entries[i] = entry;
+        }
+
+        int[] sorted() {
+            long[] packed = new long[count];
+            for (int i = 0; i < count; i++)
+                packed[i] = Double.doubleToLongBits(keys[i]) & ~0xFFFFFFFFL | i;
+            Arrays.sort(packed);
+            int[] sorted = new int[count];
+            for (int i = 0; i < count; i++)
+                sorted[i] = entries[(int) packed[i]];
+            return sorted;
+        }
+    }
+
+    /**
+     * Collects entries and packs them into a tree. Not thread-safe.
+     */
+    static final class Builder {
+
+        private int size;
+
+        private long[] ids = new long[1024];
+
+        private String[] names = new String[1024];
+
+        private int[] latitudes = new int[1024];
+
+        private int[] longitudes = new int[1024];
+
+        private int[] categories = new int[1024];
+
+        Builder add(long id, String name, double latitude, double longitude, int categoryMask) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+                latitudes = Arrays.copyOf(latitudes, size * 2);
+                longitudes = Arrays.copyOf(longitudes, size * 2);
+                categories = Arrays.copyOf(categories, size * 2);
+            }
+            ids[size] = id;
+            names[size] = name;
+            latitudes[size] = (int) Math.round(latitude * 1e7);
+            longitudes[size] = (int) Math.round(longitude * 1e7);
+            categories[size++] = categoryMask;
+            return this;
+        }
+
+        int size() {
+            return size;
+        }
+
+        PoiKdTree build() {
+            float[] vectors = new float[size * 3];
+            for (int i = 0; i < size; i++) {
+                double[] vector = vector(latitudes[i] * 1e-7, longitudes[i] * 1e-7);
+                vectors[i * 3] = (float) vector[0];
+                vectors[i * 3 + 1] = (float) vector[1];
+                vectors[i * 3 + 2] = (float) vector[2];
+            }
+            int[] order = new int[size];
+            for (int i = 0; i < size; i++)
+                order[i] = i;
+            byte[] axes = new byte[size];
+            split(order, vectors, axes, 0, size);
+
+            long[] sortedIds = new long[size];
+            String[] sortedNames = new String[size];
+            int[] sortedLatitudes = new int[size];
+            int[] sortedLongitudes = new int[size];
+            int[] sortedCategories = new int[size];
+            float[] points = new float[size * 3];
+            for (int i = 0; i < size; i++) {
+                int entry = order[i];
+                sortedIds[i] = ids[entry];
+                sortedNames[i] = names[entry];
+                sortedLatitudes[i] = latitudes[entry];
+                sortedLongitudes[i] = longitudes[entry];
+                sortedCategories[i] = categories[entry];
+                System.arraycopy(vectors, entry * 3, points, i * 3, 3);
+            }
+            int[] subtreeCategories = new int[size];
+            union(sortedCategories, subtreeCategories, 0, size);
+            return new PoiKdTree(size, sortedIds, sortedNames, sortedLatitudes, sortedLongitudes,
+                sortedCategories, points, axes, subtreeCategories);
+        }
+
+        // puts the median of the widest axis in the middle of the range, smaller before it
+        private static void split(int[] order, float[] vectors, byte[] axes, int from, int to) {
+            while (to - from > 1) {
+                int axis = widestAxis(order, vectors, from, to);
+                int middle = (from + to) >>> 1;
+                select(order, vectors, axis, from, to - 1, middle);
+                axes[middle] = (byte) axis;
+                split(order, vectors, axes, from, middle);
+                from = middle + 1;
+            }
+        }
+
+        private static int widestAxis(int[] order, float[] vectors, int from, int to) {
+            int widest = 0;
+            float widestSpread = -1;
+            for (int axis = 0; axis < 3; axis++) {
+                float min = Float.POSITIVE_INFINITY;
+                float max = Float.NEGATIVE_INFINITY;
+                for (int i = from; i < to; i++) {
+                    float value = vectors[order[i] * 3 + axis];
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+                if (max - min > widestSpread) {
+                    widest = axis;
+                    widestSpread = max - min;
+                }
+            }
+            return widest;
+        }
+
+        // Hoare's selection on order[low .. high] by the axis value
+        private static void select(int[] order, float[] vectors, int axis, int low, int high, int k) {
+            while (low < high) {
+                float pivot = vectors[order[(low + high) >>> 1] * 3 + axis];
+                int i = low;
+                int j = high;
+                while (i <= j) {
+                    while (vectors[order[i] * 3 + axis] < pivot)
+                        i++;
+                    while (vectors[order[j] * 3 + axis] > pivot)
+                        j--;
+                    if (i <= j) {
+                        int swap = order[i];
+                        order[i++] = order[j];
+                        order[j--] = swap;
+                    }
+                }
+                if (k <= j)
+                    high = j;
+                else if (k >= i)
+                    low = i;
+                else
+                    return;
+            }
+        }
+
+        private static int union(int[] categories, int[] subtreeCategories, int from, int to) {
+            if (from >= to)
+                return 0;
+            int root = (from + to) >>> 1;
+            subtreeCategories[root] = categories[root]
+                | union(categories, subtreeCategories, from, root)
+                | union(categories, subtreeCategories, root + 1, to);
+            return subtreeCategories[root];
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+package com.veer.route.service.poi;
+
+import com.veer.route.graph.osm.OsmHandler;
+import com.veer.route.graph.osm.OsmTags;
+import com.veer.route.graph.osm.PbfReader;
+import com.veer.route.model.PoiCategory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads a points of interest dataset into a {@link PoiKdTree}, from either
+ * of two formats told apart by the file name:
+ *
+ * <ul>
+ *   <li>{@code *.pbf}: an OSM extract, of which every node tagged as one
+ *   of the categories is kept, e.g. {@code tourism=viewpoint} or
+ *   {@code historic=castle}, under its {@code name}. Attractions mapped
+ *   only as ways or relations are not read.</li>
+ *   <li>anything else: CSV with a header naming at least the {@code lat},
+ *   {@code lng} and {@code categories} columns, and optionally {@code id}
+ *   and {@code name}, in any order. Categories are names of
+ *   {@link PoiCategory} separated by {@code |}; fields may be quoted.</li>
+ * </ul>
+ *
+ * Rows and nodes without a valid position or a known category are skipped.
+ */
+final class PoiLoader {
+
+    private PoiLoader() {
+    }
+
+    static PoiKdTree load(Path file) throws IOException {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        PoiKdTree.Builder builder = new PoiKdTree.Builder();
+        if (name.endsWith(".pbf"))
+            readPbf(file, builder);
+        else
+            readCsv(file, builder);
+        return builder.build();
+    }
+
+    private static void readPbf(Path file, PoiKdTree.Builder builder) throws IOException {
+        PbfReader.read(file, EnumSet.of(PbfReader.Element.NODE_TAGS), new OsmHandler() {
+            @Override
+            public void node(long id, double latitude, double longitude, OsmTags tags) {
+                if (tags.size() == 0)
+                    return;
+                int categories = categories(tags);
+                if (categories != 0)
+                    builder.add(id, tags.get("name"), latitude, longitude, categories);
+            }
+        });
+    }
+
+    /**
+     * @return the bit set of the categories the OSM tags denote
+     */
+    static int categories(OsmTags tags) {
+        int mask = 0;
+        String tourism = tags.get("tourism");
+        if (tourism != null) {
+            mask |= switch (tourism) {
+                case "viewpoint" -> PoiCategory.VIEWPOINT.bit();
+                case "attraction" -> PoiCategory.ATTRACTION.bit();
+                case "museum" -> PoiCategory.MUSEUM.bit();
+                case "gallery" -> PoiCategory.GALLERY.bit();
+                case "artwork" -> PoiCategory.ARTWORK.bit();
+                case "zoo", "aquarium" -> PoiCategory.ZOO.bit();
+                case "theme_park" -> PoiCategory.THEME_PARK.bit();
+                case "picnic_site" -> PoiCategory.PICNIC_SITE.bit();
+                default -> 0;
+            };
+        }
+        String historic = tags.get("historic");
+        if (historic != null) {
+            mask |= switch (historic) {
+                case "monument" -> PoiCategory.MONUMENT.bit();
+                case "memorial" -> PoiCategory.MEMORIAL.bit();
+                case "castle", "manor", "fort" -> PoiCategory.CASTLE.bit();
+                case "ruins" -> PoiCategory.RUINS.bit();
+                case "archaeological_site" -> PoiCategory.ARCHAEOLOGICAL_SITE.bit();
+                default -> 0;
+            };
+        }
+        if ("place_of_worship".equals(tags.get("amenity")))
+            mask |= PoiCategory.PLACE_OF_WORSHIP.bit();
+        if ("park".equals(tags.get("leisure")))
+            mask |= PoiCategory.PARK.bit();
+        String natural = tags.get("natural");
+        if ("peak".equals(natural) || "volcano".equals(natural))
+            mask |= PoiCategory.PEAK.bit();
+        if ("cave_entrance".equals(natural))
+            mask |= PoiCategory.CAVE.bit();
+        if ("waterfall".equals(tags.get("waterway")))
+            mask |= PoiCategory.WATERFALL.bit();
+        return mask;
+    }
+
+    private static void readCsv(Path file, PoiKdTree.Builder builder) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line = reader.readLine();
+            if (line == null)
+                throw new IOException(file + " is empty, expected a CSV header");
+            List<String> header = fields(line.startsWith("﻿") ? line.substring(1) : line);
+            int idColumn = header.indexOf("id");
+            int latitudeColumn = header.indexOf("lat");
+            int longitudeColumn = header.indexOf("lng");
+            int categoriesColumn = header.indexOf("categories");
+            int nameColumn = header.indexOf("name");
+            if (latitudeColumn < 0 || longitudeColumn < 0 || categoriesColumn < 0)
+                throw new IOException(file + " has no lat, lng and categories columns in its header");
+
+            long row = 0;
+            while ((line = reader.readLine()) != null) {
+                row++;
+                if (line.isBlank())
+                    continue;
+                List<String> fields = fields(line);
+                try {
+                    double latitude = Double.parseDouble(field(fields, latitudeColumn));
+                    double longitude = Double.parseDouble(field(fields, longitudeColumn));
+                    int categories = categories(field(fields, categoriesColumn));
+                    if (!(Math.abs(latitude) <= 90) || !(Math.abs(longitude) <= 180) || categories == 0)
+                        continue;
+                    String id = field(fields, idColumn);
+                    String name = field(fields, nameColumn);
+                    builder.add(id.isEmpty() ? row : Long.parseLong(id), name.isEmpty() ? null : name,
+                        latitude, longitude, categories);
+                } catch (NumberFormatException e) {
+                    // a malformed row, skipped like one without a position
+                }
+            }
+        }
+    }
+
+    private static int categories(String field) {
+        int mask = 0;
+        for (String category : field.split("\\|")) {
+            String trimmed = category.trim().toUpperCase(Locale.ROOT);
+            for (PoiCategory known : PoiCategory.values()) {
+                if (known.name().equals(trimmed))
+                    mask |= known.bit();
+            }
+        }
+        return mask;
+    }
+
+    private static String field(List<String> fields, int column) {
+        return column >= 0 && column < fields.size() ? fields.get(column).trim() : "";
+    }
+
+    // one line of RFC 4180 CSV, quotes doubled inside quoted fields
+    static List<String> fields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+}
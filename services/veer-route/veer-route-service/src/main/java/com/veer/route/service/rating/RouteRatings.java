@@ -0,0 +1,146 @@
+package com.veer.route.service.rating;
+
+import com.veer.route.model.RouteRating;
+import com.veer.route.model.dto.RouteRatingDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.repository.RouteRatingRepository;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.RouteChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Stars given to routes by users, one rating per user and route.
+ *
+ * The count and sum of a route's stars are kept on its row and changed by
+ * the difference each rating makes, so reading the mean or ranking by the
+ * Bayesian average never goes through the ratings. The Bayesian average
+ * counts {@code prior-weight} extra ratings of {@code prior-mean} stars,
+ * so that one enthusiastic rating does not put a route above a hundred
+ * good ones.
+ *
+ * The route row is locked while its totals change, so concurrent ratings
+ * of one route are applied one after another and the totals never drift
+ * from the ratings. A change is published as a {@link RouteChangedEvent}
+ * once committed, since the rating is part of the cached route.
+ */
+@Component
+public class RouteRatings {
+
+    private final RouteRepository routeRepository;
+
+    private final RouteRatingRepository ratingRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final double priorMean;
+
+    private final double priorWeight;
+
+    public RouteRatings(
+        RouteRepository routeRepository,
+        RouteRatingRepository ratingRepository,
+        PlatformTransactionManager transactionManager,
+        ApplicationEventPublisher eventPublisher,
+        @Value("${veer.route.rating.prior-mean:3.0}") double priorMean,
+        @Value("${veer.route.rating.prior-weight:5}") double priorWeight
+    ) {
+        this.routeRepository = routeRepository;
+        this.ratingRepository = ratingRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.priorMean = priorMean;
+        this.priorWeight = priorWeight;
+    }
+
+    /**
+     * Rates the route, replacing the user's earlier rating of it if any.
+     */
+    public RouteRatingDto rate(String routeId, String userId, int stars) {
+        if (stars < RouteRating.MIN_STARS || stars > RouteRating.MAX_STARS)
+            throw new IllegalArgumentException(
+                "Stars must be within [" + RouteRating.MIN_STARS + ", " + RouteRating.MAX_STARS + "]");
+        Change change = transactionTemplate.execute(status -> {
+            lock(routeId);
+            Integer previous = ratingRepository.findStars(routeId, userId).orElse(null);
+            if (previous != null && previous == stars)
+                return new Change(summary(routeId), false);
+            ratingRepository.upsert(routeId, userId, stars);
+            routeRepository.addRating(routeId, previous == null ? 1 : 0,
+                stars - (previous == null ? 0 : previous), priorWeight, priorMean);
+            return new Change(summary(routeId), true);
+        });
+        publish(change);
+        return toDto(change.route(), stars);
+    }
+
+    /**
+     * Withdraws the user's rating of the route; nothing changes if there
+     * is none.
+     */
+    public RouteRatingDto remove(String routeId, String userId) {
+        Change change = transactionTemplate.execute(status -> {
+            lock(routeId);
+            Integer previous = ratingRepository.findStars(routeId, userId).orElse(null);
+            if (previous == null)
+                return new Change(summary(routeId), false);
+            ratingRepository.deleteByRouteIdAndUserId(routeId, userId);
+            routeRepository.addRating(routeId, -1, -previous, priorWeight, priorMean);
+            return new Change(summary(routeId), true);
+        });
+        publish(change);
+        return toDto(change.route(), null);
+    }
+
+    /**
+     * @param userId whose stars to include, null for none
+     */
+    public RouteRatingDto get(String routeId, String userId) {
+        RouteSummaryDto route = summary(routeId);
+        Integer stars = userId != null ? ratingRepository.findStars(routeId, userId).orElse(null) : null;
+        return toDto(route, stars);
+    }
+
+    private void lock(String routeId) {
+        routeRepository.lockForRating(routeId)
+            .orElseThrow(() -> new RouteNotFoundException(
+                "Route " + routeId + " not found"
+            ));
+    }
+
+    private RouteSummaryDto summary(String routeId) {
+        List<RouteSummaryDto> routes = routeRepository.findSummariesByIdIn(List.of(routeId));
+        if (routes.isEmpty())
+            throw new RouteNotFoundException("Route " + routeId + " not found");
+        return routes.get(0);
+    }
+
+    private void publish(Change change) {
+        if (change.changed()) {
+            eventPublisher.publishEvent(RouteChangedEvent.rated(change.route().getId(),
+                Boolean.TRUE.equals(change.route().getIsPublic()), change.route().getStatistics()));
+        }
+    }
+
+    private static RouteRatingDto toDto(RouteSummaryDto route, Integer stars) {
+        return RouteRatingDto.builder()
+            .routeId(route.getId())
+            .stars(stars)
+            .count(route.getRatingCount())
+            .average(route.getRating())
+            .score(route.getRatingScore())
+            .build();
+    }
+
+    private record Change(RouteSummaryDto route, boolean changed) {
+    }
+
+}
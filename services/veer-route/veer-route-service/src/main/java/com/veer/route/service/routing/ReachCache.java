@@ -0,0 +1,104 @@
+package com.veer.route.service.routing;
+
+import com.veer.route.model.TravelProfile;
+import com.veer.route.service.cache.StampedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of {@link ReachGrid}s keyed by travel mode and origin,
+ * bounded by grid count and total bytes, that searches on a miss.
+ *
+ * Origins are snapped to a grid of 1 / {@link #ORIGINS_PER_DEGREE} of a
+ * degree, about 110 m north to south, so that requests from nearly the
+ * same place share one search; the search starts from the snapped origin. A grid searched for
+ * a longer time also answers shorter ones, and is only replaced by one
+ * searched for longer still. The road graph never changes while running,
+ * so nothing is invalidated.
+ */
+@Component
+public class ReachCache {
+
+    public static final int ORIGINS_PER_DEGREE = 1000;
+
+    private final RoadRouter roadRouter;
+
+    private final double cellMeters;
+
+    private final int maxMinutes;
+
+    // never invalidated, so a single stamp that never moves
+    private final StampedLruCache<Long, ReachGrid> grids;
+
+    public ReachCache(
+        RoadRouter roadRouter,
+        @Value("${veer.route.isochrone.cell-size:100}") double cellMeters,
+        @Value("${veer.route.isochrone.max-minutes:60}") int maxMinutes,
+        @Value("${veer.route.isochrone.cache.max-grids:1000}") int maxGrids,
+        @Value("${veer.route.isochrone.cache.max-bytes:134217728}") long maxBytes
+    ) {
+        this.roadRouter = roadRouter;
+        this.cellMeters = cellMeters;
+        this.maxMinutes = maxMinutes;
+        this.grids = new StampedLruCache<>(maxGrids, maxBytes, 1, key -> 0, ReachGrid::weight);
+    }
+
+    /**
+     * @return the longest time, in minutes, a search may run for
+     */
+    public int getMaxMinutes() {
+        return maxMinutes;
+    }
+
+    public static double quantize(double degrees) {
+        return Math.round(degrees * ORIGINS_PER_DEGREE) / (double) ORIGINS_PER_DEGREE;
+    }
+
+    /**
+     * Travel times from the quantized origin for at least
+     * {@code maxSeconds}, from the cache or searched now.
+     */
+    public ReachGrid get(double latitude, double longitude, TravelProfile profile, double maxSeconds) {
+        long key = key(latitude, longitude, profile);
+        ReachGrid grid = grids.get(key, cached -> cached.getMaxSeconds() >= maxSeconds);
+        if (grid != null)
+            return grid;
+
+        long stamp = grids.stamp(key);
+        grid = roadRouter.reach(quantize(latitude), quantize(longitude), profile, maxSeconds, cellMeters);
+        // a grid searched for longer meanwhile is kept
+        grids.merge(stamp, key, grid,
+            (previous, searched) -> previous.getMaxSeconds() >= searched.getMaxSeconds() ? previous : searched);
+        return grid;
+    }
+
+    public long hitCount() {
+        return grids.hitCount();
+    }
+
+    public long missCount() {
+        return grids.missCount();
+    }
+
+    public long evictionCount() {
+        return grids.evictionCount();
+    }
+
+    public int size() {
+        return grids.size();
+    }
+
+    /**
+     * Total size of the cached grids in bytes.
+     */
+    public long weight() {
+        return grids.weight();
+    }
+
+    private static long key(double latitude, double longitude, TravelProfile profile) {
+        long row = Math.round((latitude + 90) * ORIGINS_PER_DEGREE);
+        long column = Math.round((longitude + 180) * ORIGINS_PER_DEGREE);
+        return (long) profile.ordinal() << 40 | row << 20 | column;
+    }
+
+}
@@ -0,0 +1,379 @@
+package com.veer.route.service.routing;
+
+import com.veer.route.graph.ReachSearch;
+import com.veer.route.graph.RoadGraph;
+import com.veer.route.graph.RoadProfile;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.service.GeoMath;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Travel times from one origin on a grid of square cells, out of which the
+ * isochrone polygons of any limit up to the one searched are traced.
+ *
+ * Every cell holds the earliest time at which a reached node, or a point
+ * sampled along an edge leaving it, lies in the cell. Edges are sampled
+ * at half a cell, so a road crossing a cell always marks it. Cells next
+ * to the roads are then reached on foot, up to {@link #BUFFER_CELLS}
+ * cells away, which closes the blocks between streets without spreading
+ * across the parks, rivers and motorways they are not connected through.
+ *
+ * The cells are as small as the configured size allows, and larger when
+ * the reached area would need more than {@link #MAX_CELLS} of them
+ * across, so a grid stays within a few hundred kilobytes.
+ */
+public final class ReachGrid {
+
+    static final int MAX_CELLS = 400;
+
+    static final int BUFFER_CELLS = 2;
+
+    private static final double METERS_PER_DEGREE = Math.PI * GeoMath.EARTH_RADIUS_METERS / 180;
+
+    // directions of the cell sides: east, north, west, south
+    private static final int[] DX = {1, 0, -1, 0};
+
+    private static final int[] DY = {0, 1, 0, -1};
+
+    private final TravelProfile profile;
+
+    private final double maxSeconds;
+
+    private final double west;
+
+    private final double south;
+
+    private final double cellMeters;
+
+    private final double metersPerDegreeLongitude;
+
+    private final int columns;
+
+    private final int rows;
+
+    // row by row from the south-west corner, +Infinity where not reached
+    private final float[] seconds;
+
+    private ReachGrid(
+        TravelProfile profile, double maxSeconds, double west, double south,
+        double cellMeters, double metersPerDegreeLongitude, int columns, int rows
+    ) {
+        this.profile = profile;
+        this.maxSeconds = maxSeconds;
+        this.west = west;
+        this.south = south;
+        this.cellMeters = cellMeters;
+        this.metersPerDegreeLongitude = metersPerDegreeLongitude;
+        this.columns = columns;
+        this.rows = rows;
+        this.seconds = new float[columns * rows];
+        Arrays.fill(seconds, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Grid of the nodes reached from an origin and of the edges leaving
+     * them as far as they are travelled within {@code maxSeconds}.
+     */
+    static ReachGrid rasterize(
+        RoadGraph graph, RoadProfile roadProfile, ReachSearch.Reach reach, TravelProfile profile,
+        double originLatitude, double originLongitude, double maxSeconds, double minCellMeters
+    ) {
+        double metersPerDegreeLongitude = METERS_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(originLatitude)));
+
+        // box of the origin, the reached nodes and the far ends of their edges
+        double minLatitude = originLatitude;
+        double maxLatitude = originLatitude;
+        double minLongitude = originLongitude;
+        double maxLongitude = originLongitude;
+        for (int i = 0; i < reach.size(); i++) {
+            int node = reach.node(i);
+            minLatitude = Math.min(minLatitude, graph.latitude(node));
+            maxLatitude = Math.max(maxLatitude, graph.latitude(node));
+            minLongitude = Math.min(minLongitude, graph.longitude(node));
+            maxLongitude = Math.max(maxLongitude, graph.longitude(node));
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                if (!graph.canTravel(edge, roadProfile))
+                    continue;
+                int target = graph.target(edge);
+                minLatitude = Math.min(minLatitude, graph.latitude(target));
+                maxLatitude = Math.max(maxLatitude, graph.latitude(target));
+                minLongitude = Math.min(minLongitude, graph.longitude(target));
+                maxLongitude = Math.max(maxLongitude, graph.longitude(target));
+            }
+        }
+        double width = (maxLongitude - minLongitude) * metersPerDegreeLongitude;
+        double height = (maxLatitude - minLatitude) * METERS_PER_DEGREE;
+        double cellMeters = Math.max(minCellMeters, Math.max(width, height) / MAX_CELLS);
+        int margin = BUFFER_CELLS + 1;
+        int columns = (int) Math.ceil(width / cellMeters) + 2 * margin;
+        int rows = (int) Math.ceil(height / cellMeters) + 2 * margin;
+
+        ReachGrid grid = new ReachGrid(profile, maxSeconds,
+            minLongitude - margin * cellMeters / metersPerDegreeLongitude,
+            minLatitude - margin * cellMeters / METERS_PER_DEGREE,
+            cellMeters, metersPerDegreeLongitude, columns, rows);
+        if (reach.size() == 0)
+            return grid;
+
+        grid.mark(originLatitude, originLongitude, 0);
+        for (int i = 0; i < reach.size(); i++) {
+            int node = reach.node(i);
+            double time = reach.seconds(i);
+            double latitude = graph.latitude(node);
+            double longitude = graph.longitude(node);
+            grid.mark(latitude, longitude, time);
+            for (int edge = graph.firstEdge(node), end = graph.endEdge(node); edge < end; edge++) {
+                if (!graph.canTravel(edge, roadProfile))
+                    continue;
+                int target = graph.target(edge);
+                double edgeSeconds = graph.travelSeconds(edge, roadProfile);
+                int steps = Math.max(1, (int) Math.ceil(graph.lengthMeters(edge) / (cellMeters / 2)));
+                for (int step = 1; step <= steps; step++) {
+                    double fraction = (double) step / steps;
+                    double arrival = time + fraction * edgeSeconds;
+                    if (arrival > maxSeconds)
+                        break;
+                    grid.mark(latitude + fraction * (graph.latitude(target) - latitude),
+                        longitude + fraction * (graph.longitude(target) - longitude), arrival);
+                }
+            }
+        }
+        grid.buffer(TravelProfile.WALK.getMetersPerSecond());
+        return grid;
+    }
+
+    private void mark(double latitude, double longitude, double time) {
+        int column = (int) Math.floor((longitude - west) * metersPerDegreeLongitude / cellMeters);
+        int row = (int) Math.floor((latitude - south) * METERS_PER_DEGREE / cellMeters);
+        if (column < 0 || row < 0 || column >= columns || row >= rows)
+            return;
+        int cell = row * columns + column;
+        seconds[cell] = Math.min(seconds[cell], (float) time);
+    }
+
+    // spreads the times into the cells around, at the given speed
+    private void buffer(double metersPerSecond) {
+        float straight = (float) (cellMeters / metersPerSecond);
+        float diagonal = (float) (cellMeters * Math.sqrt(2) / metersPerSecond);
+        float[] next = seconds.clone();
+        for (int pass = 0; pass < BUFFER_CELLS; pass++) {
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    float time = seconds[row * columns + column];
+                    if (time == Float.POSITIVE_INFINITY)
+                        continue;
+                    for (int dy = -1; dy <= 1; dy++) {
+                        for (int dx = -1; dx <= 1; dx++) {
+                            int r = row + dy;
+                            int c = column + dx;
+                            if ((dx | dy) == 0 || r < 0 || c < 0 || r >= rows || c >= columns)
+                                continue;
+                            float arrival = time + (dx != 0 && dy != 0 ? diagonal : straight);
+                            if (arrival <= maxSeconds && arrival < next[r * columns + c])
+                                next[r * columns + c] = arrival;
+                        }
+                    }
+                }
+            }
+            System.arraycopy(next, 0, seconds, 0, seconds.length);
+        }
+    }
+
+    public TravelProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return the time searched, the largest limit polygons can be traced for
+     */
+    public double getMaxSeconds() {
+        return maxSeconds;
+    }
+
+    public double getCellMeters() {
+        return cellMeters;
+    }
+
+    /**
+     * Size of the grid in bytes, for cache bounds.
+     */
+    public long weight() {
+        return 4L * seconds.length;
+    }
+
+    /**
+     * @return the earliest time at which the cell around the point is
+     *         reached, +Infinity if not within the searched time
+     */
+    public double seconds(double latitude, double longitude) {
+        int column = (int) Math.floor((longitude - west) * metersPerDegreeLongitude / cellMeters);
+        int row = (int) Math.floor((latitude - south) * METERS_PER_DEGREE / cellMeters);
+        if (column < 0 || row < 0 || column >= columns || row >= rows)
+            return Double.POSITIVE_INFINITY;
+        return seconds[row * columns + column];
+    }
+
+    /**
+     * Outline of the cells reached within {@code limitSeconds}, as the
+     * coordinates of a GeoJSON MultiPolygon: one polygon per group of
+     * cells joined by their sides, its outer ring counterclockwise and its
+     * holes clockwise, each ring closed and made of [longitude, latitude]
+     * corners. Cells touching only at a corner are separate polygons.
+     */
+    public List<List<List<double[]>>> polygons(double limitSeconds) {
+        int[] labels = label(limitSeconds);
+
+        // sides between a cell within the limit and one outside, directed
+        // so that the inside is on the left, by their start corner
+        int stride = columns + 1;
+        byte[] sides = new byte[stride * (rows + 1)];
+        int polygonCount = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                int cell = row * columns + column;
+                if (labels[cell] < 0)
+                    continue;
+                polygonCount = Math.max(polygonCount, labels[cell] + 1);
+                if (row == 0 || labels[cell - columns] < 0)
+                    sides[row * stride + column] |= 1;
+                if (column == columns - 1 || labels[cell + 1] < 0)
+                    sides[row * stride + column + 1] |= 1 << 1;
+                if (row == rows - 1 || labels[cell + columns] < 0)
+                    sides[(row + 1) * stride + column + 1] |= 1 << 2;
+                if (column == 0 || labels[cell - 1] < 0)
+                    sides[(row + 1) * stride + column] |= 1 << 3;
+            }
+        }
+
+        List<List<double[]>> outers = new ArrayList<>();
+        List<List<List<double[]>>> holes = new ArrayList<>();
+        for (int i = 0; i < polygonCount; i++) {
+            outers.add(null);
+            holes.add(new ArrayList<>());
+        }
+        for (int corner = 0; corner < sides.length; corner++) {
+            while (sides[corner] != 0) {
+                int direction = Integer.numberOfTrailingZeros(sides[corner]);
+                int x = corner % stride;
+                int y = corner / stride;
+                int label = labels[leftCell(x, y, direction)];
+                List<double[]> ring = new ArrayList<>();
+                boolean outer = trace(sides, x, y, direction, ring);
+                if (outer)
+                    outers.set(label, ring);
+                else
+                    holes.get(label).add(ring);
+            }
+        }
+
+        List<List<List<double[]>>> polygons = new ArrayList<>(polygonCount);
+        for (int i = 0; i < polygonCount; i++) {
+            List<List<double[]>> polygon = new ArrayList<>(1 + holes.get(i).size());
+            polygon.add(outers.get(i));
+            polygon.addAll(holes.get(i));
+            polygons.add(polygon);
+        }
+        return polygons;
+    }
+
+    // groups of cells within the limit joined by their sides, -1 outside
+    private int[] label(double limitSeconds) {
+        int[] labels = new int[seconds.length];
+        Arrays.fill(labels, -1);
+        int[] stack = new int[64];
+        int next = 0;
+        for (int start = 0; start < seconds.length; start++) {
+            if (labels[start] >= 0 || !(seconds[start] <= limitSeconds))
+                continue;
+            int label = next++;
+            labels[start] = label;
+            int size = 0;
+            stack[size++] = start;
+            while (size > 0) {
+                int cell = stack[--size];
+                int row = cell / columns;
+                int column = cell % columns;
+                for (int direction = 0; direction < 4; direction++) {
+                    int r = row + DY[direction];
+                    int c = column + DX[direction];
+                    if (r < 0 || c < 0 || r >= rows || c >= columns)
+                        continue;
+                    int neighbour = r * columns + c;
+                    if (labels[neighbour] >= 0 || !(seconds[neighbour] <= limitSeconds))
+                        continue;
+                    labels[neighbour] = label;
+                    if (size == stack.length)
+                        stack = Arrays.copyOf(stack, size * 2);
+                    stack[size++] = neighbour;
+                }
+            }
+        }
+        return labels;
+    }
+
+    // the cell on the left of the side leaving corner x, y in the direction
+    private int leftCell(int x, int y, int direction) {
+        return switch (direction) {
+            case 0 -> y * columns + x;
+            case 1 -> y * columns + x - 1;
+            case 2 -> (y - 1) * columns + x - 1;
+            default -> (y - 1) * columns + x;
+        };
+    }
+
+    /**
+     * Follows the sides from corner x, y around to it again, consuming
+     * them, and adds the corners where the ring turns. Where two groups
+     * of cells touch at a corner the ring turns left, staying with the
+     * cell it went along, so that they get separate rings.
+     *
+     * The start is the first corner of the ring in scan order, its lowest
+     * left one, where the ring always turns.
+     *
+     * @return whether the ring is counterclockwise, an outer ring
+     */
+    private boolean trace(byte[] sides, int startX, int startY, int startDirection, List<double[]> ring) {
+        int stride = columns + 1;
+        int x = startX;
+        int y = startY;
+        int direction = startDirection;
+        long area = 0;
+        ring.add(corner(x, y));
+        sides[y * stride + x] &= (byte) ~(1 << direction);
+        while (true) {
+            int nextX = x + DX[direction];
+            int nextY = y + DY[direction];
+            area += (long) x * nextY - (long) nextX * y;
+            x = nextX;
+            y = nextY;
+            boolean start = x == startX && y == startY;
+            int available = sides[y * stride + x] | (start ? 1 << startDirection : 0);
+            int turn = (direction + 1) & 3;
+            if ((available & 1 << turn) == 0)
+                turn = (available & 1 << direction) != 0 ? direction : (direction + 3) & 3;
+            if (start && turn == startDirection)
+                break;
+            sides[y * stride + x] &= (byte) ~(1 << turn);
+            if (turn != direction)
+                ring.add(corner(x, y));
+            direction = turn;
+        }
+        ring.add(ring.get(0));
+        return area > 0;
+    }
+
+    private double[] corner(int x, int y) {
+        return new double[] {
+            round(west + x * cellMeters / metersPerDegreeLongitude),
+            round(south + y * cellMeters / METERS_PER_DEGREE)
+        };
+    }
+
+    private static double round(double degrees) {
+        return Math.round(degrees * 1e6) / 1e6;
+    }
+
+}
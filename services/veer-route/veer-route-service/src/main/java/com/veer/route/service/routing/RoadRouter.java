@@ -0,0 +1,273 @@
+package com.veer.route.service.routing;
+
+import com.veer.route.graph.BidirectionalAStar;
+import com.veer.route.graph.ContractionHierarchy;
+import com.veer.route.graph.DijkstraMatrix;
+import com.veer.route.graph.MatrixSearch;
+import com.veer.route.graph.ReachSearch;
+import com.veer.route.graph.RoadGraph;
+import com.veer.route.graph.RoadPath;
+import com.veer.route.graph.RoadProfile;
+import com.veer.route.graph.RoadSearch;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.dto.GeoPoint;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.GeoMath;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns the straight legs between route points into paths along roads,
+ * over the road graph built offline from an OSM extract by
+ * {@code OsmGraphImporter} and memory-mapped from {@code graph-file}.
+ *
+ * Each point is snapped to the nearest road node its travel mode may use,
+ * within {@code max-snap-distance}; the stretch between a point and its
+ * road node stays straight. Legs whose ends cannot be snapped or are not
+ * connected by road are kept straight as well, and counted.
+ * Without a graph file routing is unavailable.
+ *
+ * Legs are searched in the contraction hierarchy of the travel mode, if
+ * {@code ContractionHierarchyBuilder} has left one next to the graph file,
+ * and otherwise with A* over the plain graph, which is exact as well but
+ * too slow for legs across a country. Matrices likewise use the buckets
+ * of the hierarchy or else one Dijkstra per source; without a graph they
+ * fall back to great-circle distances. Isochrones come from a Dijkstra
+ * bounded by time, from the road node nearest to the origin.
+ */
+@Component
+public class RoadRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(RoadRouter.class);
+
+    private final RoadGraph graph;
+
+    private final double maxSnapMeters;
+
+    private final Map<TravelProfile, RoadSearch> searches = new EnumMap<>(TravelProfile.class);
+
+    private final Map<TravelProfile, MatrixSearch> matrixSearches = new EnumMap<>(TravelProfile.class);
+
+    private final Map<TravelProfile, ReachSearch> reachSearches = new EnumMap<>(TravelProfile.class);
+
+    @Autowired
+    public RoadRouter(
+        @Value("${veer.route.routing.graph-file:}") String graphFile,
+        @Value("${veer.route.routing.max-snap-distance:500}") double maxSnapMeters
+    ) throws IOException {
+        this(load(graphFile), maxSnapMeters);
+        if (graph != null)
+            loadHierarchies(Path.of(graphFile));
+    }
+
+    RoadRouter(RoadGraph graph, double maxSnapMeters) {
+        this.graph = graph;
+        this.maxSnapMeters = maxSnapMeters;
+        if (graph != null) {
+            for (TravelProfile profile : TravelProfile.values()) {
+                searches.put(profile, new BidirectionalAStar(graph, roadProfile(profile)));
+                matrixSearches.put(profile, new DijkstraMatrix(graph, roadProfile(profile)));
+                reachSearches.put(profile, new ReachSearch(graph, roadProfile(profile)));
+            }
+        }
+    }
+
+    private static RoadGraph load(String graphFile) throws IOException {
+        if (graphFile == null || graphFile.isBlank())
+            return null;
+        long started = System.nanoTime();
+        RoadGraph graph = RoadGraph.load(Path.of(graphFile));
+        log.info("Mapped road graph {} with {} nodes and {} edges in {} ms",
+            graphFile, graph.nodeCount(), graph.edgeCount(), (System.nanoTime() - started) / 1_000_000);
+        return graph;
+    }
+
+    private void loadHierarchies(Path graphFile) throws IOException {
+        for (TravelProfile profile : TravelProfile.values()) {
+            Path file = ContractionHierarchy.file(graphFile, roadProfile(profile));
+            if (!Files.exists(file)) {
+                log.info("No contraction hierarchy at {}, routing {} with A*", file, profile);
+                continue;
+            }
+            ContractionHierarchy hierarchy = ContractionHierarchy.load(file, graph, roadProfile(profile));
+            searches.put(profile, hierarchy);
+            matrixSearches.put(profile, hierarchy);
+            log.info("Mapped {} contraction hierarchy {} with {} arcs", profile, file,
+                hierarchy.upArcCount() + hierarchy.downArcCount());
+        }
+    }
+
+    public boolean isAvailable() {
+        return graph != null;
+    }
+
+    public Result route(RouteGeometry points, TravelProfile profile) {
+        if (graph == null)
+            throw new IllegalStateException("No road graph is configured");
+        RoadProfile roadProfile = roadProfile(profile);
+        RoadSearch search = searches.get(profile);
+        int n = points.size();
+
+        int[] nodes = new int[n];
+        for (int i = 0; i < n; i++)
+            nodes[i] = graph.nearestNode(points.latitude(i), points.longitude(i), roadProfile, maxSnapMeters);
+
+        RouteGeometry.Builder builder = RouteGeometry.builder(n);
+        double distance = 0;
+        double duration = 0;
+        int unrouted = 0;
+        for (int i = 0; i < n; i++) {
+            builder.add(points, i);
+            if (i == n - 1)
+                break;
+            RoadPath path = nodes[i] >= 0 && nodes[i + 1] >= 0 ? search.route(nodes[i], nodes[i + 1]) : null;
+            if (path == null) {
+                double straight = GeoMath.haversine(points.latitude(i), points.longitude(i),
+                    points.latitude(i + 1), points.longitude(i + 1));
+                distance += straight;
+                duration += straight / profile.getMetersPerSecond();
+                unrouted++;
+                continue;
+            }
+            // walking to the road and from it at the flat speed of the mode
+            double approach = GeoMath.haversine(points.latitude(i), points.longitude(i),
+                graph.latitude(nodes[i]), graph.longitude(nodes[i]))
+                + GeoMath.haversine(graph.latitude(nodes[i + 1]), graph.longitude(nodes[i + 1]),
+                points.latitude(i + 1), points.longitude(i + 1));
+            distance += approach + path.getDistanceMeters();
+            duration += approach / profile.getMetersPerSecond() + path.getDurationSeconds();
+            for (int node : path.getNodes())
+                builder.add(graph.latitude(node), graph.longitude(node));
+        }
+        return new Result(builder.build(), distance, duration, unrouted);
+    }
+
+    /**
+     * Travel times and distances from every source to every destination,
+     * including the straight stretches to and from the road as in
+     * {@link #route}. Points without a road within reach have NaN cells.
+     */
+    public TravelMatrix matrix(List<GeoPoint> sources, List<GeoPoint> destinations, TravelProfile profile) {
+        int rows = sources.size();
+        int columns = destinations.size();
+        float[] durations = new float[rows * columns];
+        float[] distances = new float[rows * columns];
+        if (graph == null) {
+            for (int i = 0; i < rows; i++) {
+                GeoPoint from = sources.get(i);
+                for (int j = 0; j < columns; j++) {
+                    GeoPoint to = destinations.get(j);
+                    double distance = GeoMath.haversine(from.getLat(), from.getLng(), to.getLat(), to.getLng());
+                    distances[i * columns + j] = (float) distance;
+                    durations[i * columns + j] = (float) (distance / profile.getMetersPerSecond());
+                }
+            }
+            return new TravelMatrix(profile, false, rows, columns, durations, distances);
+        }
+
+        RoadProfile roadProfile = roadProfile(profile);
+        int[] sourceNodes = new int[rows];
+        double[] sourceApproaches = new double[rows];
+        snap(sources, roadProfile, sourceNodes, sourceApproaches);
+        int[] destinationNodes = new int[columns];
+        double[] destinationApproaches = new double[columns];
+        snap(destinations, roadProfile, destinationNodes, destinationApproaches);
+
+        matrixSearches.get(profile).matrix(sourceNodes, destinationNodes, durations, distances);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                int cell = i * columns + j;
+                double approach = sourceApproaches[i] + destinationApproaches[j];
+                distances[cell] += (float) approach;
+                durations[cell] += (float) (approach / profile.getMetersPerSecond());
+            }
+        }
+        return new TravelMatrix(profile, true, rows, columns, durations, distances);
+    }
+
+    /**
+     * Travel times from the origin to everywhere reached within
+     * {@code maxSeconds}, on a grid of cells at least {@code cellMeters}
+     * wide. The stretch to the nearest road is covered at the flat speed
+     * of the mode, as in {@link #route}; an origin without a road in
+     * reach gives an empty grid.
+     */
+    public ReachGrid reach(double latitude, double longitude, TravelProfile profile, double maxSeconds, double cellMeters) {
+        if (graph == null)
+            throw new IllegalStateException("No road graph is configured");
+        RoadProfile roadProfile = roadProfile(profile);
+        int node = graph.nearestNode(latitude, longitude, roadProfile, maxSnapMeters);
+        ReachSearch.Reach reach = ReachSearch.Reach.NONE;
+        if (node >= 0) {
+            double approach = GeoMath.haversine(latitude, longitude, graph.latitude(node), graph.longitude(node));
+            reach = reachSearches.get(profile).reach(node, approach / profile.getMetersPerSecond(), maxSeconds);
+        }
+        return ReachGrid.rasterize(graph, roadProfile, reach, profile, latitude, longitude, maxSeconds, cellMeters);
+    }
+
+    // nearest road node of every point and the distance to it, -1 where none is in reach
+    private void snap(List<GeoPoint> points, RoadProfile profile, int[] nodes, double[] approaches) {
+        for (int i = 0; i < nodes.length; i++) {
+            GeoPoint point = points.get(i);
+            nodes[i] = graph.nearestNode(point.getLat(), point.getLng(), profile, maxSnapMeters);
+            if (nodes[i] >= 0)
+                approaches[i] = GeoMath.haversine(point.getLat(), point.getLng(),
+                    graph.latitude(nodes[i]), graph.longitude(nodes[i]));
+        }
+    }
+
+    private static RoadProfile roadProfile(TravelProfile profile) {
+        return RoadProfile.valueOf(profile.name());
+    }
+
+    public static final class Result {
+
+        private final RouteGeometry points;
+
+        private final double distanceMeters;
+
+        private final double durationSeconds;
+
+        private final int unroutedLegs;
+
+        Result(RouteGeometry points, double distanceMeters, double durationSeconds, int unroutedLegs) {
+            this.points = points;
+            this.distanceMeters = distanceMeters;
+            this.durationSeconds = durationSeconds;
+            this.unroutedLegs = unroutedLegs;
+        }
+
+        /**
+         * @return the route points with the road nodes of every leg between them
+         */
+        public RouteGeometry getPoints() {
+            return points;
+        }
+
+        public double getDistanceMeters() {
+            return distanceMeters;
+        }
+
+        public double getDurationSeconds() {
+            return durationSeconds;
+        }
+
+        /**
+         * @return legs kept straight, for lack of a road between their ends
+         */
+        public int getUnroutedLegs() {
+            return unroutedLegs;
+        }
+    }
+
+}
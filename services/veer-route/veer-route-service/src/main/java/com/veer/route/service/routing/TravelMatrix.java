@@ -0,0 +1,120 @@
+package com.veer.route.service.routing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.veer.route.model.TravelProfile;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Travel times and distances from every source to every destination, in
+ * two row-major {@code float[]}s with one row per source. Cells without a
+ * road between their points are NaN.
+ *
+ * Written either as JSON, with both arrays flat and values rounded to a
+ * tenth, or as little-endian binary: the source and destination counts as
+ * int32, then all durations and all distances as float32, NaN included.
+ */
+public final class TravelMatrix {
+
+    public static final String BINARY_MEDIA_TYPE = "application/octet-stream";
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final TravelProfile profile;
+
+    private final boolean roads;
+
+    private final int sourceCount;
+
+    private final int destinationCount;
+
+    private final float[] durationSeconds;
+
+    private final float[] distanceMeters;
+
+    public TravelMatrix(
+        TravelProfile profile, boolean roads, int sourceCount, int destinationCount,
+        float[] durationSeconds, float[] distanceMeters
+    ) {
+        this.profile = profile;
+        this.roads = roads;
+        this.sourceCount = sourceCount;
+        this.destinationCount = destinationCount;
+        this.durationSeconds = durationSeconds;
+        this.distanceMeters = distanceMeters;
+    }
+
+    public TravelProfile getProfile() {
+        return profile;
+    }
+
+    /**
+     * @return false when computed along great circles, for lack of a road graph
+     */
+    public boolean isRoads() {
+        return roads;
+    }
+
+    public int getSourceCount() {
+        return sourceCount;
+    }
+
+    public int getDestinationCount() {
+        return destinationCount;
+    }
+
+    public float durationSeconds(int source, int destination) {
+        return durationSeconds[source * destinationCount + destination];
+    }
+
+    public float distanceMeters(int source, int destination) {
+        return distanceMeters[source * destinationCount + destination];
+    }
+
+    public void writeJson(OutputStream output) throws IOException {
+        try (JsonGenerator generator = JSON.createGenerator(output)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeStringField("profile", profile.name());
+            generator.writeBooleanField("roads", roads);
+            generator.writeNumberField("sources", sourceCount);
+            generator.writeNumberField("destinations", destinationCount);
+            generator.writeFieldName("durationSeconds");
+            writeArray(generator, durationSeconds);
+            generator.writeFieldName("distanceMeters");
+            writeArray(generator, distanceMeters);
+            generator.writeEndObject();
+        }
+    }
+
+    private static void writeArray(JsonGenerator generator, float[] values) throws IOException {
+        generator.writeStartArray();
+        for (float value : values) {
+            if (Float.isNaN(value))
+                generator.writeNull();
+            else
+                generator.writeNumber(Math.round(value * 10) / 10f);
+        }
+        generator.writeEndArray();
+    }
+
+    public void writeBinary(OutputStream output) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(sourceCount).putInt(destinationCount);
+        for (float[] values : new float[][] {durationSeconds, distanceMeters}) {
+            for (float value : values) {
+                if (!buffer.hasRemaining()) {
+                    output.write(buffer.array(), 0, buffer.position());
+                    buffer.clear();
+                }
+                buffer.putFloat(value);
+            }
+        }
+        output.write(buffer.array(), 0, buffer.position());
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.veer.route.service.search;
+
+import com.veer.route.model.dto.RouteSearchFilterDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
+import com.veer.route.repository.RouteRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Text search of public routes by name and description, ranked and paged
+ * by keyset.
+ *
+ * Words are matched by the {@code search_vector} column (see
+ * {@link RouteSearchSchema}), stemmed as English and as Polish, and ranked
+ * by how often and how close together they occur, name matches above
+ * description matches. Only when the words match nothing in a route does
+ * the trigram index find names similar enough to the text, such as
+ * "Tatra ridgee" for "Tatra ridge", ranked below every word match by their
+ * similarity. {@code min-similarity} sets how similar is enough.
+ *
+ * Pages continue after the (score, id) of the last result of the previous
+ * one, so deep pages cost no more than the first. A route changed between
+ * two pages may move past the cursor and be seen twice or not at all.
+ */
+@Component
+public class RouteSearch {
+
+    public static final int MAX_QUERY_LENGTH = 200;
+
+    private final RouteRepository repository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final double minSimilarity;
+
+    public RouteSearch(
+        RouteRepository repository,
+        PlatformTransactionManager transactionManager,
+        @Value("${veer.route.search.min-similarity:0.4}") double minSimilarity
+    ) {
+        if (!(minSimilarity > 0) || minSimilarity > 1)
+            throw new IllegalArgumentException("veer.route.search.min-similarity must be within (0, 1]");
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.minSimilarity = minSimilarity;
+    }
+
+    public RouteSummaryPageDto search(String query, RouteSearchFilterDto filter, String cursor, int limit) {
+        String text = query == null ? "" : query.strip();
+        if (text.isEmpty() || text.length() > MAX_QUERY_LENGTH)
+            throw new IllegalArgumentException("Query must be between 1 and " + MAX_QUERY_LENGTH + " characters");
+        if (limit < 1)
+            throw new IllegalArgumentException("Limit must be positive");
+        RouteSearchFilterDto bounds = filter != null ? filter : new RouteSearchFilterDto();
+        SearchCursor after = cursor == null || cursor.isEmpty() ? null : SearchCursor.decode(cursor);
+
+        // one extra hit tells whether there is a next page
+        List<RouteRepository.SearchHit> hits = transactionTemplate.execute(status -> {
+            repository.setWordSimilarityThreshold(minSimilarity);
+            return repository.searchPublic(text,
+                bounds.getMinLengthMeters(), bounds.getMaxLengthMeters(),
+                bounds.getMaxAscentMeters(), bounds.getMinRating(),
+                after != null ? after.getScore() : null, after != null ? after.getId() : null,
+                limit + 1);
+        });
+
+        List<RouteRepository.SearchHit> page = hits.size() > limit ? hits.subList(0, limit) : hits;
+        List<RouteSummaryDto> items = summaries(page);
+        if (hits.size() <= limit)
+            return RouteSummaryPageDto.builder().items(items).build();
+        RouteRepository.SearchHit last = page.get(limit - 1);
+        return RouteSummaryPageDto.builder()
+            .items(items)
+            .nextCursor(SearchCursor.encode(last.getScore(), last.getId()))
+            .build();
+    }
+
+    // in the order of the hits, without routes deleted since the search
+    private List<RouteSummaryDto> summaries(List<RouteRepository.SearchHit> hits) {
+        if (hits.isEmpty())
+            return List.of();
+        List<String> ids = hits.stream().map(RouteRepository.SearchHit::getId).collect(Collectors.toList());
+        Map<String, RouteSummaryDto> summaries = repository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(RouteSummaryDto::getId, Function.identity()));
+        List<RouteSummaryDto> items = new ArrayList<>(ids.size());
+        for (String id : ids) {
+            RouteSummaryDto summary = summaries.get(id);
+            if (summary != null && Boolean.TRUE.equals(summary.getIsPublic()))
+                items.add(summary);
+        }
+        return items;
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.veer.route.service.search;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Adds what text search needs to the routes table, which Hibernate
+ * cannot declare: a stored generated {@code search_vector} column over
+ * the name (weight A) and description (weight B), stemmed both as English
+ * and as Polish, with a GIN index, and a trigram GIN index on the name for
+ * queries with typos.
+ *
+ * Postgres ships no Polish stemmer, so unless the database already has a
+ * {@code polish} configuration, one copied from {@code simple} is created,
+ * which only lowercases words. It can be pointed at a Polish ispell
+ * dictionary later with {@code alter text search configuration polish}
+ * without touching the column.
+ *
+ * Every statement is idempotent and runs at startup, once Hibernate has
+ * created the table and before the web server accepts requests; a failure
+ * stops the application, since search would fail anyway. On the first
+ * start against an existing database, adding the column rewrites the
+ * table and building the indexes blocks writes, so instances already
+ * running on it wait until this is done.
+ */
+@Component
+public class RouteSearchSchema implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteSearchSchema.class);
+
+    static final String[] STATEMENTS = {
+        "create extension if not exists pg_trgm",
+        "do $$ begin "
+            + "if not exists (select 1 from pg_ts_config where cfgname = 'polish') then "
+            + "create text search configuration polish (copy = simple); "
+            + "end if; end $$",
+        "alter table routes add column if not exists search_vector tsvector generated always as ("
+            + "setweight(to_tsvector('english', coalesce(name, '')), 'A') "
+            + "|| setweight(to_tsvector('polish', coalesce(name, '')), 'A') "
+            + "|| setweight(to_tsvector('english', coalesce(description, '')), 'B') "
+            + "|| setweight(to_tsvector('polish', coalesce(description, '')), 'B')) stored",
+        "create index if not exists idx_routes_search_vector on routes using gin (search_vector)",
+        "create index if not exists idx_routes_name_trgm on routes using gin (name gin_trgm_ops)",
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RouteSearchSchema(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        for (String statement : STATEMENTS)
+            jdbcTemplate.execute(statement);
+        log.info("Route search schema ready in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+}
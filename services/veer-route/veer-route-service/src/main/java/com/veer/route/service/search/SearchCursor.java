@@ -0,0 +1,52 @@
+package com.veer.route.service.search;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (score, id): the position of the last route
+ * of a page of search results, encoded as URL-safe base64. The score is
+ * written exactly, so the next page starts right after it.
+ */
+final class SearchCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final double score;
+
+    private final String id;
+
+    private SearchCursor(double score, String id) {
+        this.score = score;
+        this.id = id;
+    }
+
+    static String encode(double score, String id) {
+        String raw = Double.toString(score) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0 || separator == raw.length() - 1)
+                throw new IllegalArgumentException("Invalid cursor");
+            double score = Double.parseDouble(raw.substring(0, separator));
+            if (!Double.isFinite(score))
+                throw new IllegalArgumentException("Invalid cursor");
+            return new SearchCursor(score, raw.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    double getScore() {
+        return score;
+    }
+
+    String getId() {
+        return id;
+    }
+
+}
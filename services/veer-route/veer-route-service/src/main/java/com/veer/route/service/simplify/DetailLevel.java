@@ -0,0 +1,82 @@
+package com.veer.route.service.simplify;
+
+import com.veer.route.model.RouteDetailLevels;
+import com.veer.route.model.geometry.RouteGeometry;
+
+/**
+ * Levels of detail a route can be read at. Each simplified level is
+ * precise to one 256 px web map tile pixel at its zoom for latitudes up to
+ * 60 degrees, and therefore good enough for any lower zoom as well.
+ */
+public enum DetailLevel {
+
+    LOW(8),
+    MEDIUM(11),
+    HIGH(14),
+    FULL(-1);
+
+    // size of a pixel at zoom 0 on the equator
+    private static final double EQUATOR_METERS_PER_PIXEL = 156_543.03392;
+
+    private static final double COS_60 = 0.5;
+
+    private final int zoom;
+
+    DetailLevel(int zoom) {
+        this.zoom = zoom;
+    }
+
+    public double toleranceMeters() {
+        return this == FULL ? 0.0 : EQUATOR_METERS_PER_PIXEL * COS_60 / (1 << zoom);
+    }
+
+    /**
+     * Level for the optional {@code zoom} / {@code tolerance} request
+     * parameters, FULL when neither is given.
+     */
+    public static DetailLevel of(Integer zoom, Double toleranceMeters) {
+        if (zoom != null && toleranceMeters != null)
+            throw new IllegalArgumentException("Use either zoom or tolerance, not both");
+        if (zoom != null)
+            return forZoom(zoom);
+        if (toleranceMeters != null)
+            return forTolerance(toleranceMeters);
+        return FULL;
+    }
+
+    /**
+     * The coarsest level precise enough for a map at {@code zoom}.
+     */
+    public static DetailLevel forZoom(int zoom) {
+        for (DetailLevel level : values())
+            if (level != FULL && level.zoom >= zoom)
+                return level;
+        return FULL;
+    }
+
+    /**
+     * The coarsest level whose deviation from the full points stays
+     * within {@code toleranceMeters}.
+     */
+    public static DetailLevel forTolerance(double toleranceMeters) {
+        for (DetailLevel level : values())
+            if (level != FULL && level.toleranceMeters() <= toleranceMeters)
+                return level;
+        return FULL;
+    }
+
+    /**
+     * @return the stored points of this level, null when not stored
+     */
+    public RouteGeometry select(RouteDetailLevels levels) {
+        if (levels == null)
+            return null;
+        return switch (this) {
+            case LOW -> levels.getLow();
+            case MEDIUM -> levels.getMedium();
+            case HIGH -> levels.getHigh();
+            case FULL -> null;
+        };
+    }
+
+}
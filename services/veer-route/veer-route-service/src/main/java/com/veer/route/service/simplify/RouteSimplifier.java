@@ -0,0 +1,243 @@
+package com.veer.route.service.simplify;
+
+import com.veer.route.model.RouteDetailLevels;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.ChangedSpan;
+import com.veer.route.service.GeoMath;
+
+import java.util.Arrays;
+
+/**
+ * Douglas-Peucker simplification of route points.
+ *
+ * Points are projected to meters with a local equirectangular projection
+ * around the middle latitude of the route, which is accurate enough for
+ * pixel-sized tolerances. START and STOP points are always kept, so the
+ * simplification runs separately between each pair of them.
+ */
+public final class RouteSimplifier {
+
+    private RouteSimplifier() {
+    }
+
+    /**
+     * Keeps the points needed so that no dropped point lies further than
+     * {@code toleranceMeters} from the simplified line.
+     */
+    public static RouteGeometry simplify(RouteGeometry points, double toleranceMeters) {
+        int n = points.size();
+        if (n <= 2 || toleranceMeters <= 0)
+            return points;
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        project(points, x, y);
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        for (int i = 1; i < n - 1; i++)
+            keep[i] = points.type(i) != PointType.WAYPOINT;
+
+        double tolerance2 = toleranceMeters * toleranceMeters;
+        // pending (from, to) ranges
+        int[] stack = new int[64];
+        int size = 0;
+        int anchor = 0;
+        for (int i = 1; i < n; i++) {
+            if (!keep[i])
+                continue;
+            if (i - anchor > 1) {
+                stack[size++] = anchor;
+                stack[size++] = i;
+            }
+            anchor = i;
+
+            while (size > 0) {
+                int to = stack[--size];
+                int from = stack[--size];
+                int farthest = -1;
+                double max = tolerance2;
+                for (int k = from + 1; k < to; k++) {
+                    double d = segmentDistance2(x[k], y[k], x[from], y[from], x[to], y[to]);
+                    if (d > max) {
+                        max = d;
+                        farthest = k;
+                    }
+                }
+                if (farthest < 0)
+                    continue;
+                keep[farthest] = true;
+                if (size + 4 > stack.length)
+                    stack = Arrays.copyOf(stack, stack.length * 2);
+                if (farthest - from > 1) {
+                    stack[size++] = from;
+                    stack[size++] = farthest;
+                }
+                if (to - farthest > 1) {
+                    stack[size++] = farthest;
+                    stack[size++] = to;
+                }
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep)
+            if (k)
+                kept++;
+        if (kept == n)
+            return points;
+        RouteGeometry.Builder builder = RouteGeometry.builder(kept);
+        for (int i = 0; i < n; i++)
+            if (keep[i])
+                builder.add(points, i);
+        return builder.build();
+    }
+
+    /**
+     * All stored levels of detail of {@code points}. Each level is derived
+     * from the next finer one, which is much cheaper than starting from the
+     * full points every time; the deviations add up to at most 1/7 above
+     * the level's tolerance.
+     */
+    public static RouteDetailLevels detailLevels(RouteGeometry points) {
+        if (points == null)
+            return null;
+        RouteGeometry high = simplify(points, DetailLevel.HIGH.toleranceMeters());
+        RouteGeometry medium = simplify(high, DetailLevel.MEDIUM.toleranceMeters());
+        RouteGeometry low = simplify(medium, DetailLevel.LOW.toleranceMeters());
+        return RouteDetailLevels.builder()
+            .low(low)
+            .medium(medium)
+            .high(high)
+            .build();
+    }
+
+    /**
+     * The levels of detail of {@code after}, given the {@code previous}
+     * levels of {@code before} when only a span of points changed. Each
+     * level keeps its points up to the last one before the span and from
+     * the first one after it, since the points they stand for did not
+     * change, and only the points in between are simplified again. The
+     * result is within each level's tolerance, though not always the same
+     * points {@link #detailLevels} would keep. Falls back to it when there
+     * are no previous levels or most of the route changed.
+     */
+    public static RouteDetailLevels updateDetailLevels(
+        RouteDetailLevels previous, RouteGeometry before, RouteGeometry after
+    ) {
+        if (after == null)
+            return null;
+        if (previous == null || previous.getLow() == null || previous.getMedium() == null
+            || previous.getHigh() == null || before == null || before.size() < 2 || after.size() < 2)
+            return detailLevels(after);
+
+        ChangedSpan span = ChangedSpan.between(before, after);
+        if (span.isUnchanged(before, after))
+            return previous;
+        if (2 * (span.end(after.size()) - span.prefix()) > after.size())
+            return detailLevels(after);
+
+        RouteGeometry high = splice(previous.getHigh(), before, after, span, DetailLevel.HIGH.toleranceMeters());
+        RouteGeometry medium = splice(previous.getMedium(), before, after, span, DetailLevel.MEDIUM.toleranceMeters());
+        RouteGeometry low = splice(previous.getLow(), before, after, span, DetailLevel.LOW.toleranceMeters());
+        if (high == null || medium == null || low == null)
+            return detailLevels(after);
+        return RouteDetailLevels.builder()
+            .low(low)
+            .medium(medium)
+            .high(high)
+            .build();
+    }
+
+    /**
+     * {@code level} with the points between its last point before the span
+     * and its first point after it simplified again from {@code after};
+     * null when {@code level} is not made of points of {@code before}.
+     */
+    private static RouteGeometry splice(
+        RouteGeometry level, RouteGeometry before, RouteGeometry after, ChangedSpan span, double toleranceMeters
+    ) {
+        int oldSize = before.size();
+        int newSize = after.size();
+        int changedFrom = span.prefix();
+        int changedTo = span.end(oldSize);
+
+        // the kept points are a subsequence of the points they were simplified from
+        int last = -1;
+        int first = level.size();
+        int firstIndex = -1;
+        int lastIndex = -1;
+        int j = 0;
+        for (int k = 0; k < level.size() && first == level.size(); k++) {
+            while (j < oldSize
+                && (before.latitude(j) != level.latitude(k) || before.longitude(j) != level.longitude(k)))
+                j++;
+            if (j == oldSize)
+                return null;
+            if (j < changedFrom) {
+                last = k;
+                lastIndex = j;
+            } else if (j >= changedTo) {
+                first = k;
+                firstIndex = j;
+            }
+            j++;
+        }
+
+        int from = last >= 0 ? lastIndex : 0;
+        int to = first < level.size() ? firstIndex - oldSize + newSize : newSize - 1;
+        RouteGeometry.Builder section = RouteGeometry.builder(to - from + 1);
+        for (int i = from; i <= to; i++)
+            section.add(after, i);
+        RouteGeometry simplified = simplify(section.build(), toleranceMeters);
+
+        RouteGeometry.Builder builder = RouteGeometry.builder(level.size() + simplified.size());
+        for (int k = 0; k < last; k++)
+            builder.add(level, k);
+        for (int i = 0; i < simplified.size(); i++)
+            builder.add(simplified, i);
+        for (int k = first + 1; k < level.size(); k++)
+            builder.add(level, k);
+        return builder.build();
+    }
+
+    private static void project(RouteGeometry points, double[] x, double[] y) {
+        double minLat = Double.POSITIVE_INFINITY;
+        double maxLat = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < points.size(); i++) {
+            minLat = Math.min(minLat, points.latitude(i));
+            maxLat = Math.max(maxLat, points.latitude(i));
+        }
+        double metersPerDegree = Math.toRadians(GeoMath.EARTH_RADIUS_METERS);
+        double cos = Math.cos(Math.toRadians((minLat + maxLat) / 2));
+
+        // longitudes are unwrapped so that crossing the antimeridian is a small step
+        double lng = points.longitude(0);
+        for (int i = 0; i < points.size(); i++) {
+            if (i > 0) {
+                double step = points.longitude(i) - points.longitude(i - 1);
+                if (step > 180)
+                    step -= 360;
+                else if (step < -180)
+                    step += 360;
+                lng += step;
+            }
+            x[i] = lng * metersPerDegree * cos;
+            y[i] = points.latitude(i) * metersPerDegree;
+        }
+    }
+
+    private static double segmentDistance2(double px, double py, double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double length2 = dx * dx + dy * dy;
+        double t = length2 == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / length2;
+        t = Math.max(0, Math.min(1, t));
+        double ex = px - (ax + t * dx);
+        double ey = py - (ay + t * dy);
+        return ex * ex + ey * ey;
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.veer.route.service.spatial;
+
+import java.util.Arrays;
+
+/**
+ * Immutable R-tree bulk loaded with Sort-Tile-Recursive packing.
+ *
+ * Every level is stored as flat arrays: four floats per node
+ * (minLat, minLng, maxLat, maxLng) and, above the leaves, the range of
+ * children in the level below. Level 0 holds the entries themselves. Each
+ * level is STR-sorted before the next one is built on top of it, so nodes
+ * are nearly square and siblings barely overlap. Boxes are rounded outwards
+ * to float, which can only add candidates, never lose them.
+ */
+final class PackedRTree {
+
+    static final int NODE_CAPACITY = 16;
+
+    private static final PackedRTree EMPTY = new PackedRTree(new String[0], new float[0][], new int[0][]);
+
+    private final String[] ids;
+
+    // bounds[level], 4 floats per node
+    private final float[][] bounds;
+
+    // children[level - 1], 2 ints (from, to) per node of level >= 1
+    private final int[][] children;
+
+    private PackedRTree(String[] ids, float[][] bounds, int[][] children) {
+        this.ids = ids;
+        this.bounds = bounds;
+        this.children = children;
+    }
+
+    static PackedRTree empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param ids   entry ids
+     * @param boxes 4 floats per entry (minLat, minLng, maxLat, maxLng), same order as ids
+     */
+    static PackedRTree build(String[] ids, float[] boxes) {
+        int n = ids.length;
+        if (n == 0)
+            return EMPTY;
+
+        int[] order = strOrder(boxes, n);
+        String[] sortedIds = new String[n];
+        float[] level = new float[n * 4];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = ids[order[i]];
+            System.arraycopy(boxes, order[i] * 4, level, i * 4, 4);
+        }
+
+        int height = 1;
+        for (int count = n; count > 1; count = (count + NODE_CAPACITY - 1) / NODE_CAPACITY)
+            height++;
+        float[][] bounds = new float[height][];
+        int[][] children = new int[height - 1][];
+        bounds[0] = level;
+
+        int count = n;
+        for (int h = 1; h < height; h++) {
+            int parents = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+            float[] parentBounds = new float[parents * 4];
+            int[] parentChildren = new int[parents * 2];
+            float[] below = bounds[h - 1];
+            for (int p = 0; p < parents; p++) {
+                int from = p * NODE_CAPACITY;
+                int to = Math.min(from + NODE_CAPACITY, count);
+                parentChildren[p * 2] = from;
+                parentChildren[p * 2 + 1] = to;
+                union(below, from, to, parentBounds, p);
+            }
+
+            if (parents > 1) {
+                int[] parentOrder = strOrder(parentBounds, parents);
+                float[] sortedBounds = new float[parents * 4];
+                int[] sortedChildren = new int[parents * 2];
+                for (int p = 0; p < parents; p++) {
+                    System.arraycopy(parentBounds, parentOrder[p] * 4, sortedBounds, p * 4, 4);
+                    System.arraycopy(parentChildren, parentOrder[p] * 2, sortedChildren, p * 2, 2);
+                }
+                parentBounds = sortedBounds;
+                parentChildren = sortedChildren;
+            }
+
+            bounds[h] = parentBounds;
+            children[h - 1] = parentChildren;
+            count = parents;
+        }
+        return new PackedRTree(sortedIds, bounds, children);
+    }
+
+    int size() {
+        return ids.length;
+    }
+
+    /**
+     * Calls {@code visitor} with the index of every entry whose box
+     * intersects the query box, until it returns false.
+     */
+    void search(double minLat, double minLng, double maxLat, double maxLng, EntryVisitor visitor) {
+        if (ids.length == 0)
+            return;
+        float qMinLat = floorFloat(minLat);
+        float qMinLng = floorFloat(minLng);
+        float qMaxLat = ceilFloat(maxLat);
+        float qMaxLng = ceilFloat(maxLng);
+
+        int top = bounds.length - 1;
+        // pending nodes as (level, index) pairs
+        int[] stack = new int[64];
+        int size = 0;
+        stack[size++] = top;
+        stack[size++] = 0;
+        while (size > 0) {
+            int index = stack[--size];
+            int level = stack[--size];
+            float[] box = bounds[level];
+            if (!intersects(box, index, qMinLat, qMinLng, qMaxLat, qMaxLng))
+                continue;
+            if (level == 0) {
+                if (!visitor.visit(index))
+                    return;
+                continue;
+            }
+            int from = children[level - 1][index * 2];
+            int to = children[level - 1][index * 2 + 1];
+            if (size + (to - from) * 2 > stack.length)
+                stack = Arrays.copyOf(stack, Math.max(stack.length * 2, size + (to - from) * 2));
+            for (int child = to - 1; child >= from; child--) {
+                stack[size++] = level - 1;
+                stack[size++] = child;
+            }
+        }
+    }
+
+    String id(int entry) {
+        return ids[entry];
+    }
+
+    float minLatitude(int entry) {
+        return bounds[0][entry * 4];
+    }
+
+    float minLongitude(int entry) {
+        return bounds[0][entry * 4 + 1];
+    }
+
+    float maxLatitude(int entry) {
+        return bounds[0][entry * 4 + 2];
+    }
+
+    float maxLongitude(int entry) {
+        return bounds[0][entry * 4 + 3];
+    }
+
+    @FunctionalInterface
+    interface EntryVisitor {
+
+        /**
+         * @return false to stop the search
+         */
+        boolean visit(int entry);
+    }
+
+    static float floorFloat(double value) {
+        float f = (float) value;
+        return f > value ? Math.nextDown(f) : f;
+    }
+
+    static float ceilFloat(double value) {
+        float f = (float) value;
+        return f < value ? Math.nextUp(f) : f;
+    }
+
+    private static boolean intersects(float[] box, int index, float minLat, float minLng, float maxLat, float maxLng) {
+        int o = index * 4;
+        return box[o] <= maxLat && box[o + 2] >= minLat && box[o + 1] <= maxLng && box[o + 3] >= minLng;
+    }
+
+    private static void union(float[] boxes, int from, int to, float[] target, int index) {
+        float minLat = Float.POSITIVE_INFINITY;
+        float minLng = Float.POSITIVE_INFINITY;
+        float maxLat = Float.NEGATIVE_INFINITY;
+        float maxLng = Float.NEGATIVE_INFINITY;
+        for (int i = from; i < to; i++) {
+            minLat = Math.min(minLat, boxes[i * 4]);
+            minLng = Math.min(minLng, boxes[i * 4 + 1]);
+            maxLat = Math.max(maxLat, boxes[i * 4 + 2]);
+            maxLng = Math.max(maxLng, boxes[i * 4 + 3]);
+        }
+        target[index * 4] = minLat;
+        target[index * 4 + 1] = minLng;
+        target[index * 4 + 2] = maxLat;
+        target[index * 4 + 3] = maxLng;
+    }
+
+    /**
+     * Sort-Tile-Recursive order: sort by longitude centre, cut into
+     * sqrt(nodes) vertical slices, sort each slice by latitude centre.
+     * Sorting is done on packed (key, index) longs to stay primitive.
+     */
+    private static int[] strOrder(float[] boxes, int n) {
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++)
+            keys[i] = sortKey(boxes[i * 4 + 1] + boxes[i * 4 + 3], i);
+        Arrays.sort(keys);
+
+        int nodes = (n + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(nodes));
+        int sliceSize = slices * NODE_CAPACITY;
+
+        int[] order = new int[n];
+        long[] slice = new long[Math.min(sliceSize, n)];
+        for (int from = 0; from < n; from += sliceSize) {
+            int to = Math.min(from + sliceSize, n);
+            for (int i = from; i < to; i++) {
+                int index = (int) keys[i];
+                slice[i - from] = sortKey(boxes[index * 4] + boxes[index * 4 + 2], index);
+            }
+            Arrays.sort(slice, 0, to - from);
+            for (int i = from; i < to; i++)
+                order[i] = (int) slice[i - from];
+        }
+        return order;
+    }
+
+    private static long sortKey(float value, int index) {
+        int bits = Float.floatToIntBits(value);
+        // flip negative floats so signed int order matches float order
+        bits ^= (bits >> 31) & 0x7fffffff;
+        return ((long) bits << 32) | (index & 0xffffffffL);
+    }
+
+}
@@ -0,0 +1,387 @@
+package com.veer.route.service.spatial;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.GeoMath;
+import com.veer.route.service.RouteChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory spatial index over the bounding boxes of public routes.
+ *
+ * The bulk of the routes live in an immutable {@link PackedRTree}. Changes
+ * published as {@link RouteChangedEvent}s go to a small delta that masks and
+ * extends the tree; once the delta outgrows a fraction of the tree, a new
+ * tree is packed in the background while a fresh delta keeps taking
+ * changes. Queries therefore see every committed change immediately.
+ *
+ * Changes made by other instances are not published here; for those
+ * {@link #refresh} re-reads the route's bounding box from the database.
+ *
+ * Routes without statistics (saved before statistics existed) are only
+ * indexed once they are updated.
+ */
+@Component
+public class RouteSpatialIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteSpatialIndex.class);
+
+    static final int MIN_REBUILD_THRESHOLD = 1024;
+
+    // delta may grow to 1/REBUILD_FRACTION of the tree before a rebuild
+    private static final int REBUILD_FRACTION = 32;
+
+    private final RouteRepository repository;
+
+    private final Executor rebuilder;
+
+    private final int minRebuildThreshold;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private PackedRTree tree = PackedRTree.empty();
+
+    // delta being folded into the next tree, null when no rebuild runs
+    private Delta frozen;
+
+    private Delta delta = new Delta();
+
+    @Autowired
+    public RouteSpatialIndex(RouteRepository repository) {
+        this(repository, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "route-spatial-index");
+            thread.setDaemon(true);
+            return thread;
+        }), MIN_REBUILD_THRESHOLD);
+    }
+
+    RouteSpatialIndex(RouteRepository repository, Executor rebuilder, int minRebuildThreshold) {
+        this.repository = repository;
+        this.rebuilder = rebuilder;
+        this.minRebuildThreshold = minRebuildThreshold;
+    }
+
+    /**
+     * Packs the tree from the bounding boxes stored in the database. Changes
+     * published while loading stay in the delta, so none are lost.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void load() {
+        List<String> ids = new ArrayList<>();
+        float[] boxes = new float[4096];
+        try (Stream<RouteRepository.RouteBounds> stream = repository.streamPublicRouteBounds()) {
+            for (RouteRepository.RouteBounds bounds : (Iterable<RouteRepository.RouteBounds>) stream::iterator) {
+                if (ids.size() * 4 == boxes.length)
+                    boxes = Arrays.copyOf(boxes, boxes.length * 2);
+                box(bounds.getMinLatitude(), bounds.getMinLongitude(),
+                    bounds.getMaxLatitude(), bounds.getMaxLongitude(), boxes, ids.size() * 4);
+                ids.add(bounds.getId());
+            }
+        }
+        PackedRTree loaded = PackedRTree.build(ids.toArray(new String[0]), boxes);
+
+        lock.writeLock().lock();
+        try {
+            tree = loaded;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Spatial index loaded with {} public routes", loaded.size());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (rebuilder instanceof ExecutorService executor)
+            executor.shutdownNow();
+    }
+
+    @EventListener
+    public void onRouteChanged(RouteChangedEvent event) {
+        // the bounding box stays where it was
+        if (event.getType() == RouteChangedEvent.Type.RATED)
+            return;
+        RouteStatistics statistics = event.getStatistics();
+        boolean indexed = event.getType() != RouteChangedEvent.Type.DELETED
+            && event.isPublicRoute()
+            && statistics != null
+            && statistics.getMinLatitude() != null;
+
+        float[] box = null;
+        if (indexed) {
+            box = new float[4];
+            box(statistics.getMinLatitude(), statistics.getMinLongitude(),
+                statistics.getMaxLatitude(), statistics.getMaxLongitude(), box, 0);
+        }
+        update(event.getRouteId(), box);
+    }
+
+    /**
+     * Indexes a route as it is stored now, for changes announced by other
+     * instances. Reading the database rather than the announcement keeps
+     * the index right whatever order announcements arrive in.
+     */
+    public void refresh(String routeId) {
+        float[] box = repository.findPublicRouteBoundsById(routeId)
+            .map(bounds -> {
+                float[] found = new float[4];
+                box(bounds.getMinLatitude(), bounds.getMinLongitude(),
+                    bounds.getMaxLatitude(), bounds.getMaxLongitude(), found, 0);
+                return found;
+            })
+            .orElse(null);
+        update(routeId, box);
+    }
+
+    /**
+     * Replaces the route's entry with {@code box}, or removes it for null.
+     */
+    private void update(String routeId, float[] box) {
+        Runnable rebuild = null;
+        lock.writeLock().lock();
+        try {
+            delta.removed.add(routeId);
+            if (box != null) {
+                delta.pending.put(routeId, box);
+            } else {
+                delta.pending.remove(routeId);
+            }
+
+            if (frozen == null && delta.removed.size() >= Math.max(minRebuildThreshold, tree.size() / REBUILD_FRACTION)) {
+                PackedRTree base = tree;
+                Delta merged = delta;
+                frozen = delta;
+                delta = new Delta();
+                rebuild = () -> rebuild(base, merged);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (rebuild != null)
+            rebuilder.execute(rebuild);
+    }
+
+    /**
+     * Ids of public routes whose bounding box intersects the given box, at
+     * most {@code limit}. A box with {@code minLng > maxLng} crosses the
+     * antimeridian.
+     */
+    public List<String> search(double minLat, double minLng, double maxLat, double maxLng, int limit) {
+        Set<String> found = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            if (minLng <= maxLng) {
+                collect(minLat, minLng, maxLat, maxLng, found, limit);
+            } else {
+                collect(minLat, minLng, maxLat, 180.0, found, limit);
+                collect(minLat, -180.0, maxLat, maxLng, found, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(found);
+    }
+
+    /**
+     * Ids of public routes whose bounding box lies within {@code radiusMeters}
+     * of the point, nearest first, at most {@code limit}. The distance to a
+     * box is measured to its closest point in latitude/longitude.
+     */
+    public List<String> nearby(double lat, double lng, double radiusMeters, int limit) {
+        double angular = radiusMeters / GeoMath.EARTH_RADIUS_METERS;
+        double minLat = Math.max(-90.0, lat - Math.toDegrees(angular));
+        double maxLat = Math.min(90.0, lat + Math.toDegrees(angular));
+
+        // widest longitude extent of the spherical cap
+        double sinLng = Math.sin(angular) / Math.cos(Math.toRadians(lat));
+        boolean allLongitudes = minLat == -90.0 || maxLat == 90.0 || sinLng >= 1.0;
+        double deltaLng = allLongitudes ? 180.0 : Math.toDegrees(Math.asin(sinLng));
+        double minLng = allLongitudes ? -180.0 : wrap(lng - deltaLng);
+        double maxLng = allLongitudes ? 180.0 : wrap(lng + deltaLng);
+
+        Map<String, Double> distances = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            EntrySink sink = (id, box) -> {
+                double distance = distanceToBox(lat, lng, box);
+                if (distance <= radiusMeters)
+                    distances.merge(id, distance, Math::min);
+                return true;
+            };
+            if (minLng <= maxLng) {
+                visit(minLat, minLng, maxLat, maxLng, sink);
+            } else {
+                visit(minLat, minLng, maxLat, 180.0, sink);
+                visit(minLat, -180.0, maxLat, maxLng, sink);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return distances.entrySet().stream()
+            .sorted(Map.Entry.comparingByValue())
+            .limit(limit)
+            .map(Map.Entry::getKey)
+            .toList();
+    }
+
+    private void collect(double minLat, double minLng, double maxLat, double maxLng, Set<String> found, int limit) {
+        if (found.size() >= limit)
+            return;
+        visit(minLat, minLng, maxLat, maxLng, (id, box) -> {
+            found.add(id);
+            return found.size() < limit;
+        });
+    }
+
+    /**
+     * Visits the current state: tree entries not masked by a delta, then
+     * frozen entries not masked by the fresh delta, then fresh entries.
+     * Caller holds the read lock.
+     */
+    private void visit(double minLat, double minLng, double maxLat, double maxLng, EntrySink sink) {
+        PackedRTree current = tree;
+        Delta older = frozen;
+        float[] box = new float[4];
+        boolean[] stopped = new boolean[1];
+        current.search(minLat, minLng, maxLat, maxLng, entry -> {
+            String id = current.id(entry);
+            if (delta.removed.contains(id) || (older != null && older.removed.contains(id)))
+                return true;
+            box[0] = current.minLatitude(entry);
+            box[1] = current.minLongitude(entry);
+            box[2] = current.maxLatitude(entry);
+            box[3] = current.maxLongitude(entry);
+            stopped[0] = !sink.accept(id, box);
+            return !stopped[0];
+        });
+        if (stopped[0])
+            return;
+
+        if (older != null) {
+            for (Map.Entry<String, float[]> entry : older.pending.entrySet()) {
+                if (delta.removed.contains(entry.getKey()) || !intersects(entry.getValue(), minLat, minLng, maxLat, maxLng))
+                    continue;
+                if (!sink.accept(entry.getKey(), entry.getValue()))
+                    return;
+            }
+        }
+        for (Map.Entry<String, float[]> entry : delta.pending.entrySet()) {
+            if (!intersects(entry.getValue(), minLat, minLng, maxLat, maxLng))
+                continue;
+            if (!sink.accept(entry.getKey(), entry.getValue()))
+                return;
+        }
+    }
+
+    private void rebuild(PackedRTree base, Delta merged) {
+        List<String> ids = new ArrayList<>(base.size() + merged.pending.size());
+        float[] boxes = new float[(base.size() + merged.pending.size()) * 4];
+        for (int entry = 0; entry < base.size(); entry++) {
+            String id = base.id(entry);
+            if (merged.removed.contains(id))
+                continue;
+            int o = ids.size() * 4;
+            boxes[o] = base.minLatitude(entry);
+            boxes[o + 1] = base.minLongitude(entry);
+            boxes[o + 2] = base.maxLatitude(entry);
+            boxes[o + 3] = base.maxLongitude(entry);
+            ids.add(id);
+        }
+        for (Map.Entry<String, float[]> entry : merged.pending.entrySet()) {
+            System.arraycopy(entry.getValue(), 0, boxes, ids.size() * 4, 4);
+            ids.add(entry.getKey());
+        }
+        PackedRTree rebuilt = PackedRTree.build(ids.toArray(new String[0]), boxes);
+
+        lock.writeLock().lock();
+        try {
+            if (tree == base) {
+                tree = rebuilt;
+            } else {
+                // the tree was reloaded meanwhile, keep the frozen changes on top of it
+                for (String id : merged.removed) {
+                    if (delta.removed.add(id) && merged.pending.containsKey(id))
+                        delta.pending.put(id, merged.pending.get(id));
+                }
+            }
+            frozen = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void box(double minLat, double minLng, double maxLat, double maxLng, float[] target, int offset) {
+        target[offset] = PackedRTree.floorFloat(minLat);
+        target[offset + 1] = PackedRTree.floorFloat(minLng);
+        target[offset + 2] = PackedRTree.ceilFloat(maxLat);
+        target[offset + 3] = PackedRTree.ceilFloat(maxLng);
+    }
+
+    private static boolean intersects(float[] box, double minLat, double minLng, double maxLat, double maxLng) {
+        return box[0] <= maxLat && box[2] >= minLat && box[1] <= maxLng && box[3] >= minLng;
+    }
+
+    private static double distanceToBox(double lat, double lng, float[] box) {
+        double nearestLat = Math.max(box[0], Math.min(box[2], lat));
+        double nearestLng = lng;
+        if (lng < box[1] || lng > box[3])
+            nearestLng = longitudeGap(lng, box[1]) <= longitudeGap(lng, box[3]) ? box[1] : box[3];
+        return GeoMath.haversine(lat, lng, nearestLat, nearestLng);
+    }
+
+    private static double longitudeGap(double a, double b) {
+        double gap = Math.abs(a - b) % 360.0;
+        return Math.min(gap, 360.0 - gap);
+    }
+
+    private static double wrap(double lng) {
+        if (lng > 180.0)
+            return lng - 360.0;
+        if (lng < -180.0)
+            return lng + 360.0;
+        return lng;
+    }
+
+    @FunctionalInterface
+    private interface EntrySink {
+
+        /**
+         * @return false to stop visiting
+         */
+        boolean accept(String id, float[] box);
+    }
+
+    /**
+     * Changes on top of a tree: ids in {@code removed} hide their tree entry,
+     * {@code pending} holds the current box of those still indexed.
+     */
+    private static final class Delta {
+
+        private final Set<String> removed = new HashSet<>();
+
+        private final Map<String, float[]> pending = new HashMap<>();
+    }
+
+}
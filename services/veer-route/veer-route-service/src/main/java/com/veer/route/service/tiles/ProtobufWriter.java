@@ -0,0 +1,109 @@
+package com.veer.route.service.tiles;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The few protocol buffers wire types a vector tile needs, written into a
+ * growable byte array. Nested messages are written into their own writer
+ * first, as their length prefix must be known before their content.
+ */
+final class ProtobufWriter {
+
+    private static final int VARINT = 0;
+
+    private static final int FIXED64 = 1;
+
+    private static final int LENGTH_DELIMITED = 2;
+
+    private byte[] buffer = new byte[256];
+
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    void writeVarintField(int field, long value) {
+        writeTag(field, VARINT);
+        writeVarint(value);
+    }
+
+    void writeDoubleField(int field, double value) {
+        writeTag(field, FIXED64);
+        long bits = Double.doubleToLongBits(value);
+        ensureCapacity(8);
+        for (int i = 0; i < 8; i++)
+            buffer[size++] = (byte) (bits >>> (i * 8));
+    }
+
+    void writeStringField(int field, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(bytes.length);
+        writeRaw(bytes, 0, bytes.length);
+    }
+
+    void writeMessageField(int field, ProtobufWriter message) {
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(message.size);
+        writeRaw(message.buffer, 0, message.size);
+    }
+
+    /**
+     * Repeated uint32 in packed encoding.
+     */
+    void writePackedField(int field, int[] values, int count) {
+        if (count == 0)
+            return;
+        int length = 0;
+        for (int i = 0; i < count; i++)
+            length += varintSize(values[i] & 0xffffffffL);
+        writeTag(field, LENGTH_DELIMITED);
+        writeVarint(length);
+        for (int i = 0; i < count; i++)
+            writeVarint(values[i] & 0xffffffffL);
+    }
+
+    static int zigZag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private void writeTag(int field, int wireType) {
+        writeVarint((long) field << 3 | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7fL) != 0) {
+            buffer[size++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void writeRaw(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buffer, size, length);
+        size += length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+    }
+
+    private static int varintSize(long value) {
+        int bytes = 1;
+        while ((value & ~0x7fL) != 0) {
+            value >>>= 7;
+            bytes++;
+        }
+        return bytes;
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.veer.route.service.tiles;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.service.RouteChangedEvent;
+import com.veer.route.service.cache.StampedLruCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU cache of encoded route tiles keyed by z/x/y, bounded by tile
+ * count and total bytes.
+ *
+ * A {@link RouteChangedEvent} drops every cached tile, at any zoom, that
+ * the route's bounding box before or after the change touches (including
+ * the tile buffer). Tiles elsewhere stay cached. As with the route cache,
+ * a tile rendered from data read before a change must not be put back
+ * afterwards, so {@link #put} takes a {@link #stamp} taken before
+ * rendering; here the stamp is global, since a tile depends on many routes.
+ */
+@Component
+public class RouteTileCache {
+
+    private final StampedLruCache<Long, byte[]> tiles;
+
+    public RouteTileCache(
+        @Value("${veer.route.tiles.cache.max-tiles:20000}") int maxTiles,
+        @Value("${veer.route.tiles.cache.max-bytes:67108864}") long maxBytes
+    ) {
+        this.tiles = new StampedLruCache<>(maxTiles, maxBytes, 1, key -> 0, tile -> tile.length);
+    }
+
+    public byte[] get(int zoom, int x, int y) {
+        return tiles.get(key(zoom, x, y));
+    }
+
+    /**
+     * To be taken before the routes of a tile are read, see {@link #put}.
+     */
+    public long stamp(int zoom, int x, int y) {
+        return tiles.stamp(key(zoom, x, y));
+    }
+
+    /**
+     * Caches the tile unless any route changed since {@code stamp} was
+     * taken, or the tile alone is larger than the whole cache.
+     */
+    public void put(long stamp, int zoom, int x, int y, byte[] tile) {
+        tiles.put(stamp, key(zoom, x, y), tile);
+    }
+
+    /**
+     * Drops the tiles whose buffered area intersects the box.
+     */
+    public void invalidate(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        // per zoom: first and last tile column and row touched, widened by the buffer
+        double margin = (double) VectorTileEncoder.BUFFER / VectorTileEncoder.EXTENT;
+        int[] ranges = new int[(WebMercator.MAX_ZOOM + 1) * 4];
+        for (int zoom = 0; zoom <= WebMercator.MAX_ZOOM; zoom++) {
+            ranges[zoom * 4] = (int) Math.floor(WebMercator.tileX(minLongitude, zoom) - margin);
+            ranges[zoom * 4 + 1] = (int) Math.floor(WebMercator.tileY(maxLatitude, zoom) - margin);
+            ranges[zoom * 4 + 2] = (int) Math.floor(WebMercator.tileX(maxLongitude, zoom) + margin);
+            ranges[zoom * 4 + 3] = (int) Math.floor(WebMercator.tileY(minLatitude, zoom) + margin);
+        }
+
+        tiles.invalidateIf(key -> {
+            int zoom = (int) (key >>> 48);
+            int x = (int) ((key >>> 24) & 0xffffff);
+            int y = (int) (key & 0xffffff);
+            int o = zoom * 4;
+            return x >= ranges[o] && y >= ranges[o + 1] && x <= ranges[o + 2] && y <= ranges[o + 3];
+        });
+    }
+
+    public void invalidateAll() {
+        tiles.invalidateAll();
+    }
+
+    @EventListener
+    public void onRouteChanged(RouteChangedEvent event) {
+        invalidate(event.getStatistics());
+        invalidate(event.getPreviousStatistics());
+    }
+
+    public long hitCount() {
+        return tiles.hitCount();
+    }
+
+    public long missCount() {
+        return tiles.missCount();
+    }
+
+    public long evictionCount() {
+        return tiles.evictionCount();
+    }
+
+    public int size() {
+        return tiles.size();
+    }
+
+    /**
+     * Total size of the cached tiles in bytes.
+     */
+    public long weight() {
+        return tiles.weight();
+    }
+
+    // a route without a box has no points and is drawn in no tile
+    private void invalidate(RouteStatistics box) {
+        if (box == null || box.getMinLatitude() == null || box.getMinLongitude() == null
+            || box.getMaxLatitude() == null || box.getMaxLongitude() == null)
+            return;
+        invalidate(box.getMinLatitude(), box.getMinLongitude(), box.getMaxLatitude(), box.getMaxLongitude());
+    }
+
+    private static long key(int zoom, int x, int y) {
+        return (long) zoom << 48 | (long) x << 24 | y;
+    }
+
+}
@@ -0,0 +1,131 @@
+package com.veer.route.service.tiles;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.simplify.DetailLevel;
+import com.veer.route.service.simplify.RouteSimplifier;
+import com.veer.route.service.spatial.RouteSpatialIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Renders public routes into Mapbox Vector Tiles for the discovery map.
+ *
+ * The candidate routes of a tile come from the in-memory spatial index,
+ * their points from the stored level of detail precise enough for the
+ * tile's zoom, so a tile never reads full tracks below zoom 15. Each route
+ * is a LineString feature of the {@code routes} layer with its id, name,
+ * length and rating as properties. Rendered tiles are kept in the
+ * {@link RouteTileCache}.
+ */
+@Component
+public class RouteTileGenerator {
+
+    public static final String MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+
+    static final String LAYER = "routes";
+
+    private final RouteRepository repository;
+
+    private final RouteSpatialIndex spatialIndex;
+
+    private final RouteTileCache cache;
+
+    private final int maxRoutes;
+
+    public RouteTileGenerator(
+        RouteRepository repository,
+        RouteSpatialIndex spatialIndex,
+        RouteTileCache cache,
+        @Value("${veer.route.tiles.max-routes:2000}") int maxRoutes
+    ) {
+        this.repository = repository;
+        this.spatialIndex = spatialIndex;
+        this.cache = cache;
+        this.maxRoutes = maxRoutes;
+    }
+
+    /**
+     * @return the encoded tile, empty when no public route crosses it
+     */
+    public byte[] tile(int zoom, int x, int y) {
+        if (zoom < 0 || zoom > WebMercator.MAX_ZOOM)
+            throw new IllegalArgumentException("Zoom must be between 0 and " + WebMercator.MAX_ZOOM);
+        if (x < 0 || y < 0 || x >= 1 << zoom || y >= 1 << zoom)
+            throw new IllegalArgumentException("Tile " + zoom + "/" + x + "/" + y + " does not exist");
+
+        byte[] cached = cache.get(zoom, x, y);
+        if (cached != null)
+            return cached;
+
+        long stamp = cache.stamp(zoom, x, y);
+        byte[] tile = render(zoom, x, y);
+        cache.put(stamp, zoom, x, y, tile);
+        return tile;
+    }
+
+    private byte[] render(int zoom, int x, int y) {
+        double margin = (double) VectorTileEncoder.BUFFER / VectorTileEncoder.EXTENT;
+        double minLongitude = Math.max(-180.0, WebMercator.longitude(x - margin, zoom));
+        double maxLongitude = Math.min(180.0, WebMercator.longitude(x + 1 + margin, zoom));
+        double maxLatitude = Math.min(90.0, WebMercator.latitude(y - margin, zoom));
+        double minLatitude = Math.max(-90.0, WebMercator.latitude(y + 1 + margin, zoom));
+
+        List<String> ids = spatialIndex.search(minLatitude, minLongitude, maxLatitude, maxLongitude, maxRoutes);
+        if (ids.isEmpty())
+            return new byte[0];
+
+        VectorTileEncoder encoder = new VectorTileEncoder(LAYER, zoom, x, y);
+        // stable feature order, so equal data gives equal tiles
+        for (Line line : lines(DetailLevel.forZoom(zoom), ids)) {
+            Map<String, Object> properties = new LinkedHashMap<>();
+            properties.put("id", line.id());
+            properties.put("name", line.route().getName());
+            properties.put("length_m", line.route().getLengthMeters());
+            properties.put("rating", line.route().getRating());
+            encoder.addLine(line.points(), properties);
+        }
+        return encoder.encode();
+    }
+
+    /**
+     * Routes stored without levels of detail are simplified on the fly.
+     */
+    private List<Line> lines(DetailLevel level, List<String> ids) {
+        List<RouteRepository.RouteLine> routes = switch (level) {
+            case LOW -> repository.findLowDetailLinesByIdIn(ids);
+            case MEDIUM -> repository.findMediumDetailLinesByIdIn(ids);
+            case HIGH -> repository.findHighDetailLinesByIdIn(ids);
+            case FULL -> repository.findLinesByIdIn(ids);
+        };
+
+        List<Line> lines = new ArrayList<>(routes.size());
+        List<String> missing = new ArrayList<>();
+        for (RouteRepository.RouteLine route : routes) {
+            if (route.getPoints() != null)
+                lines.add(new Line(route.getId(), route, route.getPoints()));
+            else if (level != DetailLevel.FULL)
+                missing.add(route.getId());
+        }
+        if (!missing.isEmpty()) {
+            for (RouteRepository.RouteLine route : repository.findLinesByIdIn(missing)) {
+                if (route.getPoints() != null) {
+                    RouteGeometry points = RouteSimplifier.simplify(route.getPoints(), level.toleranceMeters());
+                    lines.add(new Line(route.getId(), route, points));
+                }
+            }
+        }
+        lines.sort(Comparator.comparing(Line::id));
+        return lines;
+    }
+
+    private record Line(String id, RouteRepository.RouteLine route, RouteGeometry points) {
+    }
+
+}
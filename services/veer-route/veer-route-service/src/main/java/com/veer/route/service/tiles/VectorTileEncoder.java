@@ -0,0 +1,256 @@
+package com.veer.route.service.tiles;
+
+import com.veer.route.model.geometry.RouteGeometry;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes lines into a single layer Mapbox Vector Tile (specification 2.1).
+ *
+ * Points are projected to tile coordinates on a 4096 grid, clipped to the
+ * tile plus a small buffer (so strokes do not end at tile edges) and
+ * rounded to the grid; consecutive points rounding to the same cell are
+ * dropped. A line leaving and re-entering the tile becomes several parts
+ * of one feature. Longitudes are unwrapped along the line, so a route
+ * crossing the antimeridian is drawn continuously in the tiles of the side
+ * it starts on.
+ */
+final class VectorTileEncoder {
+
+    static final int EXTENT = 4096;
+
+    static final int BUFFER = 64;
+
+    private static final int LAYER_VERSION = 2;
+
+    private static final int GEOM_TYPE_LINESTRING = 2;
+
+    private static final int MOVE_TO = 1;
+
+    private static final int LINE_TO = 2;
+
+    private final int zoom;
+
+    private final int tileX;
+
+    private final int tileY;
+
+    private final ProtobufWriter layer = new ProtobufWriter();
+
+    private final Map<String, Integer> keys = new LinkedHashMap<>();
+
+    private final Map<Object, Integer> values = new LinkedHashMap<>();
+
+    private int features;
+
+    // current feature: geometry commands and the clipped part being built
+    private int[] geometry = new int[64];
+
+    private int geometryLength;
+
+    private int cursorX;
+
+    private int cursorY;
+
+    private int[] part = new int[64];
+
+    private int partLength;
+
+    VectorTileEncoder(String layerName, int zoom, int tileX, int tileY) {
+        this.zoom = zoom;
+        this.tileX = tileX;
+        this.tileY = tileY;
+        layer.writeVarintField(15, LAYER_VERSION);
+        layer.writeStringField(1, layerName);
+    }
+
+    int featureCount() {
+        return features;
+    }
+
+    /**
+     * Adds the part of the line that lies within the tile and its buffer.
+     *
+     * @param properties String, Double or Long values; null values are left out
+     * @return false if nothing of the line was visible in the tile
+     */
+    boolean addLine(RouteGeometry points, Map<String, ?> properties) {
+        int n = points.size();
+        if (n < 2)
+            return false;
+
+        double[] x = new double[n];
+        double[] y = new double[n];
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        double previous = 0;
+        for (int i = 0; i < n; i++) {
+            double longitude = points.longitude(i);
+            if (i > 0) {
+                while (longitude - previous > 180)
+                    longitude -= 360;
+                while (longitude - previous < -180)
+                    longitude += 360;
+            }
+            previous = longitude;
+            x[i] = (WebMercator.tileX(longitude, zoom) - tileX) * EXTENT;
+            y[i] = (WebMercator.tileY(points.latitude(i), zoom) - tileY) * EXTENT;
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        if (maxX < -BUFFER || minX > EXTENT + BUFFER || maxY < -BUFFER || minY > EXTENT + BUFFER)
+            return false;
+
+        geometryLength = 0;
+        cursorX = 0;
+        cursorY = 0;
+        clip(x, y);
+        if (geometryLength == 0)
+            return false;
+
+        ProtobufWriter feature = new ProtobufWriter();
+        int[] tags = new int[properties.size() * 2];
+        int tagCount = 0;
+        for (Map.Entry<String, ?> property : properties.entrySet()) {
+            if (property.getValue() == null)
+                continue;
+            tags[tagCount++] = keys.computeIfAbsent(property.getKey(), key -> keys.size());
+            tags[tagCount++] = values.computeIfAbsent(property.getValue(), value -> values.size());
+        }
+        feature.writePackedField(2, tags, tagCount);
+        feature.writeVarintField(3, GEOM_TYPE_LINESTRING);
+        feature.writePackedField(4, geometry, geometryLength);
+        layer.writeMessageField(2, feature);
+        features++;
+        return true;
+    }
+
+    /**
+     * @return the encoded tile, empty (which is a valid tile) without features
+     */
+    byte[] encode() {
+        if (features == 0)
+            return new byte[0];
+        for (String key : keys.keySet())
+            layer.writeStringField(3, key);
+        for (Object value : values.keySet()) {
+            ProtobufWriter encoded = new ProtobufWriter();
+            if (value instanceof String string)
+                encoded.writeStringField(1, string);
+            else if (value instanceof Double number)
+                encoded.writeDoubleField(3, number);
+            else if (value instanceof Long number && number >= 0)
+                encoded.writeVarintField(5, number);
+            else if (value instanceof Long number)
+                encoded.writeVarintField(6, (number << 1) ^ (number >> 63));
+            else
+                throw new IllegalArgumentException("Unsupported tile property value: " + value);
+            layer.writeMessageField(4, encoded);
+        }
+        layer.writeVarintField(5, EXTENT);
+
+        ProtobufWriter tile = new ProtobufWriter();
+        tile.writeMessageField(3, layer);
+        return tile.toByteArray();
+    }
+
+    /**
+     * Liang-Barsky clipping of every segment against the buffered tile.
+     * A part ends where a segment leaves the box and a new one starts
+     * where a segment enters it.
+     */
+    private void clip(double[] x, double[] y) {
+        double min = -BUFFER;
+        double max = EXTENT + BUFFER;
+        boolean open = false;
+        for (int i = 1; i < x.length; i++) {
+            double ax = x[i - 1];
+            double ay = y[i - 1];
+            double dx = x[i] - ax;
+            double dy = y[i] - ay;
+            double[] range = {0.0, 1.0};
+            boolean visible = clipEdge(-dx, ax - min, range) && clipEdge(dx, max - ax, range)
+                && clipEdge(-dy, ay - min, range) && clipEdge(dy, max - ay, range);
+            if (!visible) {
+                if (open)
+                    finishPart();
+                open = false;
+                continue;
+            }
+            if (!open || range[0] > 0) {
+                if (open)
+                    finishPart();
+                partLength = 0;
+                appendToPart(ax + dx * range[0], ay + dy * range[0]);
+                open = true;
+            }
+            appendToPart(ax + dx * range[1], ay + dy * range[1]);
+            if (range[1] < 1) {
+                finishPart();
+                open = false;
+            }
+        }
+        if (open)
+            finishPart();
+    }
+
+    private static boolean clipEdge(double p, double q, double[] range) {
+        if (p == 0)
+            return q >= 0;
+        double r = q / p;
+        if (p < 0) {
+            if (r > range[1])
+                return false;
+            if (r > range[0])
+                range[0] = r;
+        } else {
+            if (r < range[0])
+                return false;
+            if (r < range[1])
+                range[1] = r;
+        }
+        return true;
+    }
+
+    private void appendToPart(double x, double y) {
+        int px = (int) Math.round(x);
+        int py = (int) Math.round(y);
+        if (partLength > 0 && part[partLength - 2] == px && part[partLength - 1] == py)
+            return;
+        if (partLength + 2 > part.length)
+            part = Arrays.copyOf(part, part.length * 2);
+        part[partLength++] = px;
+        part[partLength++] = py;
+    }
+
+    private void finishPart() {
+        int count = partLength / 2;
+        if (count < 2)
+            return;
+        if (geometryLength + partLength + 2 > geometry.length)
+            geometry = Arrays.copyOf(geometry, Math.max(geometry.length * 2, geometryLength + partLength + 2));
+        geometry[geometryLength++] = command(MOVE_TO, 1);
+        appendDelta(part[0], part[1]);
+        geometry[geometryLength++] = command(LINE_TO, count - 1);
+        for (int i = 2; i < partLength; i += 2)
+            appendDelta(part[i], part[i + 1]);
+    }
+
+    private void appendDelta(int x, int y) {
+        geometry[geometryLength++] = ProtobufWriter.zigZag(x - cursorX);
+        geometry[geometryLength++] = ProtobufWriter.zigZag(y - cursorY);
+        cursorX = x;
+        cursorY = y;
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+}
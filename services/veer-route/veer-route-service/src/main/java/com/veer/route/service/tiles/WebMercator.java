@@ -0,0 +1,36 @@
+package com.veer.route.service.tiles;
+
+/**
+ * Web Mercator (EPSG:3857) tile arithmetic in fractional tile units: at
+ * zoom z the world spans 2^z tiles both ways, x growing east from the
+ * antimeridian, y growing south from latitude 85.05.
+ */
+final class WebMercator {
+
+    static final int MAX_ZOOM = 22;
+
+    static final double MAX_LATITUDE = 85.0511287798066;
+
+    private WebMercator() {
+    }
+
+    static double tileX(double longitude, int zoom) {
+        return (longitude + 180.0) / 360.0 * (1 << zoom);
+    }
+
+    static double tileY(double latitude, int zoom) {
+        double clamped = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, latitude));
+        double sin = Math.sin(Math.toRadians(clamped));
+        return (0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI)) * (1 << zoom);
+    }
+
+    static double longitude(double tileX, int zoom) {
+        return tileX / (1 << zoom) * 360.0 - 180.0;
+    }
+
+    static double latitude(double tileY, int zoom) {
+        double n = Math.PI * (1 - 2 * tileY / (1 << zoom));
+        return Math.toDegrees(Math.atan(Math.sinh(n)));
+    }
+
+}
@@ -3,16 +3,14 @@ package com.veer.route.service;
 import com.veer.route.model.Route;
 import com.veer.route.model.dto.CreateRouteDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,24 +18,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 @DisplayName("RouteMapper Unit Tests")
 class RouteMapperTest {
 
-    private List<Map<String, Object>> samplePoints;
+    private RouteGeometry samplePoints;
 
     @BeforeEach
     void setUp() {
         samplePoints = createSamplePoints();
     }
 
-    private List<Map<String, Object>> createSamplePoints() {
-        List<Map<String, Object>> points = new ArrayList<>();
-        Map<String, Object> point1 = new HashMap<>();
-        point1.put("latitude", 52.2297);
-        point1.put("longitude", 21.0122);
-        points.add(point1);
-        Map<String, Object> point2 = new HashMap<>();
-        point2.put("latitude", 52.4064);
-        point2.put("longitude", 16.9252);
-        points.add(point2);
-        return points;
+    private RouteGeometry createSamplePoints() {
+        return RouteGeometry.builder()
+            .add(52.2297, 21.0122)
+            .add(52.4064, 16.9252)
+            .build();
     }
 
     @Nested
@@ -144,7 +136,7 @@ class RouteMapperTest {
             CreateRouteDto createRouteDto = CreateRouteDto.builder()
                 .createdBy("user-123")
                 .name("Test Route")
-                .points(new ArrayList<>())
+                .points(RouteGeometry.empty())
                 .build();
 
             // When
@@ -153,20 +145,17 @@ class RouteMapperTest {
             // Then
             assertThat(route).isNotNull();
             assertThat(route.getPoints()).isNotNull();
-            assertThat(route.getPoints()).isEmpty();
+            assertThat(route.getPoints().isEmpty()).isTrue();
         }
 
         @Test
         @DisplayName("Should map CreateRouteDto with complex points structure")
         void shouldMapCreateRouteDtoWithComplexPointsStructure() {
             // Given
-            List<Map<String, Object>> complexPoints = new ArrayList<>();
-            Map<String, Object> point1 = new HashMap<>();
-            point1.put("latitude", 52.2297);
-            point1.put("longitude", 21.0122);
-            point1.put("altitude", 100.0);
-            point1.put("timestamp", "2024-01-01T10:00:00Z");
-            complexPoints.add(point1);
+            RouteGeometry complexPoints = RouteGeometry.builder()
+                .add(52.2297, 21.0122, 100.0, PointType.START, "Warsaw",
+                    Instant.parse("2024-01-01T10:00:00Z"))
+                .build();
 
             CreateRouteDto createRouteDto = CreateRouteDto.builder()
                 .createdBy("user-123")
@@ -180,10 +169,12 @@ class RouteMapperTest {
             // Then
             assertThat(route).isNotNull();
             assertThat(route.getPoints()).isEqualTo(complexPoints);
-            assertThat(route.getPoints().get(0)).containsKey("latitude");
-            assertThat(route.getPoints().get(0)).containsKey("longitude");
-            assertThat(route.getPoints().get(0)).containsKey("altitude");
-            assertThat(route.getPoints().get(0)).containsKey("timestamp");
+            assertThat(route.getPoints().latitude(0)).isEqualTo(52.2297);
+            assertThat(route.getPoints().longitude(0)).isEqualTo(21.0122);
+            assertThat(route.getPoints().altitude(0)).isEqualTo(100.0);
+            assertThat(route.getPoints().type(0)).isEqualTo(PointType.START);
+            assertThat(route.getPoints().name(0)).isEqualTo("Warsaw");
+            assertThat(route.getPoints().timestamp(0)).isEqualTo(Instant.parse("2024-01-01T10:00:00Z"));
         }
     }
 
@@ -370,7 +361,7 @@ class RouteMapperTest {
                 .id(UUID.randomUUID().toString())
                 .createdBy("user-123")
                 .name("Test Route")
-                .points(new ArrayList<>())
+                .points(RouteGeometry.empty())
                 .createdAt(Instant.now())
                 .lastUpdated(Instant.now())
                 .build();
@@ -381,7 +372,7 @@ class RouteMapperTest {
             // Then
             assertThat(responseRouteDto).isNotNull();
             assertThat(responseRouteDto.getPoints()).isNotNull();
-            assertThat(responseRouteDto.getPoints()).isEmpty();
+            assertThat(responseRouteDto.getPoints().isEmpty()).isTrue();
         }
     }
 
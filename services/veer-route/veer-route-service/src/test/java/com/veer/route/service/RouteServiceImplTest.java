@@ -1,22 +1,65 @@
 package com.veer.route.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.PoiCategory;
 import com.veer.route.model.Route;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.TravelProfile;
 import com.veer.route.model.dto.CreateRouteDto;
+import com.veer.route.model.dto.DirectionsDto;
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.dto.GeoPoint;
+import com.veer.route.model.dto.IsochroneDto;
+import com.veer.route.model.dto.IsochronesDto;
+import com.veer.route.model.dto.MatrixRequestDto;
+import com.veer.route.model.dto.OptimizedRouteDto;
+import com.veer.route.model.dto.PatchRoutePointsDto;
+import com.veer.route.model.dto.PoiDto;
 import com.veer.route.model.dto.ResponseRouteDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RoutePointOperationDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
 import com.veer.route.model.dto.UpdateRouteDto;
+import com.veer.route.model.exception.RouteAccessDeniedException;
 import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.model.exception.RouteVersionMismatchException;
+import com.veer.route.model.exception.RoutingUnavailableException;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
 import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.bulk.RouteBulkImporter;
+import com.veer.route.service.cache.RouteCache;
+import com.veer.route.service.cache.RouteJson;
+import com.veer.route.service.elevation.ElevationModel;
+import com.veer.route.service.export.RouteExporter;
+import com.veer.route.service.optimizer.RouteOptimizer;
+import com.veer.route.service.poi.PoiIndex;
+import com.veer.route.service.rating.RouteRatings;
+import com.veer.route.service.routing.ReachCache;
+import com.veer.route.service.routing.ReachGrid;
+import com.veer.route.service.routing.RoadRouter;
+import com.veer.route.service.routing.TravelMatrix;
+import com.veer.route.service.search.RouteSearch;
+import com.veer.route.service.simplify.DetailLevel;
+import com.veer.route.service.spatial.RouteSpatialIndex;
+import com.veer.route.service.tiles.RouteTileGenerator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,7 +67,9 @@ import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -34,27 +79,95 @@ class RouteServiceImplTest {
     @Mock
     private RouteRepository repository;
 
+    @Spy
+    private RouteOptimizer optimizer = new RouteOptimizer(Duration.ofMillis(200));
+
+    @Mock
+    private RouteSpatialIndex spatialIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RouteExporter exporter;
+
+    @Mock
+    private RouteBulkImporter bulkImporter;
+
+    @Spy
+    private RouteCache cache = new RouteCache(100, 10_000);
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Mock
+    private RouteTileGenerator tileGenerator;
+
+    // no tile directory, recorded altitudes only
+    @Spy
+    private ElevationModel elevationModel = new ElevationModel("", 0);
+
+    @Mock
+    private RoadRouter roadRouter;
+
+    @Mock
+    private ReachCache reachCache;
+
+    @Mock
+    private PoiIndex poiIndex;
+
+    @Mock
+    private RouteRatings ratings;
+
+    @Mock
+    private RouteSearch search;
+
     @InjectMocks
     private RouteServiceImpl routeService;
 
-    private List<Map<String, Object>> samplePoints;
+    private RouteGeometry samplePoints;
 
     @BeforeEach
     void setUp() {
         samplePoints = createSamplePoints();
     }
 
-    private List<Map<String, Object>> createSamplePoints() {
-        List<Map<String, Object>> points = new ArrayList<>();
-        Map<String, Object> point1 = new HashMap<>();
-        point1.put("latitude", 52.2297);
-        point1.put("longitude", 21.0122);
-        points.add(point1);
-        Map<String, Object> point2 = new HashMap<>();
-        point2.put("latitude", 52.4064);
-        point2.put("longitude", 16.9252);
-        points.add(point2);
-        return points;
+    private RouteGeometry createSamplePoints() {
+        return RouteGeometry.builder()
+            .add(52.2297, 21.0122)
+            .add(52.4064, 16.9252)
+            .build();
+    }
+
+    // a row as returned by the owner-scoped statements
+    private static RouteRepository.RouteRow row(String id, String name, String description, boolean isPublic, long version) {
+        return new SpelAwareProxyProjectionFactory()
+            .createProjection(RouteRepository.RouteRow.class, columns(id, name, description, isPublic, version));
+    }
+
+    // a row as returned by the owner-scoped update, with the points of createSamplePoints
+    private static RouteRepository.RouteDetailsRow detailsRow(String id, String name, String description, boolean isPublic, long version) {
+        Map<String, Object> columns = columns(id, name, description, isPublic, version);
+        columns.put("pointsJson", "[{\"latitude\":52.2297,\"longitude\":21.0122},{\"latitude\":52.4064,\"longitude\":16.9252}]");
+        return new SpelAwareProxyProjectionFactory().createProjection(RouteRepository.RouteDetailsRow.class, columns);
+    }
+
+    private static Map<String, Object> columns(String id, String name, String description, boolean isPublic, long version) {
+        Map<String, Object> columns = new HashMap<>();
+        columns.put("id", id);
+        columns.put("createdBy", "user-123");
+        columns.put("name", name);
+        columns.put("description", description);
+        columns.put("isPublic", isPublic);
+        columns.put("rating", 3.0);
+        columns.put("minLatitude", 52.2297);
+        columns.put("version", version);
+        return columns;
+    }
+
+    private static RouteRepository.RouteOwnership ownership(String createdBy, long version) {
+        return new SpelAwareProxyProjectionFactory().createProjection(RouteRepository.RouteOwnership.class,
+            Map.of("createdBy", createdBy, "version", version));
     }
 
     @Nested
@@ -166,6 +279,32 @@ class RouteServiceImplTest {
             assertThat(result).isNotNull();
             verify(repository, times(1)).save(any(Route.class));
         }
+        @Test
+        @DisplayName("Should compute statistics before saving route")
+        void shouldComputeStatisticsBeforeSavingRoute() {
+            // Given
+            CreateRouteDto createRouteDto = CreateRouteDto.builder()
+                .createdBy("user-123")
+                .name("Test Route")
+                .points(samplePoints)
+                .build();
+
+            when(repository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            ResponseRouteDto result = routeService.createRoute(createRouteDto);
+
+            // Then
+            ArgumentCaptor<Route> captor = ArgumentCaptor.forClass(Route.class);
+            verify(repository).save(captor.capture());
+            RouteStatistics statistics = captor.getValue().getStatistics();
+            assertThat(statistics).isNotNull();
+            assertThat(statistics.getLengthMeters()).isCloseTo(279_000.0, within(1_000.0));
+            assertThat(statistics.getMinLatitude()).isEqualTo(52.2297);
+            assertThat(statistics.getMaxLongitude()).isEqualTo(21.0122);
+            assertThat(result.getStatistics()).isEqualTo(statistics);
+            assertThat(captor.getValue().getDetailLevels().getLow()).isEqualTo(samplePoints);
+        }
     }
 
     @Nested
@@ -221,31 +360,158 @@ class RouteServiceImplTest {
         }
     }
 
+    @Nested
+    @DisplayName("getRouteJsonById Tests")
+    class GetRouteJsonByIdTests {
+
+        private Route existingRoute() {
+            return Route.builder()
+                .id("route-123")
+                .createdBy("user-123")
+                .name("Cached Route")
+                .points(samplePoints)
+                .version(2L)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should serialize the route once and serve it from the cache")
+        void shouldServeRepeatedReadsFromCache() throws Exception {
+            // Given
+            when(repository.findById("route-123")).thenReturn(Optional.of(existingRoute()));
+
+            // When
+            RouteJson first = routeService.getRouteJsonById("route-123", DetailLevel.FULL);
+            RouteJson second = routeService.getRouteJsonById("route-123", DetailLevel.FULL);
+
+            // Then
+            assertThat(second).isSameAs(first);
+            assertThat(first.version()).isEqualTo(2L);
+            ResponseRouteDto dto = objectMapper.readValue(first.json(), ResponseRouteDto.class);
+            assertThat(dto.getName()).isEqualTo("Cached Route");
+            assertThat(dto.getPoints()).isEqualTo(samplePoints);
+            verify(repository, times(1)).findById("route-123");
+            assertThat(routeService.getRouteVersion("route-123")).isEqualTo(2L);
+            verify(repository, never()).findVersionById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should reload the route after it was updated")
+        void shouldReloadAfterUpdate() {
+            // Given
+            Route route = existingRoute();
+            Route renamed = existingRoute();
+            renamed.setName("Renamed");
+            when(repository.findById("route-123")).thenReturn(Optional.of(route), Optional.of(renamed));
+            when(repository.updateOwnedDetails(eq("route-123"), eq("user-123"), isNull(), eq("Renamed"), isNull(),
+                isNull(), any(Instant.class))).thenReturn(Optional.of(detailsRow("route-123", "Renamed", null, false, 3L)));
+            doAnswer(invocation -> {
+                cache.onRouteChanged(invocation.getArgument(0));
+                return null;
+            }).when(eventPublisher).publishEvent(any(Object.class));
+            routeService.getRouteJsonById("route-123", DetailLevel.FULL);
+
+            // When
+            routeService.updateRoute(UpdateRouteDto.builder().id("route-123").name("Renamed").build(), "user-123", null);
+            RouteJson reloaded = routeService.getRouteJsonById("route-123", DetailLevel.FULL);
+
+            // Then
+            assertThat(new String(reloaded.json())).contains("Renamed");
+            verify(repository, times(2)).findById("route-123");
+        }
+
+        @Test
+        @DisplayName("Should read a simplified level without loading the full points")
+        void shouldReadStoredDetailLevel() throws Exception {
+            // Given
+            RouteGeometry low = RouteGeometry.builder().add(52.0, 21.0).add(52.5, 21.5).build();
+            when(repository.findLowDetailById("route-123")).thenReturn(Optional.of(ResponseRouteDto.builder()
+                .id("route-123")
+                .name("Cached Route")
+                .points(low)
+                .version(2L)
+                .build()));
+
+            // When
+            RouteJson result = routeService.getRouteJsonById("route-123", DetailLevel.LOW);
+
+            // Then
+            assertThat(objectMapper.readValue(result.json(), ResponseRouteDto.class).getPoints()).isEqualTo(low);
+            verify(repository, never()).findById(anyString());
+            assertThat(cache.get("route-123", DetailLevel.LOW)).isSameAs(result);
+        }
+
+        @Test
+        @DisplayName("Should simplify on the fly when no levels are stored")
+        void shouldSimplifyWhenLevelsMissing() throws Exception {
+            // Given
+            RouteGeometry.Builder builder = RouteGeometry.builder();
+            for (int i = 0; i <= 100; i++)
+                builder.add(52.0 + i * 0.001, 21.0);
+            Route route = existingRoute();
+            route.setPoints(builder.build());
+            when(repository.findHighDetailById("route-123")).thenReturn(Optional.of(ResponseRouteDto.builder()
+                .id("route-123")
+                .build()));
+            when(repository.findById("route-123")).thenReturn(Optional.of(route));
+
+            // When
+            RouteJson result = routeService.getRouteJsonById("route-123", DetailLevel.HIGH);
+
+            // Then - a straight line needs only its ends
+            assertThat(objectMapper.readValue(result.json(), ResponseRouteDto.class).getPoints().size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should not cache missing routes")
+        void shouldNotCacheMissingRoutes() {
+            when(repository.findById("missing")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> routeService.getRouteJsonById("missing", DetailLevel.FULL))
+                .isInstanceOf(RouteNotFoundException.class);
+            assertThat(cache.size()).isZero();
+        }
+    }
+
     @Nested
     @DisplayName("deleteRouteById Tests")
     class DeleteRouteByIdTests {
 
         @Test
-        @DisplayName("Should delete route successfully")
+        @DisplayName("Should delete route in one statement without loading it")
         void shouldDeleteRouteSuccessfully() {
             // Given
             String routeId = "route-123";
-            Route route = Route.builder()
-                .id(routeId)
-                .createdBy("user-123")
-                .name("Test Route")
-                .points(samplePoints)
-                .build();
+            when(repository.deleteOwned(routeId, "user-123", null))
+                .thenReturn(Optional.of(row(routeId, "Test Route", null, false, 1L)));
 
-            when(repository.findById(routeId)).thenReturn(Optional.of(route));
-            doNothing().when(repository).delete(route);
+            // When
+            routeService.deleteRouteById(routeId, "user-123", null);
+
+            // Then
+            verify(repository, times(1)).deleteOwned(routeId, "user-123", null);
+            verify(repository, never()).findById(anyString());
+            verify(repository, never()).findOwnershipById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should publish deleted event with the old bounding box after deleting")
+        void shouldPublishDeletedEvent() {
+            // Given
+            String routeId = "route-123";
+            when(repository.deleteOwned(routeId, "user-123", null))
+                .thenReturn(Optional.of(row(routeId, "Test Route", null, true, 1L)));
 
             // When
-            routeService.deleteRouteById(routeId);
+            routeService.deleteRouteById(routeId, "user-123", null);
 
             // Then
-            verify(repository, times(1)).findById(routeId);
-            verify(repository, times(1)).delete(route);
+            ArgumentCaptor<RouteChangedEvent> captor = ArgumentCaptor.forClass(RouteChangedEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertThat(captor.getValue().getType()).isEqualTo(RouteChangedEvent.Type.DELETED);
+            assertThat(captor.getValue().getRouteId()).isEqualTo(routeId);
+            assertThat(captor.getValue().isPublicRoute()).isTrue();
+            assertThat(captor.getValue().getPreviousStatistics().getMinLatitude()).isEqualTo(52.2297);
         }
 
         @Test
@@ -253,15 +519,29 @@ class RouteServiceImplTest {
         void shouldThrowRouteNotFoundExceptionWhenRouteNotFound() {
             // Given
             String routeId = "non-existent-route";
-            when(repository.findById(routeId)).thenReturn(Optional.empty());
+            when(repository.deleteOwned(routeId, "user-123", null)).thenReturn(Optional.empty());
+            when(repository.findOwnershipById(routeId)).thenReturn(Optional.empty());
 
             // When/Then
-            assertThatThrownBy(() -> routeService.deleteRouteById(routeId))
+            assertThatThrownBy(() -> routeService.deleteRouteById(routeId, "user-123", null))
                 .isInstanceOf(RouteNotFoundException.class)
                 .hasMessageContaining("Route " + routeId + " not found");
 
-            verify(repository, times(1)).findById(routeId);
-            verify(repository, never()).delete(any(Route.class));
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should throw RouteAccessDeniedException for another user's route")
+        void shouldThrowRouteAccessDeniedExceptionForOtherUser() {
+            // Given
+            when(repository.deleteOwned("route-123", "user-456", null)).thenReturn(Optional.empty());
+            when(repository.findOwnershipById("route-123")).thenReturn(Optional.of(ownership("user-123", 1L)));
+
+            // When/Then
+            assertThatThrownBy(() -> routeService.deleteRouteById("route-123", "user-456", null))
+                .isInstanceOf(RouteAccessDeniedException.class);
+
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
         }
     }
 
@@ -286,21 +566,20 @@ class RouteServiceImplTest {
                 .lastUpdated(Instant.now())
                 .build();
 
-            List<Map<String, Object>> newPoints = createSamplePoints();
+            RouteGeometry newPoints = createSamplePoints();
             UpdateRouteDto updateRouteDto = UpdateRouteDto.builder()
                 .id(routeId)
                 .name("New Name")
                 .description("New Description")
                 .points(newPoints)
                 .isPublic(true)
-                .rating(5.0)
                 .build();
 
             when(repository.findById(routeId)).thenReturn(Optional.of(existingRoute));
             when(repository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
-            ResponseRouteDto result = routeService.updateRoute(updateRouteDto);
+            ResponseRouteDto result = routeService.updateRoute(updateRouteDto, "user-123", null);
 
             // Then
             assertThat(result).isNotNull();
@@ -309,112 +588,95 @@ class RouteServiceImplTest {
             assertThat(result.getDescription()).isEqualTo("New Description");
             assertThat(result.getPoints()).isEqualTo(newPoints);
             assertThat(result.getIsPublic()).isTrue();
-            assertThat(result.getRating()).isEqualTo(5.0);
+            assertThat(result.getRating()).isEqualTo(3.0); // only changed by ratings
 
             verify(repository, times(1)).findById(routeId);
             verify(repository, times(1)).save(any(Route.class));
         }
 
         @Test
-        @DisplayName("Should update route partially - only name")
-        void shouldUpdateRoutePartiallyOnlyName() {
+        @DisplayName("Should recompute statistics when points change")
+        void shouldRecomputeStatisticsWhenPointsChange() {
             // Given
             String routeId = "route-123";
             Route existingRoute = Route.builder()
                 .id(routeId)
                 .createdBy("user-123")
                 .name("Old Name")
-                .description("Old Description")
                 .points(samplePoints)
-                .isPublic(false)
-                .rating(3.0)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
+                .statistics(RouteStatisticsCalculator.compute(samplePoints))
                 .build();
 
+            RouteGeometry newPoints = samplePoints.toBuilder()
+                .add(51.1079, 17.0385)
+                .build();
             UpdateRouteDto updateRouteDto = UpdateRouteDto.builder()
                 .id(routeId)
-                .name("New Name")
+                .points(newPoints)
                 .build();
 
             when(repository.findById(routeId)).thenReturn(Optional.of(existingRoute));
             when(repository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
             // When
-            ResponseRouteDto result = routeService.updateRoute(updateRouteDto);
+            ResponseRouteDto result = routeService.updateRoute(updateRouteDto, "user-123", null);
 
             // Then
-            assertThat(result).isNotNull();
-            assertThat(result.getName()).isEqualTo("New Name");
-            assertThat(result.getDescription()).isEqualTo("Old Description"); // Unchanged
-            assertThat(result.getIsPublic()).isFalse(); // Unchanged
-            assertThat(result.getRating()).isEqualTo(3.0); // Unchanged
-
-            verify(repository, times(1)).findById(routeId);
-            verify(repository, times(1)).save(any(Route.class));
+            RouteStatistics expected = RouteStatisticsCalculator.compute(newPoints);
+            assertThat(result.getStatistics().getLengthMeters())
+                .isCloseTo(expected.getLengthMeters(), within(1e-6));
+            assertThat(result.getStatistics().getMinLatitude()).isEqualTo(51.1079);
         }
 
         @Test
-        @DisplayName("Should update route partially - only rating")
-        void shouldUpdateRoutePartiallyOnlyRating() {
+        @DisplayName("Should update only the name in one statement that returns the points")
+        void shouldUpdateRoutePartiallyOnlyName() {
             // Given
             String routeId = "route-123";
-            Route existingRoute = Route.builder()
-                .id(routeId)
-                .createdBy("user-123")
-                .name("Test Route")
-                .points(samplePoints)
-                .rating(3.0)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
-                .build();
-
             UpdateRouteDto updateRouteDto = UpdateRouteDto.builder()
                 .id(routeId)
-                .rating(4.5)
+                .name("New Name")
                 .build();
 
-            when(repository.findById(routeId)).thenReturn(Optional.of(existingRoute));
-            when(repository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(repository.updateOwnedDetails(eq(routeId), eq("user-123"), isNull(), eq("New Name"), isNull(),
+                isNull(), any(Instant.class)))
+                .thenReturn(Optional.of(detailsRow(routeId, "New Name", "Old Description", false, 2L)));
 
             // When
-            ResponseRouteDto result = routeService.updateRoute(updateRouteDto);
+            ResponseRouteDto result = routeService.updateRoute(updateRouteDto, "user-123", null);
 
             // Then
             assertThat(result).isNotNull();
-            assertThat(result.getRating()).isEqualTo(4.5);
-            assertThat(result.getName()).isEqualTo("Test Route"); // Unchanged
+            assertThat(result.getName()).isEqualTo("New Name");
+            assertThat(result.getDescription()).isEqualTo("Old Description"); // Unchanged
+            assertThat(result.getIsPublic()).isFalse(); // Unchanged
+            assertThat(result.getRating()).isEqualTo(3.0); // Unchanged
+            assertThat(result.getPoints()).isEqualTo(createSamplePoints()); // Unchanged
+            assertThat(result.getVersion()).isEqualTo(2L);
 
-            verify(repository, times(1)).findById(routeId);
-            verify(repository, times(1)).save(any(Route.class));
+            verify(repository, never()).findById(anyString());
+            verify(repository, never()).save(any(Route.class));
+            ArgumentCaptor<RouteChangedEvent> captor = ArgumentCaptor.forClass(RouteChangedEvent.class);
+            verify(eventPublisher).publishEvent(captor.capture());
+            assertThat(captor.getValue().getType()).isEqualTo(RouteChangedEvent.Type.UPDATED);
+            assertThat(captor.getValue().getStatistics().getMinLatitude()).isEqualTo(52.2297);
         }
 
         @Test
-        @DisplayName("Should not update fields when null values provided")
+        @DisplayName("Should keep stored fields when null values provided")
         void shouldNotUpdateFieldsWhenNullValuesProvided() {
             // Given
             String routeId = "route-123";
-            Route existingRoute = Route.builder()
-                .id(routeId)
-                .createdBy("user-123")
-                .name("Original Name")
-                .description("Original Description")
-                .points(samplePoints)
-                .isPublic(false)
-                .rating(3.0)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
-                .build();
-
             UpdateRouteDto updateRouteDto = UpdateRouteDto.builder()
                 .id(routeId)
                 .build(); // All fields null
 
-            when(repository.findById(routeId)).thenReturn(Optional.of(existingRoute));
-            when(repository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
+            when(repository.updateOwnedDetails(eq(routeId), eq("user-123"), isNull(), isNull(), isNull(),
+                isNull(), any(Instant.class)))
+                .thenReturn(Optional.of(detailsRow(routeId, "Original Name", "Original Description", false, 2L)));
 
             // When
-            ResponseRouteDto result = routeService.updateRoute(updateRouteDto);
+            ResponseRouteDto result = routeService.updateRoute(updateRouteDto, "user-123", null);
 
             // Then
             assertThat(result).isNotNull();
@@ -422,9 +684,6 @@ class RouteServiceImplTest {
             assertThat(result.getDescription()).isEqualTo("Original Description");
             assertThat(result.getIsPublic()).isFalse();
             assertThat(result.getRating()).isEqualTo(3.0);
-
-            verify(repository, times(1)).findById(routeId);
-            verify(repository, times(1)).save(any(Route.class));
         }
 
         @Test
@@ -437,126 +696,661 @@ class RouteServiceImplTest {
                 .name("New Name")
                 .build();
 
-            when(repository.findById(routeId)).thenReturn(Optional.empty());
+            when(repository.updateOwnedDetails(eq(routeId), eq("user-123"), isNull(), eq("New Name"), isNull(),
+                isNull(), any(Instant.class))).thenReturn(Optional.empty());
+            when(repository.findOwnershipById(routeId)).thenReturn(Optional.empty());
 
             // When/Then
-            assertThatThrownBy(() -> routeService.updateRoute(updateRouteDto))
+            assertThatThrownBy(() -> routeService.updateRoute(updateRouteDto, "user-123", null))
                 .isInstanceOf(RouteNotFoundException.class)
                 .hasMessageContaining("Route " + routeId + " not found");
 
-            verify(repository, times(1)).findById(routeId);
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should throw RouteAccessDeniedException for another user's route")
+        void shouldThrowRouteAccessDeniedExceptionForOtherUser() {
+            // Given
+            Route existingRoute = Route.builder()
+                .id("route-123")
+                .createdBy("user-123")
+                .name("Old Name")
+                .points(samplePoints)
+                .build();
+            when(repository.findById("route-123")).thenReturn(Optional.of(existingRoute));
+            when(repository.updateOwnedDetails(eq("route-123"), eq("user-456"), isNull(), eq("New Name"), isNull(),
+                isNull(), any(Instant.class))).thenReturn(Optional.empty());
+            when(repository.findOwnershipById("route-123")).thenReturn(Optional.of(ownership("user-123", 1L)));
+
+            // When/Then
+            assertThatThrownBy(() -> routeService.updateRoute(
+                UpdateRouteDto.builder().id("route-123").points(createSamplePoints()).build(), "user-456", null))
+                .isInstanceOf(RouteAccessDeniedException.class);
+            assertThatThrownBy(() -> routeService.updateRoute(
+                UpdateRouteDto.builder().id("route-123").name("New Name").build(), "user-456", null))
+                .isInstanceOf(RouteAccessDeniedException.class);
+
             verify(repository, never()).save(any(Route.class));
         }
     }
 
     @Nested
-    @DisplayName("getRoutesByUserId Tests")
-    class GetRoutesByUserIdTests {
+    @DisplayName("version check Tests")
+    class VersionCheckTests {
+
+        private Route existingRoute() {
+            return Route.builder()
+                .id("route-123")
+                .createdBy("user-123")
+                .name("Name")
+                .points(samplePoints)
+                .version(4L)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should read only the version")
+        void shouldReadVersion() {
+            when(repository.findVersionById("route-123")).thenReturn(Optional.of(4L));
+
+            assertThat(routeService.getRouteVersion("route-123")).isEqualTo(4L);
+            verify(repository, never()).findById(anyString());
+        }
+
+        @Test
+        @DisplayName("Should throw RouteNotFoundException for the version of a missing route")
+        void shouldThrowWhenVersionOfMissingRoute() {
+            when(repository.findVersionById("missing")).thenReturn(Optional.empty());
+
+            assertThatThrownBy(() -> routeService.getRouteVersion("missing"))
+                .isInstanceOf(RouteNotFoundException.class);
+        }
 
         @Test
-        @DisplayName("Should get routes by user id successfully")
-        void shouldGetRoutesByUserIdSuccessfully() {
+        @DisplayName("Should reject a stale update without saving")
+        void shouldRejectStaleUpdate() {
             // Given
-            String userId = "user-123";
-            Route route1 = Route.builder()
-                .id("route-1")
-                .createdBy(userId)
-                .name("Route 1")
-                .points(samplePoints)
-                .isPublic(true)
-                .rating(4.5)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
+            when(repository.updateOwnedDetails(eq("route-123"), eq("user-123"), eq(3L), eq("New"), isNull(),
+                isNull(), any(Instant.class))).thenReturn(Optional.empty());
+            when(repository.findOwnershipById("route-123")).thenReturn(Optional.of(ownership("user-123", 4L)));
+            UpdateRouteDto updateRouteDto = UpdateRouteDto.builder().id("route-123").name("New").build();
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.updateRoute(updateRouteDto, "user-123", 3L))
+                .isInstanceOf(RouteVersionMismatchException.class)
+                .hasMessageContaining("version 4");
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should reject a stale update of the points without saving")
+        void shouldRejectStalePointsUpdate() {
+            // Given
+            when(repository.findById("route-123")).thenReturn(Optional.of(existingRoute()));
+            UpdateRouteDto updateRouteDto = UpdateRouteDto.builder().id("route-123").points(samplePoints).build();
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.updateRoute(updateRouteDto, "user-123", 3L))
+                .isInstanceOf(RouteVersionMismatchException.class)
+                .hasMessageContaining("version 4");
+            verify(repository, never()).save(any(Route.class));
+        }
+
+        @Test
+        @DisplayName("Should update when the expected version is current")
+        void shouldUpdateWhenVersionMatches() {
+            // Given
+            when(repository.updateOwnedDetails(eq("route-123"), eq("user-123"), eq(4L), eq("New"), isNull(),
+                isNull(), any(Instant.class))).thenReturn(Optional.of(detailsRow("route-123", "New", null, false, 5L)));
+            UpdateRouteDto updateRouteDto = UpdateRouteDto.builder().id("route-123").name("New").build();
+
+            // When
+            ResponseRouteDto result = routeService.updateRoute(updateRouteDto, "user-123", 4L);
+
+            // Then
+            assertThat(result.getName()).isEqualTo("New");
+            assertThat(result.getVersion()).isEqualTo(5L);
+        }
+
+        @Test
+        @DisplayName("Should report a route changed between the two statements as a concurrent write")
+        void shouldReportConcurrentWrite() {
+            // Given
+            when(repository.deleteOwned("route-123", "user-123", 4L)).thenReturn(Optional.empty());
+            when(repository.findOwnershipById("route-123")).thenReturn(Optional.of(ownership("user-123", 4L)));
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.deleteRouteById("route-123", "user-123", 4L))
+                .isInstanceOf(RouteVersionMismatchException.class)
+                .hasMessageContaining("modified concurrently");
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+
+        @Test
+        @DisplayName("Should report a concurrent write of the points as a version mismatch")
+        void shouldTranslateOptimisticLockFailure() {
+            // Given
+            when(repository.findById("route-123")).thenReturn(Optional.of(existingRoute()));
+            when(repository.save(any(Route.class))).thenThrow(new OptimisticLockingFailureException("stale"));
+            UpdateRouteDto updateRouteDto = UpdateRouteDto.builder().id("route-123").points(samplePoints).build();
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.updateRoute(updateRouteDto, "user-123", 4L))
+                .isInstanceOf(RouteVersionMismatchException.class)
+                .hasMessageContaining("modified concurrently");
+            verify(eventPublisher, never()).publishEvent(any(Object.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("patchRoutePoints Tests")
+    class PatchRoutePointsTests {
+
+        private RoutePointOperationDto operation(RoutePointOperationDto.Op op, int index, Integer to, RouteGeometry points) {
+            return RoutePointOperationDto.builder().op(op).index(index).to(to).points(points).build();
+        }
+
+        @Test
+        @DisplayName("Should apply operations in order and update statistics")
+        void shouldApplyOperationsAndUpdateStatistics() {
+            // Given
+            RouteGeometry.Builder builder = RouteGeometry.builder();
+            for (int i = 0; i < 30; i++)
+                builder.add(52.0 + i * 0.01, 21.0 + (i % 2) * 0.01);
+            RouteGeometry points = builder.build();
+            Route existingRoute = Route.builder()
+                .id("route-123")
+                .createdBy("user-123")
+                .points(points)
+                .statistics(RouteStatisticsCalculator.compute(points))
+                .build();
+            PatchRoutePointsDto patch = PatchRoutePointsDto.builder()
+                .operations(List.of(
+                    operation(RoutePointOperationDto.Op.DELETE, 3, null, null),
+                    operation(RoutePointOperationDto.Op.INSERT, 10, null,
+                        RouteGeometry.builder().add(52.5, 21.5).add(52.6, 21.6).build()),
+                    operation(RoutePointOperationDto.Op.MOVE, 20, null,
+                        RouteGeometry.builder().add(53.0, 22.0).build()),
+                    operation(RoutePointOperationDto.Op.REORDER, 0, 5, null)
+                ))
                 .build();
 
-            Route route2 = Route.builder()
-                .id("route-2")
-                .createdBy(userId)
-                .name("Route 2")
+            when(repository.findById("route-123")).thenReturn(Optional.of(existingRoute));
+            when(repository.save(any(Route.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // When
+            RouteSummaryDto result = routeService.patchRoutePoints("route-123", "user-123", patch, null);
+
+            // Then
+            RouteGeometry edited = existingRoute.getPoints();
+            assertThat(edited.size()).isEqualTo(31);
+            assertThat(edited.latitude(5)).isEqualTo(52.0);
+            assertThat(edited.latitude(10)).isEqualTo(52.5);
+            assertThat(edited.latitude(11)).isEqualTo(52.6);
+            assertThat(edited.latitude(20)).isEqualTo(53.0);
+
+            RouteStatistics expected = RouteStatisticsCalculator.compute(edited);
+            assertThat(result.getId()).isEqualTo("route-123");
+            assertThat(result.getStatistics().getLengthMeters())
+                .isCloseTo(expected.getLengthMeters(), within(1e-6));
+            assertThat(result.getStatistics().getMaxLatitude()).isEqualTo(expected.getMaxLatitude());
+            verify(eventPublisher).publishEvent(any(RouteChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should reject an operation out of range without saving")
+        void shouldRejectOperationOutOfRange() {
+            // Given
+            Route existingRoute = Route.builder()
+                .id("route-123")
+                .createdBy("user-123")
                 .points(samplePoints)
-                .isPublic(false)
-                .rating(3.0)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
+                .statistics(RouteStatisticsCalculator.compute(samplePoints))
                 .build();
+            PatchRoutePointsDto patch = PatchRoutePointsDto.builder()
+                .operations(List.of(
+                    operation(RoutePointOperationDto.Op.DELETE, 0, null, null),
+                    operation(RoutePointOperationDto.Op.DELETE, 1, null, null)
+                ))
+                .build();
+            when(repository.findById("route-123")).thenReturn(Optional.of(existingRoute));
 
-            List<Route> routes = List.of(route1, route2);
-            when(repository.findByCreatedBy(userId)).thenReturn(routes);
+            // When & Then
+            assertThatThrownBy(() -> routeService.patchRoutePoints("route-123", "user-123", patch, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageStartingWith("Operation 1:");
+            assertThat(existingRoute.getPoints()).isEqualTo(samplePoints);
+            verify(repository, never()).save(any(Route.class));
+        }
+
+        @Test
+        @DisplayName("Should throw RouteNotFoundException when route does not exist")
+        void shouldThrowWhenRouteNotFound() {
+            // Given
+            PatchRoutePointsDto patch = PatchRoutePointsDto.builder()
+                .operations(List.of(operation(RoutePointOperationDto.Op.DELETE, 0, null, null)))
+                .build();
+            when(repository.findById("missing")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.patchRoutePoints("missing", "user-123", patch, null))
+                .isInstanceOf(RouteNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("getRoutesByUserId Tests")
+    class GetRoutesByUserIdTests {
+
+        private RouteSummaryDto summary(String id, Instant createdAt) {
+            return RouteSummaryDto.builder()
+                .id(id)
+                .createdBy("user-123")
+                .name("Route " + id)
+                .createdAt(createdAt)
+                .build();
+        }
+
+        @Test
+        @DisplayName("Should return first page with cursor when more routes exist")
+        void shouldReturnFirstPageWithCursor() {
+            // Given
+            String userId = "user-123";
+            Instant now = Instant.parse("2024-05-01T10:00:00Z");
+            when(repository.findSummariesByCreatedBy(eq(userId), any(Pageable.class))).thenReturn(List.of(
+                summary("route-3", now),
+                summary("route-2", now.minusSeconds(60)),
+                summary("route-1", now.minusSeconds(120))
+            ));
 
             // When
-            List<ResponseRouteDto> result = routeService.getRoutesByUserId(userId);
+            RouteSummaryPageDto result = routeService.getRoutesByUserId(userId, null, 2);
 
             // Then
-            assertThat(result).isNotNull();
-            assertThat(result).hasSize(2);
-            assertThat(result.get(0).getId()).isEqualTo("route-1");
-            assertThat(result.get(0).getCreatedBy()).isEqualTo(userId);
-            assertThat(result.get(0).getRating()).isEqualTo(4.5);
-            assertThat(result.get(1).getId()).isEqualTo("route-2");
-            assertThat(result.get(1).getCreatedBy()).isEqualTo(userId);
-            assertThat(result.get(1).getRating()).isEqualTo(3.0);
+            assertThat(result.getItems()).extracting(RouteSummaryDto::getId).containsExactly("route-3", "route-2");
+            assertThat(result.getNextCursor()).isNotNull();
+
+            ArgumentCaptor<Pageable> pageCaptor = ArgumentCaptor.forClass(Pageable.class);
+            verify(repository).findSummariesByCreatedBy(eq(userId), pageCaptor.capture());
+            assertThat(pageCaptor.getValue().getPageSize()).isEqualTo(3);
+        }
 
-            verify(repository, times(1)).findByCreatedBy(userId);
+        @Test
+        @DisplayName("Should continue after the cursor position")
+        void shouldContinueAfterCursor() {
+            // Given
+            String userId = "user-123";
+            Instant createdAt = Instant.parse("2024-05-01T09:59:00.123456Z");
+            when(repository.findSummariesByCreatedBy(eq(userId), any(Pageable.class))).thenReturn(List.of(
+                summary("route-3", createdAt.plusSeconds(60)),
+                summary("route-2", createdAt),
+                summary("route-1", createdAt.minusSeconds(60))
+            ));
+            String cursor = routeService.getRoutesByUserId(userId, null, 2).getNextCursor();
+            when(repository.findSummariesByCreatedByAfter(eq(userId), eq(createdAt), eq("route-2"), any(Pageable.class)))
+                .thenReturn(List.of(summary("route-1", createdAt.minusSeconds(60))));
+
+            // When
+            RouteSummaryPageDto result = routeService.getRoutesByUserId(userId, cursor, 2);
+
+            // Then
+            assertThat(result.getItems()).extracting(RouteSummaryDto::getId).containsExactly("route-1");
+            assertThat(result.getNextCursor()).isNull();
         }
 
         @Test
-        @DisplayName("Should return empty list when user has no routes")
-        void shouldReturnEmptyListWhenUserHasNoRoutes() {
+        @DisplayName("Should return empty page when user has no routes")
+        void shouldReturnEmptyPageWhenUserHasNoRoutes() {
             // Given
             String userId = "user-with-no-routes";
-            when(repository.findByCreatedBy(userId)).thenReturn(List.of());
+            when(repository.findSummariesByCreatedBy(eq(userId), any(Pageable.class))).thenReturn(List.of());
 
             // When
-            List<ResponseRouteDto> result = routeService.getRoutesByUserId(userId);
+            RouteSummaryPageDto result = routeService.getRoutesByUserId(userId, null, 20);
 
             // Then
-            assertThat(result).isNotNull();
-            assertThat(result).isEmpty();
+            assertThat(result.getItems()).isEmpty();
+            assertThat(result.getNextCursor()).isNull();
+        }
+
+        @Test
+        @DisplayName("Should reject malformed cursor")
+        void shouldRejectMalformedCursor() {
+            assertThatThrownBy(() -> routeService.getRoutesByUserId("user-123", "not a cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid cursor");
+
+            verify(repository, never()).findSummariesByCreatedByAfter(any(), any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("optimizeRoute Tests")
+    class OptimizeRouteTests {
+
+        @Test
+        @DisplayName("Should reorder points keeping START first")
+        void shouldReorderPointsKeepingStartFirst() {
+            // Given - Warsaw marked as START, then Poznan, Lodz
+            String routeId = "route-123";
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.4064, 16.9252)
+                .add(52.2297, 21.0122, Double.NaN, PointType.START, "Warsaw", null)
+                .add(51.7592, 19.4560)
+                .build();
+            Route route = Route.builder()
+                .id(routeId)
+                .createdBy("user-123")
+                .name("Test Route")
+                .points(points)
+                .build();
+
+            when(repository.findById(routeId)).thenReturn(Optional.of(route));
+
+            // When
+            OptimizedRouteDto result = routeService.optimizeRoute(routeId);
 
-            verify(repository, times(1)).findByCreatedBy(userId);
+            // Then
+            assertThat(result.getOrder()).containsExactly(1, 2, 0);
+            assertThat(result.getPoints().type(0)).isEqualTo(PointType.START);
+            assertThat(result.getPoints().name(0)).isEqualTo("Warsaw");
+            assertThat(result.getExact()).isTrue();
+            assertThat(result.getStatistics().getLengthMeters())
+                .isLessThan(result.getPreviousStatistics().getLengthMeters());
+            verify(repository, never()).save(any(Route.class));
         }
 
         @Test
-        @DisplayName("Should return routes only for specified user")
-        void shouldReturnRoutesOnlyForSpecifiedUser() {
+        @DisplayName("Should throw exception when route not found")
+        void shouldThrowExceptionWhenRouteNotFound() {
             // Given
-            String userId1 = "user-1";
-            String userId2 = "user-2";
+            String routeId = "non-existent-route";
+            when(repository.findById(routeId)).thenReturn(Optional.empty());
 
-            Route route1 = Route.builder()
-                .id("route-1")
-                .createdBy(userId1)
-                .name("User 1 Route")
-                .points(samplePoints)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
+            // When & Then
+            assertThatThrownBy(() -> routeService.optimizeRoute(routeId))
+                .isInstanceOf(RouteNotFoundException.class)
+                .hasMessageContaining("not found");
+        }
+    }
+
+    @Nested
+    @DisplayName("getElevationProfile Tests")
+    class GetElevationProfileTests {
+
+        @Test
+        @DisplayName("Should profile recorded altitudes")
+        void shouldProfileRecordedAltitudes() {
+            // Given
+            String routeId = "route-123";
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.2297, 21.0122, 100.0, PointType.START, null, null)
+                .add(52.2400, 21.0300, 130.0, PointType.WAYPOINT, null, null)
+                .add(52.2500, 21.0100)
+                .add(52.2600, 21.0000, 90.0, PointType.STOP, null, null)
                 .build();
+            when(repository.findById(routeId)).thenReturn(Optional.of(Route.builder().id(routeId).points(points).build()));
 
-            Route route2 = Route.builder()
-                .id("route-2")
-                .createdBy(userId2)
-                .name("User 2 Route")
-                .points(samplePoints)
-                .createdAt(Instant.now())
-                .lastUpdated(Instant.now())
+            // When
+            ElevationProfileDto result = routeService.getElevationProfile(routeId);
+
+            // Then - the leg around the point without altitude is left out
+            assertThat(result.getRouteId()).isEqualTo(routeId);
+            assertThat(result.getElevationsMeters()).containsExactly(100.0, 130.0, null, 90.0);
+            assertThat(result.getDistancesMeters()).hasSize(4);
+            assertThat(result.getAscentMeters()).isEqualTo(30.0);
+            assertThat(result.getDescentMeters()).isEqualTo(0.0);
+            assertThat(result.getMinElevationMeters()).isEqualTo(90.0);
+        }
+
+        @Test
+        @DisplayName("Should throw exception when route not found")
+        void shouldThrowExceptionWhenRouteNotFound() {
+            // Given
+            when(repository.findById("non-existent-route")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.getElevationProfile("non-existent-route"))
+                .isInstanceOf(RouteNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("getDirections Tests")
+    class GetDirectionsTests {
+
+        @Test
+        @DisplayName("Should route the stored points along roads")
+        void shouldRouteStoredPoints() {
+            // Given
+            String routeId = "route-123";
+            when(roadRouter.isAvailable()).thenReturn(true);
+            when(repository.findById(routeId)).thenReturn(Optional.of(Route.builder().id(routeId).points(samplePoints).build()));
+            RoadRouter.Result result = mock(RoadRouter.Result.class);
+            when(result.getPoints()).thenReturn(samplePoints);
+            when(result.getDistanceMeters()).thenReturn(310_000.0);
+            when(result.getDurationSeconds()).thenReturn(14_400.4);
+            when(roadRouter.route(samplePoints, TravelProfile.CAR)).thenReturn(result);
+
+            // When
+            DirectionsDto directions = routeService.getDirections(routeId, TravelProfile.CAR);
+
+            // Then
+            assertThat(directions.getRouteId()).isEqualTo(routeId);
+            assertThat(directions.getProfile()).isEqualTo(TravelProfile.CAR);
+            assertThat(directions.getDistanceMeters()).isEqualTo(310_000.0);
+            assertThat(directions.getDurationSeconds()).isEqualTo(14_400L);
+            assertThat(directions.getUnroutedLegs()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should refuse when no road graph is configured")
+        void shouldRefuseWithoutRoadGraph() {
+            // Given
+            when(roadRouter.isAvailable()).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.getDirections("route-123", TravelProfile.WALK))
+                .isInstanceOf(RoutingUnavailableException.class);
+            verify(repository, never()).findById(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception when route not found")
+        void shouldThrowExceptionWhenRouteNotFound() {
+            // Given
+            when(roadRouter.isAvailable()).thenReturn(true);
+            when(repository.findById("non-existent-route")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.getDirections("non-existent-route", TravelProfile.WALK))
+                .isInstanceOf(RouteNotFoundException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("computeMatrix Tests")
+    class ComputeMatrixTests {
+
+        @Test
+        @DisplayName("Should compute the matrix on foot unless told otherwise")
+        void shouldWalkByDefault() {
+            // Given
+            List<GeoPoint> sources = List.of(new GeoPoint(52.2297, 21.0122));
+            List<GeoPoint> destinations = List.of(new GeoPoint(52.4064, 16.9252), new GeoPoint(50.0647, 19.9450));
+            TravelMatrix matrix = mock(TravelMatrix.class);
+            when(roadRouter.matrix(sources, destinations, TravelProfile.WALK)).thenReturn(matrix);
+
+            // When
+            TravelMatrix result = routeService.computeMatrix(
+                MatrixRequestDto.builder().sources(sources).destinations(destinations).build());
+
+            // Then
+            assertThat(result).isSameAs(matrix);
+        }
+
+        @Test
+        @DisplayName("Should reject points outside the coordinate range")
+        void shouldRejectInvalidPoints() {
+            // Given
+            MatrixRequestDto request = MatrixRequestDto.builder()
+                .sources(List.of(new GeoPoint(52.2297, 21.0122)))
+                .destinations(List.of(new GeoPoint(91.0, 21.0)))
+                .profile(TravelProfile.CAR)
                 .build();
 
-            when(repository.findByCreatedBy(userId1)).thenReturn(List.of(route1));
-            when(repository.findByCreatedBy(userId2)).thenReturn(List.of(route2));
+            // When & Then
+            assertThatThrownBy(() -> routeService.computeMatrix(request))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(roadRouter, never()).matrix(any(), any(), any());
+        }
+    }
+
+    @Nested
+    @DisplayName("computeIsochrones Tests")
+    class ComputeIsochronesTests {
+
+        @Test
+        @DisplayName("Should trace every limit from one search for the longest")
+        void shouldSearchOnceForTheLongestLimit() {
+            // Given
+            ReachGrid grid = mock(ReachGrid.class);
+            List<List<List<double[]>>> polygons = List.of();
+            when(roadRouter.isAvailable()).thenReturn(true);
+            when(reachCache.getMaxMinutes()).thenReturn(60);
+            when(reachCache.get(52.22971, 21.01222, TravelProfile.BIKE, 1800.0)).thenReturn(grid);
+            when(grid.polygons(anyDouble())).thenReturn(polygons);
+            when(grid.getCellMeters()).thenReturn(100.0);
 
             // When
-            List<ResponseRouteDto> result1 = routeService.getRoutesByUserId(userId1);
-            List<ResponseRouteDto> result2 = routeService.getRoutesByUserId(userId2);
+            IsochronesDto result = routeService.computeIsochrones(52.22971, 21.01222, TravelProfile.BIKE, List.of(30, 10, 20));
 
             // Then
-            assertThat(result1).hasSize(1);
-            assertThat(result1.get(0).getCreatedBy()).isEqualTo(userId1);
-            assertThat(result2).hasSize(1);
-            assertThat(result2.get(0).getCreatedBy()).isEqualTo(userId2);
+            assertThat(result.getProfile()).isEqualTo(TravelProfile.BIKE);
+            assertThat(result.getOrigin()).isEqualTo(new GeoPoint(52.230, 21.012));
+            assertThat(result.getIsochrones()).extracting(IsochroneDto::getMinutes).containsExactly(10, 20, 30);
+            verify(reachCache).get(52.22971, 21.01222, TravelProfile.BIKE, 1800.0);
+            verify(grid).polygons(600.0);
+            verify(grid).polygons(1800.0);
+        }
 
-            verify(repository, times(1)).findByCreatedBy(userId1);
-            verify(repository, times(1)).findByCreatedBy(userId2);
+        @Test
+        @DisplayName("Should reject limits beyond the configured maximum")
+        void shouldRejectLongLimits() {
+            // Given
+            when(roadRouter.isAvailable()).thenReturn(true);
+            when(reachCache.getMaxMinutes()).thenReturn(60);
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.computeIsochrones(52.2297, 21.0122, TravelProfile.CAR, List.of(15, 90)))
+                .isInstanceOf(IllegalArgumentException.class);
+            verify(reachCache, never()).get(anyDouble(), anyDouble(), any(), anyDouble());
+        }
+
+        @Test
+        @DisplayName("Should report routing unavailable without a road graph")
+        void shouldFailWithoutGraph() {
+            // Given
+            when(roadRouter.isAvailable()).thenReturn(false);
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.computeIsochrones(52.2297, 21.0122, TravelProfile.WALK, List.of(10)))
+                .isInstanceOf(RoutingUnavailableException.class);
         }
     }
-}
 
+    @Nested
+    @DisplayName("findPois Tests")
+    class FindPoisTests {
+
+        @Test
+        @DisplayName("Should search all categories when none are given")
+        void shouldSearchAllCategoriesByDefault() {
+            // Given
+            List<PoiDto> pois = List.of(PoiDto.builder().id(1L).build());
+            when(poiIndex.nearest(52.2297, 21.0122, 10, 5000.0, PoiCategory.ALL)).thenReturn(pois);
+
+            // When
+            List<PoiDto> result = routeService.findPoisNear(52.2297, 21.0122, 10, 5000, null);
+
+            // Then
+            assertThat(result).isSameAs(pois);
+        }
+
+        @Test
+        @DisplayName("Should search along the stored points with the category mask")
+        void shouldSearchAlongRoute() {
+            // Given
+            String routeId = "route-123";
+            when(repository.findById(routeId)).thenReturn(Optional.of(Route.builder().id(routeId).points(samplePoints).build()));
+            int mask = PoiCategory.CASTLE.bit() | PoiCategory.VIEWPOINT.bit();
+
+            // When
+            routeService.findPoisAlongRoute(routeId, 500, 100, List.of(PoiCategory.CASTLE, PoiCategory.VIEWPOINT));
+
+            // Then
+            verify(poiIndex).alongRoute(samplePoints, 500.0, 100, mask);
+        }
+
+        @Test
+        @DisplayName("Should reject an oversized buffer and unknown routes")
+        void shouldRejectInvalidRequests() {
+            // Given
+            when(repository.findById("non-existent-route")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> routeService.findPoisAlongRoute("route-123", 50_000, 100, null))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> routeService.findPoisAlongRoute("non-existent-route", 500, 100, null))
+                .isInstanceOf(RouteNotFoundException.class);
+            verifyNoInteractions(poiIndex);
+        }
+    }
+
+    @Nested
+    @DisplayName("public route search Tests")
+    class PublicRouteSearchTests {
+
+        @Test
+        @DisplayName("Should return summaries in index order, skipping routes no longer public")
+        void shouldReturnSummariesInIndexOrder() {
+            // Given
+            List<String> ids = List.of("route-2", "route-1", "route-3", "route-4");
+            when(spatialIndex.nearby(52.2297, 21.0122, 5000.0, 10)).thenReturn(ids);
+            when(repository.findSummariesByIdIn(ids)).thenReturn(List.of(
+                RouteSummaryDto.builder().id("route-1").isPublic(true).build(),
+                RouteSummaryDto.builder().id("route-2").isPublic(true).build(),
+                RouteSummaryDto.builder().id("route-3").isPublic(false).build()
+            ));
+
+            // When
+            List<RouteSummaryDto> result = routeService.findPublicRoutesNear(52.2297, 21.0122, 5000.0, 10);
+
+            // Then
+            assertThat(result).extracting(RouteSummaryDto::getId).containsExactly("route-2", "route-1");
+        }
+
+        @Test
+        @DisplayName("Should not query repository when index finds nothing")
+        void shouldNotQueryRepositoryWhenIndexFindsNothing() {
+            // Given
+            when(spatialIndex.search(52.0, 20.5, 52.5, 21.5, 100)).thenReturn(List.of());
+
+            // When
+            List<RouteSummaryDto> result = routeService.findPublicRoutesInBox(52.0, 20.5, 52.5, 21.5, 100);
+
+            // Then
+            assertThat(result).isEmpty();
+            verify(repository, never()).findSummariesByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should reject box with minLat above maxLat")
+        void shouldRejectInvertedLatitudes() {
+            assertThatThrownBy(() -> routeService.findPublicRoutesInBox(53.0, 20.5, 52.5, 21.5, 100))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("minLat");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.veer.route.service;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.geometry.RouteGeometry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("RouteStatisticsCalculator Unit Tests")
+class RouteStatisticsCalculatorTest {
+
+    private static RouteGeometry line(double... latLngAlt) {
+        RouteGeometry.Builder builder = RouteGeometry.builder();
+        for (int i = 0; i < latLngAlt.length; i += 3)
+            builder.add(latLngAlt[i], latLngAlt[i + 1], latLngAlt[i + 2], null, null, null);
+        return builder.build();
+    }
+
+    @Nested
+    @DisplayName("compute Tests")
+    class ComputeTests {
+
+        @Test
+        @DisplayName("Should compute length, elevation, durations and bounding box")
+        void shouldComputeAllStatistics() {
+            // Given - one degree of longitude on the equator is ~111.195 km
+            RouteGeometry geometry = line(
+                0.0, 0.0, 100.0,
+                0.0, 0.5, 150.0,
+                0.0, 1.0, 120.0
+            );
+
+            // When
+            RouteStatistics statistics = RouteStatisticsCalculator.compute(geometry);
+
+            // Then
+            assertThat(statistics.getLengthMeters()).isCloseTo(111_195.0, within(1.0));
+            assertThat(statistics.getAscentMeters()).isEqualTo(50.0);
+            assertThat(statistics.getDescentMeters()).isEqualTo(30.0);
+            assertThat(statistics.getWalkDurationSeconds())
+                .isEqualTo(TravelProfile.WALK.estimateDurationSeconds(statistics.getLengthMeters(), 50.0));
+            assertThat(statistics.durationSeconds(TravelProfile.CAR))
+                .isEqualTo(statistics.getCarDurationSeconds());
+            assertThat(statistics.getMinLatitude()).isEqualTo(0.0);
+            assertThat(statistics.getMinLongitude()).isEqualTo(0.0);
+            assertThat(statistics.getMaxLongitude()).isEqualTo(1.0);
+        }
+
+        @Test
+        @DisplayName("Should ignore elevation of points without altitude")
+        void shouldIgnoreMissingAltitudes() {
+            RouteGeometry geometry = line(
+                0.0, 0.0, Double.NaN,
+                0.0, 0.1, 100.0,
+                0.0, 0.2, 90.0
+            );
+
+            RouteStatistics statistics = RouteStatisticsCalculator.compute(geometry);
+
+            assertThat(statistics.getAscentMeters()).isEqualTo(0.0);
+            assertThat(statistics.getDescentMeters()).isEqualTo(10.0);
+        }
+
+        @Test
+        @DisplayName("Should return zero length and no bounding box for empty route")
+        void shouldHandleEmptyRoute() {
+            RouteStatistics statistics = RouteStatisticsCalculator.compute(RouteGeometry.empty());
+
+            assertThat(statistics.getLengthMeters()).isEqualTo(0.0);
+            assertThat(statistics.getMinLatitude()).isNull();
+        }
+    }
+
+    @Nested
+    @DisplayName("update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should return previous statistics when points did not change")
+        void shouldReturnPreviousWhenUnchanged() {
+            RouteGeometry geometry = line(0.0, 0.0, 1.0, 0.0, 1.0, 2.0);
+            RouteStatistics previous = RouteStatisticsCalculator.compute(geometry);
+
+            RouteStatistics updated = RouteStatisticsCalculator.update(previous, geometry, geometry.toBuilder().build());
+
+            assertThat(updated).isSameAs(previous);
+        }
+
+        @Test
+        @DisplayName("Should shrink bounding box when an edge point is removed")
+        void shouldShrinkBoundingBoxWhenEdgePointRemoved() {
+            RouteGeometry before = line(0.0, 0.0, 0.0, 0.0, 1.0, 0.0, 0.0, 2.0, 0.0);
+            RouteGeometry after = line(0.0, 0.0, 0.0, 0.0, 1.0, 0.0);
+
+            RouteStatistics updated = RouteStatisticsCalculator.update(
+                RouteStatisticsCalculator.compute(before), before, after);
+
+            assertThat(updated.getMaxLongitude()).isEqualTo(1.0);
+            assertThat(updated.getLengthMeters()).isCloseTo(111_195.0, within(1.0));
+        }
+
+        @Test
+        @DisplayName("Should match full recomputation after random single point edits")
+        void shouldMatchFullRecomputation() {
+            Random random = new Random(42);
+            for (int run = 0; run < 200; run++) {
+                // Given
+                RouteGeometry.Builder builder = RouteGeometry.builder();
+                int size = 2 + random.nextInt(50);
+                for (int i = 0; i < size; i++)
+                    builder.add(50 + random.nextDouble(), 19 + random.nextDouble(),
+                        random.nextDouble() * 500, null, null, null);
+                RouteGeometry before = builder.build();
+
+                int index = random.nextInt(size);
+                RouteGeometry.Builder edited = RouteGeometry.builder();
+                for (int i = 0; i < size; i++) {
+                    if (i == index) {
+                        if (random.nextBoolean())
+                            continue;
+                        edited.add(50 + random.nextDouble(), 19 + random.nextDouble());
+                    }
+                    edited.add(before, i);
+                }
+                RouteGeometry after = edited.build();
+
+                // When
+                RouteStatistics incremental = RouteStatisticsCalculator.update(
+                    RouteStatisticsCalculator.compute(before), before, after);
+                RouteStatistics full = RouteStatisticsCalculator.compute(after);
+
+                // Then
+                assertThat(incremental.getLengthMeters()).isCloseTo(full.getLengthMeters(), within(1e-6));
+                assertThat(incremental.getAscentMeters()).isCloseTo(full.getAscentMeters(), within(1e-6));
+                assertThat(incremental.getDescentMeters()).isCloseTo(full.getDescentMeters(), within(1e-6));
+                assertThat(incremental.getMinLatitude()).isEqualTo(full.getMinLatitude());
+                assertThat(incremental.getMaxLongitude()).isEqualTo(full.getMaxLongitude());
+            }
+        }
+    }
+
+}
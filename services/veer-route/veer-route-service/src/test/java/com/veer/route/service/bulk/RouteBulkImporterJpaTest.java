@@ -0,0 +1,114 @@
+package com.veer.route.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.Route;
+import com.veer.route.model.dto.BulkImportItemDto;
+import com.veer.route.model.dto.BulkImportResultDto;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.elevation.ElevationModel;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The importer against a real PostgreSQL, for what a mocked EntityManager
+ * cannot show: how Hibernate treats the routes of a failed batch when they
+ * are persisted again.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+// the importer runs its own transactions
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("RouteBulkImporter JPA Tests")
+class RouteBulkImporterJpaTest {
+
+    @Container
+    @ServiceConnection
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private RouteRepository routeRepository;
+
+    private RouteBulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        importer = new RouteBulkImporter(
+            entityManager, transactionManager, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(), mock(ApplicationEventPublisher.class),
+            new ElevationModel("", 0), 2
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        routeRepository.deleteAll();
+    }
+
+    private static String route(String name, String description) {
+        return "{\"name\":\"" + name + "\",\"description\":\"" + description + "\","
+            + "\"points\":[{\"latitude\":52.2297,\"longitude\":21.0122},{\"latitude\":52.2300,\"longitude\":21.0130}]}";
+    }
+
+    @Test
+    @DisplayName("Should still create the valid routes of a batch the database rejected")
+    void shouldCreateValidRoutesOfFailedBatch() throws Exception {
+        // Given
+        // valid for the DTO (up to 1000 characters), too long for the varchar(255) column
+        String tooLong = "x".repeat(300);
+        String json = "[" + route("a", "ok") + "," + route("b", tooLong) + "," + route("c", "ok") + "]";
+
+        // When
+        BulkImportResultDto result = importer.importRoutes(
+            "user-123", new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(result.getResults()).extracting(BulkImportItemDto::getStatus).containsExactly(
+            BulkImportItemDto.Status.CREATED, BulkImportItemDto.Status.FAILED, BulkImportItemDto.Status.CREATED);
+        assertThat(result.getCreated()).isEqualTo(2);
+
+        assertThat(routeRepository.findAll())
+            .extracting(Route::getName)
+            .containsExactlyInAnyOrder("a", "c");
+        Route retried = routeRepository.findById(result.getResults().get(0).getId()).orElseThrow();
+        assertThat(retried.getVersion()).isZero();
+        assertThat(retried.getCreatedAt()).isNotNull();
+    }
+
+    @SpringBootConfiguration
+    @EntityScan(basePackageClasses = Route.class)
+    @EnableJpaRepositories(basePackageClasses = RouteRepository.class)
+    static class JpaTestConfiguration {
+    }
+
+}
@@ -0,0 +1,178 @@
+package com.veer.route.service.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.Route;
+import com.veer.route.model.dto.BulkImportItemDto;
+import com.veer.route.model.dto.BulkImportResultDto;
+import com.veer.route.service.RouteChangedEvent;
+import com.veer.route.service.elevation.ElevationModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RouteBulkImporter Unit Tests")
+class RouteBulkImporterTest {
+
+    private EntityManager entityManager;
+
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationEventPublisher eventPublisher;
+
+    private RouteBulkImporter importer;
+
+    @BeforeEach
+    void setUp() {
+        entityManager = mock(EntityManager.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        importer = new RouteBulkImporter(
+            entityManager, transactionManager, new ObjectMapper(), mock(Validator.class), eventPublisher,
+            new ElevationModel("", 0), 2
+        );
+    }
+
+    private BulkImportResultDto importJson(String json) throws Exception {
+        return importer.importRoutes("user-123", new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String route(String name) {
+        return "{\"name\":\"" + name + "\",\"points\":[{\"latitude\":52.2297,\"longitude\":21.0122}]}";
+    }
+
+    @Nested
+    @DisplayName("Import Tests")
+    class ImportTests {
+
+        @Test
+        @DisplayName("Should insert valid routes in batches and report each element")
+        void shouldInsertInBatches() throws Exception {
+            // When
+            BulkImportResultDto result = importJson("[" + route("a") + "," + route("b") + "," + route("c") + "]");
+
+            // Then
+            assertThat(result.getCreated()).isEqualTo(3);
+            assertThat(result.getFailed()).isZero();
+            assertThat(result.getResults()).extracting(BulkImportItemDto::getIndex).containsExactly(0, 1, 2);
+            assertThat(result.getResults()).allSatisfy(item -> assertThat(item.getId()).isNotNull());
+
+            // batch size 2: one transaction for a+b, one for c
+            verify(transactionManager, times(2)).commit(any());
+            ArgumentCaptor<Route> captor = ArgumentCaptor.forClass(Route.class);
+            verify(entityManager, times(3)).persist(captor.capture());
+            assertThat(captor.getAllValues()).allSatisfy(route -> {
+                assertThat(route.getCreatedBy()).isEqualTo("user-123");
+                assertThat(route.getStatistics()).isNotNull();
+            });
+            verify(eventPublisher, times(3)).publishEvent(any(RouteChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should report invalid elements and keep importing")
+        void shouldReportInvalidElements() throws Exception {
+            // When
+            BulkImportResultDto result = importJson("["
+                + route("a") + ","
+                + "{\"name\":\"bad\",\"points\":[{\"latitude\":95.0,\"longitude\":21.0}]},"
+                + "42,"
+                + route("b")
+                + "]");
+
+            // Then
+            assertThat(result.getCreated()).isEqualTo(2);
+            assertThat(result.getFailed()).isEqualTo(2);
+            assertThat(result.getResults()).extracting(BulkImportItemDto::getStatus).containsExactly(
+                BulkImportItemDto.Status.CREATED,
+                BulkImportItemDto.Status.INVALID,
+                BulkImportItemDto.Status.INVALID,
+                BulkImportItemDto.Status.CREATED
+            );
+            assertThat(result.getResults().get(1).getMessage()).contains("Latitude 95.0");
+        }
+
+        @Test
+        @DisplayName("Should skip the rest of an element that does not bind")
+        void shouldSkipRestOfInvalidElement() throws Exception {
+            // When - name fails to bind before the nested points of the element are read
+            BulkImportResultDto result = importJson("["
+                + "{\"name\":{\"first\":[1,{\"x\":2}]},\"points\":[{\"latitude\":52.0,\"longitude\":21.0}]},"
+                + route("a")
+                + "]");
+
+            // Then
+            assertThat(result.getResults()).extracting(BulkImportItemDto::getStatus).containsExactly(
+                BulkImportItemDto.Status.INVALID,
+                BulkImportItemDto.Status.CREATED
+            );
+            assertThat(result.getResults().get(1).getIndex()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should report an element cut short once, as malformed JSON")
+        void shouldReportTruncatedInvalidElementOnce() throws Exception {
+            // When
+            BulkImportResultDto result = importJson("[" + route("a") + ",{\"name\":{\"first\":[1,");
+
+            // Then
+            assertThat(result.getResults()).hasSize(2);
+            assertThat(result.getResults().get(1).getMessage()).startsWith("Malformed JSON");
+        }
+
+        @Test
+        @DisplayName("Should retry a failed batch route by route")
+        void shouldRetryFailedBatchRouteByRoute() throws Exception {
+            // Given
+            doThrow(new PersistenceException("duplicate key"))
+                .when(entityManager).persist(argThat((Route route) -> "broken".equals(route.getName())));
+
+            // When
+            BulkImportResultDto result = importJson("[" + route("a") + "," + route("broken") + "]");
+
+            // Then
+            assertThat(result.getResults()).extracting(BulkImportItemDto::getStatus).containsExactly(
+                BulkImportItemDto.Status.CREATED,
+                BulkImportItemDto.Status.FAILED
+            );
+            assertThat(result.getResults().get(1).getMessage()).contains("duplicate key");
+            verify(eventPublisher, times(1)).publishEvent(any(RouteChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should stop at malformed JSON keeping earlier routes")
+        void shouldStopAtMalformedJson() throws Exception {
+            // When
+            BulkImportResultDto result = importJson("[" + route("a") + ",{\"name\":");
+
+            // Then
+            assertThat(result.getCreated()).isEqualTo(1);
+            assertThat(result.getResults()).hasSize(2);
+            assertThat(result.getResults().get(1).getStatus()).isEqualTo(BulkImportItemDto.Status.INVALID);
+            assertThat(result.getResults().get(1).getMessage()).startsWith("Malformed JSON");
+        }
+
+        @Test
+        @DisplayName("Should reject a body that is not an array")
+        void shouldRejectNonArrayBody() {
+            assertThatThrownBy(() -> importJson(route("a")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("JSON array");
+        }
+    }
+
+}
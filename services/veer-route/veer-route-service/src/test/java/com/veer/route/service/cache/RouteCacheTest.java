@@ -0,0 +1,111 @@
+package com.veer.route.service.cache;
+
+import com.veer.route.model.Route;
+import com.veer.route.service.RouteChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RouteCache Unit Tests")
+class RouteCacheTest {
+
+    private final RouteCache cache = new RouteCache(3, 100);
+
+    private static RouteJson route(String id) {
+        return new RouteJson(id, 0L, ("{\"id\":\"" + id + "\"}").getBytes());
+    }
+
+    private void put(String id, int points) {
+        cache.put(cache.stamp(id), route(id), points);
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict the least recently used route beyond the entry limit")
+        void shouldEvictLeastRecentlyUsed() {
+            // Given
+            put("a", 1);
+            put("b", 1);
+            put("c", 1);
+            cache.get("a");
+
+            // When
+            put("d", 1);
+
+            // Then
+            assertThat(cache.get("b")).isNull();
+            assertThat(cache.get("a")).isNotNull();
+            assertThat(cache.size()).isEqualTo(3);
+            assertThat(cache.evictionCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("Should evict by point count and skip routes heavier than the cache")
+        void shouldEvictByWeight() {
+            // When
+            put("a", 60);
+            put("b", 30);
+            put("c", 30);
+            put("huge", 101);
+
+            // Then
+            assertThat(cache.get("a")).isNull();
+            assertThat(cache.get("huge")).isNull();
+            assertThat(cache.weight()).isEqualTo(60);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should drop a route when it changes")
+        void shouldDropChangedRoute() {
+            // Given
+            put("a", 10);
+
+            // When
+            cache.onRouteChanged(RouteChangedEvent.deleted(Route.builder().id("a").build()));
+
+            // Then
+            assertThat(cache.get("a")).isNull();
+            assertThat(cache.weight()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should not cache a copy read before the route changed")
+        void shouldRefuseStalePut() {
+            // Given - a reader takes its stamp, then the route is updated
+            long stamp = cache.stamp("a");
+            cache.invalidate("a");
+
+            // When - the reader puts what it read
+            cache.put(stamp, route("a"), 10);
+
+            // Then
+            assertThat(cache.get("a")).isNull();
+            put("a", 10);
+            assertThat(cache.get("a")).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should count hits and misses")
+        void shouldCountHitsAndMisses() {
+            put("a", 1);
+
+            cache.get("a");
+            cache.get("a");
+            cache.get("b");
+
+            assertThat(cache.hitCount()).isEqualTo(2);
+            assertThat(cache.missCount()).isEqualTo(1);
+        }
+    }
+
+}
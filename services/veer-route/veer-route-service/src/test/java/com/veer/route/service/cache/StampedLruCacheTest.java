@@ -0,0 +1,103 @@
+package com.veer.route.service.cache;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("StampedLruCache Unit Tests")
+class StampedLruCacheTest {
+
+    // keys "<stripe key>/<rest>", weighed by their length
+    private final StampedLruCache<String, String> cache = new StampedLruCache<>(
+        10, 100, 16, key -> key.substring(0, key.indexOf('/')).hashCode(), String::length
+    );
+
+    private void put(String key, String value) {
+        cache.put(cache.stamp(key), key, value);
+    }
+
+    @Nested
+    @DisplayName("Stamp Tests")
+    class StampTests {
+
+        @Test
+        @DisplayName("Should refuse a value computed before its stripe was invalidated")
+        void shouldRefuseStaleValue() {
+            // Given
+            long stamp = cache.stamp("a/1");
+
+            // When - another key of the same stripe changes meanwhile
+            cache.invalidate("a/2");
+            cache.put(stamp, "a/1", "stale");
+
+            // Then
+            assertThat(cache.get("a/1")).isNull();
+            assertThat(cache.size()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should move every stamp when invalidating by predicate")
+        void shouldMoveEveryStampOnInvalidateIf() {
+            // Given
+            put("a/1", "one");
+            put("b/1", "two");
+            long stamp = cache.stamp("c/1");
+
+            // When
+            cache.invalidateIf(key -> key.startsWith("a/"));
+            cache.put(stamp, "c/1", "stale");
+
+            // Then
+            assertThat(cache.get("a/1")).isNull();
+            assertThat(cache.get("b/1")).isEqualTo("two");
+            assertThat(cache.get("c/1")).isNull();
+            assertThat(cache.weight()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Merge Tests")
+    class MergeTests {
+
+        @Test
+        @DisplayName("Should keep the value the remapping chooses and its weight")
+        void shouldMergeWithCachedValue() {
+            // Given
+            put("a/1", "longer");
+
+            // When
+            cache.merge(cache.stamp("a/1"), "a/1", "short",
+                (previous, value) -> previous.length() >= value.length() ? previous : value);
+
+            // Then
+            assertThat(cache.get("a/1")).isEqualTo("longer");
+            assertThat(cache.weight()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Should count a cached value that is not usable as a miss")
+        void shouldCountUnusableValueAsMiss() {
+            // Given
+            put("a/1", "short");
+
+            // When
+            String value = cache.get("a/1", cached -> cached.length() > 10);
+
+            // Then
+            assertThat(value).isNull();
+            assertThat(cache.missCount()).isEqualTo(1);
+            assertThat(cache.hitCount()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should reject a stripe count that is not a power of two")
+        void shouldRejectStripeCount() {
+            assertThatThrownBy(() -> new StampedLruCache<String, String>(10, 100, 3, String::hashCode, String::length))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package com.veer.route.service.elevation;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.dto.ElevationProfileDto;
+import com.veer.route.model.dto.RoutePointOperationDto;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.service.RoutePointEditor;
+import com.veer.route.service.RouteStatisticsCalculator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("ElevationModel Unit Tests")
+class ElevationModelTest {
+
+    @TempDir
+    Path directory;
+
+    // 3 x 3 samples, half a degree apart, rows from north to south
+    private void writeTile(String name, short... heights) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(heights.length * 2);
+        for (short height : heights)
+            buffer.putShort(height);
+        Files.write(directory.resolve(name), buffer.array());
+    }
+
+    private void writeWarsawTile() throws IOException {
+        writeTile("N52E021.hgt",
+            (short) 100, (short) 110, (short) 120,
+            (short) 200, (short) 210, (short) 220,
+            (short) 300, (short) 310, (short) 320);
+    }
+
+    private ElevationModel model() {
+        return new ElevationModel(directory.toString(), 1 << 20);
+    }
+
+    @Nested
+    @DisplayName("Sampling Tests")
+    class SamplingTests {
+
+        @Test
+        @DisplayName("Should interpolate bilinearly between samples")
+        void shouldInterpolateBilinearly() throws IOException {
+            // Given
+            writeWarsawTile();
+            ElevationModel model = model();
+
+            // Then
+            assertThat(model.elevation(52.5, 21.5)).isEqualTo(210.0);
+            assertThat(model.elevation(52.75, 21.25)).isCloseTo(155.0, within(1e-9));
+            assertThat(model.elevation(52.0, 21.5)).isEqualTo(310.0);
+        }
+
+        @Test
+        @DisplayName("Should leave out void samples and return NaN without data")
+        void shouldHandleVoidsAndMissingTiles() throws IOException {
+            // Given
+            writeTile("N52E021.hgt",
+                (short) 100, (short) 110, (short) 120,
+                (short) 200, HgtTile.VOID, (short) 220,
+                (short) 300, (short) 310, (short) 320);
+            ElevationModel model = model();
+
+            // Then
+            assertThat(model.elevation(52.75, 21.25)).isCloseTo(410.0 / 3, within(1e-9));
+            assertThat(model.elevation(52.5, 21.5)).isNaN();
+            assertThat(model.elevation(50.5, 19.5)).isNaN();
+        }
+
+        @Test
+        @DisplayName("Should keep mapped tiles within the address space limit")
+        void shouldEvictMappedTiles() throws IOException {
+            // Given - 18 bytes per tile
+            writeWarsawTile();
+            writeTile("N50E019.hgt", new short[9]);
+            ElevationModel model = new ElevationModel(directory.toString(), 20);
+
+            // When
+            model.elevation(52.5, 21.5);
+            model.elevation(50.5, 19.5);
+
+            // Then
+            assertThat(model.mappedTileCount()).isEqualTo(1);
+            assertThat(model.elevation(52.5, 21.5)).isEqualTo(210.0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Route Tests")
+    class RouteTests {
+
+        @Test
+        @DisplayName("Should fill missing altitudes and keep recorded ones")
+        void shouldFillMissingAltitudes() throws IOException {
+            // Given
+            writeWarsawTile();
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.5, 21.5)
+                .add(52.0, 21.5, 50.0, PointType.WAYPOINT, null, null)
+                .build();
+
+            // When
+            RouteGeometry filled = model().withElevations(points);
+
+            // Then
+            assertThat(filled.altitude(0)).isEqualTo(210.0);
+            assertThat(filled.altitude(1)).isEqualTo(50.0);
+        }
+
+        @Test
+        @DisplayName("Should fill only the points of the given range")
+        void shouldFillRange() throws IOException {
+            // Given
+            writeWarsawTile();
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.5, 21.5)
+                .add(52.5, 21.5)
+                .add(52.5, 21.5)
+                .build();
+
+            // When
+            RouteGeometry filled = model().withElevations(points, 1, 2);
+
+            // Then
+            assertThat(filled.altitude(0)).isNaN();
+            assertThat(filled.altitude(1)).isEqualTo(210.0);
+            assertThat(filled.altitude(2)).isNaN();
+        }
+
+        @Test
+        @DisplayName("Should look up the terrain height of a point moved to another tile")
+        void shouldLookUpHeightOfMovedPoint() throws IOException {
+            // Given - a recorded track in the Warsaw tile and a flat 1500 m tile
+            writeWarsawTile();
+            writeTile("N50E019.hgt", (short) 1500, (short) 1500, (short) 1500, (short) 1500,
+                (short) 1500, (short) 1500, (short) 1500, (short) 1500, (short) 1500);
+            ElevationModel model = model();
+            RouteGeometry before = RouteGeometry.builder()
+                .add(52.5, 21.5, 210.0, PointType.START, null, null)
+                .add(52.6, 21.6, 200.0, PointType.WAYPOINT, null, null)
+                .add(52.5, 21.7, 210.0, PointType.STOP, null, null)
+                .build();
+            RoutePointOperationDto move = RoutePointOperationDto.builder()
+                .op(RoutePointOperationDto.Op.MOVE)
+                .index(1)
+                .points(RouteGeometry.builder().add(50.5, 19.5).build())
+                .build();
+
+            // When
+            RouteGeometry after = RoutePointEditor.apply(before, List.of(move));
+            RouteStatistics updated = RouteStatisticsCalculator.update(
+                RouteStatisticsCalculator.compute(model.withElevations(before)), before, after, model);
+
+            // Then
+            assertThat(after.altitude(1)).isNaN();
+            assertThat(model.withElevations(after).altitude(1)).isEqualTo(1500.0);
+            assertThat(updated.getAscentMeters()).isCloseTo(1290.0, within(1e-6));
+            assertThat(updated.getDescentMeters()).isCloseTo(1290.0, within(1e-6));
+        }
+
+        @Test
+        @DisplayName("Should update statistics over terrain like computing them afresh")
+        void shouldUpdateStatisticsOverTerrain() throws IOException {
+            // Given
+            writeWarsawTile();
+            ElevationModel model = model();
+            RouteGeometry.Builder builder = RouteGeometry.builder();
+            for (int i = 0; i < 50; i++)
+                builder.add(52.1 + i * 0.015, 21.1 + (i % 7) * 0.05);
+            RouteGeometry before = builder.build();
+            RouteGeometry after = before.toBuilder()
+                .setPosition(20, 52.45, 21.9, Double.NaN)
+                .insert(31, RouteGeometry.builder().add(52.8, 21.2).build(), 0)
+                .remove(40)
+                .build();
+
+            // When
+            RouteStatistics updated = RouteStatisticsCalculator.update(
+                RouteStatisticsCalculator.compute(model.withElevations(before)), before, after, model);
+            RouteStatistics full = RouteStatisticsCalculator.compute(model.withElevations(after));
+
+            // Then
+            assertThat(updated.getAscentMeters()).isPositive().isCloseTo(full.getAscentMeters(), within(1e-6));
+            assertThat(updated.getDescentMeters()).isCloseTo(full.getDescentMeters(), within(1e-6));
+            assertThat(updated.getLengthMeters()).isCloseTo(full.getLengthMeters(), within(1e-6));
+        }
+
+        @Test
+        @DisplayName("Should return points unchanged without a tile directory")
+        void shouldNotChangePointsWhenDisabled() {
+            RouteGeometry points = RouteGeometry.builder().add(52.5, 21.5).build();
+
+            assertThat(new ElevationModel("", 1 << 20).withElevations(points)).isSameAs(points);
+        }
+
+        @Test
+        @DisplayName("Should compute profile with ascent and descent")
+        void shouldComputeProfile() throws IOException {
+            // Given - up from 210 m to 310 m and back down to 200 m
+            writeWarsawTile();
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.5, 21.5)
+                .add(52.0, 21.5)
+                .add(52.5, 21.0)
+                .build();
+
+            // When
+            ElevationProfileDto profile = model().profile("route-1", points);
+
+            // Then
+            assertThat(profile.getElevationsMeters()).containsExactly(210.0, 310.0, 200.0);
+            assertThat(profile.getDistancesMeters().get(0)).isZero();
+            assertThat(profile.getDistancesMeters().get(2)).isGreaterThan(profile.getDistancesMeters().get(1));
+            assertThat(profile.getAscentMeters()).isEqualTo(100.0);
+            assertThat(profile.getDescentMeters()).isEqualTo(110.0);
+            assertThat(profile.getMinElevationMeters()).isEqualTo(200.0);
+            assertThat(profile.getMaxElevationMeters()).isEqualTo(310.0);
+        }
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.veer.route.service.export;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.veer.route.model.Route;
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.repository.RouteRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RouteExporter Unit Tests")
+class RouteExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private RouteRepository repository;
+
+    private EntityManager entityManager;
+
+    private RouteExporter exporter;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(RouteRepository.class);
+        entityManager = mock(EntityManager.class);
+        exporter = new RouteExporter(repository, entityManager, objectMapper);
+
+        Route line = Route.builder()
+            .id("route-1")
+            .createdBy("user-123")
+            .name("Warsaw - Poznan")
+            .isPublic(true)
+            .points(RouteGeometry.builder()
+                .add(52.2297, 21.0122)
+                .add(52.4064, 16.9252, 60.0, null, null, null)
+                .build())
+            .build();
+        Route point = Route.builder()
+            .id("route-2")
+            .createdBy("user-123")
+            .name("Single point")
+            .points(RouteGeometry.builder().add(50.0, 19.0).build())
+            .build();
+        when(repository.streamByCreatedBy("user-123")).thenReturn(Stream.of(line, point));
+    }
+
+    private String export(RouteExportFormat format) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        exporter.export("user-123", format, output);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    @Nested
+    @DisplayName("NDJSON Tests")
+    class NdjsonTests {
+
+        @Test
+        @DisplayName("Should write one route per line and detach each route")
+        void shouldWriteOneRoutePerLine() throws Exception {
+            // When
+            String[] lines = export(RouteExportFormat.NDJSON).split("\n");
+
+            // Then
+            assertThat(lines).hasSize(2);
+            JsonNode first = objectMapper.readTree(lines[0]);
+            assertThat(first.get("id").asText()).isEqualTo("route-1");
+            assertThat(first.get("points")).hasSize(2);
+            assertThat(first.get("points").get(1).get("altitude").asDouble()).isEqualTo(60.0);
+            assertThat(objectMapper.readTree(lines[1]).get("id").asText()).isEqualTo("route-2");
+            verify(entityManager, times(2)).detach(any(Route.class));
+        }
+    }
+
+    @Nested
+    @DisplayName("GeoJSON Tests")
+    class GeoJsonTests {
+
+        @Test
+        @DisplayName("Should write a FeatureCollection with longitude first positions")
+        void shouldWriteFeatureCollection() throws Exception {
+            // When
+            JsonNode collection = objectMapper.readTree(export(RouteExportFormat.GEOJSON));
+
+            // Then
+            assertThat(collection.get("type").asText()).isEqualTo("FeatureCollection");
+            JsonNode features = collection.get("features");
+            assertThat(features).hasSize(2);
+
+            JsonNode line = features.get(0);
+            assertThat(line.get("id").asText()).isEqualTo("route-1");
+            assertThat(line.get("geometry").get("type").asText()).isEqualTo("LineString");
+            JsonNode coordinates = line.get("geometry").get("coordinates");
+            assertThat(coordinates.get(0).get(0).asDouble()).isEqualTo(21.0122);
+            assertThat(coordinates.get(0).get(1).asDouble()).isEqualTo(52.2297);
+            assertThat(coordinates.get(0)).hasSize(2);
+            assertThat(coordinates.get(1)).hasSize(3);
+            assertThat(line.get("properties").get("name").asText()).isEqualTo("Warsaw - Poznan");
+
+            assertThat(features.get(1).get("geometry").get("type").asText()).isEqualTo("Point");
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject unknown format names")
+    void shouldRejectUnknownFormat() {
+        assertThat(RouteExportFormat.fromName("GeoJSON")).isEqualTo(RouteExportFormat.GEOJSON);
+        assertThatThrownBy(() -> RouteExportFormat.fromName("gpx"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("ndjson");
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.veer.route.service.optimizer;
+
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("RouteOptimizer Unit Tests")
+class RouteOptimizerTest {
+
+    private final RouteOptimizer optimizer = new RouteOptimizer(Duration.ofMillis(300));
+
+    private static RouteGeometry randomGeometry(Random random, int size) {
+        RouteGeometry.Builder builder = RouteGeometry.builder(size);
+        for (int i = 0; i < size; i++)
+            builder.add(50 + random.nextDouble(), 19 + random.nextDouble() * 1.5);
+        return builder.build();
+    }
+
+    private static int[] identity(int size) {
+        return IntStream.range(0, size).toArray();
+    }
+
+    private static double bruteForce(DistanceMatrix dist, int[] tour, int position) {
+        if (position == tour.length)
+            return dist.pathLength(tour);
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = position; i < tour.length; i++) {
+            int[] swapped = tour.clone();
+            swapped[position] = tour[i];
+            swapped[i] = tour[position];
+            best = Math.min(best, bruteForce(dist, swapped, position + 1));
+        }
+        return best;
+    }
+
+    @Nested
+    @DisplayName("Exact Tests")
+    class ExactTests {
+
+        @Test
+        @DisplayName("Should find the shortest path for small routes")
+        void shouldFindShortestPathForSmallRoutes() {
+            Random random = new Random(7);
+            for (int run = 0; run < 20; run++) {
+                // Given
+                RouteGeometry geometry = randomGeometry(random, 2 + random.nextInt(7));
+                DistanceMatrix dist = DistanceMatrix.of(geometry, identity(geometry.size()));
+
+                // When
+                RouteOptimizer.Result result = optimizer.optimize(geometry);
+
+                // Then
+                assertThat(result.isExact()).isTrue();
+                assertThat(result.getOrder()[0]).isZero();
+                assertThat(result.getLengthMeters())
+                    .isCloseTo(bruteForce(dist, identity(geometry.size()), 1), within(1e-6));
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the START point first")
+        void shouldKeepStartPointFirst() {
+            RouteGeometry geometry = RouteGeometry.builder()
+                .add(50.0, 19.0)
+                .add(50.5, 19.5)
+                .add(50.2, 19.2, Double.NaN, PointType.START, null, null)
+                .add(50.9, 19.9)
+                .build();
+
+            RouteOptimizer.Result result = optimizer.optimize(geometry);
+
+            assertThat(result.getOrder()[0]).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should handle empty and single point routes")
+        void shouldHandleTrivialRoutes() {
+            assertThat(optimizer.optimize(RouteGeometry.empty()).getOrder()).isEmpty();
+            assertThat(optimizer.optimize(RouteGeometry.builder().add(50.0, 19.0).build()).getOrder())
+                .containsExactly(0);
+        }
+    }
+
+    @Nested
+    @DisplayName("Heuristic Tests")
+    class HeuristicTests {
+
+        @Test
+        @DisplayName("Should return a permutation shorter than nearest neighbour within budget")
+        void shouldImproveOnNearestNeighbourWithinBudget() {
+            // Given
+            RouteGeometry geometry = randomGeometry(new Random(11), 200);
+            DistanceMatrix dist = DistanceMatrix.of(geometry, identity(geometry.size()));
+            double nearestNeighbour = dist.pathLength(new LocalSearch(dist, System.nanoTime()).nearestNeighbour(null));
+
+            // When
+            long started = System.nanoTime();
+            RouteOptimizer.Result result = optimizer.optimize(geometry);
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+            // Then
+            int[] sorted = result.getOrder().clone();
+            Arrays.sort(sorted);
+            assertThat(sorted).containsExactly(identity(geometry.size()));
+            assertThat(result.getOrder()[0]).isZero();
+            assertThat(result.isExact()).isFalse();
+            assertThat(result.getLengthMeters()).isLessThan(nearestNeighbour);
+            assertThat(elapsedMillis).isLessThan(2_000);
+        }
+
+        @Test
+        @DisplayName("Should reject routes above the point limit")
+        void shouldRejectTooManyPoints() {
+            RouteGeometry geometry = randomGeometry(new Random(1), RouteOptimizer.MAX_POINTS + 1);
+
+            assertThatThrownBy(() -> optimizer.optimize(geometry))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("at most");
+        }
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.veer.route.service.poi;
+
+import com.veer.route.model.PoiCategory;
+import com.veer.route.model.dto.PoiDto;
+import com.veer.route.model.geometry.RouteGeometry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("PoiIndex Unit Tests")
+class PoiIndexTest {
+
+    @TempDir
+    Path directory;
+
+    private Path csv(String... lines) throws IOException {
+        Path file = directory.resolve("pois.csv");
+        Files.write(file, List.of(lines));
+        return file;
+    }
+
+    @Nested
+    @DisplayName("Loading Tests")
+    class LoadingTests {
+
+        @Test
+        @DisplayName("Should read CSV columns by name and skip invalid rows")
+        void shouldReadCsv() throws IOException {
+            // Given
+            Path file = csv(
+                "name,lat,lng,categories,id",
+                "\"Zamek Królewski, Warszawa\",52.2479,21.0153,CASTLE|MUSEUM,1",
+                "Kopiec,52.2,21.0,VIEWPOINT,2",
+                "Nowhere,95,21.0,VIEWPOINT,3",
+                "Unknown,52.2,21.0,SHOP,4",
+                "Broken,north,21.0,PARK,5"
+            );
+
+            // When
+            PoiIndex index = new PoiIndex(file.toString());
+
+            // Then
+            assertThat(index.size()).isEqualTo(2);
+            List<PoiDto> pois = index.nearest(52.2479, 21.0153, 10, 1000, PoiCategory.ALL);
+            assertThat(pois).hasSize(1);
+            assertThat(pois.get(0).getId()).isEqualTo(1L);
+            assertThat(pois.get(0).getName()).isEqualTo("Zamek Królewski, Warszawa");
+            assertThat(pois.get(0).getCategories()).containsExactly(PoiCategory.MUSEUM, PoiCategory.CASTLE);
+        }
+
+        @Test
+        @DisplayName("Should serve the new dataset after a reload and keep the old one on failure")
+        void shouldReload() throws IOException {
+            // Given
+            Path file = csv("id,lat,lng,categories", "1,52.2,21.0,PARK");
+            PoiIndex index = new PoiIndex(file.toString());
+            csv("id,lat,lng,categories", "1,52.2,21.0,PARK", "2,52.21,21.0,ZOO");
+
+            // When
+            int reloaded = index.reload();
+
+            // Then
+            assertThat(reloaded).isEqualTo(2);
+            assertThat(index.nearest(52.2, 21.0, 10, 5000, PoiCategory.ZOO.bit())).hasSize(1);
+
+            // When
+            Files.writeString(file, "");
+
+            // Then
+            assertThatThrownBy(index::reload).isInstanceOf(IOException.class);
+            assertThat(index.size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should be empty without a file")
+        void shouldBeEmptyWithoutFile() throws IOException {
+            // When
+            PoiIndex index = new PoiIndex("");
+
+            // Then
+            assertThat(index.size()).isZero();
+            assertThat(index.nearest(52.2, 21.0, 10, 5000, PoiCategory.ALL)).isEmpty();
+            assertThat(index.reload()).isZero();
+        }
+    }
+
+    @Nested
+    @DisplayName("Query Tests")
+    class QueryTests {
+
+        private final PoiIndex index = new PoiIndex(new PoiKdTree.Builder()
+            .add(1, "Near start", 52.2005, 21.0000, PoiCategory.VIEWPOINT.bit())
+            .add(2, "Middle", 52.2000, 21.0150, PoiCategory.CASTLE.bit())
+            .add(3, "Far off", 52.2300, 21.0150, PoiCategory.CASTLE.bit())
+            .add(4, "Near end", 52.1993, 21.0290, PoiCategory.PARK.bit())
+            .build());
+
+        @Test
+        @DisplayName("Should return the nearest of the categories within the radius")
+        void shouldReturnNearest() {
+            // When
+            List<PoiDto> pois = index.nearest(52.2, 21.0, 2, 5000, PoiCategory.ALL);
+            List<PoiDto> castles = index.nearest(52.2, 21.0, 10, 5000, PoiCategory.CASTLE.bit());
+
+            // Then
+            assertThat(pois).extracting(PoiDto::getId).containsExactly(1L, 2L);
+            assertThat(pois.get(0).getDistanceMeters()).isCloseTo(55.6, within(0.5));
+            assertThat(pois.get(0).getAlongMeters()).isNull();
+            assertThat(castles).extracting(PoiDto::getId).containsExactly(2L, 3L);
+        }
+
+        @Test
+        @DisplayName("Should return the attractions within the buffer in route order")
+        void shouldReturnAlongRoute() {
+            // Given
+            RouteGeometry route = RouteGeometry.builder()
+                .add(52.2, 21.0)
+                .add(52.2, 21.03)
+                .build();
+
+            // When
+            List<PoiDto> pois = index.alongRoute(route, 200, 100, PoiCategory.ALL);
+            List<PoiDto> nearestTwo = index.alongRoute(route, 200, 2, PoiCategory.ALL);
+
+            // Then
+            assertThat(pois).extracting(PoiDto::getId).containsExactly(1L, 2L, 4L);
+            assertThat(pois.get(1).getDistanceMeters()).isCloseTo(0, within(0.5));
+            assertThat(pois.get(1).getAlongMeters()).isCloseTo(1022.3, within(1.0));
+            assertThat(nearestTwo).extracting(PoiDto::getId).containsExactly(1L, 2L);
+        }
+    }
+}
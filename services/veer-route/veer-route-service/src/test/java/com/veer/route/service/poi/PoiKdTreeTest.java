@@ -0,0 +1,105 @@
+package com.veer.route.service.poi;
+
+import com.veer.route.model.PoiCategory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PoiKdTree Unit Tests")
+class PoiKdTreeTest {
+
+    private static final int CATEGORIES = PoiCategory.values().length;
+
+    private static PoiKdTree randomTree(Random random, int size, double minLongitude) {
+        PoiKdTree.Builder builder = new PoiKdTree.Builder();
+        for (int i = 0; i < size; i++) {
+            double longitude = minLongitude + random.nextDouble() * 2;
+            builder.add(i, "poi " + i, 49 + random.nextDouble() * 2,
+                longitude >= 180 ? longitude - 360 : longitude, 1 << random.nextInt(CATEGORIES));
+        }
+        return builder.build();
+    }
+
+    // entries of the categories within the radius, nearest first
+    private static List<Integer> bruteForce(PoiKdTree tree, double latitude, double longitude, double radius, int mask) {
+        return IntStream.range(0, tree.size())
+            .filter(entry -> (tree.categories(entry) & mask) != 0)
+            .filter(entry -> tree.distanceMeters(latitude, longitude, entry) <= radius)
+            .boxed()
+            .sorted(Comparator.comparingDouble(entry -> tree.distanceMeters(latitude, longitude, entry)))
+            .toList();
+    }
+
+    @Nested
+    @DisplayName("Nearest Tests")
+    class NearestTests {
+
+        @Test
+        @DisplayName("Should find the same nearest entries as a linear scan")
+        void shouldMatchLinearScan() {
+            // Given
+            Random random = new Random(42);
+
+            for (int round = 0; round < 50; round++) {
+                PoiKdTree tree = randomTree(random, 2000, round % 2 == 0 ? 20 : 179);
+                double latitude = 49.5 + random.nextDouble();
+                double longitude = round % 2 == 0 ? 21 : 180;
+                int mask = round % 3 == 0 ? PoiCategory.ALL : 1 << random.nextInt(CATEGORIES);
+
+                // When
+                int[] nearest = tree.nearest(latitude, longitude, 10, 30_000, mask);
+
+                // Then
+                List<Integer> expected = bruteForce(tree, latitude, longitude, 30_000, mask);
+                List<Integer> actual = new ArrayList<>();
+                for (int entry : nearest) {
+                    if (tree.distanceMeters(latitude, longitude, entry) <= 30_000)
+                        actual.add(entry);
+                }
+                assertThat(actual).containsExactlyElementsOf(expected.subList(0, Math.min(10, expected.size())));
+            }
+        }
+
+        @Test
+        @DisplayName("Should return nothing from an empty tree")
+        void shouldHandleEmptyTree() {
+            // When / Then
+            assertThat(PoiKdTree.EMPTY.nearest(52.23, 21.01, 5, 1000, PoiCategory.ALL)).isEmpty();
+        }
+    }
+
+    @Nested
+    @DisplayName("Within Tests")
+    class WithinTests {
+
+        @Test
+        @DisplayName("Should visit every entry of the categories within the radius")
+        void shouldVisitEveryEntryWithinRadius() {
+            // Given
+            Random random = new Random(7);
+            PoiKdTree tree = randomTree(random, 5000, 20);
+            int mask = PoiCategory.CASTLE.bit() | PoiCategory.VIEWPOINT.bit();
+            Set<Integer> visited = new HashSet<>();
+
+            // When
+            tree.within(50, 21, 20_000, mask, entry -> {
+                if (tree.distanceMeters(50, 21, entry) <= 20_000)
+                    visited.add(entry);
+            });
+
+            // Then
+            assertThat(visited).containsExactlyInAnyOrderElementsOf(bruteForce(tree, 50, 21, 20_000, mask));
+            assertThat(visited).allMatch(entry -> (tree.categories(entry) & mask) != 0);
+        }
+    }
+}
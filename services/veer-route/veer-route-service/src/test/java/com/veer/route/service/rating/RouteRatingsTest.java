@@ -0,0 +1,165 @@
+package com.veer.route.service.rating;
+
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.model.dto.RouteRatingDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.exception.RouteNotFoundException;
+import com.veer.route.repository.RouteRatingRepository;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.RouteChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RouteRatings Unit Tests")
+class RouteRatingsTest {
+
+    private static final String ROUTE_ID = "route-123";
+
+    private final RouteRepository routeRepository = mock(RouteRepository.class);
+
+    private final RouteRatingRepository ratingRepository = mock(RouteRatingRepository.class);
+
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+
+    private final RouteRatings ratings = new RouteRatings(routeRepository, ratingRepository,
+        mock(PlatformTransactionManager.class), eventPublisher, 3.0, 5);
+
+    private void givenRoute(int count, Double average, Double score) {
+        when(routeRepository.lockForRating(ROUTE_ID)).thenReturn(Optional.of(ROUTE_ID));
+        when(routeRepository.findSummariesByIdIn(List.of(ROUTE_ID))).thenReturn(List.of(RouteSummaryDto.builder()
+            .id(ROUTE_ID)
+            .isPublic(true)
+            .statistics(RouteStatistics.builder().minLatitude(52.0).build())
+            .ratingCount(count)
+            .rating(average)
+            .ratingScore(score)
+            .build()));
+    }
+
+    @Nested
+    @DisplayName("Rate Tests")
+    class RateTests {
+
+        @Test
+        @DisplayName("Should add a first rating to the totals")
+        void shouldAddFirstRating() {
+            // Given
+            givenRoute(1, 4.0, 3.1666);
+            when(ratingRepository.findStars(ROUTE_ID, "user-1")).thenReturn(Optional.empty());
+
+            // When
+            RouteRatingDto result = ratings.rate(ROUTE_ID, "user-1", 4);
+
+            // Then
+            verify(ratingRepository).upsert(ROUTE_ID, "user-1", 4);
+            verify(routeRepository).addRating(ROUTE_ID, 1, 4, 5.0, 3.0);
+            assertThat(result.getStars()).isEqualTo(4);
+            assertThat(result.getCount()).isEqualTo(1);
+            assertThat(result.getAverage()).isEqualTo(4.0);
+
+            ArgumentCaptor<RouteChangedEvent> event = ArgumentCaptor.forClass(RouteChangedEvent.class);
+            verify(eventPublisher).publishEvent(event.capture());
+            assertThat(event.getValue().getType()).isEqualTo(RouteChangedEvent.Type.RATED);
+            assertThat(event.getValue().getStatistics().getMinLatitude()).isEqualTo(52.0);
+        }
+
+        @Test
+        @DisplayName("Should replace an earlier rating by its difference only")
+        void shouldReplaceEarlierRating() {
+            // Given
+            givenRoute(3, 3.0, 3.0);
+            when(ratingRepository.findStars(ROUTE_ID, "user-1")).thenReturn(Optional.of(5));
+
+            // When
+            ratings.rate(ROUTE_ID, "user-1", 2);
+
+            // Then
+            verify(ratingRepository).upsert(ROUTE_ID, "user-1", 2);
+            verify(routeRepository).addRating(ROUTE_ID, 0, -3, 5.0, 3.0);
+        }
+
+        @Test
+        @DisplayName("Should change nothing when the stars are the same")
+        void shouldIgnoreSameStars() {
+            // Given
+            givenRoute(1, 4.0, 3.1666);
+            when(ratingRepository.findStars(ROUTE_ID, "user-1")).thenReturn(Optional.of(4));
+
+            // When
+            ratings.rate(ROUTE_ID, "user-1", 4);
+
+            // Then
+            verify(ratingRepository, never()).upsert(anyString(), anyString(), anyInt());
+            verify(routeRepository, never()).addRating(anyString(), anyInt(), anyInt(), anyDouble(), anyDouble());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should reject stars out of range and unknown routes")
+        void shouldRejectInvalidRatings() {
+            // Given
+            when(routeRepository.lockForRating("non-existent-route")).thenReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> ratings.rate(ROUTE_ID, "user-1", 6))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> ratings.rate("non-existent-route", "user-1", 3))
+                .isInstanceOf(RouteNotFoundException.class);
+            verify(ratingRepository, never()).upsert(anyString(), anyString(), anyInt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Remove Tests")
+    class RemoveTests {
+
+        @Test
+        @DisplayName("Should take a withdrawn rating off the totals")
+        void shouldRemoveRating() {
+            // Given
+            givenRoute(0, null, null);
+            when(ratingRepository.findStars(ROUTE_ID, "user-1")).thenReturn(Optional.of(4));
+
+            // When
+            RouteRatingDto result = ratings.remove(ROUTE_ID, "user-1");
+
+            // Then
+            verify(ratingRepository).deleteByRouteIdAndUserId(ROUTE_ID, "user-1");
+            verify(routeRepository).addRating(ROUTE_ID, -1, -4, 5.0, 3.0);
+            assertThat(result.getCount()).isZero();
+            assertThat(result.getAverage()).isNull();
+            verify(eventPublisher).publishEvent(any(RouteChangedEvent.class));
+        }
+
+        @Test
+        @DisplayName("Should change nothing without a rating to withdraw")
+        void shouldIgnoreMissingRating() {
+            // Given
+            givenRoute(2, 4.5, 3.4285);
+            when(ratingRepository.findStars(ROUTE_ID, "user-1")).thenReturn(Optional.empty());
+
+            // When
+            RouteRatingDto result = ratings.remove(ROUTE_ID, "user-1");
+
+            // Then
+            assertThat(result.getCount()).isEqualTo(2);
+            verify(ratingRepository, never()).deleteByRouteIdAndUserId(anyString(), anyString());
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+}
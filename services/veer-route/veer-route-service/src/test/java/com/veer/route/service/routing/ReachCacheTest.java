@@ -0,0 +1,100 @@
+package com.veer.route.service.routing;
+
+import com.veer.route.model.TravelProfile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("ReachCache Unit Tests")
+class ReachCacheTest {
+
+    private final RoadRouter roadRouter = mock(RoadRouter.class);
+
+    private final ReachCache cache = new ReachCache(roadRouter, 100, 60, 2, 1000);
+
+    private ReachGrid grid(double maxSeconds, long weight) {
+        ReachGrid grid = mock(ReachGrid.class);
+        when(grid.getMaxSeconds()).thenReturn(maxSeconds);
+        when(grid.weight()).thenReturn(weight);
+        return grid;
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should share one search between origins on the same grid point")
+        void shouldShareQuantizedOrigins() {
+            // Given
+            ReachGrid grid = grid(600, 100);
+            when(roadRouter.reach(52.23, 21.012, TravelProfile.WALK, 600, 100)).thenReturn(grid);
+
+            // When
+            ReachGrid first = cache.get(52.22971, 21.01222, TravelProfile.WALK, 600);
+            ReachGrid second = cache.get(52.23012, 21.01180, TravelProfile.WALK, 300);
+
+            // Then
+            assertThat(first).isSameAs(grid);
+            assertThat(second).isSameAs(grid);
+            assertThat(cache.hitCount()).isEqualTo(1);
+            verify(roadRouter, times(1)).reach(anyDouble(), anyDouble(), eq(TravelProfile.WALK), anyDouble(), anyDouble());
+        }
+
+        @Test
+        @DisplayName("Should search again for a longer time or another travel mode")
+        void shouldSearchAgainForLongerTimes() {
+            // Given
+            ReachGrid tenMinutes = grid(600, 100);
+            ReachGrid twentyMinutes = grid(1200, 100);
+            ReachGrid bike = grid(600, 100);
+            when(roadRouter.reach(52.23, 21.012, TravelProfile.WALK, 600, 100)).thenReturn(tenMinutes);
+            when(roadRouter.reach(52.23, 21.012, TravelProfile.WALK, 1200, 100)).thenReturn(twentyMinutes);
+            when(roadRouter.reach(52.23, 21.012, TravelProfile.BIKE, 600, 100)).thenReturn(bike);
+
+            // When
+            cache.get(52.23, 21.012, TravelProfile.WALK, 600);
+            cache.get(52.23, 21.012, TravelProfile.WALK, 1200);
+            ReachGrid walk = cache.get(52.23, 21.012, TravelProfile.WALK, 600);
+            ReachGrid cycled = cache.get(52.23, 21.012, TravelProfile.BIKE, 600);
+
+            // Then
+            assertThat(walk).isSameAs(twentyMinutes);
+            assertThat(cycled).isSameAs(bike);
+            assertThat(cache.missCount()).isEqualTo(3);
+        }
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict least recently used grids beyond the count and byte limits")
+        void shouldEvictLeastRecentlyUsed() {
+            // Given
+            when(roadRouter.reach(anyDouble(), anyDouble(), eq(TravelProfile.CAR), anyDouble(), anyDouble()))
+                .thenAnswer(invocation -> grid(600, 400));
+            cache.get(52.0, 21.0, TravelProfile.CAR, 600);
+            cache.get(52.1, 21.0, TravelProfile.CAR, 600);
+            cache.get(52.0, 21.0, TravelProfile.CAR, 600);
+
+            // When
+            cache.get(52.2, 21.0, TravelProfile.CAR, 600);
+
+            // Then
+            assertThat(cache.size()).isEqualTo(2);
+            cache.get(52.0, 21.0, TravelProfile.CAR, 600);
+            assertThat(cache.hitCount()).isEqualTo(2);
+        }
+    }
+
+}
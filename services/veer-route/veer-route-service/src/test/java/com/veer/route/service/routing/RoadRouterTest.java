@@ -0,0 +1,210 @@
+package com.veer.route.service.routing;
+
+import com.veer.route.graph.ContractionHierarchy;
+import com.veer.route.graph.ContractionHierarchyBuilder;
+import com.veer.route.graph.RoadGraph;
+import com.veer.route.graph.RoadGraphBuilder;
+import com.veer.route.graph.RoadProfile;
+import com.veer.route.model.TravelProfile;
+import com.veer.route.model.dto.GeoPoint;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+@DisplayName("RoadRouter Unit Tests")
+class RoadRouterTest {
+
+    @TempDir
+    Path directory;
+
+    private static final int ALL = RoadProfile.WALK.bit() | RoadProfile.BIKE.bit() | RoadProfile.CAR.bit();
+
+    /*
+     * an L-shaped street in Warsaw, 1 - 2 - 3, and a footway 3 - 4
+     */
+    private static RoadGraph warsaw() {
+        RoadGraphBuilder builder = new RoadGraphBuilder();
+        builder.addWay(new long[] {1, 2, 3}, 3, ALL, ALL, 30);
+        builder.addWay(new long[] {3, 4}, 2, RoadProfile.WALK.bit(), RoadProfile.WALK.bit(), 0);
+        builder.setNode(1, 52.2300, 21.0100);
+        builder.setNode(2, 52.2300, 21.0150);
+        builder.setNode(3, 52.2340, 21.0150);
+        builder.setNode(4, 52.2360, 21.0150);
+        return builder.build();
+    }
+
+    @Nested
+    @DisplayName("Route Tests")
+    class RouteTests {
+
+        @Test
+        @DisplayName("Should follow the road between stored points and keep them")
+        void shouldFollowRoad() {
+            // Given - both ends a few meters off the street
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.23002, 21.0100, Double.NaN, PointType.START, "Home", null)
+                .add(52.23398, 21.0150, Double.NaN, PointType.STOP, "Work", null)
+                .build();
+
+            // When
+            RoadRouter.Result result = new RoadRouter(warsaw(), 100).route(points, TravelProfile.CAR);
+
+            // Then - around the corner instead of across the block
+            RouteGeometry routed = result.getPoints();
+            assertThat(routed.size()).isEqualTo(5);
+            assertThat(routed.name(0)).isEqualTo("Home");
+            assertThat(routed.type(4)).isEqualTo(PointType.STOP);
+            assertThat(routed.latitude(2)).isCloseTo(52.2300, within(1e-7));
+            assertThat(routed.longitude(2)).isCloseTo(21.0150, within(1e-7));
+            assertThat(result.getDistanceMeters()).isCloseTo(789.8, within(1.0));
+            assertThat(result.getUnroutedLegs()).isZero();
+        }
+
+        @Test
+        @DisplayName("Should keep legs straight where the mode has no road")
+        void shouldKeepUnroutableLegsStraight() {
+            // Given - the last point is on the footway only
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.2300, 21.0100)
+                .add(52.2360, 21.0150)
+                .build();
+
+            // When
+            RoadRouter.Result car = new RoadRouter(warsaw(), 100).route(points, TravelProfile.CAR);
+            RoadRouter.Result walk = new RoadRouter(warsaw(), 100).route(points, TravelProfile.WALK);
+
+            // Then
+            assertThat(car.getUnroutedLegs()).isEqualTo(1);
+            assertThat(car.getPoints().size()).isEqualTo(2);
+            assertThat(walk.getUnroutedLegs()).isZero();
+            assertThat(walk.getPoints().size()).isEqualTo(6);
+        }
+
+        @Test
+        @DisplayName("Should route over a contraction hierarchy next to the graph file")
+        void shouldUseContractionHierarchy() throws IOException {
+            // Given
+            RoadGraph graph = warsaw();
+            Path graphFile = directory.resolve("warsaw.graph");
+            graph.save(graphFile);
+            new ContractionHierarchyBuilder(graph, RoadProfile.CAR).build()
+                .save(ContractionHierarchy.file(graphFile, RoadProfile.CAR));
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.23002, 21.0100)
+                .add(52.23398, 21.0150)
+                .build();
+
+            // When
+            RoadRouter.Result result = new RoadRouter(graphFile.toString(), 100).route(points, TravelProfile.CAR);
+
+            // Then - the same as with A* over the plain graph
+            assertThat(result.getPoints().size()).isEqualTo(5);
+            assertThat(result.getDistanceMeters()).isCloseTo(789.8, within(1.0));
+        }
+
+        @Test
+        @DisplayName("Should be unavailable without a graph file")
+        void shouldBeUnavailableWithoutGraph() throws IOException {
+            assertThat(new RoadRouter("", 500).isAvailable()).isFalse();
+            assertThat(new RoadRouter(warsaw(), 500).isAvailable()).isTrue();
+        }
+    }
+
+    @Nested
+    @DisplayName("Matrix Tests")
+    class MatrixTests {
+
+        @Test
+        @DisplayName("Should measure along the road from every source to every destination")
+        void shouldFollowRoads() {
+            // Given
+            List<GeoPoint> sources = List.of(new GeoPoint(52.23002, 21.0100), new GeoPoint(52.2360, 21.0150));
+            List<GeoPoint> destinations = List.of(new GeoPoint(52.23398, 21.0150), new GeoPoint(52.23002, 21.0100));
+
+            // When
+            TravelMatrix matrix = new RoadRouter(warsaw(), 100).matrix(sources, destinations, TravelProfile.CAR);
+
+            // Then - the footway end has no road by car
+            assertThat(matrix.isRoads()).isTrue();
+            assertThat(matrix.distanceMeters(0, 0)).isCloseTo(789.8f, within(1.0f));
+            assertThat(matrix.distanceMeters(0, 1)).isCloseTo(4.4f, within(1.0f));
+            assertThat(matrix.durationSeconds(0, 0)).isGreaterThan(0);
+            assertThat(matrix.distanceMeters(1, 0)).isNaN();
+            assertThat(matrix.durationSeconds(1, 1)).isNaN();
+        }
+
+        @Test
+        @DisplayName("Should fall back to great-circle distances without a graph")
+        void shouldFallBackWithoutGraph() throws IOException {
+            // Given
+            List<GeoPoint> warsaw = List.of(new GeoPoint(52.2297, 21.0122));
+            List<GeoPoint> krakow = List.of(new GeoPoint(50.0647, 19.9450));
+
+            // When
+            TravelMatrix matrix = new RoadRouter("", 500).matrix(warsaw, krakow, TravelProfile.BIKE);
+
+            // Then
+            assertThat(matrix.isRoads()).isFalse();
+            assertThat(matrix.distanceMeters(0, 0)).isCloseTo(252_000f, within(1_000f));
+            assertThat(matrix.durationSeconds(0, 0)).isCloseTo(matrix.distanceMeters(0, 0) / 5f, within(1f));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reach Tests")
+    class ReachTests {
+
+        @Test
+        @DisplayName("Should time the cells along the roads reached within the limit")
+        void shouldTimeReachedCells() {
+            // When - by car at 30 km/h, node 2 is 341 m along the street
+            ReachGrid grid = new RoadRouter(warsaw(), 100).reach(52.2300, 21.0100, TravelProfile.CAR, 60, 50);
+
+            // Then
+            assertThat(grid.seconds(52.2300, 21.0100)).isZero();
+            assertThat(grid.seconds(52.2300, 21.0150)).isCloseTo(38.0, within(1.0));
+            assertThat(grid.seconds(52.2340, 21.0150)).isInfinite();
+        }
+
+        @Test
+        @DisplayName("Should outline the reached cells with one closed counterclockwise ring")
+        void shouldTracePolygons() {
+            // Given
+            ReachGrid grid = new RoadRouter(warsaw(), 100).reach(52.2300, 21.0100, TravelProfile.CAR, 60, 50);
+
+            // When
+            List<List<List<double[]>>> polygons = grid.polygons(60);
+
+            // Then
+            assertThat(polygons).hasSize(1);
+            assertThat(polygons.get(0)).hasSize(1);
+            List<double[]> ring = polygons.get(0).get(0);
+            assertThat(ring.get(0)).containsExactly(ring.get(ring.size() - 1));
+            double area = 0;
+            for (int i = 0; i + 1 < ring.size(); i++)
+                area += ring.get(i)[0] * ring.get(i + 1)[1] - ring.get(i + 1)[0] * ring.get(i)[1];
+            assertThat(area).isPositive();
+        }
+
+        @Test
+        @DisplayName("Should reach nothing from an origin without a road in reach")
+        void shouldReachNothingOffRoad() {
+            // When
+            ReachGrid grid = new RoadRouter(warsaw(), 100).reach(52.3000, 21.1000, TravelProfile.WALK, 900, 50);
+
+            // Then
+            assertThat(grid.polygons(900)).isEmpty();
+        }
+    }
+
+}
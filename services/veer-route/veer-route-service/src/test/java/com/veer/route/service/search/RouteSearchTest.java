@@ -0,0 +1,165 @@
+package com.veer.route.service.search;
+
+import com.veer.route.model.dto.RouteSearchFilterDto;
+import com.veer.route.model.dto.RouteSummaryDto;
+import com.veer.route.model.dto.RouteSummaryPageDto;
+import com.veer.route.repository.RouteRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@DisplayName("RouteSearch Unit Tests")
+class RouteSearchTest {
+
+    private final RouteRepository repository = mock(RouteRepository.class);
+
+    private final RouteSearch search = new RouteSearch(repository, mock(PlatformTransactionManager.class), 0.4);
+
+    private static RouteRepository.SearchHit hit(String id, double score) {
+        return new RouteRepository.SearchHit() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public Double getScore() {
+                return score;
+            }
+        };
+    }
+
+    private static RouteSummaryDto summary(String id, boolean isPublic) {
+        return RouteSummaryDto.builder().id(id).isPublic(isPublic).build();
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should return summaries in the order of the hits")
+        void shouldKeepHitOrder() {
+            // Given
+            when(repository.searchPublic(eq("tatra ridge"), any(), any(), any(), any(), any(), any(), eq(21)))
+                .thenReturn(List.of(hit("b", 1.3), hit("a", 1.1), hit("c", 0.5)));
+            when(repository.findSummariesByIdIn(List.of("b", "a", "c")))
+                .thenReturn(List.of(summary("a", true), summary("c", true), summary("b", true)));
+
+            // When
+            RouteSummaryPageDto result = search.search("  tatra ridge ", null, null, 20);
+
+            // Then
+            assertThat(result.getItems()).extracting(RouteSummaryDto::getId).containsExactly("b", "a", "c");
+            assertThat(result.getNextCursor()).isNull();
+            verify(repository).setWordSimilarityThreshold(0.4);
+        }
+
+        @Test
+        @DisplayName("Should pass the filter bounds to the query")
+        void shouldPassFilter() {
+            // Given
+            RouteSearchFilterDto filter = RouteSearchFilterDto.builder()
+                .minLengthMeters(1000.0)
+                .maxLengthMeters(20000.0)
+                .maxAscentMeters(800.0)
+                .minRating(4.0)
+                .build();
+            when(repository.searchPublic(anyString(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of());
+
+            // When
+            RouteSummaryPageDto result = search.search("lake", filter, null, 10);
+
+            // Then
+            verify(repository).searchPublic("lake", 1000.0, 20000.0, 800.0, 4.0, null, null, 11);
+            verify(repository, never()).findSummariesByIdIn(any());
+            assertThat(result.getItems()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should continue after the last hit of the previous page")
+        void shouldPageByKeyset() {
+            // Given
+            when(repository.searchPublic(eq("lake"), any(), any(), any(), any(), isNull(), isNull(), eq(3)))
+                .thenReturn(List.of(hit("c", 1.25), hit("b", 0.75), hit("a", 0.5)));
+            when(repository.findSummariesByIdIn(List.of("c", "b")))
+                .thenReturn(List.of(summary("c", true), summary("b", true)));
+
+            // When
+            RouteSummaryPageDto first = search.search("lake", null, null, 2);
+            search.search("lake", null, first.getNextCursor(), 2);
+
+            // Then
+            assertThat(first.getItems()).extracting(RouteSummaryDto::getId).containsExactly("c", "b");
+            assertThat(first.getNextCursor()).isNotNull();
+            verify(repository).searchPublic("lake", null, null, null, null, 0.75, "b", 3);
+        }
+
+        @Test
+        @DisplayName("Should drop routes made private since the search")
+        void shouldDropPrivateRoutes() {
+            // Given
+            when(repository.searchPublic(anyString(), any(), any(), any(), any(), any(), any(), anyInt()))
+                .thenReturn(List.of(hit("a", 1.0), hit("b", 0.9)));
+            when(repository.findSummariesByIdIn(List.of("a", "b")))
+                .thenReturn(List.of(summary("a", false), summary("b", true)));
+
+            // When
+            RouteSummaryPageDto result = search.search("lake", null, null, 20);
+
+            // Then
+            assertThat(result.getItems()).extracting(RouteSummaryDto::getId).containsExactly("b");
+        }
+
+        @Test
+        @DisplayName("Should reject a blank or too long query")
+        void shouldRejectBadQuery() {
+            // When & Then
+            assertThatThrownBy(() -> search.search("  ", null, null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+            assertThatThrownBy(() -> search.search("x".repeat(RouteSearch.MAX_QUERY_LENGTH + 1), null, null, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+            verifyNoInteractions(repository);
+        }
+
+        @Test
+        @DisplayName("Should reject a malformed cursor")
+        void shouldRejectBadCursor() {
+            // When & Then
+            assertThatThrownBy(() -> search.search("lake", null, "not-a-cursor", 20))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+        }
+    }
+
+    @Nested
+    @DisplayName("Cursor Tests")
+    class CursorTests {
+
+        @Test
+        @DisplayName("Should round-trip the exact score and id")
+        void shouldRoundTrip() {
+            // Given
+            double score = 1.0 + 0.1f;
+
+            // When
+            SearchCursor cursor = SearchCursor.decode(SearchCursor.encode(score, "route|1"));
+
+            // Then
+            assertThat(cursor.getScore()).isEqualTo(score);
+            assertThat(cursor.getId()).isEqualTo("route|1");
+        }
+    }
+
+}
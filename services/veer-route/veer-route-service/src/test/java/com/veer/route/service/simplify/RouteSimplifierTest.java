@@ -0,0 +1,202 @@
+package com.veer.route.service.simplify;
+
+import com.veer.route.model.RouteDetailLevels;
+import com.veer.route.model.geometry.PointType;
+import com.veer.route.model.geometry.RouteGeometry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RouteSimplifier Unit Tests")
+class RouteSimplifierTest {
+
+    // a wandering track of about 5 m steps
+    private static RouteGeometry track(int size) {
+        Random random = new Random(7);
+        RouteGeometry.Builder builder = RouteGeometry.builder(size);
+        double latitude = 52.0;
+        double longitude = 21.0;
+        double heading = 0;
+        for (int i = 0; i < size; i++) {
+            heading += random.nextGaussian() * 0.1;
+            latitude += Math.cos(heading) * 0.00005;
+            longitude += Math.sin(heading) * 0.00008;
+            builder.add(latitude, longitude);
+        }
+        return builder.build();
+    }
+
+    // level must be made of points of the route, from its first to its last, with no point further off than tolerance
+    private static void assertWithinTolerance(RouteGeometry points, RouteGeometry level, double toleranceMeters) {
+        double metersPerDegree = Math.toRadians(6_371_000);
+        double cos = Math.cos(Math.toRadians(52.0));
+        assertThat(level.latitude(0)).isEqualTo(points.latitude(0));
+        int from = 0;
+        for (int k = 1; k < level.size(); k++) {
+            int to = from + 1;
+            while (points.latitude(to) != level.latitude(k) || points.longitude(to) != level.longitude(k))
+                to++;
+            double ax = points.longitude(from) * cos * metersPerDegree;
+            double ay = points.latitude(from) * metersPerDegree;
+            double dx = points.longitude(to) * cos * metersPerDegree - ax;
+            double dy = points.latitude(to) * metersPerDegree - ay;
+            for (int i = from + 1; i < to; i++) {
+                double px = points.longitude(i) * cos * metersPerDegree - ax;
+                double py = points.latitude(i) * metersPerDegree - ay;
+                double t = Math.max(0, Math.min(1, (px * dx + py * dy) / (dx * dx + dy * dy)));
+                assertThat(Math.hypot(px - t * dx, py - t * dy)).isLessThan(toleranceMeters * 1.01);
+            }
+            from = to;
+        }
+        assertThat(from).isEqualTo(points.size() - 1);
+    }
+
+    @Nested
+    @DisplayName("Simplify Tests")
+    class SimplifyTests {
+
+        @Test
+        @DisplayName("Should reduce a straight line to its ends")
+        void shouldReduceStraightLine() {
+            // Given
+            RouteGeometry.Builder builder = RouteGeometry.builder();
+            for (int i = 0; i <= 50; i++)
+                builder.add(52.0, 21.0 + i * 0.001);
+
+            // When
+            RouteGeometry simplified = RouteSimplifier.simplify(builder.build(), 1.0);
+
+            // Then
+            assertThat(simplified.size()).isEqualTo(2);
+            assertThat(simplified.longitude(1)).isEqualTo(21.05);
+        }
+
+        @Test
+        @DisplayName("Should keep START and STOP points")
+        void shouldKeepTypedPoints() {
+            // Given
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.0, 21.0, Double.NaN, PointType.START, null, null)
+                .add(52.0, 21.001)
+                .add(52.0, 21.002, Double.NaN, PointType.STOP, "Cafe", null)
+                .add(52.0, 21.003)
+                .build();
+
+            // When
+            RouteGeometry simplified = RouteSimplifier.simplify(points, 100.0);
+
+            // Then
+            assertThat(simplified.size()).isEqualTo(3);
+            assertThat(simplified.name(1)).isEqualTo("Cafe");
+        }
+
+        @Test
+        @DisplayName("Should keep corners further than the tolerance")
+        void shouldKeepCorners() {
+            // Given - a 1 km detour north in the middle of an east-west line
+            RouteGeometry points = RouteGeometry.builder()
+                .add(52.0, 21.0)
+                .add(52.0, 21.01)
+                .add(52.009, 21.02)
+                .add(52.0, 21.03)
+                .add(52.0, 21.04)
+                .build();
+
+            // When & Then
+            assertThat(RouteSimplifier.simplify(points, 200.0).size()).isEqualTo(5);
+            assertThat(RouteSimplifier.simplify(points, 600.0).size()).isEqualTo(3);
+            assertThat(RouteSimplifier.simplify(points, 1500.0).size()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Should leave the points alone with a zero tolerance")
+        void shouldNotSimplifyWithZeroTolerance() {
+            RouteGeometry points = track(100);
+
+            assertThat(RouteSimplifier.simplify(points, 0)).isSameAs(points);
+        }
+    }
+
+    @Nested
+    @DisplayName("Detail Level Tests")
+    class DetailLevelTests {
+
+        @Test
+        @DisplayName("Should compute ever smaller levels")
+        void shouldComputeLevels() {
+            // Given
+            RouteGeometry points = track(15_000);
+
+            // When
+            RouteDetailLevels levels = RouteSimplifier.detailLevels(points);
+
+            // Then
+            assertThat(levels.getHigh().size()).isLessThan(points.size() / 5);
+            assertThat(levels.getMedium().size()).isLessThan(levels.getHigh().size());
+            assertThat(levels.getLow().size()).isBetween(2, levels.getMedium().size() - 1);
+            assertThat(levels.getLow().latitude(0)).isEqualTo(points.latitude(0));
+        }
+
+        @Test
+        @DisplayName("Should keep every level within its tolerance after edits of a span")
+        void shouldUpdateLevelsAroundEdit() {
+            // Given
+            Random random = new Random(11);
+            RouteGeometry points = track(5_000);
+            RouteDetailLevels levels = RouteSimplifier.detailLevels(points);
+
+            for (int round = 0; round < 30; round++) {
+                int index = 1 + random.nextInt(points.size() - 2);
+                RouteGeometry.Builder builder = points.toBuilder();
+                switch (round % 3) {
+                    case 0 -> builder.setPosition(index, points.latitude(index) + 0.002, points.longitude(index), Double.NaN);
+                    case 1 -> builder.remove(index);
+                    default -> builder.insert(index, RouteGeometry.builder()
+                        .add(points.latitude(index) - 0.003, points.longitude(index)).build(), 0);
+                }
+                RouteGeometry edited = builder.build();
+
+                // When
+                RouteDetailLevels updated = RouteSimplifier.updateDetailLevels(levels, points, edited);
+
+                // Then
+                assertWithinTolerance(edited, updated.getHigh(), DetailLevel.HIGH.toleranceMeters());
+                assertWithinTolerance(edited, updated.getMedium(), DetailLevel.MEDIUM.toleranceMeters());
+                assertWithinTolerance(edited, updated.getLow(), DetailLevel.LOW.toleranceMeters());
+                assertThat(updated.getHigh().size()).isLessThan(edited.size() / 5);
+                points = edited;
+                levels = updated;
+            }
+        }
+
+        @Test
+        @DisplayName("Should keep the levels when no point changed")
+        void shouldKeepLevelsOfUnchangedPoints() {
+            RouteGeometry points = track(1_000);
+            RouteDetailLevels levels = RouteSimplifier.detailLevels(points);
+
+            assertThat(RouteSimplifier.updateDetailLevels(levels, points, points.toBuilder().build())).isSameAs(levels);
+            assertThat(RouteSimplifier.updateDetailLevels(null, null, points)).isEqualTo(levels);
+        }
+
+        @Test
+        @DisplayName("Should map zoom and tolerance to the coarsest sufficient level")
+        void shouldSelectLevel() {
+            assertThat(DetailLevel.of(null, null)).isEqualTo(DetailLevel.FULL);
+            assertThat(DetailLevel.of(5, null)).isEqualTo(DetailLevel.LOW);
+            assertThat(DetailLevel.of(9, null)).isEqualTo(DetailLevel.MEDIUM);
+            assertThat(DetailLevel.of(14, null)).isEqualTo(DetailLevel.HIGH);
+            assertThat(DetailLevel.of(16, null)).isEqualTo(DetailLevel.FULL);
+            assertThat(DetailLevel.of(null, 50.0)).isEqualTo(DetailLevel.MEDIUM);
+            assertThat(DetailLevel.of(null, 1.0)).isEqualTo(DetailLevel.FULL);
+            assertThatThrownBy(() -> DetailLevel.of(10, 50.0))
+                .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+}
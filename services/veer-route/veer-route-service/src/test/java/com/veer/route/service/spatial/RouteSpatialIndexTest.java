@@ -0,0 +1,218 @@
+package com.veer.route.service.spatial;
+
+import com.veer.route.model.Route;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.RouteChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RouteSpatialIndex Unit Tests")
+class RouteSpatialIndexTest {
+
+    private final RouteRepository repository = mock(RouteRepository.class);
+
+    // rebuilds run inline, after every few changes
+    private final RouteSpatialIndex index = new RouteSpatialIndex(repository, Runnable::run, 4);
+
+    private static Route route(String id, boolean isPublic, double lat, double lng, double size) {
+        return Route.builder()
+            .id(id)
+            .isPublic(isPublic)
+            .statistics(RouteStatistics.builder()
+                .minLatitude(lat)
+                .minLongitude(lng)
+                .maxLatitude(lat + size)
+                .maxLongitude(lng + size)
+                .build())
+            .build();
+    }
+
+    private static RouteRepository.RouteBounds bounds(String id, double lat, double lng, double size) {
+        return new RouteRepository.RouteBounds() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public Double getMinLatitude() {
+                return lat;
+            }
+
+            @Override
+            public Double getMinLongitude() {
+                return lng;
+            }
+
+            @Override
+            public Double getMaxLatitude() {
+                return lat + size;
+            }
+
+            @Override
+            public Double getMaxLongitude() {
+                return lng + size;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Search Tests")
+    class SearchTests {
+
+        @Test
+        @DisplayName("Should find only public routes intersecting the box")
+        void shouldFindIntersectingPublicRoutes() {
+            // Given
+            index.onRouteChanged(RouteChangedEvent.created(route("warsaw", true, 52.1, 20.9, 0.2)));
+            index.onRouteChanged(RouteChangedEvent.created(route("poznan", true, 52.3, 16.8, 0.2)));
+            index.onRouteChanged(RouteChangedEvent.created(route("private", false, 52.1, 20.9, 0.2)));
+
+            // When
+            List<String> result = index.search(52.0, 20.5, 52.5, 21.5, 100);
+
+            // Then
+            assertThat(result).containsExactly("warsaw");
+        }
+
+        @Test
+        @DisplayName("Should follow updates and deletes across rebuilds")
+        void shouldFollowUpdatesAndDeletes() {
+            // Given
+            for (int i = 0; i < 20; i++)
+                index.onRouteChanged(RouteChangedEvent.created(route("route-" + i, true, 50.0 + i * 0.1, 19.0, 0.05)));
+
+            // When
+            Route moved = route("route-3", true, 10.0, 10.0, 0.05);
+            index.onRouteChanged(RouteChangedEvent.updated(moved, null));
+            index.onRouteChanged(RouteChangedEvent.deleted(route("route-4", true, 50.4, 19.0, 0.05)));
+            index.onRouteChanged(RouteChangedEvent.updated(route("route-5", false, 50.5, 19.0, 0.05), null));
+
+            // Then
+            assertThat(index.search(50.0, 18.0, 53.0, 20.0, 100))
+                .hasSize(17)
+                .doesNotContain("route-3", "route-4", "route-5");
+            assertThat(index.search(9.0, 9.0, 11.0, 11.0, 100)).containsExactly("route-3");
+        }
+
+        @Test
+        @DisplayName("Should index routes changed by another instance as stored now")
+        void shouldRefreshFromDatabase() {
+            // Given
+            index.onRouteChanged(RouteChangedEvent.created(route("moved", true, 52.1, 20.9, 0.2)));
+            index.onRouteChanged(RouteChangedEvent.created(route("hidden", true, 52.1, 20.9, 0.2)));
+            when(repository.findPublicRouteBoundsById("moved")).thenReturn(Optional.of(bounds("moved", 10.0, 10.0, 0.1)));
+            when(repository.findPublicRouteBoundsById("hidden")).thenReturn(Optional.empty());
+            when(repository.findPublicRouteBoundsById("created")).thenReturn(Optional.of(bounds("created", 52.2, 21.0, 0.1)));
+
+            // When
+            index.refresh("moved");
+            index.refresh("hidden");
+            index.refresh("created");
+
+            // Then
+            assertThat(index.search(52.0, 20.5, 52.5, 21.5, 100)).containsExactly("created");
+            assertThat(index.search(9.0, 9.0, 11.0, 11.0, 100)).containsExactly("moved");
+        }
+
+        @Test
+        @DisplayName("Should split boxes crossing the antimeridian")
+        void shouldSplitBoxCrossingAntimeridian() {
+            index.onRouteChanged(RouteChangedEvent.created(route("fiji", true, -17.8, 178.0, 0.5)));
+            index.onRouteChanged(RouteChangedEvent.created(route("samoa", true, -13.9, -171.9, 0.5)));
+            index.onRouteChanged(RouteChangedEvent.created(route("warsaw", true, 52.1, 20.9, 0.2)));
+
+            assertThat(index.search(-20.0, 170.0, -10.0, -170.0, 100))
+                .containsExactlyInAnyOrder("fiji", "samoa");
+        }
+
+        @Test
+        @DisplayName("Should match a brute force scan after loading and random changes")
+        void shouldMatchBruteForce() {
+            // Given
+            Random random = new Random(3);
+            when(repository.streamPublicRouteBounds()).thenReturn(Stream.of(
+                bounds("loaded-1", 50.0, 19.0, 0.1),
+                bounds("loaded-2", 51.0, 20.0, 0.1)
+            ));
+            index.load();
+            Map<String, Route> expected = new HashMap<>();
+            expected.put("loaded-1", route("loaded-1", true, 50.0, 19.0, 0.1));
+            expected.put("loaded-2", route("loaded-2", true, 51.0, 20.0, 0.1));
+
+            for (int i = 0; i < 500; i++) {
+                String id = "route-" + random.nextInt(60);
+                Route route = route(id, random.nextInt(4) > 0, 50 + random.nextDouble() * 2,
+                    19 + random.nextDouble() * 2, 0.1);
+                if (random.nextInt(5) == 0) {
+                    index.onRouteChanged(RouteChangedEvent.deleted(route));
+                    expected.remove(id);
+                } else {
+                    index.onRouteChanged(RouteChangedEvent.updated(route, null));
+                    if (route.getIsPublic())
+                        expected.put(id, route);
+                    else
+                        expected.remove(id);
+                }
+            }
+
+            // When
+            Set<String> found = new HashSet<>(index.search(50.5, 19.5, 51.5, 20.5, 1000));
+
+            // Then
+            Set<String> brute = new HashSet<>();
+            expected.forEach((id, route) -> {
+                RouteStatistics box = route.getStatistics();
+                if (box.getMinLatitude() <= 51.5 && box.getMaxLatitude() >= 50.5
+                    && box.getMinLongitude() <= 20.5 && box.getMaxLongitude() >= 19.5)
+                    brute.add(id);
+            });
+            assertThat(found).isEqualTo(brute);
+        }
+    }
+
+    @Nested
+    @DisplayName("Nearby Tests")
+    class NearbyTests {
+
+        @Test
+        @DisplayName("Should return routes within radius nearest first")
+        void shouldReturnRoutesWithinRadiusNearestFirst() {
+            // Given - point in central Warsaw
+            index.onRouteChanged(RouteChangedEvent.created(route("far", true, 52.26, 21.0, 0.01)));
+            index.onRouteChanged(RouteChangedEvent.created(route("near", true, 52.235, 21.0, 0.01)));
+            index.onRouteChanged(RouteChangedEvent.created(route("lodz", true, 51.75, 19.45, 0.01)));
+
+            // When
+            List<String> result = index.nearby(52.2297, 21.0122, 5000, 10);
+
+            // Then
+            assertThat(result).containsExactly("near", "far");
+        }
+
+        @Test
+        @DisplayName("Should honour the limit")
+        void shouldHonourLimit() {
+            for (int i = 0; i < 10; i++)
+                index.onRouteChanged(RouteChangedEvent.created(route("route-" + i, true, 52.2 + i * 0.001, 21.0, 0.01)));
+
+            assertThat(index.nearby(52.2, 21.0, 2000, 3)).containsExactly("route-0", "route-1", "route-2");
+        }
+    }
+
+}
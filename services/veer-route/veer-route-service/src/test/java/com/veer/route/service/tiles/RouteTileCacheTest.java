@@ -0,0 +1,118 @@
+package com.veer.route.service.tiles;
+
+import com.veer.route.model.Route;
+import com.veer.route.model.RouteStatistics;
+import com.veer.route.service.RouteChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RouteTileCache Unit Tests")
+class RouteTileCacheTest {
+
+    private final RouteTileCache cache = new RouteTileCache(10, 100);
+
+    private void put(int zoom, int x, int y, int size) {
+        cache.put(cache.stamp(zoom, x, y), zoom, x, y, new byte[size]);
+    }
+
+    private static Route route(double lat, double lng, double size) {
+        return Route.builder()
+            .id("route-1")
+            .isPublic(true)
+            .statistics(box(lat, lng, size))
+            .build();
+    }
+
+    private static RouteStatistics box(double lat, double lng, double size) {
+        return RouteStatistics.builder()
+            .minLatitude(lat)
+            .minLongitude(lng)
+            .maxLatitude(lat + size)
+            .maxLongitude(lng + size)
+            .build();
+    }
+
+    @Nested
+    @DisplayName("Eviction Tests")
+    class EvictionTests {
+
+        @Test
+        @DisplayName("Should evict least recently used tiles beyond the byte limit")
+        void shouldEvictByBytes() {
+            // Given
+            put(10, 1, 1, 40);
+            put(10, 1, 2, 40);
+            cache.get(10, 1, 1);
+
+            // When
+            put(10, 1, 3, 40);
+            put(10, 1, 4, 101);
+
+            // Then
+            assertThat(cache.get(10, 1, 2)).isNull();
+            assertThat(cache.get(10, 1, 1)).hasSize(40);
+            assertThat(cache.get(10, 1, 4)).isNull();
+            assertThat(cache.weight()).isEqualTo(80);
+            assertThat(cache.evictionCount()).isEqualTo(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Invalidation Tests")
+    class InvalidationTests {
+
+        @Test
+        @DisplayName("Should drop only the tiles the changed route touches, at every zoom")
+        void shouldDropTouchedTiles() {
+            // Given - tiles over central Warsaw at zoom 0, 8 and 10, and one over Krakow
+            put(0, 0, 0, 1);
+            put(8, 142, 84, 1);
+            put(10, 571, 337, 1);
+            put(10, 568, 347, 1);
+
+            // When
+            cache.onRouteChanged(RouteChangedEvent.created(route(52.22, 21.00, 0.02)));
+
+            // Then
+            assertThat(cache.get(0, 0, 0)).isNull();
+            assertThat(cache.get(8, 142, 84)).isNull();
+            assertThat(cache.get(10, 571, 337)).isNull();
+            assertThat(cache.get(10, 568, 347)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should drop tiles under the old and the new position of a moved route")
+        void shouldDropOldAndNewPosition() {
+            // Given
+            put(10, 571, 337, 1);
+            put(10, 568, 347, 1);
+            put(10, 560, 330, 1);
+
+            // When - moved from Warsaw to Krakow
+            cache.onRouteChanged(RouteChangedEvent.updated(route(50.05, 19.93, 0.02), box(52.22, 21.00, 0.02)));
+
+            // Then
+            assertThat(cache.get(10, 571, 337)).isNull();
+            assertThat(cache.get(10, 568, 347)).isNull();
+            assertThat(cache.get(10, 560, 330)).isNotNull();
+        }
+
+        @Test
+        @DisplayName("Should not put back a tile rendered before a change")
+        void shouldRejectStalePut() {
+            // Given
+            long stamp = cache.stamp(10, 571, 337);
+
+            // When
+            cache.invalidate(0.0, 0.0, 0.1, 0.1);
+            cache.put(stamp, 10, 571, 337, new byte[1]);
+
+            // Then
+            assertThat(cache.get(10, 571, 337)).isNull();
+        }
+    }
+
+}
@@ -0,0 +1,141 @@
+package com.veer.route.service.tiles;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import com.veer.route.repository.RouteRepository;
+import com.veer.route.service.spatial.RouteSpatialIndex;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RouteTileGenerator Unit Tests")
+class RouteTileGeneratorTest {
+
+    private final RouteRepository repository = mock(RouteRepository.class);
+
+    private final RouteSpatialIndex spatialIndex = mock(RouteSpatialIndex.class);
+
+    private final RouteTileGenerator generator =
+        new RouteTileGenerator(repository, spatialIndex, new RouteTileCache(100, 1_000_000), 2000);
+
+    // across central Warsaw, inside tile 8/142/84
+    private static final RouteGeometry WARSAW = RouteGeometry.builder()
+        .add(52.2297, 21.0122)
+        .add(52.2400, 21.0300)
+        .add(52.2500, 21.0100)
+        .build();
+
+    private static RouteRepository.RouteLine line(String id, RouteGeometry points) {
+        return new RouteRepository.RouteLine() {
+            @Override
+            public String getId() {
+                return id;
+            }
+
+            @Override
+            public String getName() {
+                return "Route " + id;
+            }
+
+            @Override
+            public Double getRating() {
+                return 4.5;
+            }
+
+            @Override
+            public Double getLengthMeters() {
+                return 2500.0;
+            }
+
+            @Override
+            public RouteGeometry getPoints() {
+                return points;
+            }
+        };
+    }
+
+    private void indexFinds(String... ids) {
+        when(spatialIndex.search(anyDouble(), anyDouble(), anyDouble(), anyDouble(), eq(2000)))
+            .thenReturn(List.of(ids));
+    }
+
+    @Nested
+    @DisplayName("Tile Tests")
+    class TileTests {
+
+        @Test
+        @DisplayName("Should render routes from the level of detail of the zoom and cache the tile")
+        void shouldRenderFromLevelOfDetailAndCache() {
+            // Given
+            indexFinds("route-1");
+            when(repository.findLowDetailLinesByIdIn(List.of("route-1")))
+                .thenReturn(List.of(line("route-1", WARSAW)));
+
+            // When
+            byte[] first = generator.tile(8, 142, 84);
+            byte[] second = generator.tile(8, 142, 84);
+
+            // Then
+            assertThat(first).isNotEmpty();
+            assertThat(second).isSameAs(first);
+            verify(repository, times(1)).findLowDetailLinesByIdIn(any());
+            verify(repository, never()).findLinesByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should simplify full points of routes stored without levels of detail")
+        void shouldFallBackToFullPoints() {
+            // Given
+            indexFinds("route-1");
+            when(repository.findMediumDetailLinesByIdIn(List.of("route-1")))
+                .thenReturn(List.of(line("route-1", null)));
+            when(repository.findLinesByIdIn(List.of("route-1")))
+                .thenReturn(List.of(line("route-1", WARSAW)));
+
+            // When
+            byte[] tile = generator.tile(10, 571, 337);
+
+            // Then
+            assertThat(tile).isNotEmpty();
+            verify(repository).findLinesByIdIn(List.of("route-1"));
+        }
+
+        @Test
+        @DisplayName("Should return an empty tile without querying routes when none is indexed there")
+        void shouldReturnEmptyTile() {
+            // Given
+            indexFinds();
+
+            // When
+            byte[] tile = generator.tile(12, 100, 100);
+
+            // Then
+            assertThat(tile).isEmpty();
+            verify(repository, never()).findHighDetailLinesByIdIn(any());
+        }
+
+        @Test
+        @DisplayName("Should reject tiles outside the zoom level")
+        void shouldRejectInvalidTile() {
+            assertThatThrownBy(() -> generator.tile(3, 8, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("3/8/0");
+            assertThatThrownBy(() -> generator.tile(23, 0, 0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Zoom");
+        }
+    }
+
+}
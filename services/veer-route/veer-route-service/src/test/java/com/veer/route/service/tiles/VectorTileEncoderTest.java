@@ -0,0 +1,257 @@
+package com.veer.route.service.tiles;
+
+import com.veer.route.model.geometry.RouteGeometry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("VectorTileEncoder Unit Tests")
+class VectorTileEncoderTest {
+
+    // tile 10/571/337 contains central Warsaw
+    private static final int ZOOM = 10;
+
+    private static final int X = 571;
+
+    private static final int Y = 337;
+
+    private static double longitude(double tileX) {
+        return WebMercator.longitude(X + tileX / VectorTileEncoder.EXTENT, ZOOM);
+    }
+
+    private static double latitude(double tileY) {
+        return WebMercator.latitude(Y + tileY / VectorTileEncoder.EXTENT, ZOOM);
+    }
+
+    // points given in tile coordinates
+    private static RouteGeometry line(double... xy) {
+        RouteGeometry.Builder builder = RouteGeometry.builder();
+        for (int i = 0; i < xy.length; i += 2)
+            builder.add(latitude(xy[i + 1]), longitude(xy[i]));
+        return builder.build();
+    }
+
+    private static Map<String, Object> properties(String id) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("id", id);
+        properties.put("length_m", 1234.5);
+        properties.put("rating", null);
+        return properties;
+    }
+
+    @Nested
+    @DisplayName("Encoding Tests")
+    class EncodingTests {
+
+        @Test
+        @DisplayName("Should encode an empty tile without features")
+        void shouldEncodeEmptyTile() {
+            VectorTileEncoder encoder = new VectorTileEncoder("routes", ZOOM, X, Y);
+
+            assertThat(encoder.encode()).isEmpty();
+        }
+
+        @Test
+        @DisplayName("Should encode a line with delta coded commands and shared properties")
+        void shouldEncodeLine() {
+            // Given
+            VectorTileEncoder encoder = new VectorTileEncoder("routes", ZOOM, X, Y);
+
+            // When
+            encoder.addLine(line(100, 100, 200, 100, 200, 300), properties("route-1"));
+            encoder.addLine(line(10, 10, 20, 20), properties("route-2"));
+            DecodedLayer layer = DecodedLayer.decode(encoder.encode());
+
+            // Then
+            assertThat(layer.name).isEqualTo("routes");
+            assertThat(layer.extent).isEqualTo(4096);
+            assertThat(layer.keys).containsExactly("id", "length_m");
+            assertThat(layer.values).containsExactly("route-1", 1234.5, "route-2");
+            assertThat(layer.features).hasSize(2);
+
+            DecodedFeature first = layer.features.get(0);
+            assertThat(first.type).isEqualTo(2);
+            assertThat(first.tags).containsExactly(0, 0, 1, 1);
+            assertThat(first.parts).hasSize(1);
+            assertThat(first.parts.get(0)).containsExactly(100, 100, 200, 100, 200, 300);
+            assertThat(layer.features.get(1).tags).containsExactly(0, 2, 1, 1);
+            assertThat(layer.features.get(1).parts.get(0)).containsExactly(10, 10, 20, 20);
+        }
+
+        @Test
+        @DisplayName("Should clip a line leaving and re-entering the tile into two parts")
+        void shouldClipIntoParts() {
+            // Given
+            VectorTileEncoder encoder = new VectorTileEncoder("routes", ZOOM, X, Y);
+
+            // When - out through the east edge buffer and back
+            boolean added = encoder.addLine(line(4000, 1000, 5160, 1000, 5160, 2000, 4000, 2000), properties("route-1"));
+            DecodedLayer layer = DecodedLayer.decode(encoder.encode());
+
+            // Then
+            assertThat(added).isTrue();
+            assertThat(layer.features.get(0).parts).containsExactly(
+                new int[] {4000, 1000, 4160, 1000},
+                new int[] {4160, 2000, 4000, 2000}
+            );
+        }
+
+        @Test
+        @DisplayName("Should skip lines outside the tile and lines collapsing to one cell")
+        void shouldSkipInvisibleLines() {
+            // Given
+            VectorTileEncoder encoder = new VectorTileEncoder("routes", ZOOM, X, Y);
+
+            // When
+            boolean outside = encoder.addLine(line(-500, -500, -300, -200), properties("outside"));
+            boolean tiny = encoder.addLine(line(50.1, 50.1, 50.2, 50.3), properties("tiny"));
+
+            // Then
+            assertThat(outside).isFalse();
+            assertThat(tiny).isFalse();
+            assertThat(encoder.featureCount()).isZero();
+        }
+    }
+
+    private static final class DecodedLayer {
+
+        String name;
+
+        int extent;
+
+        final List<String> keys = new ArrayList<>();
+
+        final List<Object> values = new ArrayList<>();
+
+        final List<DecodedFeature> features = new ArrayList<>();
+
+        static DecodedLayer decode(byte[] tile) {
+            ByteBuffer tileBuffer = ByteBuffer.wrap(tile);
+            assertThat(readVarint(tileBuffer)).isEqualTo(3 << 3 | 2);
+            ByteBuffer buffer = slice(tileBuffer);
+            assertThat(tileBuffer.hasRemaining()).isFalse();
+
+            DecodedLayer layer = new DecodedLayer();
+            while (buffer.hasRemaining()) {
+                long tag = readVarint(buffer);
+                switch ((int) (tag >>> 3)) {
+                    case 15 -> assertThat(readVarint(buffer)).isEqualTo(2);
+                    case 1 -> layer.name = string(slice(buffer));
+                    case 2 -> layer.features.add(DecodedFeature.decode(slice(buffer)));
+                    case 3 -> layer.keys.add(string(slice(buffer)));
+                    case 4 -> layer.values.add(value(slice(buffer)));
+                    case 5 -> layer.extent = (int) readVarint(buffer);
+                    default -> throw new AssertionError("Unexpected field " + (tag >>> 3));
+                }
+            }
+            return layer;
+        }
+
+        private static Object value(ByteBuffer buffer) {
+            long tag = readVarint(buffer);
+            if (tag == (1 << 3 | 2))
+                return string(slice(buffer));
+            assertThat(tag).isEqualTo(3 << 3 | 1);
+            return buffer.order(ByteOrder.LITTLE_ENDIAN).getDouble();
+        }
+    }
+
+    private static final class DecodedFeature {
+
+        int type;
+
+        List<Integer> tags = new ArrayList<>();
+
+        final List<int[]> parts = new ArrayList<>();
+
+        static DecodedFeature decode(ByteBuffer buffer) {
+            DecodedFeature feature = new DecodedFeature();
+            while (buffer.hasRemaining()) {
+                long tag = readVarint(buffer);
+                switch ((int) (tag >>> 3)) {
+                    case 2 -> feature.tags = packed(slice(buffer));
+                    case 3 -> feature.type = (int) readVarint(buffer);
+                    case 4 -> feature.decodeGeometry(packed(slice(buffer)));
+                    default -> throw new AssertionError("Unexpected field " + (tag >>> 3));
+                }
+            }
+            return feature;
+        }
+
+        private void decodeGeometry(List<Integer> commands) {
+            int x = 0;
+            int y = 0;
+            int i = 0;
+            List<Integer> part = null;
+            while (i < commands.size()) {
+                int command = commands.get(i++);
+                int id = command & 0x7;
+                int count = command >>> 3;
+                if (id == 1) {
+                    assertThat(count).isEqualTo(1);
+                    if (part != null)
+                        parts.add(part.stream().mapToInt(Integer::intValue).toArray());
+                    part = new ArrayList<>();
+                } else {
+                    assertThat(id).isEqualTo(2);
+                }
+                for (int k = 0; k < count; k++) {
+                    x += unZigZag(commands.get(i++));
+                    y += unZigZag(commands.get(i++));
+                    part.add(x);
+                    part.add(y);
+                }
+            }
+            if (part != null)
+                parts.add(part.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer) {
+        int length = (int) readVarint(buffer);
+        ByteBuffer slice = buffer.slice();
+        slice.limit(length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<Integer> packed(ByteBuffer buffer) {
+        List<Integer> values = new ArrayList<>();
+        while (buffer.hasRemaining())
+            values.add((int) readVarint(buffer));
+        return values;
+    }
+
+    private static long readVarint(ByteBuffer buffer) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static int unZigZag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+}